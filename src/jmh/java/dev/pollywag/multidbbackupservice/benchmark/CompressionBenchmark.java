@@ -0,0 +1,111 @@
+package dev.pollywag.multidbbackupservice.benchmark;
+
+import dev.pollywag.multidbbackupservice.compression.CompressionCodec;
+import dev.pollywag.multidbbackupservice.compression.CompressionOptions;
+import dev.pollywag.multidbbackupservice.compression.GzipCodec;
+import dev.pollywag.multidbbackupservice.compression.Lz4Codec;
+import dev.pollywag.multidbbackupservice.compression.NoCompressionCodec;
+import dev.pollywag.multidbbackupservice.compression.ZstdCodec;
+import dev.pollywag.multidbbackupservice.model.enums.CompressionType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streaming codecs as the backup pipeline drives them: the dump written into
+ * {@code compress} in {@code bufferSize} writes, and read back out of {@code decompress}
+ * in {@code bufferSize} reads. Scores are milliseconds per {@code sizeMb} of dump.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompressionBenchmark {
+
+    @Param({"GZIP", "ZSTD", "LZ4"})
+    public CompressionType codec;
+
+    @Param({"8192", "65536", "262144"})
+    public int bufferSize;
+
+    @Param({"MYSQLDUMP", "HEX_BLOBS", "REPETITIVE"})
+    public SyntheticDump.Shape shape;
+
+    @Param({"32"})
+    public int sizeMb;
+
+    @Param({"0"})
+    public int level;
+
+    private CompressionCodec instance;
+    private CompressionOptions options;
+    private byte[] dump;
+    private byte[] compressed;
+
+    @Setup
+    public void setUp() throws IOException {
+        instance = switch (codec) {
+            case GZIP -> new GzipCodec(0, 131072, false);
+            case ZSTD -> new ZstdCodec();
+            case LZ4 -> new Lz4Codec();
+            case NONE -> new NoCompressionCodec();
+        };
+        options = new CompressionOptions(level, false);
+        dump = SyntheticDump.generate(shape, sizeMb * 1024 * 1024);
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(dump.length / 2);
+        try (OutputStream out = instance.compress(buffer, options)) {
+            out.write(dump);
+        }
+        compressed = buffer.toByteArray();
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (instance instanceof GzipCodec gzip) {
+            gzip.shutdown();
+        }
+    }
+
+    @Benchmark
+    public long compress() throws IOException {
+        SyntheticDump.Discard sink = new SyntheticDump.Discard();
+        try (OutputStream out = instance.compress(sink, options)) {
+            for (int off = 0; off < dump.length; off += bufferSize) {
+                out.write(dump, off, Math.min(bufferSize, dump.length - off));
+            }
+        }
+        return sink.count;
+    }
+
+    @Benchmark
+    public long decompress() throws IOException {
+        byte[] buffer = new byte[bufferSize];
+        long total = 0;
+        try (InputStream in = instance.decompress(new ByteArrayInputStream(compressed))) {
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                total += n;
+            }
+        }
+        return total;
+    }
+}
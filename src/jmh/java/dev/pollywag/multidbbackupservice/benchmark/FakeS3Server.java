@@ -0,0 +1,93 @@
+package dev.pollywag.multidbbackupservice.benchmark;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Just enough of the S3 REST API for uploads: PutObject and the multipart calls. Bodies
+ * are read and discarded, and every request waits {@code latencyMs} before answering to
+ * stand in for the round trip to a real endpoint.
+ */
+final class FakeS3Server implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "fake-s3");
+        t.setDaemon(true);
+        return t;
+    });
+    private final long latencyMs;
+    private final AtomicLong received = new AtomicLong();
+
+    FakeS3Server(long latencyMs) throws IOException {
+        this.latencyMs = latencyMs;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 128);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    URI endpoint() {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort());
+    }
+
+    /** Body bytes received so far, including any aws-chunked framing. */
+    long receivedBytes() {
+        return received.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange; InputStream body = exchange.getRequestBody()) {
+            byte[] buffer = new byte[64 * 1024];
+            int n;
+            while ((n = body.read(buffer)) != -1) {
+                received.addAndGet(n);
+            }
+            if (latencyMs > 0) {
+                Thread.sleep(latencyMs);
+            }
+
+            String method = exchange.getRequestMethod();
+            String query = exchange.getRequestURI().getQuery();
+            query = query == null ? "" : query;
+
+            if (method.equals("POST") && query.startsWith("uploads")) {
+                xml(exchange, "<InitiateMultipartUploadResult><UploadId>" + UUID.randomUUID()
+                        + "</UploadId></InitiateMultipartUploadResult>");
+            } else if (method.equals("POST") && query.contains("uploadId=")) {
+                xml(exchange, "<CompleteMultipartUploadResult><ETag>\"" + UUID.randomUUID()
+                        + "-1\"</ETag></CompleteMultipartUploadResult>");
+            } else if (method.equals("DELETE")) {
+                exchange.sendResponseHeaders(204, -1);
+            } else {
+                exchange.getResponseHeaders().add("ETag", "\"" + UUID.randomUUID() + "\"");
+                exchange.sendResponseHeaders(200, -1);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void xml(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = ("<?xml version=\"1.0\" encoding=\"UTF-8\"?>" + body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/xml");
+        exchange.sendResponseHeaders(200, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+}
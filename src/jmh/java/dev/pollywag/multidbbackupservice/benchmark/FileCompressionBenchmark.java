@@ -0,0 +1,102 @@
+package dev.pollywag.multidbbackupservice.benchmark;
+
+import dev.pollywag.multidbbackupservice.strategy.database.MysqlBackupStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * The file-to-file gzip path, {@code compressBackup} / {@code decompressBackup}, for
+ * comparison with the streaming codecs in {@link CompressionBenchmark}. Each call consumes
+ * its input file, so every measurement starts from a fresh copy made outside the timing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class FileCompressionBenchmark {
+
+    @Param({"MYSQLDUMP", "HEX_BLOBS", "REPETITIVE"})
+    public SyntheticDump.Shape shape;
+
+    @Param({"32"})
+    public int sizeMb;
+
+    // Only the file codecs are exercised, which need no connection to a server
+    private final MysqlBackupStrategy strategy = new MysqlBackupStrategy(null, null);
+    private Path dir;
+    private Path dump;
+    private Path compressed;
+
+    @Setup(Level.Trial)
+    public void createFixtures() throws Exception {
+        dir = Files.createTempDirectory("jmh-file-compression");
+        dump = dir.resolve("fixture.sql");
+        Files.write(dump, SyntheticDump.generate(shape, sizeMb * 1024 * 1024));
+
+        Path copy = Files.copy(dump, dir.resolve("fixture-copy.sql"));
+        compressed = strategy.compressBackup(copy.toFile()).toPath();
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFixtures() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class CompressInput {
+        File file;
+
+        @Setup(Level.Invocation)
+        public void copy(FileCompressionBenchmark benchmark) throws IOException {
+            Path target = benchmark.dir.resolve("compress-input.sql");
+            Files.deleteIfExists(benchmark.dir.resolve("compress-input.sql.gz"));
+            file = Files.copy(benchmark.dump, target).toFile();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class DecompressInput {
+        File file;
+
+        @Setup(Level.Invocation)
+        public void copy(FileCompressionBenchmark benchmark) throws IOException {
+            Files.deleteIfExists(benchmark.dir.resolve("decompress-input.sql"));
+            Path target = benchmark.dir.resolve("decompress-input.sql.gz");
+            Files.deleteIfExists(target);
+            file = Files.copy(benchmark.compressed, target).toFile();
+        }
+    }
+
+    @Benchmark
+    public File compressBackup(CompressInput input) throws Exception {
+        return strategy.compressBackup(input.file);
+    }
+
+    @Benchmark
+    public File decompressBackup(DecompressInput input) throws Exception {
+        return strategy.decompressBackup(input.file);
+    }
+}
@@ -0,0 +1,125 @@
+package dev.pollywag.multidbbackupservice.benchmark;
+
+import dev.pollywag.multidbbackupservice.model.enums.DatabaseType;
+import dev.pollywag.multidbbackupservice.model.request.BackupRequest;
+import dev.pollywag.multidbbackupservice.strategy.storage.LocalStorageStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * {@link LocalStorageStrategy#store(File, BackupRequest)} into a directory on the same
+ * filesystem as the dump (a rename) and on another one (a full copy), plus the streaming
+ * {@code store(InputStream, ...)} used by the pipeline.
+ *
+ * The other filesystem defaults to /dev/shm; point {@code -Djmh.crossDeviceDir} at any
+ * directory on a different mount. Setup fails if the two turn out to share a filesystem.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class LocalStorageBenchmark {
+
+    public enum Target {
+        SAME_FILESYSTEM,
+        OTHER_FILESYSTEM
+    }
+
+    @Param({"SAME_FILESYSTEM", "OTHER_FILESYSTEM"})
+    public Target target;
+
+    @Param({"256"})
+    public int sizeMb;
+
+    private final LocalStorageStrategy storage = new LocalStorageStrategy();
+    private Path sourceDir;
+    private Path targetDir;
+    private Path fixture;
+    private BackupRequest request;
+
+    @Setup(Level.Trial)
+    public void createFixtures() throws IOException {
+        sourceDir = Files.createTempDirectory("jmh-local-source");
+        Path targetRoot = target == Target.SAME_FILESYSTEM
+                ? sourceDir.getParent()
+                : Paths.get(System.getProperty("jmh.crossDeviceDir", "/dev/shm"));
+        targetDir = Files.createTempDirectory(targetRoot, "jmh-local-target");
+        if (target == Target.OTHER_FILESYSTEM
+                && Files.getFileStore(sourceDir).equals(Files.getFileStore(targetDir))) {
+            throw new IllegalStateException(sourceDir + " and " + targetDir
+                    + " are on the same filesystem; set -Djmh.crossDeviceDir to another mount");
+        }
+
+        fixture = sourceDir.resolve("fixture.sql");
+        Files.write(fixture, SyntheticDump.generate(SyntheticDump.Shape.MYSQLDUMP, sizeMb * 1024 * 1024));
+
+        request = new BackupRequest();
+        request.setDbType(DatabaseType.MYSQL);
+        request.setLocalPath(targetDir.toString());
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFixtures() throws IOException {
+        delete(sourceDir);
+        delete(targetDir);
+    }
+
+    @State(Scope.Thread)
+    public static class Dump {
+        File file;
+
+        @Setup(Level.Invocation)
+        public void copy(LocalStorageBenchmark benchmark) throws IOException {
+            Path copy = benchmark.sourceDir.resolve("backup.sql");
+            Files.deleteIfExists(copy);
+            file = Files.copy(benchmark.fixture, copy).toFile();
+        }
+    }
+
+    @Benchmark
+    public String storeFile(Dump dump) {
+        String location = storage.store(dump.file, request);
+        if (location.isEmpty()) {
+            // store(File) reports failure as an empty location
+            throw new IllegalStateException("Could not store " + dump.file);
+        }
+        return location;
+    }
+
+    @Benchmark
+    public String storeStream() throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(fixture), 64 * 1024)) {
+            return storage.store(in, "streamed.sql", request);
+        }
+    }
+
+    private static void delete(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+}
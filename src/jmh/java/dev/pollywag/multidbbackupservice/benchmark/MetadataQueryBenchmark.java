@@ -0,0 +1,204 @@
+package dev.pollywag.multidbbackupservice.benchmark;
+
+import dev.pollywag.multidbbackupservice.config.MetadataDataSourceConfig;
+import dev.pollywag.multidbbackupservice.model.entity.BackupMetadata;
+import dev.pollywag.multidbbackupservice.model.enums.ArtifactFormat;
+import dev.pollywag.multidbbackupservice.model.enums.BackupType;
+import dev.pollywag.multidbbackupservice.model.enums.CompressionType;
+import dev.pollywag.multidbbackupservice.model.enums.DatabaseType;
+import dev.pollywag.multidbbackupservice.model.enums.StorageType;
+import dev.pollywag.multidbbackupservice.model.response.BackupMetadataSummary;
+import dev.pollywag.multidbbackupservice.repository.BackupMetadataRepository;
+import dev.pollywag.multidbbackupservice.repository.PageCursor;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.data.jdbc.autoconfigure.DataJdbcRepositoriesAutoConfiguration;
+import org.springframework.boot.persistence.autoconfigure.EntityScan;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The metadata list filters against SQLite holding {@code rows} backups, through the real
+ * repositories and the WAL reader pool from {@link MetadataDataSourceConfig}.
+ *
+ * Seeding a million rows takes a while, so each size is kept in
+ * {@code target/jmh/metadata-<rows>.db} and reused until {@code mvn clean}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class MetadataQueryBenchmark {
+
+    private static final int DATABASES = 200;
+    private static final int PAGE_SIZE = 50;
+    private static final LocalDateTime FIRST_BACKUP = LocalDateTime.of(2023, 1, 1, 0, 0);
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private BackupMetadataRepository repository;
+    private PageCursor deepCursor;
+    private LocalDateTime windowStart;
+    private LocalDateTime windowEnd;
+
+    /** Only the persistence layer of the service: no web server, no backup services. */
+    @SpringBootConfiguration
+    @EnableAutoConfiguration(exclude = DataJdbcRepositoriesAutoConfiguration.class)
+    @EntityScan(basePackageClasses = BackupMetadata.class)
+    @EnableJpaRepositories(basePackageClasses = BackupMetadataRepository.class)
+    @Import(MetadataDataSourceConfig.class)
+    static class MetadataStore {
+    }
+
+    @Setup
+    public void open() throws IOException {
+        Path db = Paths.get("target", "jmh", "metadata-" + rows + ".db").toAbsolutePath();
+        Files.createDirectories(db.getParent());
+
+        context = start(db);
+        repository = context.getBean(BackupMetadataRepository.class);
+        if (repository.count() != rows) {
+            context.close();
+            for (String suffix : new String[]{"", "-wal", "-shm"}) {
+                Files.deleteIfExists(Paths.get(db + suffix));
+            }
+            context = start(db);
+            repository = context.getBean(BackupMetadataRepository.class);
+            seed(context.getBean(EntityManagerFactory.class));
+        }
+
+        // A cursor half way down the unfiltered listing, and a one-week window in the middle
+        LocalDateTime middle = startTime(rows / 2);
+        deepCursor = new PageCursor(middle, backupId(rows / 2));
+        windowStart = middle;
+        windowEnd = middle.plusDays(7);
+    }
+
+    @TearDown
+    public void close() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<BackupMetadataSummary> firstPage() {
+        return page(null, null, null, null, null, null);
+    }
+
+    @Benchmark
+    public List<BackupMetadataSummary> deepPage() {
+        return page(null, null, null, null, null, deepCursor);
+    }
+
+    @Benchmark
+    public List<BackupMetadataSummary> filterByDbName() {
+        return page("db_17", null, null, null, null, null);
+    }
+
+    @Benchmark
+    public List<BackupMetadataSummary> filterByRareStatus() {
+        return page(null, "FAILED", null, null, null, null);
+    }
+
+    @Benchmark
+    public List<BackupMetadataSummary> filterByTypeInWindow() {
+        return page(null, null, DatabaseType.POSTGRESQL, windowStart, windowEnd, null);
+    }
+
+    @Benchmark
+    public List<BackupMetadata> findAllOfOneDatabase() {
+        return repository.findByDbName("db_17");
+    }
+
+    private List<BackupMetadataSummary> page(String dbName, String status, DatabaseType dbType,
+                                             LocalDateTime from, LocalDateTime to, PageCursor after) {
+        return repository.findSummaries(dbName, status, dbType, null, null, null, null,
+                from, to, after, PAGE_SIZE + 1);
+    }
+
+    // ─── Fixture ──────────────────────────────────────────────────────────────
+
+    private static ConfigurableApplicationContext start(Path db) {
+        return new SpringApplicationBuilder(MetadataStore.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:sqlite:" + db,
+                        "--spring.devtools.restart.enabled=false",
+                        "--spring.main.banner-mode=off");
+    }
+
+    private void seed(EntityManagerFactory factory) {
+        SplittableRandom random = new SplittableRandom(7);
+        try (StatelessSession session = factory.unwrap(SessionFactory.class).openStatelessSession()) {
+            session.setJdbcBatchSize(500);
+            for (int start = 0; start < rows; start += 10_000) {
+                Transaction tx = session.beginTransaction();
+                for (int i = start; i < Math.min(rows, start + 10_000); i++) {
+                    session.insert(row(i, random));
+                }
+                tx.commit();
+            }
+        }
+    }
+
+    private static BackupMetadata row(int i, SplittableRandom random) {
+        DatabaseType[] types = DatabaseType.values();
+        BackupMetadata b = new BackupMetadata();
+        b.setBackupId(backupId(i));
+        b.setDbName("db_" + (i % DATABASES));
+        b.setDbType(types[i % types.length]);
+        b.setBackupType(i % 7 == 0 ? BackupType.FULL : BackupType.INCREMENTAL);
+        b.setParentBackupId(i % 7 == 0 ? null : backupId(i - i % 7));
+        b.setCompressed(true);
+        b.setCompression(CompressionType.ZSTD);
+        b.setFileName(b.getDbName() + "_" + i + ".sql.zst");
+        b.setFileSizeBytes(1_000_000L + random.nextInt(1_000_000_000));
+        b.setStorageType(i % 3 == 0 ? StorageType.AWS_S3 : StorageType.LOCAL);
+        b.setStoragePath("/backups/" + b.getFileName());
+        b.setArtifactFormat(ArtifactFormat.SINGLE_FILE);
+        b.setStartTime(startTime(i));
+        b.setEndTime(b.getStartTime().plusSeconds(30 + random.nextInt(600)));
+        // About 2% of backups fail
+        b.setStatus(random.nextInt(50) == 0 ? "FAILED" : "SUCCESS");
+        return b;
+    }
+
+    private static String backupId(int i) {
+        return String.format("bk-%08d", i);
+    }
+
+    private static LocalDateTime startTime(int i) {
+        // One backup a minute: a million rows cover about two years
+        return FIRST_BACKUP.plusSeconds(i * 60L);
+    }
+}
@@ -0,0 +1,83 @@
+package dev.pollywag.multidbbackupservice.benchmark;
+
+import dev.pollywag.multidbbackupservice.strategy.storage.S3MultipartUploader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link S3MultipartUploader} against {@link FakeS3Server} on loopback: measures part
+ * buffering, SHA-256 checksums, SDK overhead and part concurrency against a simulated
+ * per-request latency, without a real bucket.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class S3UploadBenchmark {
+
+    @Param({"128"})
+    public int sizeMb;
+
+    @Param({"5242880", "16777216"})
+    public int partSize;
+
+    @Param({"1", "4"})
+    public int concurrency;
+
+    @Param({"0", "20"})
+    public long latencyMs;
+
+    private FakeS3Server server;
+    private S3Client client;
+    private ExecutorService executor;
+    private S3MultipartUploader uploader;
+    private byte[] dump;
+
+    @Setup
+    public void setUp() throws IOException {
+        server = new FakeS3Server(latencyMs);
+        client = S3Client.builder()
+                .region(Region.US_EAST_1)
+                .endpointOverride(server.endpoint())
+                .forcePathStyle(true)
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("bench", "bench")))
+                .build();
+        executor = Executors.newCachedThreadPool();
+        uploader = new S3MultipartUploader(client, executor, partSize, concurrency, 1);
+        dump = SyntheticDump.generate(SyntheticDump.Shape.MYSQLDUMP, sizeMb * 1024 * 1024);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+        client.close();
+        server.close();
+    }
+
+    @Benchmark
+    public long upload() throws IOException {
+        return uploader.upload("bench", "backups/mysql/bench.sql", new ByteArrayInputStream(dump));
+    }
+}
@@ -0,0 +1,117 @@
+package dev.pollywag.multidbbackupservice.benchmark;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic mysqldump-style output for benchmarks: the same shape and seed always give
+ * the same bytes, so before/after numbers compare like with like.
+ */
+public final class SyntheticDump {
+
+    public enum Shape {
+        /** Extended INSERTs of typical OLTP rows: ids, names, emails, timestamps, amounts. */
+        MYSQLDUMP,
+        /** Rows dominated by random binary columns dumped with --hex-blob; compresses poorly. */
+        HEX_BLOBS,
+        /** Log-style rows that differ only in id and timestamp; compresses very well. */
+        REPETITIVE
+    }
+
+    private static final String[] FIRST = {"alice", "bob", "carol", "dave", "erin", "frank", "grace", "heidi",
+            "ivan", "judy", "mallory", "niaj", "olivia", "peggy", "rupert", "sybil", "trent", "victor"};
+    private static final String[] LAST = {"smith", "jones", "garcia", "miller", "davis", "lopez", "wilson",
+            "anderson", "thomas", "taylor", "moore", "martin", "lee", "perez", "white", "harris"};
+    private static final String[] STATUS = {"PENDING", "PAID", "SHIPPED", "DELIVERED", "REFUNDED"};
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2024, 1, 1, 0, 0);
+    // mysqldump starts a new INSERT once a statement reaches net_buffer_length (16 KiB by default)
+    private static final int STATEMENT_BYTES = 16 * 1024;
+
+    private SyntheticDump() {
+    }
+
+    static byte[] generate(Shape shape, int sizeBytes) {
+        SplittableRandom random = new SplittableRandom(42);
+        StringBuilder out = new StringBuilder(sizeBytes + STATEMENT_BYTES * 2);
+        out.append("-- MySQL dump 10.13  Distrib 8.0.36, for Linux (x86_64)\n")
+                .append("--\n-- Host: localhost    Database: shop\n")
+                .append("-- ------------------------------------------------------\n")
+                .append("/*!40101 SET NAMES utf8mb4 */;\n/*!40014 SET FOREIGN_KEY_CHECKS=0 */;\n\n")
+                .append("DROP TABLE IF EXISTS `orders`;\n")
+                .append("CREATE TABLE `orders` (\n")
+                .append("  `id` bigint NOT NULL AUTO_INCREMENT,\n")
+                .append("  `customer` varchar(64) NOT NULL,\n")
+                .append("  `email` varchar(128) NOT NULL,\n")
+                .append("  `status` varchar(16) NOT NULL,\n")
+                .append("  `amount` decimal(12,2) NOT NULL,\n")
+                .append("  `payload` blob,\n")
+                .append("  `created_at` datetime NOT NULL,\n")
+                .append("  PRIMARY KEY (`id`)\n")
+                .append(") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;\n\n")
+                .append("LOCK TABLES `orders` WRITE;\n");
+
+        long id = 1;
+        while (out.length() < sizeBytes) {
+            int statementStart = out.length();
+            out.append("INSERT INTO `orders` VALUES ");
+            boolean first = true;
+            while (out.length() - statementStart < STATEMENT_BYTES) {
+                if (!first) {
+                    out.append(',');
+                }
+                first = false;
+                row(out, shape, random, id++);
+            }
+            out.append(";\n");
+        }
+        out.append("UNLOCK TABLES;\n");
+
+        byte[] bytes = out.toString().getBytes(StandardCharsets.UTF_8);
+        return bytes.length == sizeBytes ? bytes : Arrays.copyOf(bytes, sizeBytes);
+    }
+
+    private static void row(StringBuilder out, Shape shape, SplittableRandom random, long id) {
+        LocalDateTime created = EPOCH.plusSeconds(id * 7 + (shape == Shape.REPETITIVE ? 0 : random.nextInt(5)));
+        if (shape == Shape.REPETITIVE) {
+            out.append('(').append(id).append(",'system','noreply@example.com','PAID',0.00,NULL,'")
+                    .append(created.toString().replace('T', ' ')).append("')");
+            return;
+        }
+
+        String first = FIRST[random.nextInt(FIRST.length)];
+        String last = LAST[random.nextInt(LAST.length)];
+        out.append('(').append(id)
+                .append(",'").append(first).append(' ').append(last)
+                .append("','").append(first).append('.').append(last).append(random.nextInt(1000))
+                .append("@example.com','").append(STATUS[random.nextInt(STATUS.length)])
+                .append("',").append(random.nextInt(100_000)).append('.').append(10 + random.nextInt(90))
+                .append(',');
+        if (shape == Shape.HEX_BLOBS) {
+            byte[] payload = new byte[256];
+            random.nextBytes(payload);
+            out.append("0x").append(HexFormat.of().formatHex(payload));
+        } else {
+            out.append("NULL");
+        }
+        out.append(",'").append(created.toString().replace('T', ' ')).append("')");
+    }
+
+    /** Sink that only counts, so a benchmark measures the codec and not the destination. */
+    static final class Discard extends OutputStream {
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
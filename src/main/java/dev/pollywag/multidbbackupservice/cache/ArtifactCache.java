@@ -0,0 +1,356 @@
+package dev.pollywag.multidbbackupservice.cache;
+
+import dev.pollywag.multidbbackupservice.pipeline.Checksums;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Size-bounded on-disk cache for remote backup artifacts, keyed by storage path and
+ * object version (ETag), evicting least recently used files first.
+ *
+ * A miss streams the object to the caller while writing it into the cache, so the first
+ * restore is not slowed down by a separate download. Concurrent opens of the same object
+ * wait for that download instead of starting their own, then read the cached file. The
+ * download moves at its reader's pace, so they wait at most backup.cache.collapse-wait-ms
+ * before reading the remote object themselves, uncached.
+ */
+@Slf4j
+@Component
+public class ArtifactCache {
+
+    private static final int FILE_BUFFER_SIZE = 64 * 1024;
+    private static final String PART_SUFFIX = ".part";
+
+    private final boolean enabled;
+    private final Path directory;
+    private final long maxBytes;
+    private final long collapseWaitMs;
+
+    // Access-ordered: iteration starts at the least recently used entry
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    private final Map<String, CompletableFuture<Void>> downloads = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong collapsed = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /** Opens the remote object; called at most once per cache miss. */
+    @FunctionalInterface
+    public interface RemoteSource {
+        InputStream open() throws IOException;
+    }
+
+    public record CacheStats(long hits, long misses, long collapsed, long evictions, int entries, long bytes) {
+    }
+
+    public ArtifactCache(@Value("${backup.cache.enabled:true}") boolean enabled,
+                         @Value("${backup.cache.dir:${java.io.tmpdir}/multidb-backup-cache}") String directory,
+                         @Value("${backup.cache.max-bytes:10737418240}") long maxBytes,
+                         @Value("${backup.cache.collapse-wait-ms:10000}") long collapseWaitMs) {
+        this.enabled = enabled && maxBytes > 0;
+        this.directory = Paths.get(directory);
+        this.maxBytes = maxBytes;
+        this.collapseWaitMs = Math.max(0, collapseWaitMs);
+    }
+
+    /**
+     * Indexes what a previous run left in the cache directory, oldest access first.
+     */
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+            List<Path> files;
+            try (Stream<Path> listing = Files.list(directory)) {
+                files = listing.filter(Files::isRegularFile).toList();
+            }
+            List<Path> kept = files.stream()
+                    .filter(file -> !deleteIfPartial(file))
+                    .sorted(Comparator.comparing(ArtifactCache::lastModified))
+                    .toList();
+            for (Path file : kept) {
+                register(file.getFileName().toString(), Files.size(file));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot prepare artifact cache in " + directory, e);
+        }
+    }
+
+    /**
+     * Returns the object's content from the cache, or from {@code source} while filling the cache.
+     *
+     * @param version ETag or other value that changes whenever the object is rewritten
+     * @param size    object size in bytes, used to skip objects larger than the cache
+     */
+    public InputStream open(String storagePath, String version, long size, RemoteSource source) throws IOException {
+        if (!enabled || size > maxBytes) {
+            return source.open();
+        }
+        String key = cacheKey(storagePath, version);
+
+        while (true) {
+            InputStream cached = openCached(key);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached;
+            }
+
+            CompletableFuture<Void> download = new CompletableFuture<>();
+            CompletableFuture<Void> running = downloads.putIfAbsent(key, download);
+            if (running != null) {
+                // Someone is already fetching it; read their copy once it is complete
+                collapsed.incrementAndGet();
+                if (!awaitDownload(running)) {
+                    // Slow reader, or a stream that was never closed: do not wait on it any longer
+                    log.debug("Download of {} still running after {} ms, reading it uncached", key, collapseWaitMs);
+                    misses.incrementAndGet();
+                    return source.open();
+                }
+                continue;
+            }
+
+            misses.incrementAndGet();
+            Path part = null;
+            try {
+                part = Files.createTempFile(directory, key + ".", PART_SUFFIX);
+                return new FillingInputStream(source.open(), part, key, size, download);
+            } catch (IOException | RuntimeException e) {
+                if (part != null) {
+                    Files.deleteIfExists(part);
+                }
+                downloads.remove(key, download);
+                download.complete(null);
+                throw e;
+            }
+        }
+    }
+
+    public CacheStats stats() {
+        synchronized (entries) {
+            return new CacheStats(hits.get(), misses.get(), collapsed.get(), evictions.get(),
+                    entries.size(), totalBytes);
+        }
+    }
+
+    /** True once the download finished, false if it is still running after collapseWaitMs. */
+    private boolean awaitDownload(CompletableFuture<Void> download) throws IOException {
+        try {
+            download.get(collapseWaitMs, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a cache download");
+        } catch (ExecutionException e) {
+            // Downloads only ever complete normally
+            return true;
+        }
+    }
+
+    // ─── Entries ──────────────────────────────────────────────────────────────
+
+    private InputStream openCached(String key) throws IOException {
+        synchronized (entries) {
+            if (entries.get(key) == null) {
+                return null;
+            }
+        }
+        Path file = directory.resolve(key);
+        try {
+            InputStream in = Files.newInputStream(file);
+            try {
+                Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            } catch (IOException e) {
+                // Only affects the order entries are evicted in after a restart
+            }
+            return new BufferedInputStream(in, FILE_BUFFER_SIZE);
+        } catch (NoSuchFileException e) {
+            // Removed behind our back
+            forget(key);
+            return null;
+        }
+    }
+
+    private void register(String key, long size) {
+        synchronized (entries) {
+            Long previous = entries.put(key, size);
+            totalBytes += size - (previous != null ? previous : 0);
+
+            Iterator<Map.Entry<String, Long>> eldest = entries.entrySet().iterator();
+            while (totalBytes > maxBytes && eldest.hasNext()) {
+                Map.Entry<String, Long> entry = eldest.next();
+                if (entry.getKey().equals(key)) {
+                    continue;
+                }
+                eldest.remove();
+                totalBytes -= entry.getValue();
+                evictions.incrementAndGet();
+                try {
+                    // Readers that already opened the file keep reading it on POSIX filesystems
+                    Files.deleteIfExists(directory.resolve(entry.getKey()));
+                } catch (IOException e) {
+                    log.warn("Could not delete evicted cache file {}: {}", entry.getKey(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void forget(String key) {
+        synchronized (entries) {
+            Long size = entries.remove(key);
+            if (size != null) {
+                totalBytes -= size;
+            }
+        }
+    }
+
+    /**
+     * Tees the remote stream into a part file and publishes it once the whole object was read.
+     * Cache write failures only stop the caching; the caller keeps reading the remote stream.
+     */
+    private final class FillingInputStream extends InputStream {
+
+        private final InputStream remote;
+        private final Path part;
+        private final String key;
+        private final long expectedSize;
+        private final CompletableFuture<Void> download;
+        private final OutputStream cacheOut;
+        private long written;
+        private boolean caching = true;
+        private boolean finished;
+
+        FillingInputStream(InputStream remote, Path part, String key, long expectedSize,
+                           CompletableFuture<Void> download) throws IOException {
+            this.remote = remote;
+            this.part = part;
+            this.key = key;
+            this.expectedSize = expectedSize;
+            this.download = download;
+            this.cacheOut = new BufferedOutputStream(Files.newOutputStream(part), FILE_BUFFER_SIZE);
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            int n = read(one, 0, 1);
+            return n == -1 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = remote.read(b, off, len);
+            if (n == -1) {
+                finish(written == expectedSize);
+            } else if (caching && !finished) {
+                try {
+                    cacheOut.write(b, off, n);
+                    written += n;
+                } catch (IOException e) {
+                    log.warn("Not caching {}: {}", key, e.getMessage());
+                    caching = false;
+                }
+            }
+            return n;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                remote.close();
+            } finally {
+                // Closed before the end: whatever was read is not a complete object
+                finish(false);
+            }
+        }
+
+        private void finish(boolean complete) {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            try {
+                cacheOut.close();
+                if (caching && complete) {
+                    Files.move(part, directory.resolve(key),
+                            StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    register(key, written);
+                } else {
+                    Files.deleteIfExists(part);
+                }
+            } catch (IOException e) {
+                log.warn("Could not store {} in the cache: {}", key, e.getMessage());
+                try {
+                    Files.deleteIfExists(part);
+                } catch (IOException ignored) {
+                    // Removed at the next start
+                }
+            } finally {
+                downloads.remove(key, download);
+                download.complete(null);
+            }
+        }
+    }
+
+    // ─── Helpers ──────────────────────────────────────────────────────────────
+
+    private static String cacheKey(String storagePath, String version) {
+        return Checksums.sha256Hex((storagePath + "\n" + version).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static boolean deleteIfPartial(Path file) {
+        if (!file.getFileName().toString().endsWith(PART_SUFFIX)) {
+            return false;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            // Left for the next start
+        }
+        return true;
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+}
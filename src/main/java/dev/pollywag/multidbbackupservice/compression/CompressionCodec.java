@@ -0,0 +1,23 @@
+package dev.pollywag.multidbbackupservice.compression;
+
+import dev.pollywag.multidbbackupservice.model.enums.CompressionType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+public interface CompressionCodec {
+
+    CompressionType getType();
+
+    /**
+     * Wraps {@code out} in a compressing stream. Closing the returned stream finishes
+     * the compressed data and closes {@code out}.
+     */
+    OutputStream compress(OutputStream out, CompressionOptions options) throws IOException;
+
+    /**
+     * Wraps {@code in} in a decompressing stream. Closing the returned stream closes {@code in}.
+     */
+    InputStream decompress(InputStream in) throws IOException;
+}
@@ -0,0 +1,13 @@
+package dev.pollywag.multidbbackupservice.compression;
+
+/**
+ * Tuning for a single backup.
+ *
+ * @param level      codec-specific level; 0 picks the codec default
+ * @param longWindow zstd only: match across a 128 MiB window, which pays off on large
+ *                   dumps with repeated rows far apart
+ */
+public record CompressionOptions(int level, boolean longWindow) {
+
+    public static final CompressionOptions DEFAULT = new CompressionOptions(0, false);
+}
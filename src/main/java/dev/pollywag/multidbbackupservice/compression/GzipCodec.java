@@ -0,0 +1,76 @@
+package dev.pollywag.multidbbackupservice.compression;
+
+import dev.pollywag.multidbbackupservice.model.enums.CompressionType;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * gzip with a configurable level. With more than one thread, compression is block-parallel
+ * on a shared fork-join pool (see {@link ParallelGzipOutputStream}); the output is still a
+ * standard .gz file.
+ */
+@Component
+public class GzipCodec implements CompressionCodec {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final int blockSize;
+    private final boolean independentBlocks;
+    private final ForkJoinPool pool;
+
+    public GzipCodec(@Value("${backup.compression.gzip.threads:0}") int threads,
+                     @Value("${backup.compression.gzip.block-size:131072}") int blockSize,
+                     @Value("${backup.compression.gzip.independent-blocks:false}") boolean independentBlocks) {
+        int parallelism = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.blockSize = blockSize;
+        this.independentBlocks = independentBlocks;
+        this.pool = parallelism > 1 ? new ForkJoinPool(parallelism) : null;
+    }
+
+    @Override
+    public CompressionType getType() {
+        return CompressionType.GZIP;
+    }
+
+    @Override
+    public OutputStream compress(OutputStream out, CompressionOptions options) throws IOException {
+        int level = options.level() == 0 ? Deflater.DEFAULT_COMPRESSION : options.level();
+        if (level != Deflater.DEFAULT_COMPRESSION && (level < 1 || level > 9)) {
+            throw new IllegalArgumentException("gzip level must be between 1 and 9, got " + level);
+        }
+        if (pool != null) {
+            // Two blocks per thread keeps every core busy while the writer drains finished blocks
+            return new ParallelGzipOutputStream(out, pool, level, blockSize,
+                    pool.getParallelism() * 2, independentBlocks);
+        }
+        return new GZIPOutputStream(out, BUFFER_SIZE) {
+            {
+                def.setLevel(level);
+            }
+        };
+    }
+
+    @Override
+    public InputStream decompress(InputStream in) throws IOException {
+        if (pool != null) {
+            return ParallelGzipInputStream.open(in, pool, pool.getParallelism() * 2);
+        }
+        return new GZIPInputStream(in, BUFFER_SIZE);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+}
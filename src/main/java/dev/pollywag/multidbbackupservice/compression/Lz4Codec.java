@@ -0,0 +1,45 @@
+package dev.pollywag.multidbbackupservice.compression;
+
+import dev.pollywag.multidbbackupservice.model.enums.CompressionType;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FrameInputStream;
+import net.jpountz.lz4.LZ4FrameOutputStream;
+import net.jpountz.xxhash.XXHashFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * LZ4 frame format, readable by the {@code lz4} command-line tool.
+ * Level 0 uses the fast compressor; levels 1-17 switch to LZ4 HC.
+ */
+@Component
+public class Lz4Codec implements CompressionCodec {
+
+    @Override
+    public CompressionType getType() {
+        return CompressionType.LZ4;
+    }
+
+    @Override
+    public OutputStream compress(OutputStream out, CompressionOptions options) throws IOException {
+        LZ4Factory factory = LZ4Factory.fastestInstance();
+        LZ4Compressor compressor = options.level() == 0
+                ? factory.fastCompressor()
+                : factory.highCompressor(options.level());
+        return new LZ4FrameOutputStream(out,
+                LZ4FrameOutputStream.BLOCKSIZE.SIZE_4MB,
+                -1L,
+                compressor,
+                XXHashFactory.fastestInstance().hash32(),
+                LZ4FrameOutputStream.FLG.Bits.BLOCK_INDEPENDENCE);
+    }
+
+    @Override
+    public InputStream decompress(InputStream in) throws IOException {
+        return new LZ4FrameInputStream(in);
+    }
+}
@@ -0,0 +1,26 @@
+package dev.pollywag.multidbbackupservice.compression;
+
+import dev.pollywag.multidbbackupservice.model.enums.CompressionType;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+
+@Component
+public class NoCompressionCodec implements CompressionCodec {
+
+    @Override
+    public CompressionType getType() {
+        return CompressionType.NONE;
+    }
+
+    @Override
+    public OutputStream compress(OutputStream out, CompressionOptions options) {
+        return out;
+    }
+
+    @Override
+    public InputStream decompress(InputStream in) {
+        return in;
+    }
+}
@@ -0,0 +1,221 @@
+package dev.pollywag.multidbbackupservice.compression;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Inflates gzip files written by {@link ParallelGzipOutputStream} in independent-member
+ * mode on several cores. Members are read sequentially (their size is in the header),
+ * inflated concurrently, and handed out in order through a bounded window.
+ *
+ * Use {@link #open} to get a reader for any gzip stream: files without member sizes
+ * fall back to a plain {@link GZIPInputStream}.
+ */
+public class ParallelGzipInputStream extends InputStream {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final InputStream in;
+    private final ExecutorService pool;
+    private final int window;
+
+    private final Deque<Future<byte[]>> inFlight = new ArrayDeque<>();
+    private boolean sourceExhausted;
+    private byte[] current;
+    private int pos;
+    private boolean closed;
+
+    private ParallelGzipInputStream(InputStream in, ExecutorService pool, int window) {
+        this.in = in;
+        this.pool = pool;
+        this.window = Math.max(1, window);
+    }
+
+    /**
+     * Returns a parallel reader if the first member carries its size, otherwise a
+     * sequential {@link GZIPInputStream} over the same bytes.
+     */
+    public static InputStream open(InputStream in, ExecutorService pool, int window) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(in, BUFFER_SIZE);
+        buffered.mark(ParallelGzipOutputStream.MEMBER_HEADER_SIZE);
+        byte[] header = buffered.readNBytes(ParallelGzipOutputStream.MEMBER_HEADER_SIZE);
+        buffered.reset();
+
+        if (header.length == ParallelGzipOutputStream.MEMBER_HEADER_SIZE && memberSize(header) > 0) {
+            return new ParallelGzipInputStream(buffered, pool, window);
+        }
+        return new GZIPInputStream(buffered, BUFFER_SIZE);
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!ensureData()) {
+            return -1;
+        }
+        return current[pos++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!ensureData()) {
+            return -1;
+        }
+        int n = Math.min(len, current.length - pos);
+        System.arraycopy(current, pos, b, off, n);
+        pos += n;
+        return n;
+    }
+
+    @Override
+    public int available() {
+        return current == null ? 0 : current.length - pos;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        inFlight.forEach(f -> f.cancel(true));
+        inFlight.clear();
+        current = null;
+        in.close();
+    }
+
+    private boolean ensureData() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        while (current == null || pos == current.length) {
+            fillWindow();
+            Future<byte[]> head = inFlight.pollFirst();
+            if (head == null) {
+                return false;
+            }
+            current = await(head);
+            pos = 0;
+        }
+        return true;
+    }
+
+    private void fillWindow() throws IOException {
+        while (inFlight.size() < window && !sourceExhausted) {
+            byte[] member = readMember();
+            if (member == null) {
+                sourceExhausted = true;
+            } else {
+                inFlight.addLast(pool.submit(() -> inflate(member)));
+            }
+        }
+    }
+
+    /** Reads the next whole member, or returns null at end of input. */
+    private byte[] readMember() throws IOException {
+        byte[] header = in.readNBytes(ParallelGzipOutputStream.MEMBER_HEADER_SIZE);
+        if (header.length == 0) {
+            return null;
+        }
+        int memberSize = header.length == ParallelGzipOutputStream.MEMBER_HEADER_SIZE ? memberSize(header) : -1;
+        if (memberSize < ParallelGzipOutputStream.MEMBER_HEADER_SIZE + 8) {
+            throw new ZipException("gzip member without size field; file was not written in independent blocks");
+        }
+        byte[] rest = in.readNBytes(memberSize - ParallelGzipOutputStream.MEMBER_HEADER_SIZE);
+        if (rest.length != memberSize - ParallelGzipOutputStream.MEMBER_HEADER_SIZE) {
+            throw new ZipException("Truncated gzip member");
+        }
+        return rest;
+    }
+
+    /** Inflates one member body (deflate data followed by the CRC32/ISIZE trailer). */
+    private static byte[] inflate(byte[] body) throws IOException {
+        int dataLength = body.length - 8;
+        long expectedCrc = readIntLE(body, dataLength) & 0xFFFFFFFFL;
+        long expectedSize = readIntLE(body, dataLength + 4) & 0xFFFFFFFFL;
+        if (expectedSize > ParallelGzipOutputStream.MAX_BLOCK_SIZE) {
+            throw new ZipException("gzip member too large: " + expectedSize + " bytes");
+        }
+
+        byte[] data = new byte[(int) expectedSize];
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(body, 0, dataLength);
+            int total = 0;
+            while (!inflater.finished() && total < data.length) {
+                int n = inflater.inflate(data, total, data.length - total);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new ZipException("Corrupt gzip member");
+                }
+                total += n;
+            }
+            if (total != data.length || (!inflater.finished() && inflater.inflate(new byte[1]) > 0)) {
+                throw new ZipException("gzip member size mismatch");
+            }
+        } catch (DataFormatException e) {
+            throw new ZipException("Corrupt gzip member: " + e.getMessage());
+        } finally {
+            inflater.end();
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        if (crc.getValue() != expectedCrc) {
+            throw new ZipException("gzip member CRC mismatch");
+        }
+        return data;
+    }
+
+    /** Total member length from our FEXTRA subfield, or -1 if the header has none. */
+    private static int memberSize(byte[] header) {
+        boolean matches = (header[0] & 0xFF) == 0x1f
+                && (header[1] & 0xFF) == 0x8b
+                && header[2] == 8
+                && (header[3] & 0x04) != 0
+                && header[10] == 8 && header[11] == 0
+                && header[12] == ParallelGzipOutputStream.SUBFIELD_ID1
+                && header[13] == ParallelGzipOutputStream.SUBFIELD_ID2
+                && header[14] == 4 && header[15] == 0
+                // Only FEXTRA may be set, so the compressed data starts right after the subfield
+                && (header[3] & ~0x04) == 0;
+        return matches ? readIntLE(header, 16) : -1;
+    }
+
+    private static int readIntLE(byte[] b, int off) {
+        return (b[off] & 0xFF)
+                | (b[off + 1] & 0xFF) << 8
+                | (b[off + 2] & 0xFF) << 16
+                | (b[off + 3] & 0xFF) << 24;
+    }
+
+    private byte[] await(Future<byte[]> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new InterruptedIOException("Interrupted while waiting for gzip member");
+        } catch (ExecutionException e) {
+            close();
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) {
+                throw io;
+            }
+            throw new IOException("gzip member inflate failed: " + cause.getMessage(), cause);
+        }
+    }
+}
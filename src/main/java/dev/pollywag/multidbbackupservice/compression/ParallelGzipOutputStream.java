@@ -0,0 +1,250 @@
+package dev.pollywag.multidbbackupservice.compression;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * pigz-style gzip writer: input is cut into fixed-size blocks that are deflated
+ * concurrently on a shared pool and written out in order.
+ *
+ * In the default mode the result is a single gzip member. Each block is primed with
+ * the last 32 KiB of the block before it and ends on a sync flush, so the compression
+ * ratio stays close to a serial deflate and any gzip reader accepts the output.
+ *
+ * With {@code independentMembers} every block becomes a complete gzip member carrying
+ * its own size in an FEXTRA subfield (the BGZF idea). Standard readers still see one
+ * concatenated stream, and {@link ParallelGzipInputStream} can inflate the members on
+ * several cores. Blocks no longer share a dictionary, which costs a little ratio.
+ */
+public class ParallelGzipOutputStream extends OutputStream {
+
+    static final int DICTIONARY_SIZE = 32 * 1024;
+
+    // FEXTRA subfield 'P','M' holding the total member length as a 32-bit little-endian value
+    static final byte SUBFIELD_ID1 = 'P';
+    static final byte SUBFIELD_ID2 = 'M';
+    static final int MEMBER_HEADER_SIZE = 20;
+    static final int MAX_BLOCK_SIZE = 16 * 1024 * 1024;
+
+    private static final int FLG_FEXTRA = 0x04;
+    private static final int OS_UNKNOWN = 255;
+
+    private final OutputStream out;
+    private final ExecutorService pool;
+    private final int level;
+    private final int blockSize;
+    private final int maxInFlight;
+    private final boolean independentMembers;
+
+    private final Deque<Future<byte[]>> inFlight = new ArrayDeque<>();
+    private final CRC32 crc = new CRC32();
+    private long totalIn;
+
+    private byte[] block;
+    private int blockLength;
+    private byte[] previousBlock;
+    private int previousLength;
+    private boolean closed;
+
+    /**
+     * @param maxInFlight blocks queued or being deflated at once; bounds memory to
+     *                    roughly {@code maxInFlight * blockSize} per stream
+     */
+    public ParallelGzipOutputStream(OutputStream out,
+                                    ExecutorService pool,
+                                    int level,
+                                    int blockSize,
+                                    int maxInFlight,
+                                    boolean independentMembers) throws IOException {
+        if (blockSize < DICTIONARY_SIZE || blockSize > MAX_BLOCK_SIZE) {
+            throw new IllegalArgumentException("Block size must be between " + DICTIONARY_SIZE
+                    + " and " + MAX_BLOCK_SIZE + " bytes");
+        }
+        this.out = out;
+        this.pool = pool;
+        this.level = level;
+        this.blockSize = blockSize;
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.independentMembers = independentMembers;
+        this.block = new byte[blockSize];
+
+        if (!independentMembers) {
+            out.write(header(0));
+        }
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        while (len > 0) {
+            int n = Math.min(len, blockSize - blockLength);
+            System.arraycopy(b, off, block, blockLength, n);
+            blockLength += n;
+            off += n;
+            len -= n;
+            if (blockLength == blockSize) {
+                submitBlock(false);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            // An empty trailing block still yields a valid final deflate block / empty member
+            if (blockLength > 0 || totalIn == 0 || !independentMembers) {
+                submitBlock(true);
+            }
+            while (!inFlight.isEmpty()) {
+                out.write(await(inFlight.removeFirst()));
+            }
+            if (!independentMembers) {
+                out.write(trailer(crc.getValue(), totalIn));
+            }
+        } finally {
+            inFlight.forEach(f -> f.cancel(true));
+            out.close();
+        }
+    }
+
+    // ─── Block scheduling ─────────────────────────────────────────────────────
+
+    private void submitBlock(boolean last) throws IOException {
+        // Write out finished blocks in order until there is room for another one
+        while (inFlight.size() >= maxInFlight
+                || (!inFlight.isEmpty() && inFlight.peekFirst().isDone())) {
+            out.write(await(inFlight.removeFirst()));
+        }
+
+        byte[] data = block;
+        int length = blockLength;
+        byte[] dictionary = independentMembers ? null : previousBlock;
+        int dictionaryLength = Math.min(previousLength, DICTIONARY_SIZE);
+        int dictionaryOffset = previousLength - dictionaryLength;
+
+        if (!independentMembers) {
+            crc.update(data, 0, length);
+        }
+        totalIn += length;
+
+        inFlight.addLast(pool.submit(() -> independentMembers
+                ? member(data, length)
+                : deflate(data, length, dictionary, dictionaryOffset, dictionaryLength, last)));
+
+        // Blocks still being deflated keep their arrays, so always hand out a fresh one
+        previousBlock = data;
+        previousLength = length;
+        block = new byte[blockSize];
+        blockLength = 0;
+    }
+
+    private byte[] member(byte[] data, int length) {
+        CRC32 memberCrc = new CRC32();
+        memberCrc.update(data, 0, length);
+        byte[] body = deflate(data, length, null, 0, 0, true);
+
+        int memberSize = MEMBER_HEADER_SIZE + body.length + 8;
+        byte[] member = new byte[memberSize];
+        System.arraycopy(header(memberSize), 0, member, 0, MEMBER_HEADER_SIZE);
+        System.arraycopy(body, 0, member, MEMBER_HEADER_SIZE, body.length);
+        System.arraycopy(trailer(memberCrc.getValue(), length), 0, member, MEMBER_HEADER_SIZE + body.length, 8);
+        return member;
+    }
+
+    private byte[] deflate(byte[] data, int length,
+                           byte[] dictionary, int dictionaryOffset, int dictionaryLength,
+                           boolean last) {
+        Deflater deflater = new Deflater(level, true);
+        try {
+            if (dictionary != null && dictionaryLength > 0) {
+                deflater.setDictionary(dictionary, dictionaryOffset, dictionaryLength);
+            }
+            deflater.setInput(data, 0, length);
+
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(length / 2 + 64);
+            byte[] buffer = new byte[64 * 1024];
+            if (last) {
+                deflater.finish();
+                while (!deflater.finished()) {
+                    int n = deflater.deflate(buffer);
+                    compressed.write(buffer, 0, n);
+                }
+            } else {
+                // Sync flush ends the block on a byte boundary without marking it final
+                int n;
+                do {
+                    n = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                    compressed.write(buffer, 0, n);
+                } while (n == buffer.length);
+            }
+            return compressed.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    // ─── gzip framing ─────────────────────────────────────────────────────────
+
+    private byte[] header(int memberSize) {
+        if (!independentMembers) {
+            return new byte[]{0x1f, (byte) 0x8b, 8, 0, 0, 0, 0, 0, 0, (byte) OS_UNKNOWN};
+        }
+        byte[] header = new byte[MEMBER_HEADER_SIZE];
+        header[0] = 0x1f;
+        header[1] = (byte) 0x8b;
+        header[2] = 8;
+        header[3] = FLG_FEXTRA;
+        header[9] = (byte) OS_UNKNOWN;
+        header[10] = 8;           // XLEN
+        header[12] = SUBFIELD_ID1;
+        header[13] = SUBFIELD_ID2;
+        header[14] = 4;           // subfield LEN
+        writeIntLE(header, 16, memberSize);
+        return header;
+    }
+
+    private static byte[] trailer(long crc, long size) {
+        byte[] trailer = new byte[8];
+        writeIntLE(trailer, 0, (int) crc);
+        writeIntLE(trailer, 4, (int) size);
+        return trailer;
+    }
+
+    private static void writeIntLE(byte[] b, int off, int value) {
+        b[off] = (byte) value;
+        b[off + 1] = (byte) (value >>> 8);
+        b[off + 2] = (byte) (value >>> 16);
+        b[off + 3] = (byte) (value >>> 24);
+    }
+
+    private static byte[] await(Future<byte[]> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for compressed block");
+        } catch (ExecutionException e) {
+            throw new IOException("Block compression failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+}
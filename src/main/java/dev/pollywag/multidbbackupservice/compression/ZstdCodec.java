@@ -0,0 +1,48 @@
+package dev.pollywag.multidbbackupservice.compression;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdInputStream;
+import com.github.luben.zstd.ZstdOutputStream;
+import dev.pollywag.multidbbackupservice.model.enums.CompressionType;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+@Component
+public class ZstdCodec implements CompressionCodec {
+
+    private static final int DEFAULT_LEVEL = 3;
+
+    // Same window as `zstd --long`; the decoder accepts up to the format maximum
+    private static final int LONG_WINDOW_LOG = 27;
+    private static final int MAX_WINDOW_LOG = 31;
+
+    @Override
+    public CompressionType getType() {
+        return CompressionType.ZSTD;
+    }
+
+    @Override
+    public OutputStream compress(OutputStream out, CompressionOptions options) throws IOException {
+        int level = options.level() == 0 ? DEFAULT_LEVEL : options.level();
+        if (level < Zstd.minCompressionLevel() || level > Zstd.maxCompressionLevel()) {
+            throw new IllegalArgumentException("zstd level must be between " + Zstd.minCompressionLevel()
+                    + " and " + Zstd.maxCompressionLevel() + ", got " + level);
+        }
+        ZstdOutputStream zstd = new ZstdOutputStream(out, level);
+        if (options.longWindow()) {
+            zstd.setLong(LONG_WINDOW_LOG);
+        }
+        return zstd;
+    }
+
+    @Override
+    public InputStream decompress(InputStream in) throws IOException {
+        ZstdInputStream zstd = new ZstdInputStream(in);
+        zstd.setLongMax(MAX_WINDOW_LOG);
+        return new BufferedInputStream(zstd, (int) ZstdInputStream.recommendedDOutSize());
+    }
+}
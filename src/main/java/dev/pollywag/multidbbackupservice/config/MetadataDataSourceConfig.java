@@ -0,0 +1,85 @@
+package dev.pollywag.multidbbackupservice.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.sqlite.SQLiteConfig;
+
+import javax.sql.DataSource;
+
+/**
+ * Connections to the SQLite metadata store. SQLite allows one writer at a time, so instead of
+ * letting every pooled connection race for the lock, all writes go through a single connection
+ * and read-only transactions ({@code @Transactional(readOnly = true)}, the repositories' find
+ * methods) are served by a separate pool of query-only connections.
+ *
+ * The database runs in WAL mode so those readers never block the writer or each other.
+ */
+@Configuration
+public class MetadataDataSourceConfig {
+
+    @Value("${spring.datasource.url}")
+    private String url;
+
+    @Value("${backup.datasource.busy-timeout-ms:5000}")
+    private int busyTimeoutMs;
+
+    @Value("${backup.datasource.reader-pool-size:4}")
+    private int readerPoolSize;
+
+    @Bean
+    public DataSource dataSource() {
+        LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(metadataWriter());
+        // The target is picked on first use, after the transaction has marked the connection read-only
+        routing.setReadOnlyDataSource(metadataReaders());
+        return routing;
+    }
+
+    // Not injectable on their own: everything goes through the routing DataSource
+    @Bean(autowireCandidate = false)
+    public HikariDataSource metadataWriter() {
+        return writer(url, busyTimeoutMs);
+    }
+
+    @Bean(autowireCandidate = false)
+    public HikariDataSource metadataReaders() {
+        return readers(url, busyTimeoutMs, readerPoolSize);
+    }
+
+    static HikariDataSource writer(String url, int busyTimeoutMs) {
+        SQLiteConfig sqlite = baseConfig(busyTimeoutMs);
+        // Take the write lock at BEGIN, where busy_timeout applies, not halfway through a transaction
+        sqlite.setTransactionMode(SQLiteConfig.TransactionMode.IMMEDIATE);
+
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("metadata-writer");
+        config.setJdbcUrl(url);
+        config.setDataSourceProperties(sqlite.toProperties());
+        config.setMaximumPoolSize(1);
+        config.setMinimumIdle(1);
+        return new HikariDataSource(config);
+    }
+
+    static HikariDataSource readers(String url, int busyTimeoutMs, int poolSize) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("metadata-reader");
+        config.setJdbcUrl(url);
+        config.setDataSourceProperties(baseConfig(busyTimeoutMs).toProperties());
+        config.setConnectionInitSql("PRAGMA query_only = true");
+        config.setMaximumPoolSize(Math.max(1, poolSize));
+        config.setMinimumIdle(1);
+        return new HikariDataSource(config);
+    }
+
+    private static SQLiteConfig baseConfig(int busyTimeoutMs) {
+        SQLiteConfig sqlite = new SQLiteConfig();
+        sqlite.setJournalMode(SQLiteConfig.JournalMode.WAL);
+        // WAL keeps the database consistent at NORMAL; only the last commits can be lost on power failure
+        sqlite.setSynchronous(SQLiteConfig.SynchronousMode.NORMAL);
+        sqlite.setBusyTimeout(busyTimeoutMs);
+        return sqlite;
+    }
+}
@@ -0,0 +1,27 @@
+package dev.pollywag.multidbbackupservice.controller;
+
+import dev.pollywag.multidbbackupservice.cache.ArtifactCache;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/cache")
+public class CacheController {
+
+    private final ArtifactCache artifactCache;
+
+    public CacheController(ArtifactCache artifactCache) {
+        this.artifactCache = artifactCache;
+    }
+
+    /**
+     * Hit, miss, collapsed-download and eviction counts of the local artifact cache
+     * GET /api/cache/stats
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<ArtifactCache.CacheStats> getStats() {
+        return ResponseEntity.ok(artifactCache.stats());
+    }
+}
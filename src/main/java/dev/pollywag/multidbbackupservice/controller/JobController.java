@@ -0,0 +1,75 @@
+package dev.pollywag.multidbbackupservice.controller;
+
+import dev.pollywag.multidbbackupservice.job.BackupJob;
+import dev.pollywag.multidbbackupservice.model.enums.JobState;
+import dev.pollywag.multidbbackupservice.model.request.ThrottleRequest;
+import dev.pollywag.multidbbackupservice.model.response.JobStatusResponse;
+import dev.pollywag.multidbbackupservice.service.BackupJobService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Comparator;
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/jobs")
+public class JobController {
+
+    private final BackupJobService backupJobService;
+
+    public JobController(BackupJobService backupJobService) {
+        this.backupJobService = backupJobService;
+    }
+
+    /**
+     * List known backup jobs, newest first, optionally filtered by state
+     * GET /api/jobs?state=RUNNING
+     */
+    @GetMapping
+    public ResponseEntity<List<JobStatusResponse>> getJobs(@RequestParam(required = false) JobState state) {
+        log.debug("Fetching jobs with state: {}", state);
+        List<JobStatusResponse> jobs = backupJobService.getJobs(state).stream()
+                .map(BackupJob::toResponse)
+                .sorted(Comparator.comparing(JobStatusResponse::getSubmittedAt).reversed())
+                .toList();
+        return ResponseEntity.ok(jobs);
+    }
+
+    /**
+     * Get the state, current stage, bytes processed and throughput of a job
+     * GET /api/jobs/{jobId}
+     */
+    @GetMapping("/{jobId}")
+    public ResponseEntity<JobStatusResponse> getJob(@PathVariable String jobId) {
+        log.debug("Fetching job with id: {}", jobId);
+        BackupJob job = backupJobService.getJob(jobId);
+
+        if (job == null) {
+            log.warn("Job not found with id: {}", jobId);
+            return ResponseEntity.notFound().build();
+        }
+
+        return ResponseEntity.ok(job.toResponse());
+    }
+
+    /**
+     * Change the dump and upload rate limits of a queued or running job
+     * PUT /api/jobs/{jobId}/throttle
+     */
+    @PutMapping("/{jobId}/throttle")
+    public ResponseEntity<JobStatusResponse> throttle(@PathVariable String jobId,
+                                                      @RequestBody ThrottleRequest request) {
+        log.debug("Throttling job {}: dump {} B/s, upload {} B/s",
+                jobId, request.getDumpBytesPerSec(), request.getUploadBytesPerSec());
+        BackupJob job = backupJobService.throttle(jobId, request.getDumpBytesPerSec(), request.getUploadBytesPerSec());
+
+        if (job == null) {
+            log.warn("Job not found with id: {}", jobId);
+            return ResponseEntity.notFound().build();
+        }
+
+        return ResponseEntity.ok(job.toResponse());
+    }
+}
@@ -2,6 +2,9 @@ package dev.pollywag.multidbbackupservice.controller;
 
 import dev.pollywag.multidbbackupservice.model.entity.BackupLog;
 import dev.pollywag.multidbbackupservice.model.enums.DatabaseType;
+import dev.pollywag.multidbbackupservice.model.response.BackupLogSummary;
+import dev.pollywag.multidbbackupservice.model.response.CursorPage;
+import dev.pollywag.multidbbackupservice.repository.PageCursor;
 import dev.pollywag.multidbbackupservice.service.LogService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -10,12 +13,17 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
-import java.util.List;
 
+/**
+ * List endpoints return summaries newest first, {@code limit} per page (max 500).
+ * Follow {@code nextCursor} with {@code ?cursor=} until it is null.
+ */
 @Slf4j
 @RestController
 @RequestMapping("/api/logs")
 public class LogController {
+
+    private static final String DEFAULT_LIMIT = "50";
     
     private final LogService logService;
     
@@ -24,23 +32,24 @@ public class LogController {
     }
     
     /**
-     * Get all logs with optional filtering
-     * GET /api/logs?action=BACKUP&status=SUCCESS&dbName=mydb&dbType=MYSQL&startDate=2024-01-01T00:00:00&endDate=2024-12-31T23:59:59
+     * Get logs with optional filtering
+     * GET /api/logs?action=BACKUP&status=SUCCESS&dbName=mydb&dbType=MYSQL&startDate=2024-01-01T00:00:00&endDate=2024-12-31T23:59:59&limit=50&cursor=...
      */
     @GetMapping
-    public ResponseEntity<List<BackupLog>> getAllLogs(
+    public ResponseEntity<CursorPage<BackupLogSummary>> getAllLogs(
             @RequestParam(required = false) String action,
             @RequestParam(required = false) String status,
             @RequestParam(required = false) String dbName,
             @RequestParam(required = false) DatabaseType dbType,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(defaultValue = DEFAULT_LIMIT) int limit,
+            @RequestParam(required = false) String cursor) {
         
         log.debug("Fetching logs with filters - action: {}, status: {}, dbName: {}, dbType: {}, startDate: {}, endDate: {}", 
                 action, status, dbName, dbType, startDate, endDate);
         
-        List<BackupLog> logs = logService.getFilteredLogs(action, status, dbName, dbType, startDate, endDate);
-        return ResponseEntity.ok(logs);
+        return page(action, status, dbName, dbType, startDate, endDate, limit, cursor);
     }
     
     /**
@@ -65,10 +74,12 @@ public class LogController {
      * GET /api/logs/database/{dbName}
      */
     @GetMapping("/database/{dbName}")
-    public ResponseEntity<List<BackupLog>> getLogsByDatabase(@PathVariable String dbName) {
+    public ResponseEntity<CursorPage<BackupLogSummary>> getLogsByDatabase(
+            @PathVariable String dbName,
+            @RequestParam(defaultValue = DEFAULT_LIMIT) int limit,
+            @RequestParam(required = false) String cursor) {
         log.debug("Fetching logs for database: {}", dbName);
-        List<BackupLog> logs = logService.getLogsByDatabase(dbName);
-        return ResponseEntity.ok(logs);
+        return page(null, null, dbName, null, null, null, limit, cursor);
     }
     
     /**
@@ -76,10 +87,12 @@ public class LogController {
      * GET /api/logs/action/{action}
      */
     @GetMapping("/action/{action}")
-    public ResponseEntity<List<BackupLog>> getLogsByAction(@PathVariable String action) {
+    public ResponseEntity<CursorPage<BackupLogSummary>> getLogsByAction(
+            @PathVariable String action,
+            @RequestParam(defaultValue = DEFAULT_LIMIT) int limit,
+            @RequestParam(required = false) String cursor) {
         log.debug("Fetching logs for action: {}", action);
-        List<BackupLog> logs = logService.getLogsByAction(action);
-        return ResponseEntity.ok(logs);
+        return page(action, null, null, null, null, null, limit, cursor);
     }
     
     /**
@@ -87,9 +100,24 @@ public class LogController {
      * GET /api/logs/status/{status}
      */
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<BackupLog>> getLogsByStatus(@PathVariable String status) {
+    public ResponseEntity<CursorPage<BackupLogSummary>> getLogsByStatus(
+            @PathVariable String status,
+            @RequestParam(defaultValue = DEFAULT_LIMIT) int limit,
+            @RequestParam(required = false) String cursor) {
         log.debug("Fetching logs with status: {}", status);
-        List<BackupLog> logs = logService.getLogsByStatus(status);
-        return ResponseEntity.ok(logs);
+        return page(null, status, null, null, null, null, limit, cursor);
+    }
+
+    private ResponseEntity<CursorPage<BackupLogSummary>> page(String action, String status, String dbName,
+                                                              DatabaseType dbType, LocalDateTime startDate,
+                                                              LocalDateTime endDate, int limit, String cursor) {
+        PageCursor after;
+        try {
+            after = cursor == null || cursor.isBlank() ? null : PageCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected malformed cursor: {}", cursor);
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(logService.getLogPage(action, status, dbName, dbType, startDate, endDate, after, limit));
     }
 }
\ No newline at end of file
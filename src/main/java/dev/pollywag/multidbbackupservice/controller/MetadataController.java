@@ -4,6 +4,9 @@ import dev.pollywag.multidbbackupservice.model.entity.BackupMetadata;
 import dev.pollywag.multidbbackupservice.model.enums.BackupType;
 import dev.pollywag.multidbbackupservice.model.enums.DatabaseType;
 import dev.pollywag.multidbbackupservice.model.enums.StorageType;
+import dev.pollywag.multidbbackupservice.model.response.BackupMetadataSummary;
+import dev.pollywag.multidbbackupservice.model.response.CursorPage;
+import dev.pollywag.multidbbackupservice.repository.PageCursor;
 import dev.pollywag.multidbbackupservice.service.MetadataService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -11,13 +14,18 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
-import java.util.List;
 
+/**
+ * List endpoints return summaries newest first, {@code limit} per page (max 500).
+ * Follow {@code nextCursor} with {@code ?cursor=} until it is null.
+ */
 @Slf4j
 @RestController
 @RequestMapping("/api/metadata")
 public class MetadataController {
 
+    private static final String DEFAULT_LIMIT = "50";
+
     private final MetadataService metadataService;
 
     public MetadataController(MetadataService metadataService) {
@@ -25,11 +33,11 @@ public class MetadataController {
     }
 
     /**
-     * Get all backup metadata with optional filtering
-     * GET /api/metadata?dbName=...&status=...&dbType=...&backupType=...&storageType=...&compressed=...&parentBackupId=...&startDate=...&endDate=...
+     * Get backup metadata with optional filtering
+     * GET /api/metadata?dbName=...&status=...&dbType=...&backupType=...&storageType=...&compressed=...&parentBackupId=...&startDate=...&endDate=...&limit=...&cursor=...
      */
     @GetMapping
-    public ResponseEntity<List<BackupMetadata>> getAllMetadata(
+    public ResponseEntity<CursorPage<BackupMetadataSummary>> getAllMetadata(
             @RequestParam(required = false) String dbName,
             @RequestParam(required = false) String status,
             @RequestParam(required = false) DatabaseType dbType,
@@ -38,14 +46,15 @@ public class MetadataController {
             @RequestParam(required = false) Boolean compressed,
             @RequestParam(required = false) String parentBackupId,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(defaultValue = DEFAULT_LIMIT) int limit,
+            @RequestParam(required = false) String cursor) {
 
         log.debug("Fetching metadata with filters - dbName: {}, status: {}, dbType: {}, backupType: {}, storageType: {}, compressed: {}, parentBackupId: {}, startDate: {}, endDate: {}",
                 dbName, status, dbType, backupType, storageType, compressed, parentBackupId, startDate, endDate);
 
-        List<BackupMetadata> metadata = metadataService.getFilteredMetadata(
-                dbName, status, dbType, backupType, storageType, compressed, parentBackupId, startDate, endDate);
-        return ResponseEntity.ok(metadata);
+        return page(dbName, status, dbType, backupType, storageType, compressed, parentBackupId,
+                startDate, endDate, limit, cursor);
     }
 
     /**
@@ -70,10 +79,12 @@ public class MetadataController {
      * GET /api/metadata/database/{dbName}
      */
     @GetMapping("/database/{dbName}")
-    public ResponseEntity<List<BackupMetadata>> getMetadataByDatabase(@PathVariable String dbName) {
+    public ResponseEntity<CursorPage<BackupMetadataSummary>> getMetadataByDatabase(
+            @PathVariable String dbName,
+            @RequestParam(defaultValue = DEFAULT_LIMIT) int limit,
+            @RequestParam(required = false) String cursor) {
         log.debug("Fetching metadata for database: {}", dbName);
-        List<BackupMetadata> metadata = metadataService.getMetadataByDatabase(dbName);
-        return ResponseEntity.ok(metadata);
+        return page(dbName, null, null, null, null, null, null, null, null, limit, cursor);
     }
 
     /**
@@ -81,10 +92,12 @@ public class MetadataController {
      * GET /api/metadata/status/{status}
      */
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<BackupMetadata>> getMetadataByStatus(@PathVariable String status) {
+    public ResponseEntity<CursorPage<BackupMetadataSummary>> getMetadataByStatus(
+            @PathVariable String status,
+            @RequestParam(defaultValue = DEFAULT_LIMIT) int limit,
+            @RequestParam(required = false) String cursor) {
         log.debug("Fetching metadata with status: {}", status);
-        List<BackupMetadata> metadata = metadataService.getMetadataByStatus(status);
-        return ResponseEntity.ok(metadata);
+        return page(null, status, null, null, null, null, null, null, null, limit, cursor);
     }
 
     /**
@@ -92,10 +105,12 @@ public class MetadataController {
      * GET /api/metadata/backup-type/{backupType}
      */
     @GetMapping("/backup-type/{backupType}")
-    public ResponseEntity<List<BackupMetadata>> getMetadataByBackupType(@PathVariable BackupType backupType) {
+    public ResponseEntity<CursorPage<BackupMetadataSummary>> getMetadataByBackupType(
+            @PathVariable BackupType backupType,
+            @RequestParam(defaultValue = DEFAULT_LIMIT) int limit,
+            @RequestParam(required = false) String cursor) {
         log.debug("Fetching metadata for backup type: {}", backupType);
-        List<BackupMetadata> metadata = metadataService.getMetadataByBackupType(backupType);
-        return ResponseEntity.ok(metadata);
+        return page(null, null, null, backupType, null, null, null, null, null, limit, cursor);
     }
 
     /**
@@ -103,10 +118,12 @@ public class MetadataController {
      * GET /api/metadata/storage-type/{storageType}
      */
     @GetMapping("/storage-type/{storageType}")
-    public ResponseEntity<List<BackupMetadata>> getMetadataByStorageType(@PathVariable StorageType storageType) {
+    public ResponseEntity<CursorPage<BackupMetadataSummary>> getMetadataByStorageType(
+            @PathVariable StorageType storageType,
+            @RequestParam(defaultValue = DEFAULT_LIMIT) int limit,
+            @RequestParam(required = false) String cursor) {
         log.debug("Fetching metadata for storage type: {}", storageType);
-        List<BackupMetadata> metadata = metadataService.getMetadataByStorageType(storageType);
-        return ResponseEntity.ok(metadata);
+        return page(null, null, null, null, storageType, null, null, null, null, limit, cursor);
     }
 
     /**
@@ -114,10 +131,12 @@ public class MetadataController {
      * GET /api/metadata/compressed/{compressed}
      */
     @GetMapping("/compressed/{compressed}")
-    public ResponseEntity<List<BackupMetadata>> getMetadataByCompressed(@PathVariable boolean compressed) {
+    public ResponseEntity<CursorPage<BackupMetadataSummary>> getMetadataByCompressed(
+            @PathVariable boolean compressed,
+            @RequestParam(defaultValue = DEFAULT_LIMIT) int limit,
+            @RequestParam(required = false) String cursor) {
         log.debug("Fetching metadata with compressed: {}", compressed);
-        List<BackupMetadata> metadata = metadataService.getMetadataByCompressed(compressed);
-        return ResponseEntity.ok(metadata);
+        return page(null, null, null, null, null, compressed, null, null, null, limit, cursor);
     }
 
     /**
@@ -125,9 +144,34 @@ public class MetadataController {
      * GET /api/metadata/parent/{parentBackupId}
      */
     @GetMapping("/parent/{parentBackupId}")
-    public ResponseEntity<List<BackupMetadata>> getMetadataByParentBackupId(@PathVariable String parentBackupId) {
+    public ResponseEntity<CursorPage<BackupMetadataSummary>> getMetadataByParentBackupId(
+            @PathVariable String parentBackupId,
+            @RequestParam(defaultValue = DEFAULT_LIMIT) int limit,
+            @RequestParam(required = false) String cursor) {
         log.debug("Fetching metadata for parent backup id: {}", parentBackupId);
-        List<BackupMetadata> metadata = metadataService.getMetadataByParentBackupId(parentBackupId);
-        return ResponseEntity.ok(metadata);
+        return page(null, null, null, null, null, null, parentBackupId, null, null, limit, cursor);
+    }
+
+    private ResponseEntity<CursorPage<BackupMetadataSummary>> page(String dbName,
+                                                                   String status,
+                                                                   DatabaseType dbType,
+                                                                   BackupType backupType,
+                                                                   StorageType storageType,
+                                                                   Boolean compressed,
+                                                                   String parentBackupId,
+                                                                   LocalDateTime startDate,
+                                                                   LocalDateTime endDate,
+                                                                   int limit,
+                                                                   String cursor) {
+        PageCursor after;
+        try {
+            after = cursor == null || cursor.isBlank() ? null : PageCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected malformed cursor: {}", cursor);
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(metadataService.getMetadataPage(
+                dbName, status, dbType, backupType, storageType, compressed, parentBackupId,
+                startDate, endDate, after, limit));
     }
 }
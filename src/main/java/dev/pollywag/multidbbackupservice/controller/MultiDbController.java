@@ -1,29 +1,38 @@
 package dev.pollywag.multidbbackupservice.controller;
 
+import dev.pollywag.multidbbackupservice.job.BackupJob;
 import dev.pollywag.multidbbackupservice.model.request.BackupRequest;
 import dev.pollywag.multidbbackupservice.model.request.RestoreRequest;
-import dev.pollywag.multidbbackupservice.model.response.BackupResponse;
+import dev.pollywag.multidbbackupservice.model.response.JobStatusResponse;
 import dev.pollywag.multidbbackupservice.model.response.RestoreResponse;
-import dev.pollywag.multidbbackupservice.service.BackupService;
+import dev.pollywag.multidbbackupservice.service.BackupJobService;
 import dev.pollywag.multidbbackupservice.service.RestoreService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
+
 @RestController
 @RequestMapping("/api")
 public class MultiDbController {
-    private final BackupService backupService;
+    private final BackupJobService backupJobService;
     private final RestoreService restoreService;
 
-    public MultiDbController(BackupService backupService, RestoreService restoreService) {
-        this.backupService = backupService;
+    public MultiDbController(BackupJobService backupJobService, RestoreService restoreService) {
+        this.backupJobService = backupJobService;
         this.restoreService = restoreService;
     }
 
+    /**
+     * Queue a backup and return immediately with its job id.
+     * Poll GET /api/jobs/{jobId} for progress.
+     */
     @PostMapping("/backup")
-    public ResponseEntity<BackupResponse> runBackup(@RequestBody BackupRequest request) {
-        BackupResponse response = backupService.backup(request);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<JobStatusResponse> runBackup(@RequestBody BackupRequest request) {
+        BackupJob job = backupJobService.submit(request);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/jobs/" + job.getJobId()))
+                .body(job.toResponse());
     }
 
     @PostMapping("/restore")
@@ -31,4 +40,4 @@ public class MultiDbController {
         RestoreResponse response = restoreService.restore(request);
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+}
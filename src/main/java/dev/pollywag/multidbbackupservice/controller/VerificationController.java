@@ -0,0 +1,81 @@
+package dev.pollywag.multidbbackupservice.controller;
+
+import dev.pollywag.multidbbackupservice.exception.BackupException;
+import dev.pollywag.multidbbackupservice.model.entity.VerificationRecord;
+import dev.pollywag.multidbbackupservice.model.enums.VerificationStatus;
+import dev.pollywag.multidbbackupservice.model.response.VerificationSweepResponse;
+import dev.pollywag.multidbbackupservice.service.VerificationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/verification")
+public class VerificationController {
+
+    private final VerificationService verificationService;
+
+    public VerificationController(VerificationService verificationService) {
+        this.verificationService = verificationService;
+    }
+
+    /**
+     * Start verifying every successful backup in the background
+     * POST /api/verification/sweep
+     */
+    @PostMapping("/sweep")
+    public ResponseEntity<VerificationSweepResponse> startSweep() {
+        log.debug("Starting verification sweep");
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(verificationService.startSweep());
+        } catch (BackupException e) {
+            log.warn(e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(verificationService.currentSweep());
+        }
+    }
+
+    /**
+     * Progress and aggregate throughput of the running or last sweep
+     * GET /api/verification/sweep
+     */
+    @GetMapping("/sweep")
+    public ResponseEntity<VerificationSweepResponse> getSweep() {
+        VerificationSweepResponse sweep = verificationService.currentSweep();
+        return sweep == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(sweep);
+    }
+
+    /**
+     * Latest verification results, optionally filtered by outcome
+     * GET /api/verification?status=CORRUPT
+     */
+    @GetMapping
+    public ResponseEntity<List<VerificationRecord>> getRecords(
+            @RequestParam(required = false) VerificationStatus status) {
+        log.debug("Fetching verification records with status: {}", status);
+        return ResponseEntity.ok(verificationService.getRecords(status));
+    }
+
+    /**
+     * Latest verification result of one backup
+     * GET /api/verification/{backupId}
+     */
+    @GetMapping("/{backupId}")
+    public ResponseEntity<VerificationRecord> getRecord(@PathVariable String backupId) {
+        VerificationRecord record = verificationService.getRecord(backupId);
+        return record == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(record);
+    }
+
+    /**
+     * Verify one backup now and return the result
+     * POST /api/verification/{backupId}
+     */
+    @PostMapping("/{backupId}")
+    public ResponseEntity<VerificationRecord> verify(@PathVariable String backupId) {
+        log.debug("Verifying backup: {}", backupId);
+        return ResponseEntity.ok(verificationService.verify(backupId));
+    }
+}
@@ -0,0 +1,40 @@
+package dev.pollywag.multidbbackupservice.factory;
+
+import dev.pollywag.multidbbackupservice.compression.CompressionCodec;
+import dev.pollywag.multidbbackupservice.exception.BackupException;
+import dev.pollywag.multidbbackupservice.model.enums.CompressionType;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class CompressionCodecFactory {
+    private final Map<CompressionType, CompressionCodec> codecs = new EnumMap<>(CompressionType.class);
+
+    public CompressionCodecFactory(List<CompressionCodec> codecs) {
+        for (CompressionCodec codec : codecs) {
+            this.codecs.put(codec.getType(), codec);
+        }
+    }
+
+    public CompressionCodec getCodec(CompressionType type) {
+        CompressionCodec codec = codecs.get(type);
+        if (codec == null) {
+            throw new BackupException("Unsupported compression: " + type);
+        }
+        return codec;
+    }
+
+    /**
+     * The codec named explicitly, or the legacy {@code compress} flag read as gzip.
+     * Also used for metadata written before the codec was recorded.
+     */
+    public static CompressionType resolve(CompressionType explicit, boolean compressed) {
+        if (explicit != null) {
+            return explicit;
+        }
+        return compressed ? CompressionType.GZIP : CompressionType.NONE;
+    }
+}
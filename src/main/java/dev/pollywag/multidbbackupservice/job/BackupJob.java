@@ -0,0 +1,129 @@
+package dev.pollywag.multidbbackupservice.job;
+
+import dev.pollywag.multidbbackupservice.model.enums.JobStage;
+import dev.pollywag.multidbbackupservice.model.enums.JobState;
+import dev.pollywag.multidbbackupservice.model.request.BackupRequest;
+import dev.pollywag.multidbbackupservice.model.response.BackupResponse;
+import dev.pollywag.multidbbackupservice.model.response.JobStatusResponse;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A queued or running backup. Updated by the worker thread, read by the status API.
+ */
+public class BackupJob implements BackupProgress {
+
+    private final String jobId;
+    private final BackupRequest request;
+    private final JobThrottle throttle;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+    private final AtomicLong bytesProcessed = new AtomicLong();
+
+    private volatile JobState state = JobState.QUEUED;
+    private volatile JobStage stage = JobStage.QUEUED;
+    private volatile String backupId;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile long startedNanos;
+    private volatile long finishedNanos;
+    private volatile String fileLocation;
+    private volatile String message;
+
+    public BackupJob(String jobId, BackupRequest request, JobThrottle throttle) {
+        this.jobId = jobId;
+        this.request = request;
+        this.throttle = throttle;
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public BackupRequest getRequest() {
+        return request;
+    }
+
+    /** Rate limits of this job; can be changed while it is queued or running. */
+    public JobThrottle getThrottle() {
+        return throttle;
+    }
+
+    public JobState getState() {
+        return state;
+    }
+
+    /** Key used for per-target concurrency limits. */
+    public String getTargetHost() {
+        return request.getHost() + ":" + request.getPort();
+    }
+
+    public void markRunning() {
+        startedAt = LocalDateTime.now();
+        startedNanos = System.nanoTime();
+        state = JobState.RUNNING;
+    }
+
+    public void markSucceeded(BackupResponse response) {
+        fileLocation = response.getFileLocation();
+        message = response.getMessage();
+        finish(JobState.SUCCEEDED);
+    }
+
+    public void markFailed(String error) {
+        message = error;
+        finish(JobState.FAILED);
+    }
+
+    private void finish(JobState finalState) {
+        finishedNanos = System.nanoTime();
+        finishedAt = LocalDateTime.now();
+        stage = JobStage.DONE;
+        state = finalState;
+    }
+
+    @Override
+    public void started(String backupId) {
+        this.backupId = backupId;
+    }
+
+    @Override
+    public void stage(JobStage stage) {
+        this.stage = stage;
+    }
+
+    @Override
+    public void bytesStored(long delta) {
+        bytesProcessed.addAndGet(delta);
+    }
+
+    public JobStatusResponse toResponse() {
+        long bytes = bytesProcessed.get();
+        long throughput = 0;
+        if (startedAt != null) {
+            long end = finishedAt != null ? finishedNanos : System.nanoTime();
+            long elapsedMillis = Duration.ofNanos(end - startedNanos).toMillis();
+            throughput = elapsedMillis > 0 ? bytes * 1000 / elapsedMillis : 0;
+        }
+
+        JobStatusResponse response = new JobStatusResponse();
+        response.setJobId(jobId);
+        response.setBackupId(backupId);
+        response.setState(state);
+        response.setStage(stage);
+        response.setDbName(request.getDbName());
+        response.setDbType(request.getDbType());
+        response.setTargetHost(getTargetHost());
+        response.setBytesProcessed(bytes);
+        response.setThroughputBytesPerSec(throughput);
+        response.setDumpBytesPerSecLimit(throttle.getDumpBytesPerSec());
+        response.setUploadBytesPerSecLimit(throttle.getUploadBytesPerSec());
+        response.setSubmittedAt(submittedAt);
+        response.setStartedAt(startedAt);
+        response.setFinishedAt(finishedAt);
+        response.setFileLocation(fileLocation);
+        response.setMessage(message);
+        return response;
+    }
+}
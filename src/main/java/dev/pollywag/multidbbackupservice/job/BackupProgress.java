@@ -0,0 +1,23 @@
+package dev.pollywag.multidbbackupservice.job;
+
+import dev.pollywag.multidbbackupservice.model.enums.JobStage;
+
+/**
+ * Callback BackupService uses to report where a backup is and how much it has moved.
+ */
+public interface BackupProgress {
+
+    BackupProgress NONE = new BackupProgress() {
+    };
+
+    /** Called once the backup log (and so the backupId) exists. */
+    default void started(String backupId) {
+    }
+
+    default void stage(JobStage stage) {
+    }
+
+    /** Called as bytes reach storage; may be called from a pipeline thread. */
+    default void bytesStored(long delta) {
+    }
+}
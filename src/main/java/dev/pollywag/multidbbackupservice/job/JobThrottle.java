@@ -0,0 +1,70 @@
+package dev.pollywag.multidbbackupservice.job;
+
+import dev.pollywag.multidbbackupservice.pipeline.ThrottledInputStream;
+import dev.pollywag.multidbbackupservice.pipeline.ThrottledOutputStream;
+import dev.pollywag.multidbbackupservice.pipeline.TokenBucket;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Rate limits for one backup: the job's own dump and upload buckets, nested inside the
+ * service-wide buckets every job shares. A stream wrapped here is held to whichever
+ * of the two is lower, so a job can be slowed below the service-wide cap but not above it.
+ */
+public class JobThrottle {
+
+    private final TokenBucket sharedDump;
+    private final TokenBucket sharedUpload;
+    private final TokenBucket dump;
+    private final TokenBucket upload;
+
+    public JobThrottle(TokenBucket sharedDump, TokenBucket sharedUpload, TokenBucket dump, TokenBucket upload) {
+        this.sharedDump = sharedDump;
+        this.sharedUpload = sharedUpload;
+        this.dump = dump;
+        this.upload = upload;
+    }
+
+    /** Limits the uncompressed dump written into {@code out}. */
+    public OutputStream dump(OutputStream out) {
+        return new ThrottledOutputStream(new ThrottledOutputStream(out, sharedDump), dump);
+    }
+
+    /** Limits the bytes storage reads from {@code in} for uploading. */
+    public InputStream upload(InputStream in) {
+        return new ThrottledInputStream(new ThrottledInputStream(in, sharedUpload), upload);
+    }
+
+    /**
+     * Changes this job's own limits while it runs; null leaves a limit as it is, 0 removes it.
+     * The service-wide limits still apply.
+     */
+    public void setLimits(Long dumpBytesPerSec, Long uploadBytesPerSec) {
+        if (dumpBytesPerSec != null) {
+            dump.setBytesPerSecond(dumpBytesPerSec);
+        }
+        if (uploadBytesPerSec != null) {
+            upload.setBytesPerSecond(uploadBytesPerSec);
+        }
+    }
+
+    /** Dump rate currently in force, 0 when unlimited. */
+    public long getDumpBytesPerSec() {
+        return effective(sharedDump, dump);
+    }
+
+    /** Upload rate currently in force, 0 when unlimited. */
+    public long getUploadBytesPerSec() {
+        return effective(sharedUpload, upload);
+    }
+
+    private static long effective(TokenBucket shared, TokenBucket own) {
+        long a = shared.getBytesPerSecond();
+        long b = own.getBytesPerSecond();
+        if (a <= 0) {
+            return Math.max(0, b);
+        }
+        return b <= 0 ? a : Math.min(a, b);
+    }
+}
@@ -0,0 +1,159 @@
+package dev.pollywag.multidbbackupservice.metrics;
+
+import dev.pollywag.multidbbackupservice.cache.ArtifactCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Micrometer meters for the backup and restore pipelines, scraped at /actuator/prometheus.
+ *
+ * <ul>
+ *   <li>{@code backup.jobs.active{operation}} — jobs currently running</li>
+ *   <li>{@code backup.stage.bytes{operation,stage}} — bytes through each stage, counted live</li>
+ *   <li>{@code backup.stage.throughput{operation,stage}} — bytes per second since the previous scrape</li>
+ *   <li>{@code backup.stage.duration{operation,stage,db_type,storage_type,backup_type}} — busy time
+ *       per stage of each finished job, with histogram buckets</li>
+ *   <li>{@code backup.job.duration{operation,...,outcome}} — wall time of each finished job</li>
+ *   <li>{@code backup.failures{operation,stage,...}} — failed jobs by the stage that failed</li>
+ * </ul>
+ */
+@Component
+public class BackupMetrics {
+
+    public static final String BACKUP = "backup";
+    public static final String RESTORE = "restore";
+
+    private final MeterRegistry registry;
+    private final Map<String, AtomicInteger> active = Map.of(
+            BACKUP, new AtomicInteger(),
+            RESTORE, new AtomicInteger());
+    private final Map<String, EnumMap<PipelineStage, Counter>> bytes = Map.of(
+            BACKUP, new EnumMap<>(PipelineStage.class),
+            RESTORE, new EnumMap<>(PipelineStage.class));
+
+    public BackupMetrics(MeterRegistry registry, ArtifactCache cache) {
+        this.registry = registry;
+
+        for (String operation : active.keySet()) {
+            Gauge.builder("backup.jobs.active", active.get(operation), AtomicInteger::get)
+                    .description("Backup or restore jobs currently running")
+                    .tag("operation", operation)
+                    .register(registry);
+            for (PipelineStage stage : PipelineStage.values()) {
+                Counter counter = Counter.builder("backup.stage.bytes")
+                        .description("Bytes that went through a pipeline stage")
+                        .baseUnit("bytes")
+                        .tags("operation", operation, "stage", stage.tag())
+                        .register(registry);
+                bytes.get(operation).put(stage, counter);
+                Gauge.builder("backup.stage.throughput", new Rate(counter), Rate::perSecond)
+                        .description("Bytes per second through a pipeline stage since the previous sample")
+                        .baseUnit("bytes")
+                        .tags("operation", operation, "stage", stage.tag())
+                        .register(registry);
+            }
+        }
+        bindCache(cache);
+    }
+
+    /**
+     * Starts timing a job; {@link JobMetrics#finish} must follow on every path.
+     */
+    public JobMetrics start(String operation) {
+        active.get(operation).incrementAndGet();
+        return new JobMetrics(this, operation);
+    }
+
+    void bytesMoved(String operation, PipelineStage stage, long n) {
+        bytes.get(operation).get(stage).increment(n);
+    }
+
+    void finished(JobMetrics job, boolean success) {
+        active.get(job.operation()).decrementAndGet();
+
+        Tags tags = Tags.of(
+                "operation", job.operation(),
+                "db_type", job.dbType(),
+                "storage_type", job.storageType(),
+                "backup_type", job.backupType());
+
+        for (PipelineStage stage : PipelineStage.values()) {
+            long nanos = job.stageNanos(stage);
+            if (nanos > 0) {
+                Timer.builder("backup.stage.duration")
+                        .description("Busy time of one pipeline stage in a finished job")
+                        .tags(tags)
+                        .tag("stage", stage.tag())
+                        .publishPercentileHistogram()
+                        .register(registry)
+                        .record(nanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        Timer.builder("backup.job.duration")
+                .description("Wall time of a finished backup or restore")
+                .tags(tags)
+                .tag("outcome", success ? "success" : "failure")
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(job.elapsedNanos(), TimeUnit.NANOSECONDS);
+
+        if (!success) {
+            PipelineStage stage = job.failedStage();
+            Counter.builder("backup.failures")
+                    .description("Failed backups and restores by the stage that failed")
+                    .tags(tags)
+                    .tag("stage", stage == null ? "unknown" : stage.tag())
+                    .register(registry)
+                    .increment();
+        }
+    }
+
+    private void bindCache(ArtifactCache cache) {
+        FunctionCounter.builder("backup.cache.requests", cache, c -> c.stats().hits())
+                .description("Artifact cache lookups").tag("result", "hit").register(registry);
+        FunctionCounter.builder("backup.cache.requests", cache, c -> c.stats().misses())
+                .description("Artifact cache lookups").tag("result", "miss").register(registry);
+        FunctionCounter.builder("backup.cache.requests", cache, c -> c.stats().collapsed())
+                .description("Artifact cache lookups").tag("result", "collapsed").register(registry);
+        FunctionCounter.builder("backup.cache.evictions", cache, c -> c.stats().evictions())
+                .description("Artifacts evicted from the cache").register(registry);
+        Gauge.builder("backup.cache.entries", cache, c -> c.stats().entries())
+                .description("Artifacts in the cache").register(registry);
+        Gauge.builder("backup.cache.size", cache, c -> c.stats().bytes())
+                .description("Bytes held by the cache").baseUnit("bytes").register(registry);
+    }
+
+    /**
+     * Rate of a counter between two samples, so a dashboard sees current throughput
+     * without a PromQL rate() over the byte counter.
+     */
+    private static final class Rate {
+        private final Counter counter;
+        private double lastCount;
+        private long lastNanos = System.nanoTime();
+
+        Rate(Counter counter) {
+            this.counter = counter;
+        }
+
+        synchronized double perSecond() {
+            long now = System.nanoTime();
+            double count = counter.count();
+            double rate = now == lastNanos ? 0 : (count - lastCount) * 1e9 / (now - lastNanos);
+            lastCount = count;
+            lastNanos = now;
+            return rate;
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package dev.pollywag.multidbbackupservice.metrics;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Stage timings of one backup or restore, published by {@link BackupMetrics} when it finishes.
+ *
+ * Time is attributed per thread: {@link #run} sets the stage a thread is working in, and
+ * the streams returned by {@link #stage} switch the thread to their stage for the duration
+ * of each call, so a write into the compressor counts as COMPRESS on the dump thread and
+ * not also as DUMP. Calls into a {@link #waiting} stream count for no stage, which is how
+ * time blocked on the other end of a pipe is left out. Stages running on different threads
+ * overlap, so their sum can exceed the wall time of the job.
+ */
+public class JobMetrics {
+
+    /** One entered stage on one thread; a null stage is time spent waiting. */
+    private static final class Frame {
+        final PipelineStage stage;
+        final Frame previous;
+        long since;
+
+        Frame(PipelineStage stage, Frame previous, long since) {
+            this.stage = stage;
+            this.previous = previous;
+            this.since = since;
+        }
+    }
+
+    private final BackupMetrics owner;
+    private final String operation;
+    private final long startedNanos = System.nanoTime();
+    private final AtomicLongArray nanos = new AtomicLongArray(PipelineStage.values().length);
+    private final ThreadLocal<Frame> current = new ThreadLocal<>();
+
+    private volatile String dbType = "unknown";
+    private volatile String storageType = "unknown";
+    private volatile String backupType = "unknown";
+    private volatile PipelineStage failedStage;
+    private boolean finished;
+
+    JobMetrics(BackupMetrics owner, String operation) {
+        this.owner = owner;
+        this.operation = operation;
+    }
+
+    /**
+     * Sets the tags the job is published under. A restore only learns them once the
+     * backup's metadata is loaded; until then they read "unknown".
+     */
+    public JobMetrics describe(Object dbType, Object storageType, Object backupType) {
+        this.dbType = tag(dbType);
+        this.storageType = tag(storageType);
+        this.backupType = tag(backupType);
+        return this;
+    }
+
+    // ─── Attribution ──────────────────────────────────────────────────────────
+
+    /**
+     * Runs {@code work} on this thread as {@code stage}. A failure is remembered as the stage
+     * the job failed in, unless a nested stage already claimed it.
+     */
+    public <T> T run(PipelineStage stage, Callable<T> work) throws Exception {
+        enter(stage);
+        try {
+            return work.call();
+        } catch (Exception e) {
+            failed(stage);
+            throw e;
+        } finally {
+            exit();
+        }
+    }
+
+    /** Reads through {@code in} count as {@code stage}, and the bytes read as that stage's bytes. */
+    public InputStream stage(PipelineStage stage, InputStream in) {
+        return new TimedInputStream(in, stage);
+    }
+
+    /** Writes into {@code out} count as {@code stage}, and the bytes written as that stage's bytes. */
+    public OutputStream stage(PipelineStage stage, OutputStream out) {
+        return new TimedOutputStream(out, stage);
+    }
+
+    /** Time blocked reading {@code in} counts for no stage. */
+    public InputStream waiting(InputStream in) {
+        return new TimedInputStream(in, null);
+    }
+
+    /** Time blocked writing {@code out} counts for no stage. */
+    public OutputStream waiting(OutputStream out) {
+        return new TimedOutputStream(out, null);
+    }
+
+    /** Counts bytes a stage moved outside the streams above, e.g. bytes handed to storage. */
+    public void addBytes(PipelineStage stage, long bytes) {
+        if (stage != null && bytes > 0) {
+            owner.bytesMoved(operation, stage, bytes);
+        }
+    }
+
+    private void enter(PipelineStage stage) {
+        long now = System.nanoTime();
+        Frame outer = current.get();
+        if (outer != null) {
+            charge(outer, now);
+        }
+        current.set(new Frame(stage, outer, now));
+    }
+
+    private void exit() {
+        long now = System.nanoTime();
+        Frame frame = current.get();
+        charge(frame, now);
+        if (frame.previous == null) {
+            current.remove();
+        } else {
+            frame.previous.since = now;
+            current.set(frame.previous);
+        }
+    }
+
+    private void charge(Frame frame, long now) {
+        if (frame.stage != null) {
+            nanos.addAndGet(frame.stage.ordinal(), now - frame.since);
+        }
+        frame.since = now;
+    }
+
+    private void failed(PipelineStage stage) {
+        if (stage != null && failedStage == null) {
+            failedStage = stage;
+        }
+    }
+
+    // ─── Completion ───────────────────────────────────────────────────────────
+
+    /**
+     * Publishes the job's stage timings and outcome. Only the first call counts.
+     */
+    public void finish(boolean success) {
+        synchronized (this) {
+            if (finished) {
+                return;
+            }
+            finished = true;
+        }
+        owner.finished(this, success);
+    }
+
+    String operation() {
+        return operation;
+    }
+
+    String dbType() {
+        return dbType;
+    }
+
+    String storageType() {
+        return storageType;
+    }
+
+    String backupType() {
+        return backupType;
+    }
+
+    long stageNanos(PipelineStage stage) {
+        return nanos.get(stage.ordinal());
+    }
+
+    long elapsedNanos() {
+        return System.nanoTime() - startedNanos;
+    }
+
+    PipelineStage failedStage() {
+        return failedStage;
+    }
+
+    private static String tag(Object value) {
+        return value == null ? "unknown" : value.toString().toLowerCase();
+    }
+
+    // ─── Streams ──────────────────────────────────────────────────────────────
+
+    private class TimedInputStream extends FilterInputStream {
+        private final PipelineStage stage;
+
+        TimedInputStream(InputStream in, PipelineStage stage) {
+            super(in);
+            this.stage = stage;
+        }
+
+        @Override
+        public int read() throws IOException {
+            enter(stage);
+            try {
+                int b = in.read();
+                addBytes(stage, b == -1 ? 0 : 1);
+                return b;
+            } catch (IOException | RuntimeException e) {
+                failed(stage);
+                throw e;
+            } finally {
+                exit();
+            }
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            enter(stage);
+            try {
+                int n = in.read(b, off, len);
+                addBytes(stage, n);
+                return n;
+            } catch (IOException | RuntimeException e) {
+                failed(stage);
+                throw e;
+            } finally {
+                exit();
+            }
+        }
+    }
+
+    private class TimedOutputStream extends FilterOutputStream {
+        private final PipelineStage stage;
+
+        TimedOutputStream(OutputStream out, PipelineStage stage) {
+            super(out);
+            this.stage = stage;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            enter(stage);
+            try {
+                out.write(b, off, len);
+                addBytes(stage, len);
+            } catch (IOException | RuntimeException e) {
+                failed(stage);
+                throw e;
+            } finally {
+                exit();
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            enter(stage);
+            try {
+                out.flush();
+            } finally {
+                exit();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            // A compressor writes its last blocks on close
+            enter(stage);
+            try {
+                out.close();
+            } finally {
+                exit();
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package dev.pollywag.multidbbackupservice.metrics;
+
+/**
+ * Where a backup or restore spends its time. Backups run CONNECT → DUMP → COMPRESS → STORE,
+ * restores DOWNLOAD → DECOMPRESS → APPLY; within one pipeline the stages overlap.
+ */
+public enum PipelineStage {
+    CONNECT,
+    DUMP,
+    COMPRESS,
+    STORE,
+    DOWNLOAD,
+    DECOMPRESS,
+    APPLY;
+
+    String tag() {
+        return name().toLowerCase();
+    }
+}
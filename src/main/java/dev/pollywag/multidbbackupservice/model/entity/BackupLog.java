@@ -8,7 +8,14 @@ import lombok.Data;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "backup_logs")
+// List queries filter on one column and page by (start_time, id) newest first
+@Table(name = "backup_logs", indexes = {
+        @Index(name = "idx_backup_logs_start", columnList = "start_time, id"),
+        @Index(name = "idx_backup_logs_db_name", columnList = "db_name, start_time, id"),
+        @Index(name = "idx_backup_logs_db_type", columnList = "db_type, start_time, id"),
+        @Index(name = "idx_backup_logs_status", columnList = "status, start_time, id"),
+        @Index(name = "idx_backup_logs_action", columnList = "action, start_time, id")
+})
 @Data
 public class BackupLog {
 
@@ -1,7 +1,10 @@
 package dev.pollywag.multidbbackupservice.model.entity;
 
+import dev.pollywag.multidbbackupservice.model.enums.ArtifactFormat;
 import dev.pollywag.multidbbackupservice.model.enums.BackupType;
+import dev.pollywag.multidbbackupservice.model.enums.CompressionType;
 import dev.pollywag.multidbbackupservice.model.enums.DatabaseType;
+import dev.pollywag.multidbbackupservice.model.enums.IncrementalMode;
 import dev.pollywag.multidbbackupservice.model.enums.StorageType;
 import jakarta.persistence.*;
 import lombok.Data;
@@ -9,7 +12,15 @@ import lombok.Data;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "backup_metadata")
+// List queries filter on one column and page by (start_time, backup_id) newest first
+@Table(name = "backup_metadata", indexes = {
+        @Index(name = "idx_backup_metadata_start", columnList = "start_time, backup_id"),
+        @Index(name = "idx_backup_metadata_db_name", columnList = "db_name, start_time, backup_id"),
+        @Index(name = "idx_backup_metadata_db_type", columnList = "db_type, start_time, backup_id"),
+        @Index(name = "idx_backup_metadata_status", columnList = "status, start_time, backup_id"),
+        @Index(name = "idx_backup_metadata_backup_type", columnList = "backup_type, start_time, backup_id"),
+        @Index(name = "idx_backup_metadata_parent", columnList = "parent_backup_id")
+})
 @Data
 public class BackupMetadata {
 
@@ -26,15 +37,31 @@ public class BackupMetadata {
 
     private boolean compressed;
 
+    // null on rows written before codecs were selectable; read as GZIP when compressed
+    @Enumerated(EnumType.STRING)
+    private CompressionType compression;
+
     private String fileName;
 
     private long fileSizeBytes;
 
+    // SHA-256 of the object at storagePath (for SEGMENTED and CHUNKED, the manifest);
+    // null on rows written before checksums were recorded
+    @Column(length = 64)
+    private String checksumSha256;
+
     @Enumerated(EnumType.STRING)
     private StorageType storageType;
 
     private String storagePath;
 
+    // null on rows written before segmented backups existed; treated as SINGLE_FILE
+    @Enumerated(EnumType.STRING)
+    private ArtifactFormat artifactFormat;
+
+    // For SEGMENTED backups: location of manifest.json listing the per-table segments
+    private String manifestPath;
+
     private LocalDateTime startTime;
     private LocalDateTime endTime;
 
@@ -42,4 +69,15 @@ public class BackupMetadata {
 
     // 🔥 Optional but recommended for incremental
     private String parentBackupId;
+
+    @Enumerated(EnumType.STRING)
+    private IncrementalMode incrementalMode;
+
+    // Binlog coordinates the backup is consistent with (end of the range for BINLOG incrementals).
+    // null when binary logging is off or the position could not be read.
+    private String binlogFile;
+    private Long binlogPosition;
+
+    @Column(length = 4096)
+    private String gtidSet;
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package dev.pollywag.multidbbackupservice.model.entity;
+
+import dev.pollywag.multidbbackupservice.model.enums.DatabaseType;
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Change signal of one table as captured by the last backup that dumped it, used by
+ * CHANGED_TABLES incrementals to skip tables that did not move.
+ */
+@Entity
+@Table(name = "table_change_signals")
+@Data
+public class TableChangeSignal {
+
+    // dbType:host:port/dbName/table
+    @Id
+    private String id;
+
+    @Enumerated(EnumType.STRING)
+    private DatabaseType dbType;
+
+    private String host;
+    private int port;
+    private String dbName;
+    private String tableName;
+
+    // null when the table's state could not be pinned down; always treated as changed
+    @Column(length = 512)
+    private String signalValue;
+
+    private String backupId;
+    private LocalDateTime capturedAt;
+}
@@ -0,0 +1,37 @@
+package dev.pollywag.multidbbackupservice.model.entity;
+
+import dev.pollywag.multidbbackupservice.model.enums.VerificationStatus;
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outcome of the latest integrity check of one backup.
+ */
+@Entity
+@Table(name = "verification_records", indexes = {
+        @Index(name = "idx_verification_status", columnList = "status")
+})
+@Data
+public class VerificationRecord {
+
+    @Id
+    private String backupId;
+
+    @Enumerated(EnumType.STRING)
+    private VerificationStatus status;
+
+    // false when the backup predates recorded checksums and only size and codec were checked
+    private boolean checksumChecked;
+
+    private long storedBytes;        // read from storage
+    private long decompressedBytes;  // produced by the codec
+    private long durationMs;
+    private long throughputBytesPerSec;
+
+    private LocalDateTime verifiedAt;
+
+    @Column(length = 1000)
+    private String message;
+}
@@ -0,0 +1,7 @@
+package dev.pollywag.multidbbackupservice.model.enums;
+
+public enum ArtifactFormat {
+    SINGLE_FILE,   // one dump file at storagePath
+    SEGMENTED,     // per-table segment files listed in a manifest at manifestPath
+    CHUNKED        // deduplicated content-addressed chunks listed in a manifest at manifestPath
+}
@@ -0,0 +1,19 @@
+package dev.pollywag.multidbbackupservice.model.enums;
+
+public enum CompressionType {
+    NONE(""),
+    GZIP(".gz"),
+    ZSTD(".zst"),
+    LZ4(".lz4");
+
+    private final String extension;
+
+    CompressionType(String extension) {
+        this.extension = extension;
+    }
+
+    /** Suffix appended to the .sql file name, e.g. {@code .zst}. */
+    public String getExtension() {
+        return extension;
+    }
+}
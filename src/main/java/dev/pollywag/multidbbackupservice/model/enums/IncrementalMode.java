@@ -0,0 +1,7 @@
+package dev.pollywag.multidbbackupservice.model.enums;
+
+public enum IncrementalMode {
+    TABLES,   // dump the tables listed in the request (the original behaviour)
+    BINLOG,   // replay log: binlog events since the previous backup's recorded position
+    CHANGED_TABLES // the listed tables (or all) whose change signals moved since the last backup
+}
@@ -0,0 +1,9 @@
+package dev.pollywag.multidbbackupservice.model.enums;
+
+public enum JobStage {
+    QUEUED,
+    CONNECTING,
+    DUMPING,      // dump → compress → store, streamed in one pass
+    SAVING_METADATA,
+    DONE
+}
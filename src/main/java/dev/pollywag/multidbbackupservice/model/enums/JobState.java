@@ -0,0 +1,5 @@
+package dev.pollywag.multidbbackupservice.model.enums;
+
+public enum JobState {
+    QUEUED, RUNNING, SUCCEEDED, FAILED
+}
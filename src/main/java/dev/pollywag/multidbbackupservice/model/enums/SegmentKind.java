@@ -0,0 +1,7 @@
+package dev.pollywag.multidbbackupservice.model.enums;
+
+public enum SegmentKind {
+    SCHEMA,     // DROP/CREATE TABLE
+    DATA,       // INSERT statements for one table
+    POST_DATA   // views and triggers, applied after all data is loaded
+}
@@ -0,0 +1,7 @@
+package dev.pollywag.multidbbackupservice.model.enums;
+
+public enum VerificationStatus {
+    VERIFIED,    // every byte read back, checksum and size match, codec stream decodes to the end
+    CORRUPT,     // the stored bytes were read but are wrong: checksum, size or codec error
+    UNREADABLE   // the artifact could not be read from storage at all
+}
@@ -0,0 +1,31 @@
+package dev.pollywag.multidbbackupservice.model.manifest;
+
+import dev.pollywag.multidbbackupservice.model.enums.CompressionType;
+import dev.pollywag.multidbbackupservice.model.enums.DatabaseType;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Describes a segmented backup: one schema and one data segment per table,
+ * all dumped from the same snapshot. Stored as manifest.json next to the segments.
+ */
+@Data
+@NoArgsConstructor
+public class BackupManifest {
+    private String dbName;
+    private DatabaseType dbType;
+    private LocalDateTime snapshotTime;
+    private boolean compressed;
+    private CompressionType compression;
+    private int workers;
+
+    // Binlog coordinates read while the snapshot lock was held; null if binary logging is off
+    private String binlogFile;
+    private Long binlogPosition;
+    private String gtidSet;
+    private List<ManifestSegment> segments = new ArrayList<>();
+}
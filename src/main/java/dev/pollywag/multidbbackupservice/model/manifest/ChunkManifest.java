@@ -0,0 +1,25 @@
+package dev.pollywag.multidbbackupservice.model.manifest;
+
+import dev.pollywag.multidbbackupservice.model.enums.CompressionType;
+import dev.pollywag.multidbbackupservice.model.enums.DatabaseType;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Describes a deduplicated backup: the dump is the concatenation of the listed chunks,
+ * each stored once in the shared chunk store under its content hash.
+ */
+@Data
+@NoArgsConstructor
+public class ChunkManifest {
+    private String dbName;
+    private DatabaseType dbType;
+    private CompressionType compression;
+    private long totalBytes;       // uncompressed dump size
+    private long uploadedBytes;    // compressed bytes of chunks that were new in this backup
+    private int newChunks;
+    private List<ChunkRef> chunks = new ArrayList<>();
+}
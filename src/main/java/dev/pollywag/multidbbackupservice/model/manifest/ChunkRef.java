@@ -0,0 +1,14 @@
+package dev.pollywag.multidbbackupservice.model.manifest;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChunkRef {
+    private String hash;       // SHA-256 of the uncompressed chunk, lowercase hex
+    private int length;        // uncompressed bytes
+    private String path;       // relative to the manifest, e.g. chunks/ab/ab12....zst
+}
@@ -0,0 +1,18 @@
+package dev.pollywag.multidbbackupservice.model.manifest;
+
+import dev.pollywag.multidbbackupservice.model.enums.SegmentKind;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ManifestSegment {
+    private String table;        // null for POST_DATA
+    private SegmentKind kind;
+    private String fileName;     // relative to the manifest
+    private long sizeBytes;      // stored (compressed) size
+    private long rowCount;       // DATA segments only
+    private String sha256;       // of the stored bytes; null in manifests written before checksums
+}
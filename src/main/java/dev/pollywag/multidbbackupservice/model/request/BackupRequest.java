@@ -1,7 +1,9 @@
 package dev.pollywag.multidbbackupservice.model.request;
 
 import dev.pollywag.multidbbackupservice.model.enums.BackupType;
+import dev.pollywag.multidbbackupservice.model.enums.CompressionType;
 import dev.pollywag.multidbbackupservice.model.enums.DatabaseType;
+import dev.pollywag.multidbbackupservice.model.enums.IncrementalMode;
 import dev.pollywag.multidbbackupservice.model.enums.StorageType;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -22,7 +24,15 @@ public class BackupRequest {
 
     private BackupType backupType;//full or incremental(specific tables)
     private List<String> tables;
-    private boolean compress;
+    private IncrementalMode incrementalMode; // INCREMENTAL only; null means TABLES
+    private boolean compress;         // legacy switch: true means GZIP when compression is not set
+    private CompressionType compression; // NONE, GZIP, ZSTD or LZ4; overrides compress
+    private int compressionLevel;     // 0 = codec default
+    private boolean compressionLongWindow; // zstd only
+    private int parallelism; // MySQL only: >1 dumps tables concurrently into a segmented backup
+    private boolean dedup;   // store as content-defined chunks shared with earlier backups
+    private Long maxDumpBytesPerSec;   // uncompressed dump rate cap for this backup; null or 0 = service limit only
+    private Long maxUploadBytesPerSec; // storage upload rate cap for this backup; null or 0 = service limit only
 
     private StorageType storageType;
     private String localPath;  // optional override
@@ -4,6 +4,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -19,4 +21,14 @@ public class RestoreRequest {
     private String targetUsername;
     private String targetPassword;
     private String targetDbName; // optional: restore into a different db name
+
+    // Segmented backups only: concurrent mysql sessions; <= 0 uses the worker count of the dump
+    private int parallelism;
+
+    // Point-in-time restore: set one of these to land the database on a moment between backups.
+    // backupId then only names the database; the nearest preceding full backup and the binlog
+    // incrementals after it are picked automatically. targetTime is in this server's time zone;
+    // targetGtid (uuid:n) restores up to and including that transaction.
+    private LocalDateTime targetTime;
+    private String targetGtid;
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package dev.pollywag.multidbbackupservice.model.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ThrottleRequest {
+    private Long dumpBytesPerSec;   // null = unchanged, 0 = no per-job limit
+    private Long uploadBytesPerSec; // null = unchanged, 0 = no per-job limit
+}
@@ -0,0 +1,22 @@
+package dev.pollywag.multidbbackupservice.model.response;
+
+import dev.pollywag.multidbbackupservice.model.enums.DatabaseType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// List view of BackupLog without the path and error text; GET /api/logs/{logId} returns the full row
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BackupLogSummary {
+    private String id;
+    private String action;
+    private String status;
+    private String dbName;
+    private DatabaseType dbType;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+}
@@ -0,0 +1,27 @@
+package dev.pollywag.multidbbackupservice.model.response;
+
+import dev.pollywag.multidbbackupservice.model.enums.BackupType;
+import dev.pollywag.multidbbackupservice.model.enums.DatabaseType;
+import dev.pollywag.multidbbackupservice.model.enums.StorageType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// List view of BackupMetadata; GET /api/metadata/{backupId} returns the full row
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BackupMetadataSummary {
+    private String backupId;
+    private String dbName;
+    private DatabaseType dbType;
+    private BackupType backupType;
+    private String status;
+    private StorageType storageType;
+    private long fileSizeBytes;
+    private String parentBackupId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+}
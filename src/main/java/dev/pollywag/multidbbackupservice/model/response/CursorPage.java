@@ -0,0 +1,28 @@
+package dev.pollywag.multidbbackupservice.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> items;
+    private String nextCursor; // pass back as ?cursor= for the next page; null on the last page
+
+    /**
+     * Builds a page from a query that fetched {@code pageSize + 1} rows; the extra row only
+     * signals that another page exists.
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int pageSize, Function<T, String> cursorOf) {
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, pageSize);
+        return new CursorPage<>(items, cursorOf.apply(items.get(pageSize - 1)));
+    }
+}
@@ -0,0 +1,33 @@
+package dev.pollywag.multidbbackupservice.model.response;
+
+import dev.pollywag.multidbbackupservice.model.enums.DatabaseType;
+import dev.pollywag.multidbbackupservice.model.enums.JobStage;
+import dev.pollywag.multidbbackupservice.model.enums.JobState;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+public class JobStatusResponse {
+    private String jobId;
+    private String backupId;      // log/metadata id, known once the job starts
+    private JobState state;
+    private JobStage stage;
+    private String dbName;
+    private DatabaseType dbType;
+    private String targetHost;
+
+    private long bytesProcessed;          // bytes written to storage so far
+    private long throughputBytesPerSec;   // average since the job started
+    private long dumpBytesPerSecLimit;    // rate caps in force, 0 = unlimited
+    private long uploadBytesPerSecLimit;
+
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    private String fileLocation;
+    private String message;
+}
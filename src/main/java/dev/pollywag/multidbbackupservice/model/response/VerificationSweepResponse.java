@@ -0,0 +1,25 @@
+package dev.pollywag.multidbbackupservice.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VerificationSweepResponse {
+    private String sweepId;
+    private boolean running;
+    private int total;
+    private int verified;
+    private int corrupt;
+    private int unreadable;
+
+    private long storedBytesRead;
+    private long throughputBytesPerSec;   // all workers together, since the sweep started
+
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,91 @@
+package dev.pollywag.multidbbackupservice.pipeline;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+
+/**
+ * Checks a stored artifact against the SHA-256 and size recorded when it was written, as it
+ * is read. The digest covers the whole object, so corruption is only detected by the read
+ * that reaches the recorded size: everything before it has already been returned. Callers
+ * that must not act on bad bytes read the object through this stream once before using it.
+ * A stream that ends early or runs past the size fails too.
+ */
+public class ChecksumVerifyingInputStream extends FilterInputStream {
+
+    private final String expectedSha256;
+    private final long expectedLength;
+    private final String name;
+    private final MessageDigest digest = Checksums.sha256();
+    private long count;
+    private boolean verified;
+
+    public ChecksumVerifyingInputStream(InputStream in, String expectedSha256, long expectedLength, String name) {
+        super(in);
+        this.expectedSha256 = expectedSha256;
+        this.expectedLength = expectedLength;
+        this.name = name;
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] one = new byte[1];
+        int n = read(one, 0, 1);
+        return n == -1 ? -1 : one[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = in.read(b, off, len);
+        if (n == -1) {
+            if (count < expectedLength) {
+                throw new IOException(name + " is truncated: read " + count + " of " + expectedLength + " bytes");
+            }
+            if (!verified) {
+                verify(); // empty artifact
+            }
+            return -1;
+        }
+        if (n > 0) {
+            digest.update(b, off, n);
+            count += n;
+            if (count > expectedLength) {
+                throw new IOException(name + " is longer than the " + expectedLength + " bytes recorded at backup time");
+            }
+            if (count == expectedLength) {
+                verify();
+            }
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        // Every byte has to pass through the digest
+        byte[] buffer = new byte[(int) Math.min(n, 8192)];
+        long skipped = 0;
+        while (skipped < n) {
+            int r = read(buffer, 0, (int) Math.min(buffer.length, n - skipped));
+            if (r == -1) {
+                break;
+            }
+            skipped += r;
+        }
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    private void verify() throws IOException {
+        String actual = Checksums.hex(digest);
+        if (!actual.equalsIgnoreCase(expectedSha256)) {
+            throw new IOException(name + " failed checksum verification: expected sha256 "
+                    + expectedSha256 + ", got " + actual);
+        }
+        verified = true;
+    }
+}
@@ -0,0 +1,38 @@
+package dev.pollywag.multidbbackupservice.pipeline;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * SHA-256 helpers for artifact checksums. Digests are stored as lowercase hex.
+ */
+public final class Checksums {
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    private Checksums() {
+    }
+
+    public static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public static byte[] sha256(byte[] data, int offset, int length) {
+        MessageDigest digest = sha256();
+        digest.update(data, offset, length);
+        return digest.digest();
+    }
+
+    public static String sha256Hex(byte[] data) {
+        return HEX.formatHex(sha256(data, 0, data.length));
+    }
+
+    public static String hex(MessageDigest digest) {
+        return HEX.formatHex(digest.digest());
+    }
+}
@@ -0,0 +1,99 @@
+package dev.pollywag.multidbbackupservice.pipeline;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Splits a stream into content-defined chunks with a gear rolling hash (FastCDC).
+ *
+ * Cut points depend only on the bytes around them, so an insert or delete early in a
+ * dump shifts chunk boundaries only locally and the rest of the chunks come out
+ * identical to the previous backup's. Chunk sizes are normalised around the average:
+ * a stricter mask applies before the average size and a looser one after it.
+ */
+public class ContentDefinedChunker {
+
+    // Fixed seed: the gear table must never change, or every chunk boundary moves
+    private static final long[] GEAR = new long[256];
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x6A09E667F3BCC908L);
+        for (int i = 0; i < GEAR.length; i++) {
+            GEAR[i] = random.nextLong();
+        }
+    }
+
+    private final InputStream in;
+    private final int minSize;
+    private final int avgSize;
+    private final long strictMask;
+    private final long looseMask;
+
+    private final byte[] buffer;
+    private int filled;
+    private boolean eof;
+
+    public ContentDefinedChunker(InputStream in, int minSize, int avgSize, int maxSize) {
+        if (minSize <= 0 || minSize > avgSize || avgSize > maxSize || Integer.bitCount(avgSize) != 1) {
+            throw new IllegalArgumentException(
+                    "Chunk sizes must satisfy 0 < min <= avg <= max with avg a power of two");
+        }
+        this.in = in;
+        this.minSize = minSize;
+        this.avgSize = avgSize;
+
+        // Test the high bits: with a left-shifting hash they depend on the last 64 bytes
+        int bits = Integer.numberOfTrailingZeros(avgSize);
+        this.strictMask = -1L << (64 - (bits + 1));
+        this.looseMask = -1L << (64 - (bits - 1));
+        this.buffer = new byte[maxSize];
+    }
+
+    /**
+     * Returns the next chunk, or null at end of stream. Every chunk is at most
+     * {@code maxSize} bytes and only the last one may be shorter than {@code minSize}.
+     */
+    public byte[] next() throws IOException {
+        while (!eof && filled < buffer.length) {
+            int n = in.read(buffer, filled, buffer.length - filled);
+            if (n == -1) {
+                eof = true;
+            } else {
+                filled += n;
+            }
+        }
+        if (filled == 0) {
+            return null;
+        }
+
+        int cut = findCut(buffer, filled);
+        byte[] chunk = Arrays.copyOf(buffer, cut);
+        System.arraycopy(buffer, cut, buffer, 0, filled - cut);
+        filled -= cut;
+        return chunk;
+    }
+
+    private int findCut(byte[] data, int length) {
+        if (length <= minSize) {
+            return length;
+        }
+        long hash = 0;
+        int i = minSize;
+        int normal = Math.min(avgSize, length);
+        for (; i < normal; i++) {
+            hash = (hash << 1) + GEAR[data[i] & 0xFF];
+            if ((hash & strictMask) == 0) {
+                return i + 1;
+            }
+        }
+        for (; i < length; i++) {
+            hash = (hash << 1) + GEAR[data[i] & 0xFF];
+            if ((hash & looseMask) == 0) {
+                return i + 1;
+            }
+        }
+        return length;
+    }
+}
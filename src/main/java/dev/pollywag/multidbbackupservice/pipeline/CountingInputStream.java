@@ -0,0 +1,64 @@
+package dev.pollywag.multidbbackupservice.pipeline;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.LongConsumer;
+
+/**
+ * Counts the bytes read through it, so the stored size is known without re-reading the artifact.
+ */
+public class CountingInputStream extends FilterInputStream {
+
+    private final LongConsumer listener;
+    private long count;
+
+    public CountingInputStream(InputStream in) {
+        this(in, n -> { });
+    }
+
+    /**
+     * @param listener notified with the size of every successful read, e.g. to publish progress
+     */
+    public CountingInputStream(InputStream in, LongConsumer listener) {
+        super(in);
+        this.listener = listener;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = in.read();
+        if (b != -1) {
+            count++;
+            listener.accept(1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = in.read(b, off, len);
+        if (n > 0) {
+            count += n;
+            listener.accept(n);
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = in.skip(n);
+        count += skipped;
+        listener.accept(skipped);
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    public long getCount() {
+        return count;
+    }
+}
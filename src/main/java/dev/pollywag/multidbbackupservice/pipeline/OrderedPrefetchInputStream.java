@@ -0,0 +1,125 @@
+package dev.pollywag.multidbbackupservice.pipeline;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Presents a sequence of independently fetchable chunks as one InputStream.
+ * Up to {@code window} chunks are fetched concurrently ahead of the reader and handed out
+ * strictly in index order, so the window doubles as a bounded reorder buffer:
+ * memory use never exceeds {@code window} chunks no matter which fetch finishes first.
+ */
+public class OrderedPrefetchInputStream extends InputStream {
+
+    @FunctionalInterface
+    public interface ChunkFetcher {
+        byte[] fetch(int index) throws Exception;
+    }
+
+    private final int chunkCount;
+    private final ChunkFetcher fetcher;
+    private final ExecutorService executor;
+    private final int window;
+
+    private final Deque<Future<byte[]>> inFlight = new ArrayDeque<>();
+    private int nextToSubmit;
+    private byte[] current;
+    private int pos;
+    private boolean closed;
+
+    public OrderedPrefetchInputStream(int chunkCount, ChunkFetcher fetcher, ExecutorService executor, int window) {
+        this.chunkCount = chunkCount;
+        this.fetcher = fetcher;
+        this.executor = executor;
+        this.window = Math.max(1, window);
+        fillWindow();
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!ensureData()) {
+            return -1;
+        }
+        return current[pos++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!ensureData()) {
+            return -1;
+        }
+        int n = Math.min(len, current.length - pos);
+        System.arraycopy(current, pos, b, off, n);
+        pos += n;
+        return n;
+    }
+
+    @Override
+    public int available() {
+        return current == null ? 0 : current.length - pos;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        inFlight.forEach(f -> f.cancel(true));
+        inFlight.clear();
+        current = null;
+    }
+
+    private boolean ensureData() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        while (current == null || pos == current.length) {
+            Future<byte[]> head = inFlight.pollFirst();
+            if (head == null) {
+                return false;
+            }
+            current = await(head);
+            pos = 0;
+            fillWindow();
+        }
+        return true;
+    }
+
+    private void fillWindow() {
+        while (inFlight.size() < window && nextToSubmit < chunkCount) {
+            int index = nextToSubmit++;
+            inFlight.addLast(executor.submit(() -> fetcher.fetch(index)));
+        }
+    }
+
+    private byte[] await(Future<byte[]> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new InterruptedIOException("Interrupted while waiting for chunk");
+        } catch (CancellationException e) {
+            close();
+            throw new IOException("Chunk fetch cancelled", e);
+        } catch (ExecutionException e) {
+            close();
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) {
+                throw io;
+            }
+            throw new IOException("Chunk fetch failed: " + cause.getMessage(), cause);
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package dev.pollywag.multidbbackupservice.pipeline;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory pipe between two threads backed by a bounded queue of byte chunks.
+ * At most {@code depth} chunks of {@code chunkSize} bytes are buffered, so a
+ * fast producer blocks instead of growing the heap.
+ *
+ * Unlike {@link java.io.PipedInputStream}, failures travel both ways: a producer
+ * error surfaces on the reading side and closing the reading side makes the
+ * producer's next write fail.
+ */
+public class StreamPipe {
+
+    private static final byte[] EOF = new byte[0];
+    private static final byte[] POISON = new byte[0];
+    private static final long POLL_MILLIS = 100;
+
+    private final BlockingQueue<byte[]> queue;
+    private final int chunkSize;
+
+    private volatile Throwable failure;
+    private volatile boolean failedUpstream;
+    private volatile boolean readerClosed;
+
+    private final OutputStream sink = new Sink();
+    private final InputStream source = new Source();
+
+    public StreamPipe(int chunkSize, int depth) {
+        if (chunkSize <= 0 || depth <= 0) {
+            throw new IllegalArgumentException("chunkSize and depth must be positive");
+        }
+        this.chunkSize = chunkSize;
+        this.queue = new ArrayBlockingQueue<>(depth);
+    }
+
+    public OutputStream sink() {
+        return sink;
+    }
+
+    public InputStream source() {
+        return source;
+    }
+
+    /**
+     * Marks the write side as failed. The reader gets an IOException carrying
+     * {@code cause} instead of a clean end of stream.
+     */
+    public void fail(Throwable cause) {
+        failure = cause;
+        if (!readerClosed) {
+            failedUpstream = true;
+            // Only the producer puts, so after clearing there is always room for the marker
+            queue.clear();
+            queue.offer(POISON);
+        }
+    }
+
+    /**
+     * True if the write side failed while the reader was still consuming,
+     * i.e. the producer's error is the root cause rather than an echo of the reader closing.
+     */
+    public boolean failedUpstream() {
+        return failedUpstream;
+    }
+
+    private void put(byte[] chunk) throws IOException {
+        // Checked before, not after, queueing: a reader that takes the EOF marker and closes
+        // straight away must not turn a completed stream into a failed write
+        if (readerClosed) {
+            throw new IOException("Pipe closed by reader");
+        }
+        try {
+            while (!queue.offer(chunk, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (readerClosed) {
+                    throw new IOException("Pipe closed by reader");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while writing to pipe");
+        }
+    }
+
+    // ─── Write side ───────────────────────────────────────────────────────────
+
+    private class Sink extends OutputStream {
+        private byte[] buffer = new byte[chunkSize];
+        private int count;
+        private boolean closed;
+
+        @Override
+        public void write(int b) throws IOException {
+            ensureOpen();
+            if (count == buffer.length) {
+                flushBuffer();
+            }
+            buffer[count++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            ensureOpen();
+            while (len > 0) {
+                if (count == buffer.length) {
+                    flushBuffer();
+                }
+                int n = Math.min(len, buffer.length - count);
+                System.arraycopy(b, off, buffer, count, n);
+                count += n;
+                off += n;
+                len -= n;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            ensureOpen();
+            if (count > 0) {
+                flushBuffer();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            if (count > 0) {
+                flushBuffer();
+            }
+            closed = true;
+            put(EOF);
+        }
+
+        private void flushBuffer() throws IOException {
+            byte[] chunk = count == buffer.length ? buffer : Arrays.copyOf(buffer, count);
+            put(chunk);
+            buffer = new byte[chunkSize];
+            count = 0;
+        }
+
+        private void ensureOpen() throws IOException {
+            if (closed) {
+                throw new IOException("Pipe already closed for writing");
+            }
+        }
+    }
+
+    // ─── Read side ────────────────────────────────────────────────────────────
+
+    private class Source extends InputStream {
+        private byte[] current;
+        private int pos;
+        private boolean eof;
+
+        @Override
+        public int read() throws IOException {
+            if (!fill()) {
+                return -1;
+            }
+            return current[pos++] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (!fill()) {
+                return -1;
+            }
+            int n = Math.min(len, current.length - pos);
+            System.arraycopy(current, pos, b, off, n);
+            pos += n;
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return current == null ? 0 : current.length - pos;
+        }
+
+        @Override
+        public void close() {
+            readerClosed = true;
+            queue.clear();
+        }
+
+        private boolean fill() throws IOException {
+            if (readerClosed) {
+                throw new IOException("Pipe closed");
+            }
+            while (!eof && (current == null || pos == current.length)) {
+                byte[] next;
+                try {
+                    next = queue.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while reading from pipe");
+                }
+                if (next == POISON) {
+                    throw new IOException("Upstream stage failed: " + failure.getMessage(), failure);
+                }
+                if (next == EOF) {
+                    eof = true;
+                    current = null;
+                    return false;
+                }
+                current = next;
+                pos = 0;
+            }
+            return !eof;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package dev.pollywag.multidbbackupservice.pipeline;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Runs a producer and a consumer concurrently, connected by a bounded {@link StreamPipe}.
+ * The producer gets its own thread; the consumer runs on the calling thread.
+ */
+public final class StreamPipeline {
+
+    private StreamPipeline() {
+    }
+
+    @FunctionalInterface
+    public interface StreamProducer {
+        void writeTo(OutputStream out) throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface StreamConsumer<T> {
+        T readFrom(InputStream in) throws Exception;
+    }
+
+    /**
+     * Streams everything the producer writes into the consumer and returns the consumer's result.
+     * If either side fails the other is stopped and the original failure is rethrown.
+     */
+    public static <T> T run(String name,
+                            int chunkSize,
+                            int depth,
+                            StreamProducer producer,
+                            StreamConsumer<T> consumer) throws Exception {
+
+        StreamPipe pipe = new StreamPipe(chunkSize, depth);
+        Throwable[] producerError = new Throwable[1];
+
+        Thread producerThread = new Thread(() -> {
+            try {
+                // Producers may close the stream they were given (e.g. a GZIPOutputStream
+                // wrapping it); only a normal return may signal end of stream.
+                producer.writeTo(new CloseShieldOutputStream(pipe.sink()));
+                pipe.sink().close();
+            } catch (Throwable t) {
+                producerError[0] = t;
+                pipe.fail(t);
+            }
+        }, name);
+        producerThread.setDaemon(true);
+        producerThread.start();
+
+        T result;
+        try (InputStream source = pipe.source()) {
+            result = consumer.readFrom(source);
+        } catch (Exception e) {
+            producerThread.join();
+            // If the producer broke first, the consumer only saw its echo
+            if (pipe.failedUpstream() && producerError[0] instanceof Exception pe) {
+                throw pe;
+            }
+            throw e;
+        }
+
+        producerThread.join();
+        if (producerError[0] != null) {
+            throw producerError[0] instanceof Exception pe
+                    ? pe
+                    : new IOException("Producer failed", producerError[0]);
+        }
+        return result;
+    }
+
+    private static class CloseShieldOutputStream extends FilterOutputStream {
+        CloseShieldOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.flush();
+        }
+    }
+}
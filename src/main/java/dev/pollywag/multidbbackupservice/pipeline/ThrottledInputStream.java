@@ -0,0 +1,44 @@
+package dev.pollywag.multidbbackupservice.pipeline;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Charges every byte read to a {@link TokenBucket}, capping the combined rate of all
+ * streams that share the bucket.
+ */
+public class ThrottledInputStream extends FilterInputStream {
+
+    private final TokenBucket bucket;
+
+    public ThrottledInputStream(InputStream in, TokenBucket bucket) {
+        super(in);
+        this.bucket = bucket;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = in.read();
+        if (b != -1) {
+            bucket.acquire(1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = in.read(b, off, len);
+        if (n > 0) {
+            bucket.acquire(n);
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = in.skip(n);
+        bucket.acquire(skipped);
+        return skipped;
+    }
+}
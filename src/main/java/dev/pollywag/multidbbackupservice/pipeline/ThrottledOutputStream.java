@@ -0,0 +1,31 @@
+package dev.pollywag.multidbbackupservice.pipeline;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Charges every byte written to a {@link TokenBucket}, so a producer writing into it
+ * blocks once it gets ahead of the bucket's rate.
+ */
+public class ThrottledOutputStream extends FilterOutputStream {
+
+    private final TokenBucket bucket;
+
+    public ThrottledOutputStream(OutputStream out, TokenBucket bucket) {
+        super(out);
+        this.bucket = bucket;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        bucket.acquire(1);
+        out.write(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        bucket.acquire(len);
+        out.write(b, off, len);
+    }
+}
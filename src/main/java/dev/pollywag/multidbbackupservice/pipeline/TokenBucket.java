@@ -0,0 +1,73 @@
+package dev.pollywag.multidbbackupservice.pipeline;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Byte-rate limiter shared by any number of streams. Up to one second of unused rate
+ * accumulates as burst; a caller that takes more than is available runs the bucket into
+ * debt and sleeps it off, so large reads are never starved and the long-run rate holds.
+ * The rate can be changed while streams are using the bucket.
+ */
+public class TokenBucket {
+
+    private volatile long bytesPerSecond;
+    private double tokens;
+    private long lastRefill = System.nanoTime();
+
+    /**
+     * @param bytesPerSecond sustained rate; 0 or less means unlimited
+     */
+    public TokenBucket(long bytesPerSecond) {
+        this.bytesPerSecond = bytesPerSecond;
+        this.tokens = Math.max(0, bytesPerSecond);
+    }
+
+    public long getBytesPerSecond() {
+        return bytesPerSecond;
+    }
+
+    /**
+     * Changes the sustained rate from now on; 0 or less means unlimited. Burst is capped
+     * at one second of the new rate, debt already taken is kept.
+     */
+    public synchronized void setBytesPerSecond(long bytesPerSecond) {
+        long now = System.nanoTime();
+        if (this.bytesPerSecond <= 0) {
+            tokens = Math.max(0, bytesPerSecond);
+        } else {
+            tokens = Math.min(Math.max(0, bytesPerSecond), tokens + (now - lastRefill) * this.bytesPerSecond / 1e9);
+        }
+        lastRefill = now;
+        this.bytesPerSecond = bytesPerSecond;
+    }
+
+    /**
+     * Takes {@code bytes} from the bucket, blocking while it is in debt.
+     */
+    public void acquire(long bytes) throws InterruptedIOException {
+        if (bytesPerSecond <= 0 || bytes <= 0) {
+            return;
+        }
+        long waitNanos;
+        synchronized (this) {
+            long bytesPerSecond = this.bytesPerSecond;
+            if (bytesPerSecond <= 0) {
+                return;
+            }
+            long now = System.nanoTime();
+            tokens = Math.min(bytesPerSecond, tokens + (now - lastRefill) * bytesPerSecond / 1e9);
+            lastRefill = now;
+            tokens -= bytes;
+            waitNanos = tokens < 0 ? (long) (-tokens * 1e9 / bytesPerSecond) : 0;
+        }
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while throttled");
+            }
+        }
+    }
+}
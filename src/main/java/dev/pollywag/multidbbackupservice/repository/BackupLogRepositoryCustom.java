@@ -0,0 +1,23 @@
+package dev.pollywag.multidbbackupservice.repository;
+
+import dev.pollywag.multidbbackupservice.model.enums.DatabaseType;
+import dev.pollywag.multidbbackupservice.model.response.BackupLogSummary;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BackupLogRepositoryCustom {
+
+    /**
+     * Up to {@code limit} summaries, newest first, starting after {@code after}.
+     * Null filters are left out of the query rather than compared, so indexes apply.
+     */
+    List<BackupLogSummary> findSummaries(String action,
+                                         String status,
+                                         String dbName,
+                                         DatabaseType dbType,
+                                         LocalDateTime startDate,
+                                         LocalDateTime endDate,
+                                         PageCursor after,
+                                         int limit);
+}
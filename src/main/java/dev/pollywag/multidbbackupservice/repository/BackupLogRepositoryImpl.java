@@ -0,0 +1,58 @@
+package dev.pollywag.multidbbackupservice.repository;
+
+import dev.pollywag.multidbbackupservice.model.entity.BackupLog;
+import dev.pollywag.multidbbackupservice.model.enums.DatabaseType;
+import dev.pollywag.multidbbackupservice.model.response.BackupLogSummary;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Transactional(readOnly = true)
+class BackupLogRepositoryImpl implements BackupLogRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BackupLogSummary> findSummaries(String action,
+                                                String status,
+                                                String dbName,
+                                                DatabaseType dbType,
+                                                LocalDateTime startDate,
+                                                LocalDateTime endDate,
+                                                PageCursor after,
+                                                int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BackupLogSummary> query = cb.createQuery(BackupLogSummary.class);
+        Root<BackupLog> l = query.from(BackupLog.class);
+
+        List<Predicate> where = new ArrayList<>();
+        KeysetQueries.equal(cb, where, l.get("action"), action);
+        KeysetQueries.equal(cb, where, l.get("status"), status);
+        KeysetQueries.equal(cb, where, l.get("dbName"), dbName);
+        KeysetQueries.equal(cb, where, l.get("dbType"), dbType);
+        KeysetQueries.startTimeWindow(cb, where, l.get("startTime"), startDate, endDate);
+        KeysetQueries.after(cb, where, l.get("startTime"), l.get("id"), after);
+
+        query.select(cb.construct(BackupLogSummary.class,
+                        l.get("id"),
+                        l.get("action"),
+                        l.get("status"),
+                        l.get("dbName"),
+                        l.get("dbType"),
+                        l.get("startTime"),
+                        l.get("endTime")))
+                .where(where.toArray(Predicate[]::new))
+                .orderBy(cb.desc(l.get("startTime")), cb.desc(l.get("id")));
+
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+}
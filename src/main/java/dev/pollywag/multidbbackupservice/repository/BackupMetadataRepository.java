@@ -8,13 +8,16 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
+// Finders run on the read-only pool; the inherited save/delete methods keep their own write transactions
 @Repository
+@Transactional(readOnly = true)
 public interface BackupMetadataRepository
-        extends JpaRepository<BackupMetadata, String> {
+        extends JpaRepository<BackupMetadata, String>, BackupMetadataRepositoryCustom {
 
     List<BackupMetadata> findByDbNameAndDbTypeOrderByStartTimeAsc(String dbName, DatabaseType dbType);
 
@@ -35,26 +38,4 @@ public interface BackupMetadataRepository
     List<BackupMetadata> findByCompressed(boolean compressed);
     List<BackupMetadata> findByParentBackupId(String parentBackupId);
     List<BackupMetadata> findByStartTimeBetween(LocalDateTime startDate, LocalDateTime endDate);
-
-    @Query("SELECT b FROM BackupMetadata b WHERE " +
-            "(:dbName IS NULL OR b.dbName = :dbName) AND " +
-            "(:status IS NULL OR b.status = :status) AND " +
-            "(:dbType IS NULL OR b.dbType = :dbType) AND " +
-            "(:backupType IS NULL OR b.backupType = :backupType) AND " +
-            "(:storageType IS NULL OR b.storageType = :storageType) AND " +
-            "(:compressed IS NULL OR b.compressed = :compressed) AND " +
-            "(:parentBackupId IS NULL OR b.parentBackupId = :parentBackupId) AND " +
-            "(:startDate IS NULL OR b.startTime >= :startDate) AND " +
-            "(:endDate IS NULL OR b.startTime <= :endDate)")
-    List<BackupMetadata> findWithFilters(
-            @Param("dbName") String dbName,
-            @Param("status") String status,
-            @Param("dbType") DatabaseType dbType,
-            @Param("backupType") BackupType backupType,
-            @Param("storageType") StorageType storageType,
-            @Param("compressed") Boolean compressed,
-            @Param("parentBackupId") String parentBackupId,
-            @Param("startDate") LocalDateTime startDate,
-            @Param("endDate") LocalDateTime endDate
-    );
 }
@@ -0,0 +1,28 @@
+package dev.pollywag.multidbbackupservice.repository;
+
+import dev.pollywag.multidbbackupservice.model.enums.BackupType;
+import dev.pollywag.multidbbackupservice.model.enums.DatabaseType;
+import dev.pollywag.multidbbackupservice.model.enums.StorageType;
+import dev.pollywag.multidbbackupservice.model.response.BackupMetadataSummary;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BackupMetadataRepositoryCustom {
+
+    /**
+     * Up to {@code limit} summaries, newest first, starting after {@code after}.
+     * Null filters are left out of the query rather than compared, so indexes apply.
+     */
+    List<BackupMetadataSummary> findSummaries(String dbName,
+                                              String status,
+                                              DatabaseType dbType,
+                                              BackupType backupType,
+                                              StorageType storageType,
+                                              Boolean compressed,
+                                              String parentBackupId,
+                                              LocalDateTime startDate,
+                                              LocalDateTime endDate,
+                                              PageCursor after,
+                                              int limit);
+}
@@ -0,0 +1,69 @@
+package dev.pollywag.multidbbackupservice.repository;
+
+import dev.pollywag.multidbbackupservice.model.entity.BackupMetadata;
+import dev.pollywag.multidbbackupservice.model.enums.BackupType;
+import dev.pollywag.multidbbackupservice.model.enums.DatabaseType;
+import dev.pollywag.multidbbackupservice.model.enums.StorageType;
+import dev.pollywag.multidbbackupservice.model.response.BackupMetadataSummary;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Transactional(readOnly = true)
+class BackupMetadataRepositoryImpl implements BackupMetadataRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BackupMetadataSummary> findSummaries(String dbName,
+                                                     String status,
+                                                     DatabaseType dbType,
+                                                     BackupType backupType,
+                                                     StorageType storageType,
+                                                     Boolean compressed,
+                                                     String parentBackupId,
+                                                     LocalDateTime startDate,
+                                                     LocalDateTime endDate,
+                                                     PageCursor after,
+                                                     int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BackupMetadataSummary> query = cb.createQuery(BackupMetadataSummary.class);
+        Root<BackupMetadata> b = query.from(BackupMetadata.class);
+
+        List<Predicate> where = new ArrayList<>();
+        KeysetQueries.equal(cb, where, b.get("dbName"), dbName);
+        KeysetQueries.equal(cb, where, b.get("status"), status);
+        KeysetQueries.equal(cb, where, b.get("dbType"), dbType);
+        KeysetQueries.equal(cb, where, b.get("backupType"), backupType);
+        KeysetQueries.equal(cb, where, b.get("storageType"), storageType);
+        KeysetQueries.equal(cb, where, b.get("compressed"), compressed);
+        KeysetQueries.equal(cb, where, b.get("parentBackupId"), parentBackupId);
+        KeysetQueries.startTimeWindow(cb, where, b.get("startTime"), startDate, endDate);
+        KeysetQueries.after(cb, where, b.get("startTime"), b.get("backupId"), after);
+
+        query.select(cb.construct(BackupMetadataSummary.class,
+                        b.get("backupId"),
+                        b.get("dbName"),
+                        b.get("dbType"),
+                        b.get("backupType"),
+                        b.get("status"),
+                        b.get("storageType"),
+                        b.get("fileSizeBytes"),
+                        b.get("parentBackupId"),
+                        b.get("startTime"),
+                        b.get("endTime")))
+                .where(where.toArray(Predicate[]::new))
+                .orderBy(cb.desc(b.get("startTime")), cb.desc(b.get("backupId")));
+
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+}
@@ -0,0 +1,46 @@
+package dev.pollywag.multidbbackupservice.repository;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Predicate helpers shared by the keyset-paginated list queries.
+ */
+final class KeysetQueries {
+
+    private KeysetQueries() {
+    }
+
+    static void equal(CriteriaBuilder cb, List<Predicate> where, Path<?> path, Object value) {
+        if (value != null) {
+            where.add(cb.equal(path, value));
+        }
+    }
+
+    static void startTimeWindow(CriteriaBuilder cb, List<Predicate> where, Path<LocalDateTime> startTime,
+                                LocalDateTime from, LocalDateTime to) {
+        if (from != null) {
+            where.add(cb.greaterThanOrEqualTo(startTime, from));
+        }
+        if (to != null) {
+            where.add(cb.lessThanOrEqualTo(startTime, to));
+        }
+    }
+
+    /**
+     * Rows after {@code cursor} in {@code (startTime DESC, id DESC)} order.
+     */
+    static void after(CriteriaBuilder cb, List<Predicate> where, Path<LocalDateTime> startTime, Path<String> id,
+                      PageCursor cursor) {
+        if (cursor == null) {
+            return;
+        }
+        where.add(cb.or(
+                cb.lessThan(startTime, cursor.startTime()),
+                cb.and(cb.equal(startTime, cursor.startTime()), cb.lessThan(id, cursor.id()))));
+    }
+}
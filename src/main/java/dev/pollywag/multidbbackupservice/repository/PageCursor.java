@@ -0,0 +1,34 @@
+package dev.pollywag.multidbbackupservice.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in a list ordered by {@code (startTime DESC, id DESC)}: the next page
+ * starts strictly after this row. Encoded as an opaque URL-safe token for the API.
+ */
+public record PageCursor(LocalDateTime startTime, String id) {
+
+    public String encode() {
+        String raw = startTime + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code token} was not produced by {@link #encode()}
+     */
+    public static PageCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int split = raw.indexOf('|');
+            if (split <= 0) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            return new PageCursor(LocalDateTime.parse(raw.substring(0, split)), raw.substring(split + 1));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package dev.pollywag.multidbbackupservice.repository;
+
+import dev.pollywag.multidbbackupservice.model.entity.TableChangeSignal;
+import dev.pollywag.multidbbackupservice.model.enums.DatabaseType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+// Finders run on the read-only pool; the inherited save/delete methods keep their own write transactions
+@Repository
+@Transactional(readOnly = true)
+public interface TableChangeSignalRepository
+        extends JpaRepository<TableChangeSignal, String> {
+
+    List<TableChangeSignal> findByDbTypeAndHostAndPortAndDbName(
+            DatabaseType dbType, String host, int port, String dbName);
+}
@@ -0,0 +1,18 @@
+package dev.pollywag.multidbbackupservice.repository;
+
+import dev.pollywag.multidbbackupservice.model.entity.VerificationRecord;
+import dev.pollywag.multidbbackupservice.model.enums.VerificationStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+@Transactional(readOnly = true)
+public interface VerificationRecordRepository extends JpaRepository<VerificationRecord, String> {
+
+    List<VerificationRecord> findByStatusOrderByVerifiedAtDesc(VerificationStatus status);
+
+    List<VerificationRecord> findAllByOrderByVerifiedAtDesc();
+}
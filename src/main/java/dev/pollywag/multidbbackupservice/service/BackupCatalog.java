@@ -0,0 +1,176 @@
+package dev.pollywag.multidbbackupservice.service;
+
+import dev.pollywag.multidbbackupservice.model.entity.BackupMetadata;
+import dev.pollywag.multidbbackupservice.model.enums.BackupType;
+import dev.pollywag.multidbbackupservice.model.enums.DatabaseType;
+import dev.pollywag.multidbbackupservice.model.enums.IncrementalMode;
+import dev.pollywag.multidbbackupservice.repository.BackupMetadataRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * In-memory view of all backup metadata: every backup by id, the parent → children graph,
+ * and per (dbName, dbType) the latest successful backup each kind of incremental builds on.
+ * Loaded once at startup and kept current by {@link WriteBehindWriter}, which passes every
+ * metadata save through {@link #put}, so base and chain lookups never query the database.
+ */
+@Slf4j
+@Component
+public class BackupCatalog {
+
+    /** What an incremental continues from; "latest" is by end time, like the repository queries. */
+    public enum Base {
+        FULL(b -> b.getBackupType() == BackupType.FULL),
+        BINLOG(b -> b.getBinlogFile() != null
+                && (b.getBackupType() == BackupType.FULL || b.getIncrementalMode() == IncrementalMode.BINLOG)),
+        CHANGED_TABLES(b -> b.getBackupType() == BackupType.FULL
+                || b.getIncrementalMode() == IncrementalMode.CHANGED_TABLES);
+
+        private final Predicate<BackupMetadata> accepts;
+
+        Base(Predicate<BackupMetadata> accepts) {
+            this.accepts = accepts;
+        }
+
+        boolean accepts(BackupMetadata backup) {
+            return "SUCCESS".equals(backup.getStatus()) && accepts.test(backup);
+        }
+    }
+
+    private record LineageKey(String dbName, DatabaseType dbType) {
+        static LineageKey of(BackupMetadata backup) {
+            return new LineageKey(backup.getDbName(), backup.getDbType());
+        }
+    }
+
+    private static final Comparator<LocalDateTime> BY_TIME = Comparator.nullsFirst(Comparator.naturalOrder());
+
+    private final BackupMetadataRepository metadataRepository;
+
+    private final Map<String, BackupMetadata> byId = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> children = new ConcurrentHashMap<>();
+    private final Map<LineageKey, Set<String>> lineages = new ConcurrentHashMap<>();
+    private final Map<LineageKey, Map<Base, BackupMetadata>> latest = new ConcurrentHashMap<>();
+
+    public BackupCatalog(BackupMetadataRepository metadataRepository) {
+        this.metadataRepository = metadataRepository;
+    }
+
+    @PostConstruct
+    public void load() {
+        metadataRepository.findAll().forEach(this::put);
+        log.info("Loaded {} backups into the catalog", byId.size());
+    }
+
+    // ─── Updates ──────────────────────────────────────────────────────────────
+
+    /**
+     * Adds or replaces a backup. Callers must not modify {@code backup} afterwards.
+     */
+    public synchronized void put(BackupMetadata backup) {
+        BackupMetadata previous = byId.put(backup.getBackupId(), backup);
+        if (previous != null) {
+            unlink(previous);
+        }
+
+        LineageKey key = LineageKey.of(backup);
+        lineages.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(backup.getBackupId());
+        if (backup.getParentBackupId() != null) {
+            children.computeIfAbsent(backup.getParentBackupId(), k -> ConcurrentHashMap.newKeySet())
+                    .add(backup.getBackupId());
+        }
+
+        Map<Base, BackupMetadata> bases = latest.computeIfAbsent(key, k -> new EnumMap<>(Base.class));
+        for (Base base : Base.values()) {
+            BackupMetadata current = bases.get(base);
+            if (current != null && current.getBackupId().equals(backup.getBackupId())) {
+                // The latest base itself changed: it may no longer be the latest or qualify at all
+                bases.put(base, scan(key, base));
+            } else if (base.accepts(backup)
+                    && (current == null || BY_TIME.compare(backup.getEndTime(), current.getEndTime()) >= 0)) {
+                bases.put(base, backup);
+            }
+        }
+    }
+
+    private void unlink(BackupMetadata previous) {
+        if (previous.getParentBackupId() != null) {
+            Set<String> siblings = children.get(previous.getParentBackupId());
+            if (siblings != null) {
+                siblings.remove(previous.getBackupId());
+            }
+        }
+        LineageKey key = LineageKey.of(previous);
+        Set<String> ids = lineages.get(key);
+        if (ids != null) {
+            ids.remove(previous.getBackupId());
+        }
+        // A save that moved the backup to another database: its old lineage needs new bases
+        Map<Base, BackupMetadata> bases = latest.get(key);
+        if (bases != null && !key.equals(LineageKey.of(byId.get(previous.getBackupId())))) {
+            for (Base base : Base.values()) {
+                if (bases.get(base) == previous) {
+                    bases.put(base, scan(key, base));
+                }
+            }
+        }
+    }
+
+    private BackupMetadata scan(LineageKey key, Base base) {
+        return lineages.getOrDefault(key, Set.of()).stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .filter(base::accepts)
+                .max(Comparator.comparing(BackupMetadata::getEndTime, BY_TIME))
+                .orElse(null);
+    }
+
+    // ─── Lookups ──────────────────────────────────────────────────────────────
+
+    public Optional<BackupMetadata> get(String backupId) {
+        return Optional.ofNullable(byId.get(backupId));
+    }
+
+    /** Every known backup, oldest first. */
+    public List<BackupMetadata> all() {
+        return byId.values().stream()
+                .sorted(Comparator.comparing(BackupMetadata::getStartTime, BY_TIME))
+                .toList();
+    }
+
+    /** Latest successful backup an incremental of the given kind would build on. */
+    public synchronized Optional<BackupMetadata> latestBase(String dbName, DatabaseType dbType, Base base) {
+        Map<Base, BackupMetadata> bases = latest.get(new LineageKey(dbName, dbType));
+        return bases == null ? Optional.empty() : Optional.ofNullable(bases.get(base));
+    }
+
+    /** Backups recorded with {@code backupId} as their parent. */
+    public List<BackupMetadata> children(String backupId) {
+        return children.getOrDefault(backupId, Set.of()).stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparing(BackupMetadata::getStartTime, BY_TIME))
+                .toList();
+    }
+
+    /** Every backup of one database, oldest first. */
+    public List<BackupMetadata> history(String dbName, DatabaseType dbType) {
+        return lineages.getOrDefault(new LineageKey(dbName, dbType), Set.of()).stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparing(BackupMetadata::getStartTime, BY_TIME))
+                .toList();
+    }
+}
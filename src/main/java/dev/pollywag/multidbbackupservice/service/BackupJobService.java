@@ -0,0 +1,173 @@
+package dev.pollywag.multidbbackupservice.service;
+
+import dev.pollywag.multidbbackupservice.exception.BackupException;
+import dev.pollywag.multidbbackupservice.job.BackupJob;
+import dev.pollywag.multidbbackupservice.model.enums.JobState;
+import dev.pollywag.multidbbackupservice.model.request.BackupRequest;
+import dev.pollywag.multidbbackupservice.model.response.BackupResponse;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs backups off the HTTP request thread.
+ *
+ * Jobs wait in a FIFO queue and are dispatched when both the global limit
+ * (backup.jobs.max-concurrent) and the limit for their target host
+ * (backup.jobs.max-per-host) allow it. A job blocked on a busy host does not
+ * hold up jobs for other hosts queued behind it.
+ */
+@Service
+public class BackupJobService {
+
+    private final BackupService backupService;
+    private final ThrottleService throttleService;
+    private final int maxConcurrent;
+    private final int maxPerHost;
+    private final int retainedFinished;
+
+    private final Map<String, BackupJob> jobs = new ConcurrentHashMap<>();
+    private final Deque<String> finishedOrder = new ArrayDeque<>();
+
+    // Guarded by this
+    private final Deque<BackupJob> pending = new ArrayDeque<>();
+    private final Map<String, Integer> runningPerHost = new HashMap<>();
+    private int running;
+
+    private final ExecutorService executor;
+
+    public BackupJobService(BackupService backupService,
+                            ThrottleService throttleService,
+                            @Value("${backup.jobs.max-concurrent:4}") int maxConcurrent,
+                            @Value("${backup.jobs.max-per-host:2}") int maxPerHost,
+                            @Value("${backup.jobs.retained-finished:500}") int retainedFinished) {
+        this.backupService = backupService;
+        this.throttleService = throttleService;
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.maxPerHost = Math.max(1, maxPerHost);
+        this.retainedFinished = Math.max(0, retainedFinished);
+
+        // Dispatch never hands out more than maxConcurrent jobs, so a fixed pool of that size suffices
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(this.maxConcurrent, r -> {
+            Thread t = new Thread(r, "backup-job-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public BackupJob submit(BackupRequest request) {
+        if (request.getDbType() == null || request.getBackupType() == null || request.getStorageType() == null) {
+            throw new BackupException("dbType, backupType and storageType are required.");
+        }
+
+        BackupJob job = new BackupJob(UUID.randomUUID().toString(), request, throttleService.open(request));
+        jobs.put(job.getJobId(), job);
+
+        synchronized (this) {
+            pending.addLast(job);
+            dispatch();
+        }
+        return job;
+    }
+
+    public BackupJob getJob(String jobId) {
+        return jobs.get(jobId);
+    }
+
+    /**
+     * Changes the dump and upload limits of a queued or running job; null leaves a limit
+     * as it is, 0 removes the job's own limit. Returns null if the job is unknown.
+     *
+     * @throws BackupException if the job has already finished
+     */
+    public BackupJob throttle(String jobId, Long dumpBytesPerSec, Long uploadBytesPerSec) {
+        BackupJob job = jobs.get(jobId);
+        if (job == null) {
+            return null;
+        }
+        if (job.getState() == JobState.SUCCEEDED || job.getState() == JobState.FAILED) {
+            throw new BackupException("Job " + jobId + " has already finished.");
+        }
+        if ((dumpBytesPerSec != null && dumpBytesPerSec < 0) || (uploadBytesPerSec != null && uploadBytesPerSec < 0)) {
+            throw new BackupException("Rate limits must be 0 (unlimited) or positive.");
+        }
+        job.getThrottle().setLimits(dumpBytesPerSec, uploadBytesPerSec);
+        return job;
+    }
+
+    public List<BackupJob> getJobs(JobState state) {
+        Collection<BackupJob> all = jobs.values();
+        List<BackupJob> result = new ArrayList<>(all.size());
+        for (BackupJob job : all) {
+            if (state == null || job.getState() == state) {
+                result.add(job);
+            }
+        }
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    // ─── Scheduling ───────────────────────────────────────────────────────────
+
+    private synchronized void dispatch() {
+        Iterator<BackupJob> it = pending.iterator();
+        while (running < maxConcurrent && it.hasNext()) {
+            BackupJob job = it.next();
+            String host = job.getTargetHost();
+            int hostRunning = runningPerHost.getOrDefault(host, 0);
+            if (hostRunning >= maxPerHost) {
+                continue;
+            }
+            it.remove();
+            running++;
+            runningPerHost.put(host, hostRunning + 1);
+            executor.execute(() -> run(job));
+        }
+    }
+
+    private void run(BackupJob job) {
+        try {
+            job.markRunning();
+            BackupResponse response = backupService.backup(job.getRequest(), job, job.getThrottle());
+            job.markSucceeded(response);
+        } catch (Exception e) {
+            job.markFailed(e.getMessage());
+        } finally {
+            synchronized (this) {
+                running--;
+                runningPerHost.computeIfPresent(job.getTargetHost(), (h, n) -> n > 1 ? n - 1 : null);
+                retire(job);
+                dispatch();
+            }
+        }
+    }
+
+    /** Keeps the status of the most recent finished jobs; older ones are forgotten. */
+    private void retire(BackupJob job) {
+        finishedOrder.addLast(job.getJobId());
+        while (finishedOrder.size() > retainedFinished) {
+            jobs.remove(finishedOrder.removeFirst());
+        }
+    }
+}
@@ -1,22 +1,52 @@
 package dev.pollywag.multidbbackupservice.service;
 
+import dev.pollywag.multidbbackupservice.compression.CompressionCodec;
+import dev.pollywag.multidbbackupservice.compression.CompressionOptions;
 import dev.pollywag.multidbbackupservice.exception.BackupException;
+import dev.pollywag.multidbbackupservice.factory.CompressionCodecFactory;
 import dev.pollywag.multidbbackupservice.factory.DatabaseStrategyFactory;
 import dev.pollywag.multidbbackupservice.factory.StorageStrategyFactory;
+import dev.pollywag.multidbbackupservice.job.BackupProgress;
+import dev.pollywag.multidbbackupservice.job.JobThrottle;
+import dev.pollywag.multidbbackupservice.metrics.BackupMetrics;
+import dev.pollywag.multidbbackupservice.metrics.JobMetrics;
+import dev.pollywag.multidbbackupservice.metrics.PipelineStage;
 import dev.pollywag.multidbbackupservice.model.entity.BackupLog;
 import dev.pollywag.multidbbackupservice.model.entity.BackupMetadata;
+import dev.pollywag.multidbbackupservice.model.enums.ArtifactFormat;
 import dev.pollywag.multidbbackupservice.model.enums.BackupType;
+import dev.pollywag.multidbbackupservice.model.enums.CompressionType;
+import dev.pollywag.multidbbackupservice.model.enums.IncrementalMode;
+import dev.pollywag.multidbbackupservice.model.enums.JobStage;
+import dev.pollywag.multidbbackupservice.model.manifest.BackupManifest;
+import dev.pollywag.multidbbackupservice.model.manifest.ChunkManifest;
+import dev.pollywag.multidbbackupservice.model.manifest.ManifestSegment;
 import dev.pollywag.multidbbackupservice.model.request.BackupRequest;
 import dev.pollywag.multidbbackupservice.model.response.BackupResponse;
-import dev.pollywag.multidbbackupservice.repository.BackupMetadataRepository;
+import dev.pollywag.multidbbackupservice.pipeline.Checksums;
+import dev.pollywag.multidbbackupservice.pipeline.CountingInputStream;
+import dev.pollywag.multidbbackupservice.pipeline.StreamPipeline;
+import dev.pollywag.multidbbackupservice.strategy.database.BinlogPosition;
 import dev.pollywag.multidbbackupservice.strategy.database.DatabaseBackupStrategy;
+import dev.pollywag.multidbbackupservice.strategy.database.SegmentSink;
 import dev.pollywag.multidbbackupservice.strategy.storage.StorageStrategy;
+import dev.pollywag.multidbbackupservice.strategy.storage.ThrottledStorageStrategy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import java.io.File;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
 import java.util.List;
+import java.util.Map;
 
 
+@Slf4j
 @Service
 public class BackupService {
 
@@ -24,134 +54,503 @@ public class BackupService {
     private final StorageStrategyFactory storageFactory;
     private final LogService logService;
     // final NotificationService notificationService;
-    private final BackupMetadataRepository metadataRepository;
+    private final BackupCatalog catalog;
+    private final JsonMapper jsonMapper;
+    private final CompressionCodecFactory codecFactory;
+    private final ChunkStoreService chunkStore;
+    private final TableChangeTracker changeTracker;
+    private final WriteBehindWriter writer;
+    private final BackupMetrics metrics;
+    private final ThrottleService throttleService;
+
+    // Bytes per buffered chunk and number of chunks buffered between dump and storage
+    @Value("${backup.pipeline.chunk-size:262144}")
+    private int pipelineChunkSize;
+
+    @Value("${backup.pipeline.depth:16}")
+    private int pipelineDepth;
 
     public BackupService(DatabaseStrategyFactory dbFactory,
                          StorageStrategyFactory storageFactory,
                          LogService logService,
-                         BackupMetadataRepository metadataRepository
+                         BackupCatalog catalog,
+                         JsonMapper jsonMapper,
+                         CompressionCodecFactory codecFactory,
+                         ChunkStoreService chunkStore,
+                         TableChangeTracker changeTracker,
+                         WriteBehindWriter writer,
+                         BackupMetrics metrics,
+                         ThrottleService throttleService
                          ) {
         this.dbFactory = dbFactory;
         this.storageFactory = storageFactory;
         this.logService = logService;
         //this.notificationService = notificationService;
-        this.metadataRepository = metadataRepository;
+        this.catalog = catalog;
+        this.jsonMapper = jsonMapper;
+        this.codecFactory = codecFactory;
+        this.chunkStore = chunkStore;
+        this.changeTracker = changeTracker;
+        this.writer = writer;
+        this.metrics = metrics;
+        this.throttleService = throttleService;
     }
     public BackupResponse backup(BackupRequest request) {
+        return backup(request, BackupProgress.NONE);
+    }
+
+    public BackupResponse backup(BackupRequest request, BackupProgress progress) {
+        return backup(request, progress, throttleService.open(request));
+    }
+
+    /**
+     * Runs a backup whose dump and upload rates are held to {@code throttle}, which the
+     * caller may adjust while the backup runs.
+     */
+    public BackupResponse backup(BackupRequest request, BackupProgress progress, JobThrottle throttle) {
         // Start log
-        BackupLog log = logService.start("BACKUP", request.getDbName());
-        log.setDbType(request.getDbType());
-        log.setStorageType(request.getStorageType());
+        BackupLog backupLog = logService.start("BACKUP", request.getDbName());
+        backupLog.setDbType(request.getDbType());
+        backupLog.setStorageType(request.getStorageType());
+        progress.started(backupLog.getId());
+        JobMetrics job = metrics.start(BackupMetrics.BACKUP)
+                .describe(request.getDbType(), request.getStorageType(), request.getBackupType());
+        boolean succeeded = false;
+
+        // An explicit codec wins; otherwise the legacy compress flag means gzip
+        CompressionType compression = CompressionCodecFactory.resolve(request.getCompression(), request.isCompress());
+        request.setCompression(compression);
+        request.setCompress(compression != CompressionType.NONE);
 
         String timestamp = java.time.LocalDateTime.now()
                 .format(java.time.format.DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
 
         String backupType = request.getBackupType().name().toLowerCase();
-        String tempFileName = request.getDbName()
+        String fileName = request.getDbName()
                 + "_"
                 + backupType
                 + "_"
                 + timestamp
-                + ".sql";
-        String tempFilePath = System.getProperty("java.io.tmpdir")
-                + java.io.File.separator
-                + tempFileName;
+                + ".sql"
+                + compression.getExtension();
 
         try {
             DatabaseBackupStrategy dbStrategy =
                     dbFactory.getStrategy(request.getDbType());
             // TEST CONNECTION FIRST
-            boolean connected = dbStrategy.testConnection(request);
+            progress.stage(JobStage.CONNECTING);
+            boolean connected = job.run(PipelineStage.CONNECT, () -> dbStrategy.testConnection(request));
 
             if (!connected) {
                 throw new BackupException("Database connection failed. Invalid credentials or host.");
             }
 
-            File backupFile;
+            StorageStrategy storage = new ThrottledStorageStrategy(
+                    storageFactory.getStrategy(request.getStorageType()), throttle);
 
-            // FULL vs INCREMENTAL
-            if (request.getBackupType() == BackupType.FULL) {
-                backupFile = dbStrategy.performBackup(request, tempFilePath);
-            } else {
-                backupFile = dbStrategy.performIncrementalBackup(request, tempFilePath);
+            // Signals are read before the dump, so anything written during it shows up next time
+            Map<String, String> tableSignals = null;
+            if (incrementalMode(request) == IncrementalMode.CHANGED_TABLES) {
+                tableSignals = dbStrategy.tableChangeSignals(request, true);
+                List<String> changed = changeTracker.changedTables(request, tableSignals);
+                if (changed.isEmpty()) {
+                    logService.skipped(backupLog);
+                    succeeded = true;
+                    return new BackupResponse(
+                            "SKIPPED",
+                            null,
+                            backupLog.getId(),
+                            "No table changed since the last backup"
+                    );
+                }
+                log.info("{} of {} tables of {} changed since the last backup",
+                        changed.size(), tableSignals.size(), request.getDbName());
+                request.setTables(changed);
+            } else if (request.getBackupType() == BackupType.FULL) {
+                tableSignals = captureBaselineSignals(dbStrategy, request);
             }
 
-            // COMPRESS
-            if (request.isCompress()) {
-                backupFile = dbStrategy.compressBackup(backupFile);
+            progress.stage(JobStage.DUMPING);
+            BackupProgress stored = countingStored(progress, job);
+            StoredArtifact artifact;
+            if (incrementalMode(request) == IncrementalMode.BINLOG) {
+                artifact = storeBinlog(dbStrategy, storage, request, fileName, backupLog, stored, job, throttle);
+            } else if (request.isDedup()) {
+                artifact = storeChunked(dbStrategy, storage, request, fileName, backupLog, stored, job, throttle);
+            } else if (request.getParallelism() > 1) {
+                artifact = storeSegmented(dbStrategy, storage, request, fileName, backupLog, stored, job, throttle);
+            } else {
+                artifact = storeSingleFile(dbStrategy, storage, request, fileName, backupLog, stored, job, throttle);
             }
-
-            // STORE
-            StorageStrategy storage =
-                    storageFactory.getStrategy(request.getStorageType());
-
-            String finalLocation = storage.store(backupFile, request);
+            String finalLocation = artifact.location();
 
             // SUCCESS LOG
-            logService.success(log, finalLocation);
+            progress.stage(JobStage.SAVING_METADATA);
+            logService.success(backupLog, finalLocation);
 
-            saveMetaData(request, backupFile, finalLocation, log);
+            saveMetaData(request, artifact, backupLog);
+            recordSignals(request, backupLog, tableSignals);
+            succeeded = true;
 
             return new BackupResponse(
                     "SUCCESS",
                     finalLocation,
-                    log.getId(),
+                    backupLog.getId(),
                     "Backup completed successfully"
             );
         } catch (Exception ex) {
 
-            logService.fail(log, ex.getMessage());
+            logService.fail(backupLog, ex.getMessage());
 
             throw new BackupException(
                     "Backup failed: " + ex.getMessage(),
                     ex
             );
+        } finally {
+            job.finish(succeeded);
+        }
+    }
+
+    // ─── Artifact writers ─────────────────────────────────────────────────────
+
+    private record StoredArtifact(String fileName,
+                                  long sizeBytes,
+                                  String location,
+                                  ArtifactFormat format,
+                                  String manifestPath,
+                                  BinlogPosition binlogPosition,
+                                  String parentBackupId,
+                                  String checksumSha256) {
+
+        StoredArtifact(String fileName, long sizeBytes, String location, ArtifactFormat format,
+                       String manifestPath, BinlogPosition binlogPosition, String checksumSha256) {
+            this(fileName, sizeBytes, location, format, manifestPath, binlogPosition, null, checksumSha256);
+        }
+    }
+
+    private record StoredObject(String location, long sizeBytes, String sha256) {
+    }
+
+    /**
+     * Stores one object, counting and hashing the bytes on their way into storage so size
+     * and checksum are known without reading the artifact back. {@code in} is the consumer
+     * end of a pipeline; time spent waiting on it is not charged to STORE.
+     */
+    private static StoredObject storeHashed(StorageStrategy storage,
+                                            InputStream in,
+                                            String name,
+                                            BackupRequest request,
+                                            BackupProgress progress,
+                                            JobMetrics job) throws Exception {
+        MessageDigest digest = Checksums.sha256();
+        CountingInputStream counted = new CountingInputStream(
+                new DigestInputStream(job.waiting(in), digest), progress::bytesStored);
+        String location = job.run(PipelineStage.STORE, () -> storage.store(counted, name, request));
+        return new StoredObject(location, counted.getCount(), Checksums.hex(digest));
+    }
+
+    /** Reports bytes reaching storage to the job's STORE byte count as well. */
+    private static BackupProgress countingStored(BackupProgress progress, JobMetrics job) {
+        return new BackupProgress() {
+            @Override
+            public void started(String backupId) {
+                progress.started(backupId);
+            }
+
+            @Override
+            public void stage(JobStage stage) {
+                progress.stage(stage);
+            }
+
+            @Override
+            public void bytesStored(long delta) {
+                progress.bytesStored(delta);
+                job.addBytes(PipelineStage.STORE, delta);
+            }
+        };
+    }
+
+    /**
+     * Producer end of a pipeline: DUMP writes into the compressor, whose time is charged
+     * to COMPRESS, which writes into the pipe, whose time is charged to nothing. The dump
+     * rate limit applies to the uncompressed bytes, so a throttled dump blocks the
+     * database tool on its own output.
+     */
+    private static void dumpCompressed(JobMetrics job,
+                                       JobThrottle throttle,
+                                       CompressionCodec codec,
+                                       CompressionOptions options,
+                                       OutputStream out,
+                                       StreamPipeline.StreamProducer dump) throws Exception {
+        job.run(PipelineStage.DUMP, () -> {
+            try (OutputStream sink = job.stage(PipelineStage.COMPRESS, codec.compress(job.waiting(out), options))) {
+                dump.writeTo(throttle.dump(sink));
+            }
+            return null;
+        });
+    }
+
+    /**
+     * DUMP → COMPRESS → STORE as one streaming pass, no temp files.
+     */
+    private StoredArtifact storeSingleFile(DatabaseBackupStrategy dbStrategy,
+                                           StorageStrategy storage,
+                                           BackupRequest request,
+                                           String fileName,
+                                           BackupLog backupLog,
+                                           BackupProgress progress,
+                                           JobMetrics job,
+                                           JobThrottle throttle) throws Exception {
+        CompressionCodec codec = codecFactory.getCodec(request.getCompression());
+        CompressionOptions options = compressionOptions(request);
+        BinlogPosition[] position = new BinlogPosition[1];
+        StoredObject stored = StreamPipeline.run(
+                "backup-" + backupLog.getId(),
+                pipelineChunkSize,
+                pipelineDepth,
+                out -> dumpCompressed(job, throttle, codec, options, out, sink -> {
+                    // FULL vs INCREMENTAL
+                    if (request.getBackupType() == BackupType.FULL) {
+                        position[0] = dbStrategy.streamBackup(request, sink);
+                    } else {
+                        position[0] = dbStrategy.streamIncrementalBackup(request, sink);
+                    }
+                }),
+                in -> storeHashed(storage, in, fileName, request, progress, job));
+        return new StoredArtifact(fileName, stored.sizeBytes(), stored.location(), ArtifactFormat.SINGLE_FILE, null,
+                position[0], stored.sha256());
+    }
+
+    /**
+     * Parallel dump: every table becomes its own compressed segment under
+     * {@code <baseName>/}, each streamed straight into storage by the worker that
+     * dumped it, followed by a manifest.json that lists them.
+     */
+    private StoredArtifact storeSegmented(DatabaseBackupStrategy dbStrategy,
+                                          StorageStrategy storage,
+                                          BackupRequest request,
+                                          String fileName,
+                                          BackupLog backupLog,
+                                          BackupProgress progress,
+                                          JobMetrics job,
+                                          JobThrottle throttle) throws Exception {
+        String baseName = fileName.substring(0, fileName.indexOf(".sql"));
+
+        CompressionCodec codec = codecFactory.getCodec(request.getCompression());
+        CompressionOptions options = compressionOptions(request);
+
+        SegmentSink sink = (segmentName, producer) -> {
+            String storedName = segmentName + request.getCompression().getExtension();
+            StoredObject stored = StreamPipeline.run(
+                    "backup-" + backupLog.getId() + "-" + segmentName,
+                    pipelineChunkSize,
+                    pipelineDepth,
+                    out -> dumpCompressed(job, throttle, codec, options, out, producer),
+                    in -> storeHashed(storage, in, baseName + "/" + storedName, request, progress, job));
+            return new SegmentSink.StoredSegment(storedName, stored.sizeBytes(), stored.sha256());
+        };
+
+        BackupManifest manifest = dbStrategy.performParallelBackup(request, sink);
+
+        byte[] manifestJson = jsonMapper.writerWithDefaultPrettyPrinter().writeValueAsBytes(manifest);
+        String manifestPath = storage.store(new ByteArrayInputStream(manifestJson),
+                baseName + "/manifest.json", request);
+
+        long totalBytes = manifestJson.length;
+        for (ManifestSegment segment : manifest.getSegments()) {
+            totalBytes += segment.getSizeBytes();
+        }
+        BinlogPosition position = manifest.getBinlogFile() == null ? null
+                : new BinlogPosition(manifest.getBinlogFile(), manifest.getBinlogPosition(), manifest.getGtidSet());
+        return new StoredArtifact(baseName, totalBytes, manifestPath, ArtifactFormat.SEGMENTED, manifestPath, position,
+                Checksums.sha256Hex(manifestJson));
+    }
+
+    /**
+     * Deduplicated dump: the uncompressed stream is cut into content-defined chunks and
+     * only chunks the store has not seen before are compressed and uploaded. The backup
+     * itself is a {@code <baseName>.chunks.json} manifest listing the chunk hashes.
+     * Compression happens per chunk, after chunking, so identical data stays identical.
+     */
+    private StoredArtifact storeChunked(DatabaseBackupStrategy dbStrategy,
+                                        StorageStrategy storage,
+                                        BackupRequest request,
+                                        String fileName,
+                                        BackupLog backupLog,
+                                        BackupProgress progress,
+                                        JobMetrics job,
+                                        JobThrottle throttle) throws Exception {
+        if (request.getParallelism() > 1) {
+            throw new BackupException("dedup and parallelism cannot be combined; choose one.");
+        }
+        String manifestName = fileName.substring(0, fileName.indexOf(".sql")) + ".chunks.json";
+        CompressionCodec codec = codecFactory.getCodec(request.getCompression());
+        CompressionOptions options = compressionOptions(request);
+
+        BinlogPosition[] position = new BinlogPosition[1];
+        ChunkManifest manifest = StreamPipeline.run(
+                "backup-" + backupLog.getId(),
+                pipelineChunkSize,
+                pipelineDepth,
+                out -> job.run(PipelineStage.DUMP, () -> {
+                    // Chunks are compressed after chunking, on the chunk store's upload threads
+                    OutputStream sink = throttle.dump(job.waiting(out));
+                    if (request.getBackupType() == BackupType.FULL) {
+                        position[0] = dbStrategy.streamBackup(request, sink);
+                    } else {
+                        position[0] = dbStrategy.streamIncrementalBackup(request, sink);
+                    }
+                    return null;
+                }),
+                in -> job.run(PipelineStage.STORE,
+                        () -> chunkStore.write(job.waiting(in), storage, request, codec, options, progress)));
+
+        byte[] manifestJson = jsonMapper.writeValueAsBytes(manifest);
+        String manifestPath = storage.store(new ByteArrayInputStream(manifestJson), manifestName, request);
+
+        log.info("{} of {} chunks new, uploaded {} bytes for a {} byte dump",
+                manifest.getNewChunks(), manifest.getChunks().size(), manifest.getUploadedBytes(),
+                manifest.getTotalBytes());
+
+        return new StoredArtifact(manifestName, manifest.getUploadedBytes() + manifestJson.length,
+                manifestPath, ArtifactFormat.CHUNKED, manifestPath, position[0], Checksums.sha256Hex(manifestJson));
+    }
+
+    /**
+     * Log-based incremental: streams the binlog events recorded since the previous full or
+     * binlog backup up to the current position. Cost follows the write volume since that
+     * backup, not the size of the tables. The new backup becomes the next link in the chain.
+     */
+    private StoredArtifact storeBinlog(DatabaseBackupStrategy dbStrategy,
+                                       StorageStrategy storage,
+                                       BackupRequest request,
+                                       String fileName,
+                                       BackupLog backupLog,
+                                       BackupProgress progress,
+                                       JobMetrics job,
+                                       JobThrottle throttle) throws Exception {
+        if (request.isDedup() || request.getParallelism() > 1) {
+            throw new BackupException("Binlog incrementals are stored as a single file; "
+                    + "dedup and parallelism do not apply.");
+        }
+
+        BackupMetadata base = catalog.latestBase(request.getDbName(), request.getDbType(), BackupCatalog.Base.BINLOG)
+                .orElseThrow(() -> new BackupException("No backup of " + request.getDbName()
+                        + " with a recorded binlog position. Take a full backup with binary logging enabled first."));
+        BinlogPosition from = new BinlogPosition(base.getBinlogFile(), base.getBinlogPosition(), base.getGtidSet());
+        BinlogPosition to = dbStrategy.currentBinlogPosition(request);
+
+        CompressionCodec codec = codecFactory.getCodec(request.getCompression());
+        CompressionOptions options = compressionOptions(request);
+        StoredObject stored = StreamPipeline.run(
+                "backup-" + backupLog.getId(),
+                pipelineChunkSize,
+                pipelineDepth,
+                out -> dumpCompressed(job, throttle, codec, options, out,
+                        sink -> dbStrategy.streamBinlog(request, from, to, sink)),
+                in -> storeHashed(storage, in, fileName, request, progress, job));
+
+        return new StoredArtifact(fileName, stored.sizeBytes(), stored.location(), ArtifactFormat.SINGLE_FILE, null,
+                to, base.getBackupId(), stored.sha256());
+    }
+
+    // ─── Change tracking ──────────────────────────────────────────────────────
+
+    /**
+     * Cheap signals only: a full backup must not pay for table checksums. Tables left
+     * unknown are simply dumped by the next CHANGED_TABLES incremental.
+     */
+    private Map<String, String> captureBaselineSignals(DatabaseBackupStrategy dbStrategy, BackupRequest request) {
+        try {
+            return dbStrategy.tableChangeSignals(request, false);
+        } catch (Exception e) {
+            log.warn("Could not read table change signals of {}: {}", request.getDbName(), e.getMessage());
+            return null;
+        }
+    }
+
+    private void recordSignals(BackupRequest request, BackupLog backupLog, Map<String, String> tableSignals) {
+        if (tableSignals == null) {
+            return;
+        }
+        try {
+            changeTracker.record(request, backupLog.getId(), tableSignals);
+        } catch (Exception e) {
+            // A stale baseline only makes the next incremental dump more than it needs to
+            log.warn("Could not record table change signals of {}: {}", request.getDbName(), e.getMessage());
+        }
+    }
+
+    private static IncrementalMode incrementalMode(BackupRequest request) {
+        if (request.getBackupType() != BackupType.INCREMENTAL) {
+            return null;
         }
+        return request.getIncrementalMode() != null ? request.getIncrementalMode() : IncrementalMode.TABLES;
+    }
+
+    private static CompressionOptions compressionOptions(BackupRequest request) {
+        return new CompressionOptions(request.getCompressionLevel(), request.isCompressionLongWindow());
     }
 
     private void saveMetaData(BackupRequest request,
-                                      File backupFile,
-                                      String storagePath,
-                                      BackupLog log) throws IOException {
+                              StoredArtifact artifact,
+                              BackupLog backupLog) {
 
         BackupMetadata metadata = new BackupMetadata();
 
-        metadata.setBackupId(log.getId());
+        metadata.setBackupId(backupLog.getId());
         metadata.setDbName(request.getDbName());
         metadata.setDbType(request.getDbType());
         metadata.setBackupType(request.getBackupType());
         metadata.setCompressed(request.isCompress());
-        metadata.setFileName(backupFile.getName());
-        metadata.setFileSizeBytes(backupFile.length());
+        metadata.setCompression(request.getCompression());
+        metadata.setFileName(artifact.fileName());
+        metadata.setFileSizeBytes(artifact.sizeBytes());
+        metadata.setChecksumSha256(artifact.checksumSha256());
         metadata.setStorageType(request.getStorageType());
-        metadata.setStoragePath(storagePath);
-        metadata.setStartTime(log.getStartTime());
-        metadata.setEndTime(log.getEndTime());
-        metadata.setStatus(log.getStatus());
+        metadata.setStoragePath(artifact.location());
+        metadata.setArtifactFormat(artifact.format());
+        metadata.setManifestPath(artifact.manifestPath());
+        metadata.setStartTime(backupLog.getStartTime());
+        metadata.setEndTime(backupLog.getEndTime());
+        metadata.setStatus(backupLog.getStatus());
+        metadata.setIncrementalMode(incrementalMode(request));
 
-        if (request.getBackupType() == BackupType.INCREMENTAL) {
+        BinlogPosition position = artifact.binlogPosition();
+        if (position != null) {
+            metadata.setBinlogFile(position.file());
+            metadata.setBinlogPosition(position.position());
+            metadata.setGtidSet(position.gtidSet());
+        }
+
+        if (artifact.parentBackupId() != null) {
+            // Binlog incrementals chain onto the backup whose position they continue from
+            metadata.setParentBackupId(artifact.parentBackupId());
+        } else if (metadata.getIncrementalMode() == IncrementalMode.CHANGED_TABLES) {
+            // Only the changed tables are in this backup; the rest come from earlier links
+            metadata.setParentBackupId(findLatestChangedTablesBaseId(request));
+        } else if (request.getBackupType() == BackupType.INCREMENTAL) {
             // Later you can improve this with parent lookup
             metadata.setParentBackupId(findLatestFullBackupId(request));
         }
 
-        metadataRepository.save(metadata);
+        writer.saveMetadata(metadata);
     }
 
-    private String findLatestFullBackupId(BackupRequest request) {
-        // Option 1: Using the custom query
-        List<BackupMetadata> fullBackups = metadataRepository.findLatestFullBackup(
-                request.getDbName(),
-                request.getDbType()
-        );
-
-        if (fullBackups.isEmpty()) {
-            throw new RuntimeException(
-                    "No full backup found for " + request.getDbName() +
-                            ". Cannot create incremental backup without a base full backup."
-            );
-        }
+    private String findLatestChangedTablesBaseId(BackupRequest request) {
+        return catalog.latestBase(request.getDbName(), request.getDbType(), BackupCatalog.Base.CHANGED_TABLES)
+                .map(BackupMetadata::getBackupId)
+                .orElseThrow(() -> new BackupException("No full backup found for " + request.getDbName()
+                        + ". Cannot create incremental backup without a base full backup."));
+    }
 
-        return fullBackups.get(0).getBackupId();
+    private String findLatestFullBackupId(BackupRequest request) {
+        return catalog.latestBase(request.getDbName(), request.getDbType(), BackupCatalog.Base.FULL)
+                .map(BackupMetadata::getBackupId)
+                .orElseThrow(() -> new RuntimeException(
+                        "No full backup found for " + request.getDbName() +
+                                ". Cannot create incremental backup without a base full backup."
+                ));
     }
 
 
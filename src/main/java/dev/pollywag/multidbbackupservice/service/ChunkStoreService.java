@@ -0,0 +1,245 @@
+package dev.pollywag.multidbbackupservice.service;
+
+import dev.pollywag.multidbbackupservice.compression.CompressionCodec;
+import dev.pollywag.multidbbackupservice.compression.CompressionOptions;
+import dev.pollywag.multidbbackupservice.exception.BackupException;
+import dev.pollywag.multidbbackupservice.job.BackupProgress;
+import dev.pollywag.multidbbackupservice.model.manifest.ChunkManifest;
+import dev.pollywag.multidbbackupservice.model.manifest.ChunkRef;
+import dev.pollywag.multidbbackupservice.model.request.BackupRequest;
+import dev.pollywag.multidbbackupservice.pipeline.Checksums;
+import dev.pollywag.multidbbackupservice.pipeline.ContentDefinedChunker;
+import dev.pollywag.multidbbackupservice.pipeline.OrderedPrefetchInputStream;
+import dev.pollywag.multidbbackupservice.strategy.storage.StorageStrategy;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Deduplicated backup storage. A dump is cut into content-defined chunks; each chunk
+ * is compressed and stored once under {@code chunks/<hh>/<sha256><ext>} next to the
+ * backup, and the backup itself is just the ordered list of chunk hashes.
+ *
+ * Chunks are never deleted here: they are shared by every backup that references them.
+ *
+ * Every chunk hash seen for the first time in a run costs one {@code exists} check
+ * (a HEAD request on S3) before it is uploaded, overlapped like the uploads themselves.
+ * With the default 1 MiB average chunk that is about a thousand checks per GiB of dump.
+ * Their answers are not kept between runs: chunks can be removed outside this service,
+ * and a stale "exists" would yield a backup that references a missing chunk.
+ */
+@Service
+public class ChunkStoreService {
+
+    private static final String CHUNK_DIR = "chunks/";
+
+    private final int minChunkSize;
+    private final int avgChunkSize;
+    private final int maxChunkSize;
+    private final int concurrency;
+    private final int fetchWindow;
+    private final ExecutorService executor;
+
+    public ChunkStoreService(@Value("${backup.dedup.min-chunk-size:262144}") int minChunkSize,
+                             @Value("${backup.dedup.avg-chunk-size:1048576}") int avgChunkSize,
+                             @Value("${backup.dedup.max-chunk-size:4194304}") int maxChunkSize,
+                             @Value("${backup.dedup.concurrency:8}") int concurrency,
+                             @Value("${backup.dedup.fetch-window:8}") int fetchWindow) {
+        this.minChunkSize = minChunkSize;
+        this.avgChunkSize = avgChunkSize;
+        this.maxChunkSize = maxChunkSize;
+        this.concurrency = Math.max(1, concurrency);
+        this.fetchWindow = Math.max(1, fetchWindow);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "chunk-store-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // ─── Write ────────────────────────────────────────────────────────────────
+
+    /**
+     * Chunks {@code in} (the uncompressed dump), uploads the chunks the store does not have
+     * yet with up to {@code backup.dedup.concurrency} in flight, and returns the manifest.
+     */
+    public ChunkManifest write(InputStream in,
+                               StorageStrategy storage,
+                               BackupRequest request,
+                               CompressionCodec codec,
+                               CompressionOptions options,
+                               BackupProgress progress) throws IOException {
+
+        ContentDefinedChunker chunker = new ContentDefinedChunker(in, minChunkSize, avgChunkSize, maxChunkSize);
+        String extension = codec.getType().getExtension();
+
+        Semaphore inFlight = new Semaphore(concurrency);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Set<String> seen = ConcurrentHashMap.newKeySet();
+        AtomicLong uploadedBytes = new AtomicLong();
+        AtomicInteger newChunks = new AtomicInteger();
+
+        List<ChunkRef> refs = new ArrayList<>();
+        List<Future<?>> futures = new ArrayList<>();
+        long totalBytes = 0;
+
+        try {
+            byte[] chunk;
+            while ((chunk = chunker.next()) != null) {
+                acquire(inFlight);
+                if (failure.get() != null) {
+                    inFlight.release();
+                    break;
+                }
+
+                ChunkRef ref = new ChunkRef(null, chunk.length, null);
+                refs.add(ref);
+                totalBytes += chunk.length;
+
+                byte[] data = chunk;
+                futures.add(executor.submit(() -> {
+                    try {
+                        String hash = Checksums.sha256Hex(data);
+                        String path = CHUNK_DIR + hash.substring(0, 2) + "/" + hash + extension;
+                        ref.setHash(hash);
+                        ref.setPath(path);
+
+                        // First writer of a hash in this run uploads it, unless an earlier backup did
+                        if (seen.add(hash) && !storage.exists(storage.locate(path, request))) {
+                            byte[] compressed = compress(codec, options, data);
+                            storage.store(new ByteArrayInputStream(compressed), path, request);
+                            uploadedBytes.addAndGet(compressed.length);
+                            newChunks.incrementAndGet();
+                            progress.bytesStored(compressed.length);
+                        }
+                        return null;
+                    } catch (Exception e) {
+                        failure.compareAndSet(null, e);
+                        throw e;
+                    } finally {
+                        inFlight.release();
+                    }
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                await(future);
+            }
+        } catch (IOException | RuntimeException e) {
+            futures.forEach(f -> f.cancel(true));
+            throw e;
+        }
+
+        ChunkManifest manifest = new ChunkManifest();
+        manifest.setDbName(request.getDbName());
+        manifest.setDbType(request.getDbType());
+        manifest.setCompression(codec.getType());
+        manifest.setTotalBytes(totalBytes);
+        manifest.setUploadedBytes(uploadedBytes.get());
+        manifest.setNewChunks(newChunks.get());
+        manifest.setChunks(refs);
+        return manifest;
+    }
+
+    // ─── Read ─────────────────────────────────────────────────────────────────
+
+    /**
+     * Reassembles the dump described by {@code manifest}, fetching up to
+     * {@code backup.dedup.fetch-window} chunks ahead of the reader. Every chunk is
+     * checked against its hash before it is handed out.
+     */
+    public InputStream open(ChunkManifest manifest,
+                            String manifestPath,
+                            StorageStrategy storage,
+                            CompressionCodec codec) {
+        return open(manifest, manifestPath, storage, codec, storage::openStream);
+    }
+
+    /**
+     * Same as {@link #open(ChunkManifest, String, StorageStrategy, CompressionCodec)}, with
+     * every chunk opened through {@code source} (given the chunk's storage path).
+     */
+    public InputStream open(ChunkManifest manifest,
+                            String manifestPath,
+                            StorageStrategy storage,
+                            CompressionCodec codec,
+                            Function<String, InputStream> source) {
+        List<ChunkRef> chunks = manifest.getChunks();
+        return new OrderedPrefetchInputStream(chunks.size(), index -> {
+            ChunkRef ref = chunks.get(index);
+            byte[] data;
+            try (InputStream raw = source.apply(storage.resolveSibling(manifestPath, ref.getPath()));
+                 InputStream in = codec.decompress(raw)) {
+                data = in.readAllBytes();
+            }
+            if (data.length != ref.getLength() || !Checksums.sha256Hex(data).equals(ref.getHash())) {
+                throw new BackupException("Chunk " + ref.getHash() + " is corrupt or was modified");
+            }
+            return data;
+        }, executor, fetchWindow);
+    }
+
+    // ─── Helpers ──────────────────────────────────────────────────────────────
+
+    private static byte[] compress(CompressionCodec codec, CompressionOptions options, byte[] data)
+            throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(data.length / 3 + 64);
+        try (OutputStream out = codec.compress(buffer, options)) {
+            out.write(data);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static void acquire(Semaphore semaphore) throws IOException {
+        try {
+            semaphore.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a chunk upload slot");
+        }
+    }
+
+    private static void await(Future<?> future) throws IOException {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for chunk upload");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw new IOException("Chunk upload failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+}
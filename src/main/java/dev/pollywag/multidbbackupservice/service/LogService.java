@@ -2,7 +2,10 @@ package dev.pollywag.multidbbackupservice.service;
 
 import dev.pollywag.multidbbackupservice.model.entity.BackupLog;
 import dev.pollywag.multidbbackupservice.model.enums.DatabaseType;
+import dev.pollywag.multidbbackupservice.model.response.BackupLogSummary;
+import dev.pollywag.multidbbackupservice.model.response.CursorPage;
 import dev.pollywag.multidbbackupservice.repository.BackupLogRepository;
+import dev.pollywag.multidbbackupservice.repository.PageCursor;
 import lombok.extern.java.Log;
 import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
@@ -12,10 +15,14 @@ import java.util.UUID;
 @Service
 public class LogService {
 
+    public static final int MAX_PAGE_SIZE = 500;
+
     private final BackupLogRepository logRepository;
+    private final WriteBehindWriter writer;
 
-    public LogService(BackupLogRepository logRepository) {
+    public LogService(BackupLogRepository logRepository, WriteBehindWriter writer) {
         this.logRepository = logRepository;
+        this.writer = writer;
     }
 
     public BackupLog start(String action, String dbName) {
@@ -25,51 +32,50 @@ public class LogService {
         log.setDbName(dbName);
         log.setStatus("STARTED");
         log.setStartTime(LocalDateTime.now());
-        return logRepository.save(log);
+        writer.saveLog(log);
+        return log;
     }
 
     public void success(BackupLog log, String filePath) {
         log.setStatus("SUCCESS");
         log.setFilePath(filePath);
         log.setEndTime(LocalDateTime.now());
-        logRepository.save(log);
+        writer.saveLog(log);
     }
 
     public void fail(BackupLog log, String error) {
         log.setStatus("FAILED");
         log.setError(error);
         log.setEndTime(LocalDateTime.now());
-        logRepository.save(log);
+        writer.saveLog(log);
+    }
+
+    public void skipped(BackupLog log) {
+        log.setStatus("SKIPPED");
+        log.setEndTime(LocalDateTime.now());
+        writer.saveLog(log);
     }
 
     public List<BackupLog> getAllLogs() {
+        writer.flush();
         return logRepository.findAll();
     }
 
     public BackupLog getLogById(String id) {
-        return logRepository.findById(id).orElse(null);
-    }
-    
-    // New filtering methods
-    
-    public List<BackupLog> getFilteredLogs(String action, String status, String dbName, 
-                                           DatabaseType dbType, LocalDateTime startDate, LocalDateTime endDate) {
-        return logRepository.findWithFilters(action, status, dbName, dbType, startDate, endDate);
-    }
-    
-    public List<BackupLog> getLogsByAction(String action) {
-        return logRepository.findByAction(action);
-    }
-    
-    public List<BackupLog> getLogsByStatus(String status) {
-        return logRepository.findByStatus(status);
-    }
-    
-    public List<BackupLog> getLogsByDatabase(String dbName) {
-        return logRepository.findByDbName(dbName);
+        return writer.findLog(id).orElse(null);
     }
     
-    public List<BackupLog> getLogsByDatabaseType(DatabaseType dbType) {
-        return logRepository.findByDbType(dbType);
+    /**
+     * One page of summaries, newest first. Pass the returned cursor back to get the next page.
+     */
+    public CursorPage<BackupLogSummary> getLogPage(String action, String status, String dbName,
+                                                   DatabaseType dbType, LocalDateTime startDate, LocalDateTime endDate,
+                                                   PageCursor after, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        writer.flush();
+        List<BackupLogSummary> rows = logRepository.findSummaries(
+                action, status, dbName, dbType, startDate, endDate, after, pageSize + 1);
+        return CursorPage.of(rows, pageSize,
+                row -> new PageCursor(row.getStartTime(), row.getId()).encode());
     }
 }
\ No newline at end of file
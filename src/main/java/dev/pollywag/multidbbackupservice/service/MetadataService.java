@@ -4,7 +4,10 @@ import dev.pollywag.multidbbackupservice.model.entity.BackupMetadata;
 import dev.pollywag.multidbbackupservice.model.enums.BackupType;
 import dev.pollywag.multidbbackupservice.model.enums.DatabaseType;
 import dev.pollywag.multidbbackupservice.model.enums.StorageType;
+import dev.pollywag.multidbbackupservice.model.response.BackupMetadataSummary;
+import dev.pollywag.multidbbackupservice.model.response.CursorPage;
 import dev.pollywag.multidbbackupservice.repository.BackupMetadataRepository;
+import dev.pollywag.multidbbackupservice.repository.PageCursor;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -13,21 +16,29 @@ import java.util.List;
 @Service
 public class MetadataService {
 
+    public static final int MAX_PAGE_SIZE = 500;
+
     private final BackupMetadataRepository metadataRepository;
+    private final WriteBehindWriter writer;
 
-    public MetadataService(BackupMetadataRepository metadataRepository) {
+    public MetadataService(BackupMetadataRepository metadataRepository, WriteBehindWriter writer) {
         this.metadataRepository = metadataRepository;
+        this.writer = writer;
     }
 
     public List<BackupMetadata> getAllMetadata() {
+        writer.flush();
         return metadataRepository.findAll();
     }
 
     public BackupMetadata getMetadataById(String backupId) {
-        return metadataRepository.findById(backupId).orElse(null);
+        return writer.findMetadata(backupId).orElse(null);
     }
 
-    public List<BackupMetadata> getFilteredMetadata(
+    /**
+     * One page of summaries, newest first. Pass the returned cursor back to get the next page.
+     */
+    public CursorPage<BackupMetadataSummary> getMetadataPage(
             String dbName,
             String status,
             DatabaseType dbType,
@@ -36,36 +47,20 @@ public class MetadataService {
             Boolean compressed,
             String parentBackupId,
             LocalDateTime startDate,
-            LocalDateTime endDate) {
-        return metadataRepository.findWithFilters(
-                dbName, status, dbType, backupType, storageType, compressed, parentBackupId, startDate, endDate);
-    }
-
-    public List<BackupMetadata> getMetadataByDatabase(String dbName) {
-        return metadataRepository.findByDbName(dbName);
-    }
-
-    public List<BackupMetadata> getMetadataByStatus(String status) {
-        return metadataRepository.findByStatus(status);
-    }
-
-    public List<BackupMetadata> getMetadataByBackupType(BackupType backupType) {
-        return metadataRepository.findByBackupType(backupType);
-    }
-
-    public List<BackupMetadata> getMetadataByStorageType(StorageType storageType) {
-        return metadataRepository.findByStorageType(storageType);
-    }
-
-    public List<BackupMetadata> getMetadataByCompressed(boolean compressed) {
-        return metadataRepository.findByCompressed(compressed);
-    }
-
-    public List<BackupMetadata> getMetadataByParentBackupId(String parentBackupId) {
-        return metadataRepository.findByParentBackupId(parentBackupId);
+            LocalDateTime endDate,
+            PageCursor after,
+            int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        writer.flush();
+        List<BackupMetadataSummary> rows = metadataRepository.findSummaries(
+                dbName, status, dbType, backupType, storageType, compressed, parentBackupId, startDate, endDate,
+                after, pageSize + 1);
+        return CursorPage.of(rows, pageSize,
+                row -> new PageCursor(row.getStartTime(), row.getBackupId()).encode());
     }
 
     public List<BackupMetadata> getMetadataByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
+        writer.flush();
         return metadataRepository.findByStartTimeBetween(startDate, endDate);
     }
 }
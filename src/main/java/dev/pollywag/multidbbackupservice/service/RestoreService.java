@@ -1,49 +1,92 @@
 package dev.pollywag.multidbbackupservice.service;
 
+import dev.pollywag.multidbbackupservice.compression.CompressionCodec;
 import dev.pollywag.multidbbackupservice.exception.BackupException;
+import dev.pollywag.multidbbackupservice.factory.CompressionCodecFactory;
 import dev.pollywag.multidbbackupservice.factory.DatabaseStrategyFactory;
 import dev.pollywag.multidbbackupservice.factory.StorageStrategyFactory;
+import dev.pollywag.multidbbackupservice.metrics.BackupMetrics;
+import dev.pollywag.multidbbackupservice.metrics.JobMetrics;
+import dev.pollywag.multidbbackupservice.metrics.PipelineStage;
 import dev.pollywag.multidbbackupservice.model.entity.BackupLog;
 import dev.pollywag.multidbbackupservice.model.entity.BackupMetadata;
+import dev.pollywag.multidbbackupservice.model.enums.ArtifactFormat;
 import dev.pollywag.multidbbackupservice.model.enums.BackupType;
-import dev.pollywag.multidbbackupservice.model.enums.StorageType;
+import dev.pollywag.multidbbackupservice.model.enums.IncrementalMode;
+import dev.pollywag.multidbbackupservice.model.manifest.BackupManifest;
+import dev.pollywag.multidbbackupservice.model.manifest.ChunkManifest;
+import dev.pollywag.multidbbackupservice.model.manifest.ManifestSegment;
 import dev.pollywag.multidbbackupservice.model.request.RestoreRequest;
 import dev.pollywag.multidbbackupservice.model.response.RestoreResponse;
-import dev.pollywag.multidbbackupservice.repository.BackupMetadataRepository;
+import dev.pollywag.multidbbackupservice.pipeline.ChecksumVerifyingInputStream;
+import dev.pollywag.multidbbackupservice.pipeline.Checksums;
 import dev.pollywag.multidbbackupservice.strategy.database.DatabaseBackupStrategy;
+import dev.pollywag.multidbbackupservice.strategy.database.GtidSet;
+import dev.pollywag.multidbbackupservice.strategy.database.SegmentSource;
 import dev.pollywag.multidbbackupservice.strategy.storage.StorageStrategy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import tools.jackson.databind.json.JsonMapper;
 
-import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
 
 @Service
 public class RestoreService {
 
-    private final BackupMetadataRepository metadataRepository;
+    private static final int MAX_CHAIN_LENGTH = 10_000;
+
+    private final BackupCatalog catalog;
     private final DatabaseStrategyFactory dbFactory;
     private final StorageStrategyFactory storageFactory;
     private final LogService logService;
+    private final JsonMapper jsonMapper;
+    private final CompressionCodecFactory codecFactory;
+    private final ChunkStoreService chunkStore;
+    private final WriteBehindWriter writer;
+    private final BackupMetrics metrics;
+    private final boolean verifyFirst;
 
-    public RestoreService(BackupMetadataRepository metadataRepository,
+    public RestoreService(BackupCatalog catalog,
                           DatabaseStrategyFactory dbFactory,
                           StorageStrategyFactory storageFactory,
-                          LogService logService) {
-        this.metadataRepository = metadataRepository;
+                          LogService logService,
+                          JsonMapper jsonMapper,
+                          CompressionCodecFactory codecFactory,
+                          ChunkStoreService chunkStore,
+                          WriteBehindWriter writer,
+                          BackupMetrics metrics,
+                          @Value("${backup.restore.verify-first:true}") boolean verifyFirst) {
+        this.catalog = catalog;
         this.dbFactory = dbFactory;
         this.storageFactory = storageFactory;
         this.logService = logService;
+        this.jsonMapper = jsonMapper;
+        this.codecFactory = codecFactory;
+        this.chunkStore = chunkStore;
+        this.writer = writer;
+        this.metrics = metrics;
+        this.verifyFirst = verifyFirst;
     }
 
     public RestoreResponse restore(RestoreRequest request) {
 
         // Start log
         BackupLog log = logService.start("RESTORE", request.getBackupId());
+        JobMetrics job = metrics.start(BackupMetrics.RESTORE);
+        boolean succeeded = false;
 
         try {
             // 1. Load metadata for the requested backupId
-            BackupMetadata metadata = metadataRepository.findById(request.getBackupId())
+            BackupMetadata metadata = writer.findMetadata(request.getBackupId())
                     .orElseThrow(() -> new BackupException(
                             "No backup found with id: " + request.getBackupId()));
+            job.describe(metadata.getDbType(), metadata.getStorageType(), metadata.getBackupType());
 
             // 2. Fill in target credentials — fall back to original DB info if caller
             //    didn't override them (handy for restoring to the same host)
@@ -52,28 +95,43 @@ public class RestoreService {
             // 3. Get the right DB strategy (MYSQL, POSTGRESQL, etc.)
             DatabaseBackupStrategy strategy = dbFactory.getStrategy(metadata.getDbType());
 
-            // 4. If this is an INCREMENTAL backup, restore the parent FULL backup first
-            if (metadata.getBackupType() == BackupType.INCREMENTAL) {
-
-                if (metadata.getParentBackupId() == null) {
-                    throw new BackupException(
-                            "Incremental backup " + metadata.getBackupId() +
-                                    " has no parentBackupId — cannot restore without base.");
+            if (isPointInTime(request)) {
+                // 4a. Full backup before the target, binlog incrementals up to it, then the
+                //     part of the next binlog incremental that precedes the target
+                PointInTimePlan plan = planPointInTime(metadata, request);
+                for (BackupMetadata link : plan.chain()) {
+                    checkBinlogTarget(link, request);
                 }
+                checkBinlogTarget(plan.last(), request);
+                List<BackupMetadata> all = new ArrayList<>(plan.chain());
+                all.add(plan.last());
+                verifyStored(all, job);
 
-                BackupMetadata parentMetadata = metadataRepository
-                        .findById(metadata.getParentBackupId())
-                        .orElseThrow(() -> new BackupException(
-                                "Parent full backup not found: " + metadata.getParentBackupId()));
+                for (BackupMetadata link : plan.chain()) {
+                    restoreSingle(strategy, link, request, job);
+                }
+                try (InputStream binlog = openSingleFile(plan.last(), job)) {
+                    job.run(PipelineStage.APPLY, () -> {
+                        strategy.replayBinlog(binlog, request, request.getTargetTime(), request.getTargetGtid());
+                        return null;
+                    });
+                }
+            } else {
+                // 4b. Walk back to the FULL backup the requested one builds on, then replay the
+                //     chain oldest first (table incrementals have one link, binlog ones several)
+                List<BackupMetadata> chain = restoreChain(metadata);
+                for (BackupMetadata link : chain) {
+                    checkBinlogTarget(link, request);
+                }
+                verifyStored(chain, job);
 
-                // Restore the parent FULL backup first
-                restoreSingle(strategy, parentMetadata, request);
+                for (BackupMetadata link : chain) {
+                    restoreSingle(strategy, link, request, job);
+                }
             }
 
-            // 5. Restore the requested backup (full or the incremental on top of parent)
-            restoreSingle(strategy, metadata, request);
-
             logService.success(log, metadata.getStoragePath());
+            succeeded = true;
 
             return new RestoreResponse(
                     "SUCCESS",
@@ -85,49 +143,309 @@ public class RestoreService {
         } catch (Exception ex) {
             logService.fail(log, ex.getMessage());
             throw new BackupException("Restore failed: " + ex.getMessage(), ex);
+        } finally {
+            job.finish(succeeded);
+        }
+    }
+
+    // ─── Point in time ────────────────────────────────────────────────────────
+
+    /**
+     * Backups to restore in full, and the binlog incremental to replay partially.
+     */
+    private record PointInTimePlan(List<BackupMetadata> chain, BackupMetadata last) {
+    }
+
+    private static boolean isPointInTime(RestoreRequest request) {
+        return request.getTargetTime() != null
+                || (request.getTargetGtid() != null && !request.getTargetGtid().isBlank());
+    }
+
+    /**
+     * Picks the latest full backup taken before the target and follows the binlog incrementals
+     * chained onto it until the one whose range contains the target. Everything is resolved up
+     * front so a target outside the stored history fails before the database is touched.
+     */
+    private PointInTimePlan planPointInTime(BackupMetadata reference, RestoreRequest request) {
+        if (request.getTargetTime() != null && request.getTargetGtid() != null) {
+            throw new BackupException("Set either targetTime or targetGtid, not both.");
+        }
+
+        List<BackupMetadata> history = catalog.history(reference.getDbName(), reference.getDbType())
+                .stream()
+                .filter(b -> "SUCCESS".equals(b.getStatus()) && b.getBinlogFile() != null)
+                .toList();
+
+        BackupMetadata base = null;
+        for (BackupMetadata backup : history) {
+            if (backup.getBackupType() == BackupType.FULL && !reachesTarget(backup, request)) {
+                base = backup;
+            }
         }
+        if (base == null) {
+            throw new BackupException("No full backup of " + reference.getDbName()
+                    + " with a recorded binlog position was taken before the requested point.");
+        }
+
+        List<BackupMetadata> chain = new ArrayList<>();
+        chain.add(base);
+        BackupMetadata current = base;
+        while (true) {
+            String parentId = current.getBackupId();
+            BackupMetadata next = catalog.children(parentId).stream()
+                    .filter(b -> "SUCCESS".equals(b.getStatus()) && b.getBinlogFile() != null
+                            && b.getIncrementalMode() == IncrementalMode.BINLOG)
+                    .findFirst()
+                    .orElseThrow(() -> new BackupException("Binlog backups of " + reference.getDbName()
+                            + " end before the requested point. Take a binlog incremental backup first."));
+            if (reachesTarget(next, request)) {
+                return new PointInTimePlan(chain, next);
+            }
+            chain.add(next);
+            current = next;
+        }
+    }
+
+    /**
+     * True if the state captured by {@code backup} is at or past the restore target.
+     */
+    private static boolean reachesTarget(BackupMetadata backup, RestoreRequest request) {
+        if (request.getTargetTime() != null) {
+            // The binlog position is read as the backup starts
+            return !backup.getStartTime().isBefore(request.getTargetTime());
+        }
+        if (backup.getGtidSet() == null) {
+            throw new BackupException("Backup " + backup.getBackupId()
+                    + " has no GTID set recorded; restore to a targetTime instead.");
+        }
+        return GtidSet.contains(backup.getGtidSet(), request.getTargetGtid());
     }
 
     // ─── Helpers ──────────────────────────────────────────────────────────────
 
+    private static void checkBinlogTarget(BackupMetadata link, RestoreRequest request) {
+        if (link.getIncrementalMode() == IncrementalMode.BINLOG
+                && !request.getTargetDbName().equals(link.getDbName())) {
+            // Binlog events name their schema, so they only replay into the original one
+            throw new BackupException("Backup " + link.getBackupId()
+                    + " is a binlog incremental and can only be restored into " + link.getDbName());
+        }
+    }
+
+    /**
+     * The backups to restore for {@code target}, starting at its FULL base.
+     */
+    private List<BackupMetadata> restoreChain(BackupMetadata target) {
+        Deque<BackupMetadata> chain = new ArrayDeque<>();
+        BackupMetadata current = target;
+        chain.addFirst(current);
+
+        while (current.getBackupType() == BackupType.INCREMENTAL) {
+            String parentId = current.getParentBackupId();
+            if (parentId == null) {
+                throw new BackupException(
+                        "Incremental backup " + current.getBackupId() +
+                                " has no parentBackupId — cannot restore without base.");
+            }
+            if (chain.size() > MAX_CHAIN_LENGTH) {
+                throw new BackupException("Backup chain of " + target.getBackupId()
+                        + " is longer than " + MAX_CHAIN_LENGTH + " links or loops back on itself");
+            }
+            current = writer.findMetadata(parentId)
+                    .orElseThrow(() -> new BackupException("Parent backup not found: " + parentId));
+            chain.addFirst(current);
+        }
+        return new ArrayList<>(chain);
+    }
+
     /**
-     * Restores a single backup file (handles decompression automatically).
-     * Uses storage strategy to resolve path (local file or S3 download).
+     * Restores a single backup file, streaming it from storage through the decompressor
+     * straight into the database client — nothing is copied or expanded to disk.
+     *
+     * APPLY is charged whatever time the calling thread spends in the strategy outside
+     * reads of the dump stream, i.e. feeding the database client. For a parallel restore
+     * the workers read the segments, so APPLY is the wall time of the whole replay.
      */
     private void restoreSingle(DatabaseBackupStrategy strategy,
                                BackupMetadata metadata,
-                               RestoreRequest request) throws Exception {
+                               RestoreRequest request,
+                               JobMetrics job) throws Exception {
 
         StorageStrategy storageStrategy = storageFactory.getStrategy(metadata.getStorageType());
-        File backupFile = storageStrategy.resolveToLocalFile(metadata.getStoragePath());
 
-        if (!backupFile.exists()) {
-            throw new BackupException(
-                    "Backup file not found: " + metadata.getStoragePath());
+        if (metadata.getArtifactFormat() == ArtifactFormat.SEGMENTED) {
+            restoreSegmented(strategy, storageStrategy, metadata, request, job);
+            return;
+        }
+        if (metadata.getArtifactFormat() == ArtifactFormat.CHUNKED) {
+            restoreChunked(strategy, storageStrategy, metadata, request, job);
+            return;
         }
 
-        File dumpFile = backupFile;
+        try (InputStream dumpStream = openSingleFile(metadata, job)) {
+            if (metadata.getIncrementalMode() == IncrementalMode.BINLOG) {
+                // Whole binlog links go through the same replay as the partial one, which drops
+                // their GTIDs so a target that already executed them does not skip them
+                job.run(PipelineStage.APPLY, () -> {
+                    strategy.replayBinlog(dumpStream, request, null, null);
+                    return null;
+                });
+                return;
+            }
+            // Run the restore
+            apply(strategy, dumpStream, request, job);
+        }
+    }
+
+    /**
+     * Opens a single-file backup as a decompressed stream, checked against its recorded
+     * checksum as it is read. That check only fails once the whole file has been read, so
+     * {@link #verifyStored} has already checked the file before it is applied.
+     */
+    private InputStream openSingleFile(BackupMetadata metadata, JobMetrics job) throws IOException {
+        StorageStrategy storageStrategy = storageFactory.getStrategy(metadata.getStorageType());
+
+        // Older rows only carry the compressed flag, which always meant gzip
+        CompressionCodec codec = codecFactory.getCodec(
+                CompressionCodecFactory.resolve(metadata.getCompression(), metadata.isCompressed()));
 
+        InputStream raw = job.stage(PipelineStage.DOWNLOAD, verified(
+                storageStrategy.openStream(metadata.getStoragePath()),
+                metadata.getChecksumSha256(), metadata.getFileSizeBytes(), metadata.getFileName()));
         try {
-            // Decompress if needed (.gz)
-            if (metadata.isCompressed()) {
-                dumpFile = strategy.decompressBackup(backupFile);
-            }
+            return job.stage(PipelineStage.DECOMPRESS, codec.decompress(raw));
+        } catch (IOException e) {
+            raw.close();
+            throw e;
+        }
+    }
 
-            // Run the restore
-            strategy.restoreBackup(dumpFile, request);
-        } finally {
-            // Clean up temp decompressed file if we created it
-            if (metadata.isCompressed() && dumpFile != backupFile && dumpFile.exists()) {
-                dumpFile.delete();
+    /**
+     * Restores a deduplicated backup by reassembling its chunks, fetched in parallel
+     * ahead of the database client.
+     */
+    private void restoreChunked(DatabaseBackupStrategy strategy,
+                                StorageStrategy storageStrategy,
+                                BackupMetadata metadata,
+                                RestoreRequest request,
+                                JobMetrics job) throws Exception {
+
+        ChunkManifest manifest = jsonMapper.readValue(readManifest(storageStrategy, metadata, job), ChunkManifest.class);
+
+        // Chunks are fetched and decompressed on prefetch threads; only their downloads are timed
+        CompressionCodec codec = codecFactory.getCodec(manifest.getCompression());
+        try (InputStream dumpStream = job.waiting(chunkStore.open(manifest, metadata.getManifestPath(),
+                storageStrategy, codec, path -> job.stage(PipelineStage.DOWNLOAD, storageStrategy.openStream(path))))) {
+            apply(strategy, dumpStream, request, job);
+        }
+    }
+
+    /**
+     * Restores a parallel backup: reads its manifest, then lets the strategy replay the
+     * segments concurrently, each streamed from storage through its own decompressor.
+     */
+    private void restoreSegmented(DatabaseBackupStrategy strategy,
+                                  StorageStrategy storageStrategy,
+                                  BackupMetadata metadata,
+                                  RestoreRequest request,
+                                  JobMetrics job) throws Exception {
+
+        BackupManifest manifest = jsonMapper.readValue(readManifest(storageStrategy, metadata, job), BackupManifest.class);
+
+        CompressionCodec codec = codecFactory.getCodec(
+                CompressionCodecFactory.resolve(manifest.getCompression(), manifest.isCompressed()));
+
+        SegmentSource source = segment -> {
+            InputStream raw = job.stage(PipelineStage.DOWNLOAD, verified(
+                    storageStrategy.openStream(
+                            storageStrategy.resolveSibling(metadata.getManifestPath(), segment.getFileName())),
+                    segment.getSha256(), segment.getSizeBytes(), segment.getFileName()));
+            try {
+                return job.stage(PipelineStage.DECOMPRESS, codec.decompress(raw));
+            } catch (IOException e) {
+                raw.close();
+                throw e;
             }
-            // For S3 (and other cloud), backupFile is a temp download — delete it
-            if (metadata.getStorageType() != StorageType.LOCAL && backupFile.exists()) {
-                backupFile.delete();
+        };
+
+        int workers = request.getParallelism() > 0 ? request.getParallelism() : manifest.getWorkers();
+        job.run(PipelineStage.APPLY, () -> {
+            strategy.restoreParallel(manifest, source, request, workers);
+            return null;
+        });
+    }
+
+    private static void apply(DatabaseBackupStrategy strategy,
+                              InputStream dumpStream,
+                              RestoreRequest request,
+                              JobMetrics job) throws Exception {
+        job.run(PipelineStage.APPLY, () -> {
+            strategy.restoreBackup(dumpStream, request);
+            return null;
+        });
+    }
+
+    // ─── Checksums ────────────────────────────────────────────────────────────
+
+    /**
+     * Reads every stored file and segment of the chain to the end through its size and
+     * SHA-256 check before any of it is applied, so a corrupt or truncated artifact fails the
+     * restore while the target database is still untouched. Applying reads the objects again,
+     * from the artifact cache where the store has one, and checks them again.
+     *
+     * Chunked backups are not read here: each chunk is checked against its content hash
+     * before it is passed on, so they stop at the first bad chunk.
+     */
+    private void verifyStored(List<BackupMetadata> links, JobMetrics job) throws IOException {
+        if (!verifyFirst) {
+            return;
+        }
+        for (BackupMetadata link : links) {
+            StorageStrategy storageStrategy = storageFactory.getStrategy(link.getStorageType());
+            if (link.getArtifactFormat() == ArtifactFormat.SEGMENTED) {
+                BackupManifest manifest = jsonMapper.readValue(
+                        readManifest(storageStrategy, link, job), BackupManifest.class);
+                for (ManifestSegment segment : manifest.getSegments()) {
+                    drainVerified(storageStrategy,
+                            storageStrategy.resolveSibling(link.getManifestPath(), segment.getFileName()),
+                            segment.getSha256(), segment.getSizeBytes(), segment.getFileName(), job);
+                }
+            } else if (link.getArtifactFormat() != ArtifactFormat.CHUNKED) {
+                drainVerified(storageStrategy, link.getStoragePath(),
+                        link.getChecksumSha256(), link.getFileSizeBytes(), link.getFileName(), job);
             }
         }
     }
 
+    private static void drainVerified(StorageStrategy storageStrategy, String storagePath,
+                                      String sha256, long length, String name, JobMetrics job) throws IOException {
+        if (sha256 == null) {
+            return;
+        }
+        try (InputStream in = job.stage(PipelineStage.DOWNLOAD,
+                verified(storageStrategy.openStream(storagePath), sha256, length, name))) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+
+    private static InputStream verified(InputStream raw, String sha256, long length, String name) {
+        // Backups written before checksums were recorded are restored unchecked
+        return sha256 == null ? raw : new ChecksumVerifyingInputStream(raw, sha256, length, name);
+    }
+
+    private static byte[] readManifest(StorageStrategy storageStrategy, BackupMetadata metadata, JobMetrics job)
+            throws IOException {
+        byte[] json;
+        try (InputStream in = job.stage(PipelineStage.DOWNLOAD, storageStrategy.openStream(metadata.getManifestPath()))) {
+            json = in.readAllBytes();
+        }
+        if (metadata.getChecksumSha256() != null
+                && !Checksums.sha256Hex(json).equalsIgnoreCase(metadata.getChecksumSha256())) {
+            throw new BackupException("Manifest " + metadata.getManifestPath() + " failed checksum verification");
+        }
+        return json;
+    }
+
     /**
      * If the caller didn't provide target credentials, fall back to the original
      * DB info stored in the metadata. Useful when restoring to the same server.
@@ -0,0 +1,70 @@
+package dev.pollywag.multidbbackupservice.service;
+
+import dev.pollywag.multidbbackupservice.model.entity.TableChangeSignal;
+import dev.pollywag.multidbbackupservice.model.request.BackupRequest;
+import dev.pollywag.multidbbackupservice.repository.TableChangeSignalRepository;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Remembers each table's change signal as of the last backup that captured it, and tells
+ * CHANGED_TABLES incrementals which tables moved since.
+ */
+@Service
+public class TableChangeTracker {
+
+    private final TableChangeSignalRepository repository;
+
+    public TableChangeTracker(TableChangeSignalRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Tables whose current signal differs from the recorded one. Tables never recorded,
+     * or with an unknown signal on either side, count as changed.
+     */
+    public List<String> changedTables(BackupRequest request, Map<String, String> current) {
+        Map<String, String> previous = new HashMap<>();
+        for (TableChangeSignal signal : repository.findByDbTypeAndHostAndPortAndDbName(
+                request.getDbType(), request.getHost(), request.getPort(), request.getDbName())) {
+            previous.put(signal.getTableName(), signal.getSignalValue());
+        }
+
+        List<String> changed = new ArrayList<>();
+        current.forEach((table, signal) -> {
+            String before = previous.get(table);
+            if (signal == null || before == null || !signal.equals(before)) {
+                changed.add(table);
+            }
+        });
+        return changed;
+    }
+
+    /**
+     * Stores the signals captured before a successful backup as the new baseline.
+     */
+    public void record(BackupRequest request, String backupId, Map<String, String> signals) {
+        LocalDateTime now = LocalDateTime.now();
+        List<TableChangeSignal> rows = new ArrayList<>();
+        signals.forEach((table, value) -> {
+            TableChangeSignal row = new TableChangeSignal();
+            row.setId(request.getDbType() + ":" + request.getHost() + ":" + request.getPort()
+                    + "/" + request.getDbName() + "/" + table);
+            row.setDbType(request.getDbType());
+            row.setHost(request.getHost());
+            row.setPort(request.getPort());
+            row.setDbName(request.getDbName());
+            row.setTableName(table);
+            row.setSignalValue(value);
+            row.setBackupId(backupId);
+            row.setCapturedAt(now);
+            rows.add(row);
+        });
+        repository.saveAll(rows);
+    }
+}
@@ -0,0 +1,137 @@
+package dev.pollywag.multidbbackupservice.service;
+
+import dev.pollywag.multidbbackupservice.job.JobThrottle;
+import dev.pollywag.multidbbackupservice.model.request.BackupRequest;
+import dev.pollywag.multidbbackupservice.pipeline.TokenBucket;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dump and upload rate limits for backups.
+ *
+ * The service-wide limits are shared by all running backups together: the off-hours
+ * limits (backup.throttle.*) apply outside business hours, the business-hours limits
+ * inside them. The schedule is re-evaluated every backup.throttle.refresh-interval-ms,
+ * so running backups speed up or slow down as the window opens and closes. A request
+ * can set lower limits of its own for one backup.
+ */
+@Slf4j
+@Service
+public class ThrottleService {
+
+    private final long dumpBytesPerSec;
+    private final long uploadBytesPerSec;
+    private final long businessDumpBytesPerSec;
+    private final long businessUploadBytesPerSec;
+    private final LocalTime businessStart;
+    private final LocalTime businessEnd;
+    private final Set<DayOfWeek> businessDays;
+
+    private final TokenBucket sharedDump = new TokenBucket(0);
+    private final TokenBucket sharedUpload = new TokenBucket(0);
+    private final ScheduledExecutorService scheduler;
+
+    public ThrottleService(@Value("${backup.throttle.dump-bytes-per-sec:0}") long dumpBytesPerSec,
+                           @Value("${backup.throttle.upload-bytes-per-sec:0}") long uploadBytesPerSec,
+                           @Value("${backup.throttle.business-hours.dump-bytes-per-sec:0}") long businessDumpBytesPerSec,
+                           @Value("${backup.throttle.business-hours.upload-bytes-per-sec:0}") long businessUploadBytesPerSec,
+                           @Value("${backup.throttle.business-hours.start:08:00}") String businessStart,
+                           @Value("${backup.throttle.business-hours.end:18:00}") String businessEnd,
+                           @Value("${backup.throttle.business-hours.days:MONDAY,TUESDAY,WEDNESDAY,THURSDAY,FRIDAY}")
+                           String businessDays,
+                           @Value("${backup.throttle.refresh-interval-ms:60000}") long refreshIntervalMs) {
+        this.dumpBytesPerSec = dumpBytesPerSec;
+        this.uploadBytesPerSec = uploadBytesPerSec;
+        this.businessDumpBytesPerSec = businessDumpBytesPerSec;
+        this.businessUploadBytesPerSec = businessUploadBytesPerSec;
+        this.businessStart = LocalTime.parse(businessStart.strip());
+        this.businessEnd = LocalTime.parse(businessEnd.strip());
+        this.businessDays = EnumSet.noneOf(DayOfWeek.class);
+        for (String day : businessDays.split(",")) {
+            if (!day.isBlank()) {
+                this.businessDays.add(DayOfWeek.valueOf(day.strip().toUpperCase()));
+            }
+        }
+
+        refresh(LocalDateTime.now());
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "backup-throttle");
+            t.setDaemon(true);
+            return t;
+        });
+        long interval = Math.max(1000, refreshIntervalMs);
+        scheduler.scheduleAtFixedRate(() -> refresh(LocalDateTime.now()), interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Throttle for one backup: the service-wide limits plus the request's own
+     * maxDumpBytesPerSec and maxUploadBytesPerSec, if set.
+     */
+    public JobThrottle open(BackupRequest request) {
+        return new JobThrottle(sharedDump, sharedUpload,
+                new TokenBucket(limit(request.getMaxDumpBytesPerSec())),
+                new TokenBucket(limit(request.getMaxUploadBytesPerSec())));
+    }
+
+    /** Service-wide dump rate currently in force, 0 when unlimited. */
+    public long getDumpBytesPerSec() {
+        return sharedDump.getBytesPerSecond();
+    }
+
+    /** Service-wide upload rate currently in force, 0 when unlimited. */
+    public long getUploadBytesPerSec() {
+        return sharedUpload.getBytesPerSecond();
+    }
+
+    // ─── Schedule ─────────────────────────────────────────────────────────────
+
+    /** Applies the limits of the window {@code now} falls in to the shared buckets. */
+    void refresh(LocalDateTime now) {
+        boolean business = isBusinessHours(now);
+        long dump = business ? businessDumpBytesPerSec : dumpBytesPerSec;
+        long upload = business ? businessUploadBytesPerSec : uploadBytesPerSec;
+        if (sharedDump.getBytesPerSecond() != dump || sharedUpload.getBytesPerSecond() != upload) {
+            sharedDump.setBytesPerSecond(dump);
+            sharedUpload.setBytesPerSecond(upload);
+            log.info("{} hours: dump {}, upload {}", business ? "Business" : "Off", describe(dump), describe(upload));
+        }
+    }
+
+    /** Whether {@code now} is inside business hours; an end before the start spans midnight. */
+    boolean isBusinessHours(LocalDateTime now) {
+        LocalTime time = now.toLocalTime();
+        if (!businessStart.isAfter(businessEnd)) {
+            return businessDays.contains(now.getDayOfWeek())
+                    && !time.isBefore(businessStart) && time.isBefore(businessEnd);
+        }
+        // Overnight window: the part after midnight belongs to the previous day's window
+        if (!time.isBefore(businessStart)) {
+            return businessDays.contains(now.getDayOfWeek());
+        }
+        return time.isBefore(businessEnd) && businessDays.contains(now.getDayOfWeek().minus(1));
+    }
+
+    private static long limit(Long bytesPerSec) {
+        return bytesPerSec == null ? 0 : Math.max(0, bytesPerSec);
+    }
+
+    private static String describe(long bytesPerSec) {
+        return bytesPerSec > 0 ? bytesPerSec + " B/s" : "unlimited";
+    }
+}
@@ -0,0 +1,336 @@
+package dev.pollywag.multidbbackupservice.service;
+
+import dev.pollywag.multidbbackupservice.compression.CompressionCodec;
+import dev.pollywag.multidbbackupservice.exception.BackupException;
+import dev.pollywag.multidbbackupservice.factory.CompressionCodecFactory;
+import dev.pollywag.multidbbackupservice.factory.StorageStrategyFactory;
+import dev.pollywag.multidbbackupservice.model.entity.BackupMetadata;
+import dev.pollywag.multidbbackupservice.model.entity.VerificationRecord;
+import dev.pollywag.multidbbackupservice.model.enums.ArtifactFormat;
+import dev.pollywag.multidbbackupservice.model.enums.VerificationStatus;
+import dev.pollywag.multidbbackupservice.model.manifest.BackupManifest;
+import dev.pollywag.multidbbackupservice.model.manifest.ChunkManifest;
+import dev.pollywag.multidbbackupservice.model.manifest.ManifestSegment;
+import dev.pollywag.multidbbackupservice.model.response.VerificationSweepResponse;
+import dev.pollywag.multidbbackupservice.pipeline.ChecksumVerifyingInputStream;
+import dev.pollywag.multidbbackupservice.pipeline.Checksums;
+import dev.pollywag.multidbbackupservice.pipeline.CountingInputStream;
+import dev.pollywag.multidbbackupservice.pipeline.ThrottledInputStream;
+import dev.pollywag.multidbbackupservice.pipeline.TokenBucket;
+import dev.pollywag.multidbbackupservice.repository.VerificationRecordRepository;
+import dev.pollywag.multidbbackupservice.strategy.storage.StorageStrategy;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Proves stored backups are restorable without restoring them: every artifact is streamed
+ * back from its storage, checked against the recorded size and SHA-256, and decompressed
+ * into a null sink so a broken codec stream shows up too.
+ *
+ * Sweeps run on {@code backup.verify.workers} threads and all reads share one byte-rate cap
+ * ({@code backup.verify.max-bytes-per-sec}) so a sweep does not starve running backups of
+ * storage bandwidth. Reads bypass the local artifact cache: the point is to check the store.
+ */
+@Slf4j
+@Service
+public class VerificationService {
+
+    private final BackupCatalog catalog;
+    private final StorageStrategyFactory storageFactory;
+    private final CompressionCodecFactory codecFactory;
+    private final ChunkStoreService chunkStore;
+    private final VerificationRecordRepository recordRepository;
+    private final JsonMapper jsonMapper;
+    private final ExecutorService workers;
+    private final TokenBucket bandwidth;
+
+    private volatile Sweep current;
+
+    public VerificationService(BackupCatalog catalog,
+                               StorageStrategyFactory storageFactory,
+                               CompressionCodecFactory codecFactory,
+                               ChunkStoreService chunkStore,
+                               VerificationRecordRepository recordRepository,
+                               JsonMapper jsonMapper,
+                               @Value("${backup.verify.workers:4}") int workerCount,
+                               @Value("${backup.verify.max-bytes-per-sec:104857600}") long maxBytesPerSec) {
+        this.catalog = catalog;
+        this.storageFactory = storageFactory;
+        this.codecFactory = codecFactory;
+        this.chunkStore = chunkStore;
+        this.recordRepository = recordRepository;
+        this.jsonMapper = jsonMapper;
+        this.bandwidth = new TokenBucket(maxBytesPerSec);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(Math.max(1, workerCount), r -> {
+            Thread t = new Thread(r, "verify-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    // ─── Sweeps ───────────────────────────────────────────────────────────────
+
+    /**
+     * Starts verifying every successful backup in the background.
+     *
+     * @throws BackupException if a sweep is already running
+     */
+    public synchronized VerificationSweepResponse startSweep() {
+        if (current != null && current.isRunning()) {
+            throw new BackupException("A verification sweep is already running: " + current.id);
+        }
+        List<BackupMetadata> backups = catalog.all().stream()
+                .filter(b -> "SUCCESS".equals(b.getStatus()))
+                .toList();
+        Sweep sweep = new Sweep(backups.size());
+        current = sweep;
+
+        Thread coordinator = new Thread(() -> {
+            List<Future<?>> futures = backups.stream()
+                    .<Future<?>>map(b -> workers.submit(() -> sweep.record(verify(b))))
+                    .toList();
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                } catch (Exception e) {
+                    log.warn("Verification task failed: {}", e.getMessage());
+                }
+            }
+            sweep.finishedAt = LocalDateTime.now();
+            log.info("Sweep {} done: {} verified, {} corrupt, {} unreadable",
+                    sweep.id, sweep.verified, sweep.corrupt, sweep.unreadable);
+        }, "verify-sweep");
+        coordinator.setDaemon(true);
+        coordinator.start();
+        return sweep.toResponse();
+    }
+
+    /** Progress of the running or last finished sweep, or null if none ran yet. */
+    public VerificationSweepResponse currentSweep() {
+        Sweep sweep = current;
+        return sweep == null ? null : sweep.toResponse();
+    }
+
+    // ─── Single backups ───────────────────────────────────────────────────────
+
+    /**
+     * Verifies one backup now, on the caller's thread, and records the result.
+     */
+    public VerificationRecord verify(String backupId) {
+        BackupMetadata metadata = catalog.get(backupId)
+                .orElseThrow(() -> new BackupException("No backup found with id: " + backupId));
+        return verify(metadata);
+    }
+
+    public VerificationRecord getRecord(String backupId) {
+        return recordRepository.findById(backupId).orElse(null);
+    }
+
+    public List<VerificationRecord> getRecords(VerificationStatus status) {
+        return status == null
+                ? recordRepository.findAllByOrderByVerifiedAtDesc()
+                : recordRepository.findByStatusOrderByVerifiedAtDesc(status);
+    }
+
+    private VerificationRecord verify(BackupMetadata metadata) {
+        VerificationRecord record = new VerificationRecord();
+        record.setBackupId(metadata.getBackupId());
+        record.setChecksumChecked(metadata.getChecksumSha256() != null);
+
+        Reads reads = new Reads();
+        long started = System.nanoTime();
+        try {
+            StorageStrategy storage = storageFactory.getStrategy(metadata.getStorageType());
+            ArtifactFormat format = metadata.getArtifactFormat() == null
+                    ? ArtifactFormat.SINGLE_FILE : metadata.getArtifactFormat();
+            switch (format) {
+                case SINGLE_FILE -> verifySingleFile(storage, metadata, reads);
+                case SEGMENTED -> verifySegmented(storage, metadata, reads);
+                case CHUNKED -> verifyChunked(storage, metadata, reads);
+            }
+            record.setStatus(VerificationStatus.VERIFIED);
+        } catch (Exception e) {
+            // Anything the store itself threw, opening or reading, means the artifact could not
+            // be checked; everything else is bytes that arrived but do not check out
+            record.setStatus(reads.sourceFailed ? VerificationStatus.UNREADABLE : VerificationStatus.CORRUPT);
+            record.setMessage(truncate(e.getMessage()));
+        }
+
+        long durationNanos = Math.max(1, System.nanoTime() - started);
+        record.setStoredBytes(reads.stored.get());
+        record.setDecompressedBytes(reads.decompressed.get());
+        record.setDurationMs(durationNanos / 1_000_000);
+        record.setThroughputBytesPerSec((long) (reads.stored.get() * 1e9 / durationNanos));
+        record.setVerifiedAt(LocalDateTime.now());
+        return recordRepository.save(record);
+    }
+
+    private void verifySingleFile(StorageStrategy storage, BackupMetadata metadata, Reads reads) throws IOException {
+        CompressionCodec codec = codecFactory.getCodec(
+                CompressionCodecFactory.resolve(metadata.getCompression(), metadata.isCompressed()));
+        drain(reads.open(storage, metadata.getStoragePath(), bandwidth), codec,
+                metadata.getChecksumSha256(), metadata.getFileSizeBytes(), metadata.getFileName(), reads);
+    }
+
+    private void verifySegmented(StorageStrategy storage, BackupMetadata metadata, Reads reads) throws IOException {
+        BackupManifest manifest = jsonMapper.readValue(readManifest(storage, metadata, reads), BackupManifest.class);
+        CompressionCodec codec = codecFactory.getCodec(
+                CompressionCodecFactory.resolve(manifest.getCompression(), manifest.isCompressed()));
+        for (ManifestSegment segment : manifest.getSegments()) {
+            InputStream source = reads.open(storage,
+                    storage.resolveSibling(metadata.getManifestPath(), segment.getFileName()), bandwidth);
+            drain(source, codec, segment.getSha256(), segment.getSizeBytes(), segment.getFileName(), reads);
+        }
+    }
+
+    private void verifyChunked(StorageStrategy storage, BackupMetadata metadata, Reads reads) throws IOException {
+        ChunkManifest manifest = jsonMapper.readValue(readManifest(storage, metadata, reads), ChunkManifest.class);
+        CompressionCodec codec = codecFactory.getCodec(manifest.getCompression());
+        // Chunks are checked against their content hash as they are reassembled
+        try (InputStream in = chunkStore.open(manifest, metadata.getManifestPath(), storage, codec,
+                path -> reads.open(storage, path, bandwidth))) {
+            reads.decompressed.addAndGet(in.transferTo(OutputStream.nullOutputStream()));
+        }
+    }
+
+    private byte[] readManifest(StorageStrategy storage, BackupMetadata metadata, Reads reads) throws IOException {
+        byte[] json;
+        try (InputStream in = reads.open(storage, metadata.getManifestPath(), bandwidth)) {
+            json = in.readAllBytes();
+        }
+        if (metadata.getChecksumSha256() != null
+                && !Checksums.sha256Hex(json).equalsIgnoreCase(metadata.getChecksumSha256())) {
+            throw new IOException("Manifest " + metadata.getManifestPath() + " failed checksum verification");
+        }
+        return json;
+    }
+
+    /**
+     * Reads one stored object to the end through size/checksum verification and its codec.
+     */
+    private void drain(InputStream source, CompressionCodec codec, String sha256, long expectedLength,
+                       String name, Reads reads) throws IOException {
+        CountingInputStream counted = new CountingInputStream(sha256 == null
+                ? source : new ChecksumVerifyingInputStream(source, sha256, expectedLength, name));
+        try (InputStream in = codec.decompress(counted)) {
+            reads.decompressed.addAndGet(in.transferTo(OutputStream.nullOutputStream()));
+            // Decoders may stop at the end of their frame; whatever follows must still be read and checked
+            counted.transferTo(OutputStream.nullOutputStream());
+        }
+        if (counted.getCount() != expectedLength) {
+            throw new IOException(name + " is " + counted.getCount() + " bytes, "
+                    + expectedLength + " were recorded at backup time");
+        }
+    }
+
+    private static String truncate(String message) {
+        return message == null || message.length() <= 1000 ? message : message.substring(0, 1000);
+    }
+
+    // ─── Bookkeeping ──────────────────────────────────────────────────────────
+
+    /**
+     * Byte counts of one verification, and whether the storage itself failed to open or read.
+     */
+    private static class Reads {
+        final AtomicLong stored = new AtomicLong();
+        final AtomicLong decompressed = new AtomicLong();
+        volatile boolean sourceFailed;
+
+        /** Opens a stored object, counting and throttling its reads; failures of the store are noted. */
+        InputStream open(StorageStrategy storage, String storagePath, TokenBucket bandwidth) {
+            InputStream raw;
+            try {
+                raw = storage.openStoredStream(storagePath);
+            } catch (RuntimeException e) {
+                sourceFailed = true;
+                throw e;
+            }
+            InputStream tracked = new FilterInputStream(raw) {
+                @Override
+                public int read() throws IOException {
+                    byte[] one = new byte[1];
+                    int n = read(one, 0, 1);
+                    return n == -1 ? -1 : one[0] & 0xFF;
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    try {
+                        int n = in.read(b, off, len);
+                        if (n > 0) {
+                            stored.addAndGet(n);
+                        }
+                        return n;
+                    } catch (IOException | RuntimeException e) {
+                        sourceFailed = true;
+                        throw e;
+                    }
+                }
+            };
+            return new ThrottledInputStream(tracked, bandwidth);
+        }
+    }
+
+    private static class Sweep {
+        final String id = UUID.randomUUID().toString();
+        final int total;
+        final LocalDateTime startedAt = LocalDateTime.now();
+        volatile LocalDateTime finishedAt;
+        long storedBytes;
+        int verified;
+        int corrupt;
+        int unreadable;
+
+        Sweep(int total) {
+            this.total = total;
+        }
+
+        boolean isRunning() {
+            return finishedAt == null;
+        }
+
+        synchronized void record(VerificationRecord record) {
+            switch (record.getStatus()) {
+                case VERIFIED -> verified++;
+                case CORRUPT -> corrupt++;
+                case UNREADABLE -> unreadable++;
+            }
+            storedBytes += record.getStoredBytes();
+        }
+
+        synchronized VerificationSweepResponse toResponse() {
+            LocalDateTime end = finishedAt != null ? finishedAt : LocalDateTime.now();
+            long elapsedMs = Math.max(1, Duration.between(startedAt, end).toMillis());
+            return new VerificationSweepResponse(id, isRunning(), total, verified, corrupt, unreadable,
+                    storedBytes, storedBytes * 1000 / elapsedMs, startedAt, finishedAt);
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package dev.pollywag.multidbbackupservice.service;
+
+import dev.pollywag.multidbbackupservice.exception.BackupException;
+import dev.pollywag.multidbbackupservice.model.entity.BackupLog;
+import dev.pollywag.multidbbackupservice.model.entity.BackupMetadata;
+import dev.pollywag.multidbbackupservice.repository.BackupLogRepository;
+import dev.pollywag.multidbbackupservice.repository.BackupMetadataRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Write-behind persistence for backup logs and metadata. Callers enqueue a snapshot and
+ * return immediately; one writer thread drains the queue and commits whatever has piled up
+ * in a single transaction, so concurrent jobs no longer contend for SQLite's write lock.
+ *
+ * Until a log snapshot is committed it is served from an in-memory overlay by the id lookups
+ * here; metadata is always current in the {@link BackupCatalog}. Queries that must see every
+ * write (parent lookups, chain walks) call {@link #flush()} first. A batch that cannot be
+ * committed stays in the overlay and is retried with the next one; flushes waiting on it fail.
+ * Anything still queued at shutdown is written before the context closes.
+ */
+@Slf4j
+@Component
+public class WriteBehindWriter {
+
+    private static final int MAX_ATTEMPTS = 5;
+    // Pause before failed rows are retried when no new write arrives to carry them
+    private static final long RETRY_DELAY_MS = 5000;
+
+    private final BackupLogRepository logRepository;
+    private final BackupMetadataRepository metadataRepository;
+    private final BackupCatalog catalog;
+    private final TransactionTemplate transaction;
+    private final boolean enabled;
+    private final int batchSize;
+    private final BlockingQueue<Object> queue;
+
+    private final Map<String, BackupLog> pendingLogs = new ConcurrentHashMap<>();
+
+    // Rows whose last commit failed, written with the next batch; guarded by this
+    private final Map<String, BackupLog> failedLogs = new LinkedHashMap<>();
+    private final Map<String, BackupMetadata> failedMetadata = new LinkedHashMap<>();
+
+    // Writers hold the read lock from checking running until their item is queued or saved,
+    // so shutdown's final drain cannot miss an item or be overtaken by a direct save
+    private final ReadWriteLock accepting = new ReentrantReadWriteLock();
+
+    private Thread writer;
+    private volatile boolean running;
+
+    // Queue marker: completed once everything enqueued before it is committed
+    private record FlushBarrier(CompletableFuture<Void> done) {
+    }
+
+    public WriteBehindWriter(BackupLogRepository logRepository,
+                             BackupMetadataRepository metadataRepository,
+                             BackupCatalog catalog,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${backup.persistence.write-behind.enabled:true}") boolean enabled,
+                             @Value("${backup.persistence.write-behind.batch-size:200}") int batchSize,
+                             @Value("${backup.persistence.write-behind.queue-capacity:10000}") int queueCapacity) {
+        this.logRepository = logRepository;
+        this.metadataRepository = metadataRepository;
+        this.catalog = catalog;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = Math.max(1, batchSize);
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::drainLoop, "write-behind");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Stops accepting new writes asynchronously and commits everything still queued.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        accepting.writeLock().lock();
+        try {
+            running = false;
+            writer.interrupt();
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+            // Whatever the thread did not get to, plus anything that failed before
+            List<Object> rest = new ArrayList<>();
+            queue.drainTo(rest);
+            commit(rest);
+            synchronized (this) {
+                if (!failedLogs.isEmpty() || !failedMetadata.isEmpty()) {
+                    log.error("Lost {} log and {} metadata writes that could not be committed before shutdown",
+                            failedLogs.size(), failedMetadata.size());
+                }
+            }
+        } finally {
+            accepting.writeLock().unlock();
+        }
+    }
+
+    // ─── Writes ───────────────────────────────────────────────────────────────
+
+    public void saveLog(BackupLog backupLog) {
+        BackupLog snapshot = new BackupLog();
+        BeanUtils.copyProperties(backupLog, snapshot);
+        accepting.readLock().lock();
+        try {
+            if (!running) {
+                logRepository.save(snapshot);
+                return;
+            }
+            pendingLogs.put(snapshot.getId(), snapshot);
+            enqueue(snapshot);
+        } finally {
+            accepting.readLock().unlock();
+        }
+    }
+
+    public void saveMetadata(BackupMetadata metadata) {
+        BackupMetadata snapshot = new BackupMetadata();
+        BeanUtils.copyProperties(metadata, snapshot);
+        catalog.put(snapshot);
+        accepting.readLock().lock();
+        try {
+            if (!running) {
+                metadataRepository.save(snapshot);
+                return;
+            }
+            enqueue(snapshot);
+        } finally {
+            accepting.readLock().unlock();
+        }
+    }
+
+    /**
+     * Blocks until every write enqueued before this call is committed.
+     *
+     * @throws BackupException if some of them could not be committed; they are retried later
+     */
+    public void flush() {
+        FlushBarrier barrier = new FlushBarrier(new CompletableFuture<>());
+        accepting.readLock().lock();
+        try {
+            if (!running) {
+                return;
+            }
+            enqueue(barrier);
+        } finally {
+            accepting.readLock().unlock();
+        }
+        try {
+            barrier.done().join();
+        } catch (CompletionException e) {
+            throw new BackupException("Queued writes could not be committed: " + e.getCause().getMessage(),
+                    e.getCause());
+        }
+    }
+
+    // ─── Reads ────────────────────────────────────────────────────────────────
+
+    public Optional<BackupLog> findLog(String id) {
+        BackupLog pending = pendingLogs.get(id);
+        return pending != null ? Optional.of(pending) : logRepository.findById(id);
+    }
+
+    public Optional<BackupMetadata> findMetadata(String backupId) {
+        return catalog.get(backupId).or(() -> metadataRepository.findById(backupId));
+    }
+
+    // ─── Writer thread ────────────────────────────────────────────────────────
+
+    private void enqueue(Object item) {
+        try {
+            // Full queue: the database is behind, so slow the producers down
+            queue.put(item);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing a write", e);
+        }
+    }
+
+    private void drainLoop() {
+        List<Object> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                Object first = hasFailedRows() ? queue.poll(RETRY_DELAY_MS, TimeUnit.MILLISECONDS) : queue.take();
+                if (first != null) {
+                    batch.add(first);
+                }
+            } catch (InterruptedException e) {
+                break;
+            }
+            queue.drainTo(batch, batchSize - batch.size());
+            commit(batch);
+            batch.clear();
+        }
+    }
+
+    private synchronized boolean hasFailedRows() {
+        return !failedLogs.isEmpty() || !failedMetadata.isEmpty();
+    }
+
+    /**
+     * Writes the latest snapshot of each row, including rows that failed before, in one
+     * transaction, then releases or fails the waiting flushes.
+     */
+    private synchronized void commit(List<Object> batch) {
+        Map<String, BackupLog> logs = new LinkedHashMap<>(failedLogs);
+        Map<String, BackupMetadata> metadata = new LinkedHashMap<>(failedMetadata);
+        failedLogs.clear();
+        failedMetadata.clear();
+        List<FlushBarrier> barriers = new ArrayList<>();
+        for (Object item : batch) {
+            if (item instanceof BackupLog backupLog) {
+                logs.put(backupLog.getId(), backupLog);
+            } else if (item instanceof BackupMetadata m) {
+                metadata.put(m.getBackupId(), m);
+            } else if (item instanceof FlushBarrier barrier) {
+                barriers.add(barrier);
+            }
+        }
+
+        RuntimeException failure = null;
+        if (!logs.isEmpty() || !metadata.isEmpty()) {
+            failure = writeWithRetry(logs, metadata);
+            if (failure == null) {
+                logs.values().forEach(backupLog -> pendingLogs.remove(backupLog.getId(), backupLog));
+            } else {
+                // Still served from the overlay; newer snapshots queued meanwhile replace them
+                log.warn("Could not commit {} log and {} metadata writes after {} attempts, will retry: {}",
+                        logs.size(), metadata.size(), MAX_ATTEMPTS, failure.getMessage());
+                failedLogs.putAll(logs);
+                failedMetadata.putAll(metadata);
+            }
+        }
+        for (FlushBarrier barrier : barriers) {
+            if (failure == null) {
+                barrier.done().complete(null);
+            } else {
+                barrier.done().completeExceptionally(failure);
+            }
+        }
+    }
+
+    /** Null once committed, or the last failure after MAX_ATTEMPTS. */
+    private RuntimeException writeWithRetry(Map<String, BackupLog> logs, Map<String, BackupMetadata> metadata) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transaction.executeWithoutResult(status -> {
+                    logRepository.saveAll(logs.values());
+                    metadataRepository.saveAll(metadata.values());
+                });
+                return null;
+            } catch (RuntimeException e) {
+                if (attempt >= MAX_ATTEMPTS) {
+                    return e;
+                }
+                // Usually SQLITE_BUSY from another process holding the write lock
+                try {
+                    Thread.sleep(50L << attempt);
+                } catch (InterruptedException ie) {
+                    // Shutting down: keep retrying so nothing is lost
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package dev.pollywag.multidbbackupservice.strategy.database;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Passes a mysqldump stream through unchanged while picking the binlog coordinates out of
+ * the header that {@code --source-data=2} writes, e.g.
+ * <pre>
+ * -- CHANGE REPLICATION SOURCE TO SOURCE_LOG_FILE='binlog.000042', SOURCE_LOG_POS=157;
+ * SET @@GLOBAL.GTID_PURGED=/*!80000 '+'*&#47; 'uuid:1-100';
+ * </pre>
+ * Only the first {@link #SCAN_LIMIT} bytes are inspected; the header always precedes table data.
+ */
+class BinlogCoordinatesScanner extends FilterOutputStream {
+
+    private static final int SCAN_LIMIT = 1024 * 1024;
+    private static final Pattern COORDINATES = Pattern.compile(
+            "(?:MASTER|SOURCE)_LOG_FILE='([^']+)',\\s*(?:MASTER|SOURCE)_LOG_POS=(\\d+)");
+    private static final Pattern GTID_VALUE = Pattern.compile("'([^']*)'\\s*;\\s*$");
+
+    private final StringBuilder line = new StringBuilder();
+    private StringBuilder gtidStatement;
+    private long scanned;
+
+    private String file;
+    private long position;
+    private String gtidSet;
+
+    BinlogCoordinatesScanner(OutputStream out) {
+        super(out);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        out.write(b);
+        scan(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        out.write(b, off, len);
+        for (int i = off; i < off + len && scanning(); i++) {
+            scan(b[i]);
+        }
+    }
+
+    /** Coordinates found in the header, or null if the dump did not contain them. */
+    BinlogPosition getPosition() {
+        return file == null ? null : new BinlogPosition(file, position, gtidSet);
+    }
+
+    private boolean scanning() {
+        return scanned < SCAN_LIMIT && (file == null || gtidSet == null);
+    }
+
+    private void scan(int b) {
+        if (!scanning()) {
+            return;
+        }
+        scanned++;
+        if (b != '\n') {
+            line.append((char) (b & 0xFF));
+            return;
+        }
+        String text = new String(line.toString().getBytes(StandardCharsets.ISO_8859_1), StandardCharsets.UTF_8);
+        line.setLength(0);
+
+        if (gtidStatement != null || text.contains("GTID_PURGED=")) {
+            // The GTID set may be wrapped over several lines; collect up to the closing ';
+            gtidStatement = gtidStatement == null ? new StringBuilder() : gtidStatement;
+            gtidStatement.append(text.strip());
+            if (text.strip().endsWith(";")) {
+                Matcher m = GTID_VALUE.matcher(gtidStatement);
+                if (m.find() && !m.group(1).isBlank()) {
+                    gtidSet = m.group(1);
+                }
+                gtidStatement = null;
+            }
+            return;
+        }
+
+        Matcher m = COORDINATES.matcher(text);
+        if (m.find()) {
+            file = m.group(1);
+            position = Long.parseLong(m.group(2));
+        }
+    }
+}
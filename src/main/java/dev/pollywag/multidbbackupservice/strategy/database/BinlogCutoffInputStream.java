@@ -0,0 +1,243 @@
+package dev.pollywag.multidbbackupservice.strategy.database;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Passes {@code mysqlbinlog} text output through until a stop point, so a stored binlog
+ * segment can be replayed up to a moment without first being decoded in full.
+ *
+ * Events are delimited by the {@code # at N} line and the header comment that follows it:
+ * <pre>
+ * # at 236
+ * #231114 10:00:05 server id 1  end_log_pos 311 CRC32 0x...  Query  thread_id=8 ...
+ * </pre>
+ * With a stop time, output ends before the first event stamped after it. With a stop GTID,
+ * output ends before the first transaction that follows that GTID. A transaction cut in
+ * half is rolled back. Header times are the local time of the host that ran mysqlbinlog,
+ * which for stored segments is this service.
+ *
+ * Transaction GTIDs are dropped, as {@code mysqlbinlog --skip-gtids} would: replayed under
+ * the source's GTIDs, a target that has already executed them (the source itself, or a
+ * restore of a backup taken from it) would silently skip every transaction. Segments are
+ * captured with their GTIDs so that a stop GTID can still be found here.
+ */
+class BinlogCutoffInputStream extends InputStream {
+
+    private static final Pattern EVENT_HEADER = Pattern.compile(
+            "^#(\\d{2})(\\d{2})(\\d{2})\\s+(\\d{1,2}):(\\d{2}):(\\d{2})\\s+server id");
+    private static final Pattern GTID_EVENT = Pattern.compile("\\s(?:Anonymous_)?GTID\\s");
+    private static final Pattern GTID_NEXT = Pattern.compile("^SET @@SESSION\\.GTID_NEXT=\\s*'([^']+)'");
+    private static final byte[] EVENT_POSITION = "# at ".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] GTID_NEXT_PREFIX = "SET @@SESSION.GTID_NEXT=".getBytes(StandardCharsets.US_ASCII);
+
+    // mysqlbinlog output runs under DELIMITER /*!*/; restore the session the way its own trailer does
+    private static final byte[] CUTOFF_TRAILER = ("""
+            ROLLBACK /*!*/;
+            SET @@SESSION.GTID_NEXT= 'AUTOMATIC' /*!*/;
+            DELIMITER ;
+            # End of log file
+            """).getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] EMPTY = new byte[0];
+
+    private final InputStream in;
+    private final LocalDateTime stopTime;
+    private final String stopGtid;
+
+    private final byte[] buffer = new byte[64 * 1024];
+    private int bufferPos;
+    private int bufferLen;
+    private boolean inputDone;
+
+    private byte[] pendingPosition;
+    private byte[] output = EMPTY;
+    private int outputPos;
+    private boolean finished;
+    private boolean stopGtidSeen;
+    private boolean cutOff;
+
+    /**
+     * @param stopTime last moment to replay, or null
+     * @param stopGtid last transaction to replay, or null
+     */
+    BinlogCutoffInputStream(InputStream in, LocalDateTime stopTime, String stopGtid) {
+        this.in = in;
+        this.stopTime = stopTime;
+        this.stopGtid = stopGtid == null ? null : GtidSet.normalize(stopGtid);
+    }
+
+    /** True once the stop point was reached before the end of the input. */
+    boolean isCutOff() {
+        return cutOff;
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] one = new byte[1];
+        int n = read(one, 0, 1);
+        return n == -1 ? -1 : one[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        while (outputPos == output.length) {
+            if (finished) {
+                return -1;
+            }
+            output = nextOutput();
+            outputPos = 0;
+        }
+        int n = Math.min(len, output.length - outputPos);
+        System.arraycopy(output, outputPos, b, off, n);
+        outputPos += n;
+        return n;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    // ─── Event boundaries ─────────────────────────────────────────────────────
+
+    private byte[] nextOutput() throws IOException {
+        while (true) {
+            byte[] line = readLine();
+            if (line == null) {
+                finished = true;
+                byte[] rest = pendingPosition;
+                pendingPosition = null;
+                return rest == null ? EMPTY : rest;
+            }
+
+            if (startsWith(line, EVENT_POSITION)) {
+                // Hold it back until the event header tells us whether the event is kept
+                byte[] previous = pendingPosition;
+                pendingPosition = line;
+                if (previous != null) {
+                    return previous;
+                }
+                continue;
+            }
+
+            if (line.length > 1 && line[0] == '#' && Character.isDigit(line[1]) && stopsBefore(line)) {
+                finished = true;
+                cutOff = true;
+                pendingPosition = null;
+                return CUTOFF_TRAILER;
+            }
+
+            if (startsWith(line, GTID_NEXT_PREFIX)) {
+                Matcher m = GTID_NEXT.matcher(new String(line, StandardCharsets.US_ASCII));
+                if (m.find() && !m.group(1).equals("AUTOMATIC")) {
+                    if (stopGtid != null && GtidSet.normalize(m.group(1)).equals(stopGtid)) {
+                        stopGtidSeen = true;
+                    }
+                    // The target assigns its own GTID to the transaction
+                    continue;
+                }
+            }
+
+            if (pendingPosition != null) {
+                byte[] joined = Arrays.copyOf(pendingPosition, pendingPosition.length + line.length);
+                System.arraycopy(line, 0, joined, pendingPosition.length, line.length);
+                pendingPosition = null;
+                return joined;
+            }
+            return line;
+        }
+    }
+
+    private boolean stopsBefore(byte[] headerLine) {
+        String header = new String(headerLine, StandardCharsets.US_ASCII);
+        Matcher m = EVENT_HEADER.matcher(header);
+        if (!m.find()) {
+            return false;
+        }
+        if (stopGtid != null) {
+            return stopGtidSeen && GTID_EVENT.matcher(header).find();
+        }
+        if (m.group(1).equals("70")) {
+            // 700101 is the timestamp of the artificial rotate event, never a real change
+            return false;
+        }
+        LocalDateTime eventTime = LocalDateTime.of(
+                2000 + Integer.parseInt(m.group(1)),
+                Integer.parseInt(m.group(2)),
+                Integer.parseInt(m.group(3)),
+                Integer.parseInt(m.group(4)),
+                Integer.parseInt(m.group(5)),
+                Integer.parseInt(m.group(6)));
+        return eventTime.isAfter(stopTime);
+    }
+
+    // ─── Line reading ─────────────────────────────────────────────────────────
+
+    /** Next line including its '\n', or null at end of input. */
+    private byte[] readLine() throws IOException {
+        byte[] line = null;
+        int lineLen = 0;
+        while (true) {
+            if (bufferPos == bufferLen) {
+                if (inputDone || !fillBuffer()) {
+                    return line == null ? null : Arrays.copyOf(line, lineLen);
+                }
+            }
+            int end = bufferPos;
+            while (end < bufferLen && buffer[end] != '\n') {
+                end++;
+            }
+            boolean complete = end < bufferLen;
+            int chunk = (complete ? end + 1 : end) - bufferPos;
+
+            if (line == null && complete) {
+                // Common case: the whole line is already buffered
+                byte[] result = Arrays.copyOfRange(buffer, bufferPos, bufferPos + chunk);
+                bufferPos += chunk;
+                return result;
+            }
+            if (line == null) {
+                line = new byte[Math.max(256, chunk * 2)];
+            } else if (lineLen + chunk > line.length) {
+                line = Arrays.copyOf(line, Math.max(line.length * 2, lineLen + chunk));
+            }
+            System.arraycopy(buffer, bufferPos, line, lineLen, chunk);
+            lineLen += chunk;
+            bufferPos += chunk;
+            if (complete) {
+                return Arrays.copyOf(line, lineLen);
+            }
+        }
+    }
+
+    private boolean fillBuffer() throws IOException {
+        int n = in.read(buffer, 0, buffer.length);
+        if (n == -1) {
+            inputDone = true;
+            return false;
+        }
+        bufferPos = 0;
+        bufferLen = n;
+        return true;
+    }
+
+    private static boolean startsWith(byte[] line, byte[] prefix) {
+        if (line.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (line[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,9 @@
+package dev.pollywag.multidbbackupservice.strategy.database;
+
+/**
+ * Binary log coordinates a backup is consistent with.
+ *
+ * @param gtidSet executed GTID set at that point, or null when GTIDs are off
+ */
+public record BinlogPosition(String file, long position, String gtidSet) {
+}
@@ -1,9 +1,14 @@
 package dev.pollywag.multidbbackupservice.strategy.database;
 
+import dev.pollywag.multidbbackupservice.model.manifest.BackupManifest;
 import dev.pollywag.multidbbackupservice.model.request.BackupRequest;
 import dev.pollywag.multidbbackupservice.model.request.RestoreRequest;
 
 import java.io.File;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Map;
 
 public interface DatabaseBackupStrategy {
     boolean testConnection(BackupRequest request);
@@ -11,9 +16,72 @@ public interface DatabaseBackupStrategy {
     //void restoreDatabase(RestoreRequest request);
     File performIncrementalBackup(BackupRequest request, String outputPath) throws Exception;
 
+    /**
+     * Streams a full dump into {@code out} without touching disk.
+     * The caller owns {@code out} and closes it.
+     *
+     * @return binlog coordinates the dump is consistent with, or null if not recorded
+     */
+    BinlogPosition streamBackup(BackupRequest request, OutputStream out) throws Exception;
+
+    /**
+     * Streams an incremental dump into {@code out} without touching disk.
+     *
+     * @return binlog coordinates the dump is consistent with, or null if not recorded
+     */
+    BinlogPosition streamIncrementalBackup(BackupRequest request, OutputStream out) throws Exception;
+
+    /**
+     * Current end of the server's change log, used as the upper bound of a log-based incremental.
+     */
+    BinlogPosition currentBinlogPosition(BackupRequest request);
+
+    /**
+     * Streams the changes between two log positions as replayable SQL.
+     */
+    void streamBinlog(BackupRequest request, BinlogPosition from, BinlogPosition to, OutputStream out)
+            throws Exception;
+
+    /**
+     * Cheap per-table fingerprints used to tell which tables changed since the last backup,
+     * for {@code request.getTables()} or every table when none are listed. A null value
+     * means the table's state could not be pinned down and it must be treated as changed.
+     *
+     * @param exact compute an exact checksum for tables the cheap signals cannot vouch for
+     */
+    Map<String, String> tableChangeSignals(BackupRequest request, boolean exact);
+
+    /**
+     * Dumps tables concurrently with {@code request.getParallelism()} workers reading one
+     * shared snapshot, writing each table as separate segments through {@code sink}.
+     * Honours {@code request.getTables()} as a table filter when present.
+     */
+    BackupManifest performParallelBackup(BackupRequest request, SegmentSink sink) throws Exception;
+
     File compressBackup(File backupFile) throws Exception;
 
     File decompressBackup(File compressedFile) throws Exception;
 
     void restoreBackup(File dumpFile, RestoreRequest request) throws Exception;
+
+    /**
+     * Restores from an already-decompressed SQL stream, applying statements as they arrive.
+     * The caller owns {@code dumpStream} and closes it.
+     */
+    void restoreBackup(InputStream dumpStream, RestoreRequest request) throws Exception;
+
+    /**
+     * Replays a stored change log from {@link #streamBinlog}, applying events as they are read.
+     * Stops before the first event after {@code stopTime}, or after the transaction
+     * {@code stopGtid}; with both null the whole log is applied.
+     */
+    void replayBinlog(InputStream binlog, RestoreRequest request, LocalDateTime stopTime, String stopGtid)
+            throws Exception;
+
+    /**
+     * Restores a segmented backup described by {@code manifest}, replaying its segments
+     * over {@code workers} concurrent sessions.
+     */
+    void restoreParallel(BackupManifest manifest, SegmentSource source, RestoreRequest request, int workers)
+            throws Exception;
 }
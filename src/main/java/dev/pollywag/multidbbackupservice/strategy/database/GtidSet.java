@@ -0,0 +1,59 @@
+package dev.pollywag.multidbbackupservice.strategy.database;
+
+import java.util.Locale;
+
+/**
+ * Membership test on MySQL GTID set text such as
+ * {@code 3e11fa47-71ca-11e1-9e33-c80aa9429562:1-5:7,9a8b7c6d-...:1-12}, including
+ * tagged GTIDs ({@code uuid:tag:1-5}, MySQL 8.3+).
+ */
+public final class GtidSet {
+
+    private GtidSet() {
+    }
+
+    /**
+     * @param gtidSet executed GTID set as reported by the server
+     * @param gtid    a single GTID, {@code uuid:n} or {@code uuid:tag:n}
+     */
+    public static boolean contains(String gtidSet, String gtid) {
+        String normalized = normalize(gtid);
+        int split = normalized.lastIndexOf(':');
+        if (split <= 0) {
+            throw new IllegalArgumentException("Not a GTID: " + gtid);
+        }
+        String source = normalized.substring(0, split);
+        long transaction = Long.parseLong(normalized.substring(split + 1));
+
+        for (String part : normalize(gtidSet).split(",")) {
+            if (part.isEmpty()) {
+                continue;
+            }
+            String[] fields = part.split(":");
+            String current = fields[0];
+            for (int i = 1; i < fields.length; i++) {
+                String field = fields[i];
+                if (!Character.isDigit(field.charAt(0))) {
+                    // A tag: the intervals after it belong to uuid:tag
+                    current = fields[0] + ":" + field;
+                    continue;
+                }
+                if (current.equals(source) && inInterval(field, transaction)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    static String normalize(String gtid) {
+        return gtid.replaceAll("\\s+", "").toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean inInterval(String interval, long transaction) {
+        int dash = interval.indexOf('-');
+        long start = Long.parseLong(dash < 0 ? interval : interval.substring(0, dash));
+        long end = dash < 0 ? start : Long.parseLong(interval.substring(dash + 1));
+        return transaction >= start && transaction <= end;
+    }
+}
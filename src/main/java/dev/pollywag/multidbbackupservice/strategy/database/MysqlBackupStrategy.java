@@ -1,30 +1,70 @@
 package dev.pollywag.multidbbackupservice.strategy.database;
 
 import dev.pollywag.multidbbackupservice.exception.BackupException;
+import dev.pollywag.multidbbackupservice.model.enums.BackupType;
+import dev.pollywag.multidbbackupservice.model.manifest.BackupManifest;
 import dev.pollywag.multidbbackupservice.model.request.BackupRequest;
 import dev.pollywag.multidbbackupservice.model.request.RestoreRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.io.*;
 import java.sql.Connection;
-import java.sql.DatabaseMetaData;
-import java.sql.DriverManager;
-import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
 import java.util.List;
+import java.util.Map;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
 
 
+@Slf4j
 @Component
 public class MysqlBackupStrategy implements DatabaseBackupStrategy {
 
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+    private static final int OUTPUT_TAIL_LINES = 20;
+
+    // Ask mysqldump for the binlog coordinates of the dump (needs RELOAD and REPLICATION CLIENT)
+    @Value("${backup.mysql.binlog.record-position:true}")
+    private boolean recordBinlogPosition;
+
+    // --source-data needs mysqldump 8.0.26+; use --master-data=2 with older clients
+    @Value("${backup.mysql.binlog.source-data-option:--source-data=2}")
+    private String sourceDataOption;
+
+    // CHANGED_TABLES: CHECKSUM TABLE the tables whose UPDATE_TIME is unknown instead of dumping them
+    @Value("${backup.incremental.checksum-fallback:true}")
+    private boolean checksumFallback;
+
+    // Client programs to run; each may be a full path and carry leading arguments
+    @Value("${backup.mysql.dump-command:mysqldump}")
+    private String dumpCommand = "mysqldump";
+
+    @Value("${backup.mysql.client-command:mysql}")
+    private String clientCommand = "mysql";
+
+    @Value("${backup.mysql.binlog-command:mysqlbinlog}")
+    private String binlogCommand = "mysqlbinlog";
+
+    private final MysqlConnectionManager connections;
+    private final MysqlSchemaCatalog schemaCatalog;
+
+    public MysqlBackupStrategy(MysqlConnectionManager connections, MysqlSchemaCatalog schemaCatalog) {
+        this.connections = connections;
+        this.schemaCatalog = schemaCatalog;
+    }
+
     // ─── Connection test ───────────────────────────────────────────────────────
 
     @Override
     public boolean testConnection(BackupRequest request) {
-        String url = "jdbc:mysql://" + request.getHost() + ":" + request.getPort() + "/" + request.getDbName();
-        try (Connection conn = DriverManager.getConnection(url, request.getUsername(), request.getPassword())) {
+        try (Connection conn = connections.getConnection(request)) {
             return true;
         } catch (Exception e) {
             throw new BackupException("MySQL connection failed", e);
@@ -35,57 +75,40 @@ public class MysqlBackupStrategy implements DatabaseBackupStrategy {
 
     @Override
     public File performBackup(BackupRequest request, String tempFilePath) {
-        try {
-            File outputFile = new File(tempFilePath);
-            outputFile.getParentFile().mkdirs();
-
-            List<String> command = new ArrayList<>();
-            command.add("mysqldump");
-            command.add("-h"); command.add(request.getHost());
-            command.add("-P"); command.add(String.valueOf(request.getPort()));
-            command.add("-u"); command.add(request.getUsername());
-            command.add("-p" + request.getPassword());
-            command.add(request.getDbName());
-
-            ProcessBuilder pb = new ProcessBuilder(command);
-            pb.redirectErrorStream(false); //keep stderr separate from SQL output
-
-            Process process = pb.start();
-
-            // Drain stderr in background so warnings don't bleed into the SQL file
-            new Thread(() -> {
-                try (BufferedReader reader = new BufferedReader(
-                        new InputStreamReader(process.getErrorStream()))) {
-                    String line;
-                    while ((line = reader.readLine()) != null) {
-                        System.err.println("[mysqldump] " + line);
-                    }
-                } catch (IOException e) {
-                    e.printStackTrace();
-                }
-            }).start();
-
-            // Write ONLY clean SQL stdout to file
-            try (
-                    InputStream inputStream = process.getInputStream();
-                    FileOutputStream fos = new FileOutputStream(outputFile)
-            ) {
-                byte[] buffer = new byte[8192];
-                int length;
-                while ((length = inputStream.read(buffer)) != -1) {
-                    fos.write(buffer, 0, length);
-                }
-            }
+        File outputFile = new File(tempFilePath);
+        outputFile.getParentFile().mkdirs();
 
-            int exitCode = process.waitFor();
+        try (OutputStream fos = new FileOutputStream(outputFile)) {
+            streamBackup(request, fos);
+            return outputFile;
+        } catch (IOException e) {
+            throw new BackupException("MySQL backup failed", e);
+        }
+    }
+
+    @Override
+    public BinlogPosition streamBackup(BackupRequest request, OutputStream out) {
+        boolean withPosition = shouldRecordPosition(request);
+
+        List<String> command = command(dumpCommand);
+        command.add("-h"); command.add(request.getHost());
+        command.add("-P"); command.add(String.valueOf(request.getPort()));
+        command.add("-u"); command.add(request.getUsername());
+        command.add("-p" + request.getPassword());
+        addPositionOptions(command, withPosition);
+        command.add(request.getDbName());
+
+        try {
+            BinlogCoordinatesScanner scanner = withPosition ? new BinlogCoordinatesScanner(out) : null;
+            int exitCode = runDump(command, scanner != null ? scanner : out, "mysqldump");
             if (exitCode != 0) {
                 throw new BackupException("mysqldump failed with exit code " + exitCode);
             }
-
-            return outputFile;
-
-        } catch (IOException | InterruptedException e) {
+            return scanner != null ? scanner.getPosition() : null;
+        } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
+            throw new BackupException("MySQL backup interrupted", e);
+        } catch (IOException e) {
             throw new BackupException("MySQL backup failed", e);
         }
     }
@@ -94,66 +117,195 @@ public class MysqlBackupStrategy implements DatabaseBackupStrategy {
 
     @Override
     public File performIncrementalBackup(BackupRequest request, String outputPath) throws Exception {
+        try (OutputStream fos = new FileOutputStream(outputPath)) {
+            streamIncrementalBackup(request, fos);
+        }
+        return new File(outputPath);
+    }
+
+    @Override
+    public BinlogPosition streamIncrementalBackup(BackupRequest request, OutputStream out) throws Exception {
         if (request.getTables() == null || request.getTables().isEmpty()) {
             throw new BackupException("Incremental backup requires selected tables.");
         }
 
-        try (Connection conn = DriverManager.getConnection(
-                "jdbc:mysql://" + request.getHost() + ":" + request.getPort() + "/" + request.getDbName(),
-                request.getUsername(),
-                request.getPassword())) {
-
-            DatabaseMetaData metaData = conn.getMetaData();
-            List<String> nonExistentTables = new ArrayList<>();
-
-            for (String table : request.getTables()) {
-                try (ResultSet rs = metaData.getTables(null, null, table, new String[]{"TABLE"})) {
-                    if (!rs.next()) {
-                        nonExistentTables.add(table);
-                    }
-                }
-            }
-
-            if (!nonExistentTables.isEmpty()) {
-                throw new BackupException("The following tables do not exist in the database: " + nonExistentTables);
-            }
+        List<String> nonExistentTables = missingTables(schemaCatalog.get(request), request.getTables());
+        if (!nonExistentTables.isEmpty()) {
+            // The cached schema may predate a table created since; only a fresh read can reject it
+            nonExistentTables = missingTables(schemaCatalog.refresh(request), request.getTables());
+        }
+        if (!nonExistentTables.isEmpty()) {
+            throw new BackupException("The following tables do not exist in the database: " + nonExistentTables);
         }
 
-        List<String> command = new ArrayList<>();
-        command.add("mysqldump");
+        List<String> command = command(dumpCommand);
         command.add("-h"); command.add(request.getHost());
         command.add("-P"); command.add(String.valueOf(request.getPort()));
         command.add("-u"); command.add(request.getUsername());
         command.add("-p" + request.getPassword());
+        boolean withPosition = shouldRecordPosition(request);
+        addPositionOptions(command, withPosition);
         command.add(request.getDbName());
         command.addAll(request.getTables());
 
+        BinlogCoordinatesScanner scanner = withPosition ? new BinlogCoordinatesScanner(out) : null;
+        int exitCode = runDump(command, scanner != null ? scanner : out, "mysqldump incremental");
+
+        if (exitCode != 0) {
+            throw new BackupException("Incremental backup failed. mysqldump exit code: " + exitCode);
+        }
+        return scanner != null ? scanner.getPosition() : null;
+    }
+
+    // ─── Binlog incremental ────────────────────────────────────────────────────
+
+    @Override
+    public BinlogPosition currentBinlogPosition(BackupRequest request) {
+        try (Connection conn = connections.getConnection(request)) {
+            BinlogPosition position = MysqlBinlog.currentPosition(conn);
+            if (position == null) {
+                throw new BackupException("Binary logging is not enabled on " + request.getHost());
+            }
+            return position;
+        } catch (SQLException e) {
+            throw new BackupException("Could not read binlog position: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Map<String, String> tableChangeSignals(BackupRequest request, boolean exact) {
+        try {
+            // Signals must be current, so always read the schema afresh
+            MysqlSchemaCatalog.Schema schema = schemaCatalog.refresh(request);
+            try (Connection conn = connections.getConnection(request)) {
+                return MysqlTableSignals.read(schema, conn, request.getTables(), exact && checksumFallback);
+            }
+        } catch (SQLException e) {
+            throw new BackupException("Could not read table change signals: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Streams the decoded events of {@code request.getDbName()} between two positions via
+     * {@code mysqlbinlog --read-from-remote-server} (needs REPLICATION SLAVE). The output is
+     * plain SQL that the mysql client can replay.
+     */
+    @Override
+    public void streamBinlog(BackupRequest request, BinlogPosition from, BinlogPosition to, OutputStream out)
+            throws Exception {
+        List<String> logs;
+        try (Connection conn = connections.getConnection(request)) {
+            logs = MysqlBinlog.listLogs(conn);
+        }
+        int first = logs.indexOf(from.file());
+        int last = logs.indexOf(to.file());
+        if (first < 0) {
+            throw new BackupException("Binlog " + from.file() + " has been purged from the server; "
+                    + "take a new full backup to restart the incremental chain.");
+        }
+        if (last < first) {
+            throw new BackupException("Binlog " + to.file() + " is not after " + from.file());
+        }
+
+        List<String> command = command(binlogCommand);
+        command.add("--read-from-remote-server");
+        command.add("--host=" + request.getHost());
+        command.add("--port=" + request.getPort());
+        command.add("--user=" + request.getUsername());
+        command.add("--password=" + request.getPassword());
+        command.add("--database=" + request.getDbName());
+        // start applies to the first file, stop to the last one
+        command.add("--start-position=" + from.position());
+        command.add("--stop-position=" + to.position());
+        // No --skip-gtids: point-in-time restore needs them to find a stop GTID, and drops them on replay
+        command.addAll(logs.subList(first, last + 1));
+
+        int exitCode = runDump(command, out, "mysqlbinlog");
+        if (exitCode != 0) {
+            throw new BackupException("mysqlbinlog failed with exit code " + exitCode);
+        }
+    }
+
+    private boolean shouldRecordPosition(BackupRequest request) {
+        if (!recordBinlogPosition) {
+            return false;
+        }
+        try (Connection conn = connections.getConnection(request)) {
+            return MysqlBinlog.isEnabled(conn);
+        } catch (SQLException e) {
+            log.warn("Could not check log_bin, not recording binlog position: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void addPositionOptions(List<String> command, boolean withPosition) {
+        if (withPosition) {
+            // One consistent InnoDB snapshot, taken at the position written into the header
+            command.add("--single-transaction");
+            command.add(sourceDataOption);
+        }
+    }
+
+    private static List<String> command(String configured) {
+        return new ArrayList<>(Arrays.asList(configured.trim().split("\\s+")));
+    }
+
+    private static List<String> missingTables(MysqlSchemaCatalog.Schema schema, List<String> tables) {
+        return tables.stream().filter(t -> !schema.tables().containsKey(t)).toList();
+    }
+
+    /**
+     * Runs a dump command and copies its stdout into {@code out} as it is produced.
+     * If the sink fails (e.g. the upload aborted) the dump process is killed.
+     */
+    private int runDump(List<String> command, OutputStream out, String label)
+            throws IOException, InterruptedException {
+
         ProcessBuilder pb = new ProcessBuilder(command);
-        pb.redirectOutput(new File(outputPath));
-        pb.redirectErrorStream(false); // fix here too
+        pb.redirectErrorStream(false); //keep stderr separate from SQL output
 
         Process process = pb.start();
 
-// Drain stderr
+        // Drain stderr in background so warnings don't bleed into the SQL output
         new Thread(() -> {
             try (BufferedReader reader = new BufferedReader(
                     new InputStreamReader(process.getErrorStream()))) {
                 String line;
                 while ((line = reader.readLine()) != null) {
-                    System.err.println("[mysqldump incremental] " + line);
+                    log.warn("[{}] {}", label, line);
                 }
             } catch (IOException e) {
-                e.printStackTrace();
+                log.warn("Could not read {} stderr: {}", label, e.getMessage());
             }
         }).start();
 
-        int exitCode = process.waitFor();
-
-        if (exitCode != 0) {
-            throw new BackupException("Incremental backup failed. mysqldump exit code: " + exitCode);
+        // Copy ONLY clean SQL stdout to the sink
+        try (InputStream inputStream = process.getInputStream()) {
+            byte[] buffer = new byte[STREAM_BUFFER_SIZE];
+            int length;
+            while ((length = inputStream.read(buffer)) != -1) {
+                out.write(buffer, 0, length);
+            }
+        } catch (IOException e) {
+            process.destroyForcibly();
+            throw e;
         }
 
-        return new File(outputPath);
+        return process.waitFor();
+    }
+
+    // ─── Parallel backup ───────────────────────────────────────────────────────
+
+    @Override
+    public BackupManifest performParallelBackup(BackupRequest request, SegmentSink sink) throws Exception {
+        if (request.getBackupType() == BackupType.INCREMENTAL
+                && (request.getTables() == null || request.getTables().isEmpty())) {
+            throw new BackupException("Incremental backup requires selected tables.");
+        }
+        int workers = Math.max(1, request.getParallelism());
+        log.info("Parallel dump of {} with {} workers", request.getDbName(), workers);
+        // A fresh read: a cached table list could leave out a table created since
+        return new MysqlParallelDumper(request, workers, schemaCatalog.refresh(request)).dump(sink);
     }
 
     // ─── Compress ──────────────────────────────────────────────────────────────
@@ -165,9 +317,9 @@ public class MysqlBackupStrategy implements DatabaseBackupStrategy {
         try (
                 FileInputStream fis = new FileInputStream(inputFile);
                 FileOutputStream fos = new FileOutputStream(gzipFilePath);
-                GZIPOutputStream gzipOS = new GZIPOutputStream(fos)
+                GZIPOutputStream gzipOS = new GZIPOutputStream(fos, STREAM_BUFFER_SIZE)
         ) {
-            byte[] buffer = new byte[8192];
+            byte[] buffer = new byte[STREAM_BUFFER_SIZE];
             int len;
             while ((len = fis.read(buffer)) > 0) {
                 gzipOS.write(buffer, 0, len);
@@ -193,11 +345,11 @@ public class MysqlBackupStrategy implements DatabaseBackupStrategy {
 
         try (
                 GZIPInputStream gzipIn = new GZIPInputStream(
-                        new BufferedInputStream(new FileInputStream(compressedFile)));
+                        new FileInputStream(compressedFile), STREAM_BUFFER_SIZE);
                 BufferedOutputStream bos = new BufferedOutputStream(
-                        new FileOutputStream(decompressedFile))
+                        new FileOutputStream(decompressedFile), STREAM_BUFFER_SIZE)
         ) {
-            byte[] buffer = new byte[8192];
+            byte[] buffer = new byte[STREAM_BUFFER_SIZE];
             int length;
             while ((length = gzipIn.read(buffer)) != -1) {
                 bos.write(buffer, 0, length);
@@ -212,8 +364,14 @@ public class MysqlBackupStrategy implements DatabaseBackupStrategy {
 
     @Override
     public void restoreBackup(File dumpFile, RestoreRequest request) throws Exception {
-        List<String> command = new ArrayList<>();
-        command.add("mysql");
+        try (InputStream in = new BufferedInputStream(new FileInputStream(dumpFile), STREAM_BUFFER_SIZE)) {
+            restoreBackup(in, request);
+        }
+    }
+
+    @Override
+    public void restoreBackup(InputStream dumpStream, RestoreRequest request) throws Exception {
+        List<String> command = command(clientCommand);
         command.add("-h"); command.add(request.getTargetHost());
         command.add("-P"); command.add(String.valueOf(request.getTargetPort()));
         command.add("-u"); command.add(request.getTargetUsername());
@@ -221,17 +379,77 @@ public class MysqlBackupStrategy implements DatabaseBackupStrategy {
         command.add(request.getTargetDbName());
 
         ProcessBuilder pb = new ProcessBuilder(command);
-        pb.redirectInput(dumpFile);
         pb.redirectErrorStream(true);
 
         Process process = pb.start();
 
-        String output = new String(process.getInputStream().readAllBytes());
-        System.out.println(">>> mysql output: " + output);
+        // Feed mysql stdin from its own thread so reading/decompressing the dump
+        // overlaps with mysql applying the statements
+        IOException[] sourceError = new IOException[1];
+        Thread feeder = new Thread(() -> {
+            byte[] buffer = new byte[STREAM_BUFFER_SIZE];
+            try (OutputStream stdin = process.getOutputStream()) {
+                while (true) {
+                    int length;
+                    try {
+                        length = dumpStream.read(buffer);
+                    } catch (IOException e) {
+                        // Corrupt or truncated input: stop mysql before it applies a partial tail
+                        sourceError[0] = e;
+                        process.destroyForcibly();
+                        return;
+                    }
+                    if (length == -1) {
+                        break;
+                    }
+                    stdin.write(buffer, 0, length);
+                }
+            } catch (IOException e) {
+                // mysql closed its stdin; its exit code and output explain why
+            }
+        }, "mysql-restore-feed");
+        feeder.start();
+
+        // Keep only the tail of the client's output for the error message; the rest is debug noise
+        Deque<String> outputTail = new ArrayDeque<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                log.debug("[mysql] {}", line);
+                if (outputTail.size() == OUTPUT_TAIL_LINES) {
+                    outputTail.removeFirst();
+                }
+                outputTail.addLast(line);
+            }
+        }
 
         int exitCode = process.waitFor();
+        feeder.join();
+
+        if (sourceError[0] != null) {
+            throw new BackupException("Reading backup stream failed: " + sourceError[0].getMessage(), sourceError[0]);
+        }
         if (exitCode != 0) {
-            throw new BackupException("mysql restore failed with exit code " + exitCode + " — " + output);
+            throw new BackupException("mysql restore failed with exit code " + exitCode
+                    + " — " + String.join("\n", outputTail));
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    public void restoreParallel(BackupManifest manifest, SegmentSource source, RestoreRequest request, int workers)
+            throws Exception {
+        log.info("Parallel restore of {} segments into {} with {} workers",
+                manifest.getSegments().size(), request.getTargetDbName(), workers);
+        new MysqlParallelRestorer(this, request, Math.max(1, workers)).restore(manifest, source);
+    }
+
+    @Override
+    public void replayBinlog(InputStream binlog, RestoreRequest request, LocalDateTime stopTime, String stopGtid)
+            throws Exception {
+        BinlogCutoffInputStream filtered = new BinlogCutoffInputStream(binlog, stopTime, stopGtid);
+        restoreBackup(filtered, request);
+        log.info("Binlog replay into {} {}", request.getTargetDbName(),
+                filtered.isCutOff() ? "stopped at the target point" : "applied the whole segment");
+    }
+}
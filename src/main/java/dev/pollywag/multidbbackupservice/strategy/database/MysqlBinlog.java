@@ -0,0 +1,63 @@
+package dev.pollywag.multidbbackupservice.strategy.database;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary log queries shared by the dump paths.
+ */
+final class MysqlBinlog {
+
+    private MysqlBinlog() {
+    }
+
+    static boolean isEnabled(Connection conn) throws SQLException {
+        try (Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("SELECT @@GLOBAL.log_bin")) {
+            return rs.next() && rs.getInt(1) == 1;
+        }
+    }
+
+    /**
+     * Current write position of the binary log, or null when binary logging is off.
+     * Needs the REPLICATION CLIENT privilege.
+     */
+    static BinlogPosition currentPosition(Connection conn) throws SQLException {
+        try (Statement st = conn.createStatement();
+             ResultSet rs = executeStatus(st)) {
+            if (!rs.next()) {
+                return null;
+            }
+            String gtidSet = rs.getString("Executed_Gtid_Set");
+            return new BinlogPosition(
+                    rs.getString("File"),
+                    rs.getLong("Position"),
+                    gtidSet == null || gtidSet.isBlank() ? null : gtidSet.replace("\n", ""));
+        }
+    }
+
+    /** Binary log file names the server still has, oldest first. */
+    static List<String> listLogs(Connection conn) throws SQLException {
+        List<String> logs = new ArrayList<>();
+        try (Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("SHOW BINARY LOGS")) {
+            while (rs.next()) {
+                logs.add(rs.getString(1));
+            }
+        }
+        return logs;
+    }
+
+    private static ResultSet executeStatus(Statement st) throws SQLException {
+        try {
+            // MySQL 8.2+ name; SHOW MASTER STATUS was removed in 8.4
+            return st.executeQuery("SHOW BINARY LOG STATUS");
+        } catch (SQLException e) {
+            return st.executeQuery("SHOW MASTER STATUS");
+        }
+    }
+}
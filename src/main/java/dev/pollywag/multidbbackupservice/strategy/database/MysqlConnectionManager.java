@@ -0,0 +1,161 @@
+package dev.pollywag.multidbbackupservice.strategy.database;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import dev.pollywag.multidbbackupservice.model.request.BackupRequest;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Small connection pools to the MySQL servers being backed up, one per target
+ * (host, port, user, password, database), for the short metadata queries around a dump:
+ * connection tests, table validation, binlog positions and change signals.
+ *
+ * Pools are created on first use and start empty. A changed password gets a pool of its
+ * own rather than replacing the old one, which jobs may still be borrowing from; the old
+ * pool is closed like any other once it goes unused. Connections idle for
+ * backup.mysql.pool.idle-timeout-ms are closed by the pool; a target not used for
+ * backup.mysql.pool.target-idle-timeout-ms has its whole pool closed. Connections
+ * that hold session state for a dump (snapshot transactions, locks) are opened
+ * separately and never come from here.
+ */
+@Component
+public class MysqlConnectionManager {
+
+    // Holds an HMAC of the password under a key generated at startup, not a plain digest that a dictionary
+    // attack could reverse. The password itself still sits in each pool's Hikari configuration.
+    private record Target(String host, int port, String username, String passwordMac, String dbName) {
+    }
+
+    private static final class Pool {
+        final HikariDataSource dataSource;
+        volatile long lastUsedNanos = System.nanoTime();
+
+        Pool(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+
+    private final int maxPoolSize;
+    private final long idleTimeoutMs;
+    private final long connectionTimeoutMs;
+    private final long targetIdleTimeoutNanos;
+
+    private final SecretKeySpec passwordKey = randomKey();
+    private final Map<Target, Pool> pools = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService evictor;
+
+    public MysqlConnectionManager(@Value("${backup.mysql.pool.max-size:4}") int maxPoolSize,
+                                  @Value("${backup.mysql.pool.idle-timeout-ms:60000}") long idleTimeoutMs,
+                                  @Value("${backup.mysql.pool.connection-timeout-ms:10000}") long connectionTimeoutMs,
+                                  @Value("${backup.mysql.pool.target-idle-timeout-ms:600000}") long targetIdleTimeoutMs) {
+        this.maxPoolSize = Math.max(1, maxPoolSize);
+        // Hikari's lower bounds
+        this.idleTimeoutMs = Math.max(10_000, idleTimeoutMs);
+        this.connectionTimeoutMs = Math.max(250, connectionTimeoutMs);
+        this.targetIdleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1000, targetIdleTimeoutMs));
+
+        this.evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "mysql-pool-evictor");
+            t.setDaemon(true);
+            return t;
+        });
+        long interval = Math.max(1000, Math.min(targetIdleTimeoutMs, 60_000));
+        evictor.scheduleWithFixedDelay(this::evictIdleTargets, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        evictor.shutdownNow();
+        pools.values().forEach(pool -> pool.dataSource.close());
+        pools.clear();
+    }
+
+    /**
+     * Borrows a connection to the request's database; closing it returns it to the pool.
+     */
+    public Connection getConnection(BackupRequest request) throws SQLException {
+        Target target = new Target(request.getHost(), request.getPort(), request.getUsername(),
+                passwordMac(request.getPassword()), request.getDbName());
+        // Marked used inside compute, so the evictor cannot close the pool between here and getConnection
+        Pool pool = pools.compute(target, (t, existing) -> {
+            if (existing == null) {
+                existing = new Pool(createDataSource(t, request.getPassword()));
+            }
+            existing.lastUsedNanos = System.nanoTime();
+            return existing;
+        });
+        return pool.dataSource.getConnection();
+    }
+
+    /** Number of targets that currently have a pool. */
+    public int getPoolCount() {
+        return pools.size();
+    }
+
+    // ─── Pools ────────────────────────────────────────────────────────────────
+
+    private HikariDataSource createDataSource(Target target, String password) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("mysql-" + target.host() + ":" + target.port() + "/" + target.dbName());
+        config.setJdbcUrl("jdbc:mysql://" + target.host() + ":" + target.port() + "/" + target.dbName());
+        config.setUsername(target.username());
+        config.setPassword(password);
+        config.setMaximumPoolSize(maxPoolSize);
+        config.setMinimumIdle(0);
+        config.setIdleTimeout(idleTimeoutMs);
+        config.setConnectionTimeout(connectionTimeoutMs);
+        // Do not connect here: an unreachable target should fail the caller, not pool creation
+        config.setInitializationFailTimeout(-1);
+        return new HikariDataSource(config);
+    }
+
+    private String passwordMac(String password) {
+        if (password == null) {
+            return "";
+        }
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(passwordKey);
+            return HexFormat.of().formatHex(mac.doFinal(password.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+
+    private static SecretKeySpec randomKey() {
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        return new SecretKeySpec(key, "HmacSHA256");
+    }
+
+    private void evictIdleTargets() {
+        for (Target target : pools.keySet()) {
+            pools.computeIfPresent(target, (t, pool) -> {
+                HikariPoolMXBean stats = pool.dataSource.getHikariPoolMXBean();
+                boolean inUse = stats != null && stats.getActiveConnections() > 0;
+                if (inUse || System.nanoTime() - pool.lastUsedNanos <= targetIdleTimeoutNanos) {
+                    return pool;
+                }
+                pool.dataSource.close();
+                return null;
+            });
+        }
+    }
+}
@@ -0,0 +1,502 @@
+package dev.pollywag.multidbbackupservice.strategy.database;
+
+import dev.pollywag.multidbbackupservice.exception.BackupException;
+import dev.pollywag.multidbbackupservice.model.enums.DatabaseType;
+import dev.pollywag.multidbbackupservice.model.enums.SegmentKind;
+import dev.pollywag.multidbbackupservice.model.manifest.BackupManifest;
+import dev.pollywag.multidbbackupservice.model.manifest.ManifestSegment;
+import dev.pollywag.multidbbackupservice.model.request.BackupRequest;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * mydumper-style parallel dump over JDBC.
+ *
+ * All workers open {@code START TRANSACTION WITH CONSISTENT SNAPSHOT} while a coordinator
+ * connection briefly holds a global read lock, so every table is read from the same
+ * point in time. Tables are then pulled from a shared work queue (largest first) and
+ * each one is written as a schema segment and a data segment.
+ */
+@Slf4j
+class MysqlParallelDumper {
+
+    // Keep single INSERT statements well below the default max_allowed_packet
+    private static final int MAX_STATEMENT_BYTES = 1024 * 1024;
+    private static final HexFormat HEX = HexFormat.of();
+    static final String POST_DATA_SEGMENT = "99999-post-data.sql";
+
+    private final BackupRequest request;
+    private final int workers;
+    private final MysqlSchemaCatalog.Schema schema;
+
+    // Read while the snapshot lock is held, so it matches the data exactly
+    private BinlogPosition binlogPosition;
+
+    MysqlParallelDumper(BackupRequest request, int workers, MysqlSchemaCatalog.Schema schema) {
+        this.request = request;
+        this.workers = workers;
+        this.schema = schema;
+    }
+
+    private record TableInfo(int ordinal, String name, long dataLength, List<String> columns) {
+    }
+
+    BackupManifest dump(SegmentSink sink) throws Exception {
+        List<Connection> connections = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(workers, r -> {
+            Thread t = new Thread(r, "mysql-dump-worker");
+            t.setDaemon(true);
+            return t;
+        });
+
+        try (Connection coordinator = openConnection()) {
+            List<TableInfo> tables = planTables(coordinator);
+
+            for (int i = 0; i < workers; i++) {
+                connections.add(openConnection());
+            }
+
+            LocalDateTime snapshotTime = openSnapshots(coordinator, connections, tables);
+
+            Queue<TableInfo> workQueue = new ConcurrentLinkedQueue<>(tables);
+            List<ManifestSegment> segments = Collections.synchronizedList(new ArrayList<>());
+            AtomicBoolean failed = new AtomicBoolean();
+
+            List<Future<?>> futures = new ArrayList<>();
+            for (Connection conn : connections) {
+                futures.add(executor.submit(() -> {
+                    TableInfo table;
+                    while (!failed.get() && (table = workQueue.poll()) != null) {
+                        try {
+                            segments.add(dumpSchema(conn, table, sink));
+                            segments.add(dumpData(conn, table, sink));
+                        } catch (Exception e) {
+                            failed.set(true);
+                            throw e;
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                await(future);
+            }
+
+            // Views and triggers go last so they never fire during (or block) the data load
+            segments.add(dumpPostData(connections.get(0), tables, sink));
+
+            BackupManifest manifest = new BackupManifest();
+            manifest.setDbName(request.getDbName());
+            manifest.setDbType(DatabaseType.MYSQL);
+            manifest.setSnapshotTime(snapshotTime);
+            manifest.setCompressed(request.isCompress());
+            manifest.setCompression(request.getCompression());
+            manifest.setWorkers(workers);
+            if (binlogPosition != null) {
+                manifest.setBinlogFile(binlogPosition.file());
+                manifest.setBinlogPosition(binlogPosition.position());
+                manifest.setGtidSet(binlogPosition.gtidSet());
+            }
+            manifest.setSegments(sortSegments(segments));
+            return manifest;
+
+        } finally {
+            executor.shutdownNow();
+            for (Connection conn : connections) {
+                closeQuietly(conn);
+            }
+        }
+    }
+
+    // ─── Planning ─────────────────────────────────────────────────────────────
+
+    private List<TableInfo> planTables(Connection conn) throws SQLException {
+        List<String> wanted = request.getTables();
+
+        Map<String, Long> sizes = new LinkedHashMap<>();
+        for (MysqlSchemaCatalog.TableStats table : schema.tables().values()) {
+            sizes.put(table.name(), table.dataLength());
+        }
+
+        if (wanted != null && !wanted.isEmpty()) {
+            List<String> missing = wanted.stream().filter(t -> !sizes.containsKey(t)).toList();
+            if (!missing.isEmpty()) {
+                throw new BackupException("The following tables do not exist in the database: " + missing);
+            }
+            sizes.keySet().retainAll(wanted);
+        }
+
+        // Generated columns cannot be inserted into, so list insertable columns explicitly
+        Map<String, List<String>> columns = new LinkedHashMap<>();
+        try (PreparedStatement ps = conn.prepareStatement(
+                "SELECT TABLE_NAME, COLUMN_NAME FROM information_schema.COLUMNS " +
+                        "WHERE TABLE_SCHEMA = ? AND EXTRA NOT LIKE '%GENERATED%' " +
+                        "ORDER BY TABLE_NAME, ORDINAL_POSITION")) {
+            ps.setString(1, request.getDbName());
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    columns.computeIfAbsent(rs.getString(1), k -> new ArrayList<>()).add(rs.getString(2));
+                }
+            }
+        }
+
+        List<TableInfo> tables = new ArrayList<>();
+        int ordinal = 1;
+        for (Map.Entry<String, Long> e : sizes.entrySet()) {
+            tables.add(new TableInfo(ordinal++, e.getKey(), e.getValue(),
+                    columns.getOrDefault(e.getKey(), List.of())));
+        }
+        // Largest first so one huge table does not start last and stretch the backup window
+        tables.sort(Comparator.comparingLong(TableInfo::dataLength).reversed());
+        return tables;
+    }
+
+    /**
+     * Opens a consistent snapshot on every worker connection while writes are blocked,
+     * so all workers see the database at the same instant. The lock is held only for
+     * as long as it takes to start the transactions.
+     */
+    private LocalDateTime openSnapshots(Connection coordinator,
+                                        List<Connection> connections,
+                                        List<TableInfo> tables) throws SQLException {
+        try (Statement lock = coordinator.createStatement()) {
+            try {
+                lock.execute("FLUSH TABLES WITH READ LOCK");
+            } catch (SQLException e) {
+                // No RELOAD privilege: a read lock on just the dumped tables gives the same guarantee for them
+                if (tables.isEmpty()) {
+                    throw e;
+                }
+                lock.execute(lockTablesSql(tables.stream().map(TableInfo::name).toList()));
+            }
+
+            try {
+                for (Connection conn : connections) {
+                    try (Statement st = conn.createStatement()) {
+                        st.execute("SET SESSION TRANSACTION ISOLATION LEVEL REPEATABLE READ");
+                        st.execute("START TRANSACTION WITH CONSISTENT SNAPSHOT");
+                    }
+                }
+                binlogPosition = readBinlogPosition(coordinator);
+                return LocalDateTime.now();
+            } finally {
+                lock.execute("UNLOCK TABLES");
+            }
+        }
+    }
+
+    // ─── Segment writers ──────────────────────────────────────────────────────
+
+    private ManifestSegment dumpSchema(Connection conn, TableInfo table, SegmentSink sink) throws Exception {
+        String createSql;
+        try (Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("SHOW CREATE TABLE " + quote(table.name()))) {
+            rs.next();
+            createSql = rs.getString(2);
+        }
+
+        SegmentSink.StoredSegment stored = sink.write(segmentName(table, "schema"), out -> {
+            Writer w = writer(out);
+            w.write("-- Schema for table " + quote(table.name()) + "\n");
+            w.write("SET FOREIGN_KEY_CHECKS=0;\n");
+            w.write("DROP TABLE IF EXISTS " + quote(table.name()) + ";\n");
+            w.write(createSql);
+            w.write(";\n");
+            w.flush();
+        });
+        return new ManifestSegment(table.name(), SegmentKind.SCHEMA, stored.fileName(), stored.sizeBytes(), 0, stored.sha256());
+    }
+
+    private ManifestSegment dumpData(Connection conn, TableInfo table, SegmentSink sink) throws Exception {
+        long[] rows = new long[1];
+
+        SegmentSink.StoredSegment stored = sink.write(segmentName(table, "data"), out -> {
+            Writer w = writer(out);
+            w.write("-- Data for table " + quote(table.name()) + "\n");
+            w.write("SET NAMES utf8mb4;\n");
+            w.write("SET TIME_ZONE='+00:00';\n");
+            w.write("SET SESSION sql_mode='NO_AUTO_VALUE_ON_ZERO';\n");
+
+            String columnList = String.join(", ", table.columns().stream().map(MysqlParallelDumper::quote).toList());
+            String insertPrefix = "INSERT INTO " + quote(table.name()) + " (" + columnList + ") VALUES ";
+
+            try (Statement st = conn.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                // Connector/J streams rows one at a time instead of buffering the whole table
+                st.setFetchSize(Integer.MIN_VALUE);
+                try (ResultSet rs = st.executeQuery("SELECT " + columnList + " FROM " + quote(table.name()))) {
+                    rows[0] = writeInserts(w, insertPrefix, rs, MAX_STATEMENT_BYTES);
+                }
+            }
+            w.flush();
+        });
+        return new ManifestSegment(table.name(), SegmentKind.DATA, stored.fileName(), stored.sizeBytes(), rows[0], stored.sha256());
+    }
+
+    private ManifestSegment dumpPostData(Connection conn, List<TableInfo> tables, SegmentSink sink) throws Exception {
+        List<String> statements = new ArrayList<>();
+
+        try (PreparedStatement ps = conn.prepareStatement(
+                "SELECT TABLE_NAME FROM information_schema.VIEWS WHERE TABLE_SCHEMA = ? ORDER BY TABLE_NAME")) {
+            ps.setString(1, request.getDbName());
+            List<String> views = new ArrayList<>();
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    views.add(rs.getString(1));
+                }
+            }
+            // Views restored only with a full dump: a table subset may not cover their dependencies
+            if (request.getTables() == null || request.getTables().isEmpty()) {
+                for (String view : views) {
+                    try (Statement st = conn.createStatement();
+                         ResultSet rs = st.executeQuery("SHOW CREATE VIEW " + quote(view))) {
+                        rs.next();
+                        statements.add("DROP VIEW IF EXISTS " + quote(view) + ";;\n" + rs.getString(2) + ";;\n");
+                    }
+                }
+            }
+        }
+
+        List<String> tableNames = tables.stream().map(TableInfo::name).toList();
+        try (PreparedStatement ps = conn.prepareStatement(
+                "SELECT TRIGGER_NAME, EVENT_OBJECT_TABLE FROM information_schema.TRIGGERS " +
+                        "WHERE TRIGGER_SCHEMA = ? ORDER BY TRIGGER_NAME")) {
+            ps.setString(1, request.getDbName());
+            List<String> triggers = new ArrayList<>();
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    if (tableNames.contains(rs.getString(2))) {
+                        triggers.add(rs.getString(1));
+                    }
+                }
+            }
+            for (String trigger : triggers) {
+                try (Statement st = conn.createStatement();
+                     ResultSet rs = st.executeQuery("SHOW CREATE TRIGGER " + quote(trigger))) {
+                    rs.next();
+                    statements.add("DROP TRIGGER IF EXISTS " + quote(trigger) + ";;\n"
+                            + rs.getString("SQL Original Statement") + ";;\n");
+                }
+            }
+        }
+
+        SegmentSink.StoredSegment stored = sink.write(POST_DATA_SEGMENT, out -> {
+            Writer w = writer(out);
+            writePostData(w, statements);
+            w.flush();
+        });
+        return new ManifestSegment(null, SegmentKind.POST_DATA, stored.fileName(), stored.sizeBytes(), 0, stored.sha256());
+    }
+
+    // ─── SQL rendering ────────────────────────────────────────────────────────
+
+    /** Read lock on just the dumped tables, for servers where FLUSH TABLES WITH READ LOCK is not allowed. */
+    static String lockTablesSql(List<String> tableNames) {
+        StringBuilder sql = new StringBuilder("LOCK TABLES ");
+        for (int i = 0; i < tableNames.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(quote(tableNames.get(i))).append(" READ");
+        }
+        return sql.toString();
+    }
+
+    /**
+     * Writes every row of {@code rs} as multi-row INSERTs, starting a new statement once one
+     * reaches {@code maxStatementBytes}. Returns the number of rows written.
+     */
+    static long writeInserts(Writer w, String insertPrefix, ResultSet rs, int maxStatementBytes)
+            throws SQLException, IOException {
+        ResultSetMetaData md = rs.getMetaData();
+        int columnCount = md.getColumnCount();
+        StringBuilder statement = new StringBuilder();
+        long rows = 0;
+
+        while (rs.next()) {
+            statement.append(statement.length() == 0 ? insertPrefix : ",");
+            appendRow(statement, rs, md, columnCount);
+            rows++;
+
+            if (statement.length() >= maxStatementBytes) {
+                w.append(statement).append(";\n");
+                statement.setLength(0);
+            }
+        }
+        if (statement.length() > 0) {
+            w.append(statement).append(";\n");
+        }
+        return rows;
+    }
+
+    /** Views and triggers, each statement already terminated with {@code ;;}. */
+    static void writePostData(Writer w, List<String> statements) throws IOException {
+        w.write("-- Views and triggers\n");
+        // Trigger bodies contain ';', so switch the client delimiter
+        w.write("DELIMITER ;;\n");
+        for (String statement : statements) {
+            w.write(statement);
+        }
+        w.write("DELIMITER ;\n");
+    }
+
+    private static void appendRow(StringBuilder sb, ResultSet rs, ResultSetMetaData md, int columnCount)
+            throws SQLException {
+        sb.append('(');
+        for (int i = 1; i <= columnCount; i++) {
+            if (i > 1) {
+                sb.append(',');
+            }
+            switch (md.getColumnType(i)) {
+                case Types.BIT, Types.BINARY, Types.VARBINARY, Types.LONGVARBINARY, Types.BLOB -> {
+                    byte[] bytes = rs.getBytes(i);
+                    if (bytes == null) {
+                        sb.append("NULL");
+                    } else if (bytes.length == 0) {
+                        sb.append("''");
+                    } else {
+                        sb.append("0x").append(HEX.formatHex(bytes));
+                    }
+                }
+                case Types.TINYINT, Types.SMALLINT, Types.INTEGER, Types.BIGINT,
+                     Types.DECIMAL, Types.NUMERIC, Types.REAL, Types.FLOAT, Types.DOUBLE -> {
+                    String value = rs.getString(i);
+                    sb.append(value == null ? "NULL" : value);
+                }
+                default -> {
+                    String value = rs.getString(i);
+                    if (value == null) {
+                        sb.append("NULL");
+                    } else {
+                        appendQuoted(sb, value);
+                    }
+                }
+            }
+        }
+        sb.append(')');
+    }
+
+    /**
+     * Quotes a string literal the way mysqldump does. Newlines are escaped,
+     * so every statement in a data segment sits on a single line.
+     */
+    static void appendQuoted(StringBuilder sb, String value) {
+        sb.append('\'');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> sb.append("\\\\");
+                case '\'' -> sb.append("\\'");
+                case '\0' -> sb.append("\\0");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\u001A' -> sb.append("\\Z");
+                default -> sb.append(c);
+            }
+        }
+        sb.append('\'');
+    }
+
+    static String quote(String identifier) {
+        return "`" + identifier.replace("`", "``") + "`";
+    }
+
+    // ─── Helpers ──────────────────────────────────────────────────────────────
+
+    private Connection openConnection() throws SQLException {
+        // tinyInt1isBit=false keeps TINYINT(1) numeric; only real BIT columns report Types.BIT
+        String url = "jdbc:mysql://" + request.getHost() + ":" + request.getPort() + "/" + request.getDbName()
+                + "?tinyInt1isBit=false&transformedBitIsBoolean=false&useCursorFetch=false";
+        Connection conn = DriverManager.getConnection(url, request.getUsername(), request.getPassword());
+        try (Statement st = conn.createStatement()) {
+            st.execute("SET SESSION time_zone = '+00:00'");
+        }
+        return conn;
+    }
+
+    private static BinlogPosition readBinlogPosition(Connection conn) {
+        try {
+            return MysqlBinlog.currentPosition(conn);
+        } catch (SQLException e) {
+            log.warn("Could not read binlog position, not recording it: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static String segmentName(TableInfo table, String kind) {
+        return segmentName(table.ordinal(), table.name(), kind);
+    }
+
+    /** {@code <ordinal>-<table>.<kind>.sql}, with anything unsafe in a file name replaced. */
+    static String segmentName(int ordinal, String tableName, String kind) {
+        String safeName = tableName.replaceAll("[^A-Za-z0-9_.-]", "_");
+        return String.format("%05d-%s.%s.sql", ordinal, safeName, kind);
+    }
+
+    /**
+     * Workers finish in any order; the manifest lists tables in planning order, each table's
+     * schema before its data, and {@link #POST_DATA_SEGMENT} last.
+     */
+    static List<ManifestSegment> sortSegments(List<ManifestSegment> segments) {
+        List<ManifestSegment> sorted = new ArrayList<>(segments);
+        sorted.sort(Comparator.comparing((ManifestSegment segment) -> ordinalOf(segment.getFileName()))
+                .thenComparing(ManifestSegment::getKind));
+        return sorted;
+    }
+
+    private static String ordinalOf(String fileName) {
+        int dash = fileName.indexOf('-');
+        return dash < 0 ? fileName : fileName.substring(0, dash);
+    }
+
+    private static Writer writer(OutputStream out) {
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+    }
+
+    private static void await(Future<?> future) throws Exception {
+        try {
+            future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static void closeQuietly(Connection conn) {
+        try {
+            conn.close();
+        } catch (SQLException ignored) {
+            // nothing useful to do
+        }
+    }
+}
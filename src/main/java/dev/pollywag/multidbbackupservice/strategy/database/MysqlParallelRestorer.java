@@ -0,0 +1,239 @@
+package dev.pollywag.multidbbackupservice.strategy.database;
+
+import dev.pollywag.multidbbackupservice.model.enums.SegmentKind;
+import dev.pollywag.multidbbackupservice.model.manifest.BackupManifest;
+import dev.pollywag.multidbbackupservice.model.manifest.ManifestSegment;
+import dev.pollywag.multidbbackupservice.model.request.RestoreRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Replays a segmented backup over several concurrent mysql sessions.
+ *
+ * Phases run one after another, segments within a phase run in parallel:
+ * schema (tables created without their secondary indexes), data (largest first),
+ * secondary indexes (one ALTER TABLE per table), then views and triggers.
+ */
+class MysqlParallelRestorer {
+
+    // Every session skips FK and unique checks; the data was consistent when it was dumped
+    private static final String SESSION_PRELUDE =
+            "SET FOREIGN_KEY_CHECKS=0;\nSET UNIQUE_CHECKS=0;\n";
+
+    private static final Pattern SECONDARY_KEY =
+            Pattern.compile("^\\s*(?:(?:FULLTEXT|SPATIAL)\\s+)?KEY\\s+`(?:[^`]|``)+`\\s*\\(`((?:[^`]|``)+)`.*$");
+    private static final Pattern AUTO_INCREMENT_COLUMN =
+            Pattern.compile("^\\s*`((?:[^`]|``)+)`.*\\sAUTO_INCREMENT\\b.*$");
+
+    private final MysqlBackupStrategy strategy;
+    private final RestoreRequest request;
+    private final int workers;
+
+    MysqlParallelRestorer(MysqlBackupStrategy strategy, RestoreRequest request, int workers) {
+        this.strategy = strategy;
+        this.request = request;
+        this.workers = workers;
+    }
+
+    /**
+     * A CREATE TABLE statement split into the part applied before the data load
+     * and the index definitions added after it.
+     */
+    record DeferredIndexes(String createSql, List<String> indexDefinitions) {
+    }
+
+    void restore(BackupManifest manifest, SegmentSource source) throws Exception {
+        List<ManifestSegment> schema = segmentsOf(manifest, SegmentKind.SCHEMA);
+        List<ManifestSegment> data = segmentsOf(manifest, SegmentKind.DATA);
+        List<ManifestSegment> postData = segmentsOf(manifest, SegmentKind.POST_DATA);
+
+        // Biggest segments first so the longest load is not the last one to start
+        data.sort(Comparator.comparingLong(ManifestSegment::getSizeBytes).reversed());
+
+        ExecutorService executor = Executors.newFixedThreadPool(workers, r -> {
+            Thread t = new Thread(r, "mysql-restore-worker");
+            t.setDaemon(true);
+            return t;
+        });
+
+        try {
+            Map<String, List<String>> deferred = new ConcurrentHashMap<>();
+
+            runPhase(executor, schema, segment -> {
+                String sql;
+                try (InputStream in = source.open(segment)) {
+                    sql = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+                }
+                DeferredIndexes split = deferIndexes(sql);
+                if (!split.indexDefinitions().isEmpty()) {
+                    deferred.put(segment.getTable(), split.indexDefinitions());
+                }
+                apply(new ByteArrayInputStream(split.createSql().getBytes(StandardCharsets.UTF_8)));
+            });
+
+            runPhase(executor, data, segment -> {
+                try (InputStream in = source.open(segment)) {
+                    apply(in);
+                }
+            });
+
+            List<Map.Entry<String, List<String>>> indexWork = new ArrayList<>(deferred.entrySet());
+            runPhase(executor, indexWork, entry -> {
+                String alter = "ALTER TABLE " + MysqlParallelDumper.quote(entry.getKey()) + "\n  ADD "
+                        + String.join(",\n  ADD ", entry.getValue()) + ";\n";
+                apply(new ByteArrayInputStream(alter.getBytes(StandardCharsets.UTF_8)));
+            });
+
+            // Views may reference any table and triggers must not fire during the load
+            for (ManifestSegment segment : postData) {
+                try (InputStream in = source.open(segment)) {
+                    apply(in);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // ─── Index deferral ───────────────────────────────────────────────────────
+
+    /**
+     * Removes plain, FULLTEXT and SPATIAL secondary keys from a schema segment so they can
+     * be built once after the load instead of maintained row by row. Primary and unique
+     * keys stay inline, as does any key that starts with the AUTO_INCREMENT column.
+     * Tables with foreign keys are left untouched, since the constraints need their indexes.
+     */
+    static DeferredIndexes deferIndexes(String schemaSql) {
+        String[] lines = schemaSql.split("\n", -1);
+
+        int start = -1;
+        int end = -1;
+        for (int i = 0; i < lines.length; i++) {
+            if (start < 0 && lines[i].startsWith("CREATE TABLE")) {
+                start = i;
+            } else if (start >= 0 && lines[i].startsWith(")")) {
+                end = i;
+                break;
+            }
+        }
+        if (start < 0 || end < 0) {
+            return new DeferredIndexes(schemaSql, List.of());
+        }
+
+        List<String> body = new ArrayList<>();
+        String autoIncrementColumn = null;
+        for (int i = start + 1; i < end; i++) {
+            String definition = lines[i].endsWith(",") ? lines[i].substring(0, lines[i].length() - 1) : lines[i];
+            if (definition.contains("FOREIGN KEY")) {
+                return new DeferredIndexes(schemaSql, List.of());
+            }
+            Matcher auto = AUTO_INCREMENT_COLUMN.matcher(definition);
+            if (auto.matches()) {
+                autoIncrementColumn = auto.group(1);
+            }
+            body.add(definition);
+        }
+
+        List<String> kept = new ArrayList<>();
+        List<String> indexes = new ArrayList<>();
+        for (String definition : body) {
+            Matcher key = SECONDARY_KEY.matcher(definition);
+            if (key.matches() && !key.group(1).equals(autoIncrementColumn)) {
+                indexes.add(definition.trim());
+            } else {
+                kept.add(definition);
+            }
+        }
+        if (indexes.isEmpty()) {
+            return new DeferredIndexes(schemaSql, List.of());
+        }
+
+        StringBuilder sql = new StringBuilder();
+        for (int i = 0; i <= start; i++) {
+            sql.append(lines[i]).append('\n');
+        }
+        sql.append(String.join(",\n", kept)).append('\n');
+        for (int i = end; i < lines.length; i++) {
+            sql.append(lines[i]);
+            if (i < lines.length - 1) {
+                sql.append('\n');
+            }
+        }
+        return new DeferredIndexes(sql.toString(), indexes);
+    }
+
+    // ─── Helpers ──────────────────────────────────────────────────────────────
+
+    private interface Task<T> {
+        void run(T item) throws Exception;
+    }
+
+    /**
+     * Runs {@code task} for every item on the pool and waits for all of them. After the
+     * first failure items that have not started yet are skipped.
+     */
+    private <T> void runPhase(ExecutorService executor, List<T> items, Task<T> task) throws Exception {
+        AtomicBoolean failed = new AtomicBoolean();
+        List<Future<?>> futures = new ArrayList<>(items.size());
+        for (T item : items) {
+            Callable<Void> call = () -> {
+                if (failed.get()) {
+                    return null;
+                }
+                try {
+                    task.run(item);
+                } catch (Exception e) {
+                    failed.set(true);
+                    throw e;
+                }
+                return null;
+            };
+            futures.add(executor.submit(call));
+        }
+
+        Exception first = null;
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                if (first == null) {
+                    first = e.getCause() instanceof Exception cause ? cause : e;
+                }
+            }
+        }
+        if (first != null) {
+            throw first;
+        }
+    }
+
+    private void apply(InputStream sql) throws Exception {
+        strategy.restoreBackup(new SequenceInputStream(
+                new ByteArrayInputStream(SESSION_PRELUDE.getBytes(StandardCharsets.UTF_8)), sql), request);
+    }
+
+    private static List<ManifestSegment> segmentsOf(BackupManifest manifest, SegmentKind kind) {
+        List<ManifestSegment> segments = new ArrayList<>();
+        for (ManifestSegment segment : manifest.getSegments()) {
+            if (segment.getKind() == kind) {
+                segments.add(segment);
+            }
+        }
+        return segments;
+    }
+}
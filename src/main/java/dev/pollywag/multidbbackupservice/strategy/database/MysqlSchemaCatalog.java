@@ -0,0 +1,125 @@
+package dev.pollywag.multidbbackupservice.strategy.database;
+
+import dev.pollywag.multidbbackupservice.model.request.BackupRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The base tables of a MySQL schema with their row estimates, sizes and change columns,
+ * read with a single information_schema query and cached per (host, port, database)
+ * for backup.mysql.schema-cache.ttl-ms.
+ *
+ * Table validation reads the cache. Anything that must not miss a table or a change,
+ * such as planning a full parallel dump or reading change signals, calls
+ * {@link #refresh} instead, which also renews the cache for everyone else.
+ */
+@Component
+public class MysqlSchemaCatalog {
+
+    // UPDATE_TIME has one-second resolution: a value in the current second may still move
+    // without changing, and InnoDB reports NULL after a restart or for partitioned tables
+    private static final String TABLES_SQL = """
+            SELECT TABLE_NAME, TABLE_ROWS, DATA_LENGTH, INDEX_LENGTH, AUTO_INCREMENT, CREATE_TIME, UPDATE_TIME,
+                   UPDATE_TIME IS NULL OR UPDATE_TIME >= NOW() - INTERVAL 1 SECOND AS unsettled
+            FROM information_schema.TABLES
+            WHERE TABLE_SCHEMA = ? AND TABLE_TYPE = 'BASE TABLE'
+            ORDER BY TABLE_NAME
+            """;
+
+    /**
+     * One base table as information_schema reports it. Row counts and sizes are InnoDB
+     * estimates; {@code unsettled} means UPDATE_TIME cannot vouch for the table's content.
+     */
+    public record TableStats(String name,
+                             long rowEstimate,
+                             long dataLength,
+                             long indexLength,
+                             String autoIncrement,
+                             String createTime,
+                             String updateTime,
+                             boolean unsettled) {
+    }
+
+    /** Tables of one schema by name, in name order, and when they were read. */
+    public record Schema(Map<String, TableStats> tables, long loadedAtNanos) {
+    }
+
+    private final MysqlConnectionManager connections;
+    private final long ttlNanos;
+    private final Map<String, Schema> cache = new ConcurrentHashMap<>();
+
+    public MysqlSchemaCatalog(MysqlConnectionManager connections,
+                              @Value("${backup.mysql.schema-cache.ttl-ms:60000}") long ttlMs) {
+        this.connections = connections;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, ttlMs));
+    }
+
+    /** The request's schema, from the cache unless it is older than the TTL. */
+    public Schema get(BackupRequest request) throws SQLException {
+        Schema cached = cache.get(key(request));
+        if (cached != null && System.nanoTime() - cached.loadedAtNanos() < ttlNanos) {
+            return cached;
+        }
+        return refresh(request);
+    }
+
+    /** Reads the request's schema from the server now and caches it. */
+    public Schema refresh(BackupRequest request) throws SQLException {
+        Schema schema = new Schema(Collections.unmodifiableMap(load(request)), System.nanoTime());
+        cache.put(key(request), schema);
+        return schema;
+    }
+
+    /** Drops the cached schema of the request's database, e.g. after restoring into it. */
+    public void invalidate(BackupRequest request) {
+        cache.remove(key(request));
+    }
+
+    // ─── Loading ──────────────────────────────────────────────────────────────
+
+    Map<String, TableStats> load(BackupRequest request) throws SQLException {
+        Map<String, TableStats> tables = new LinkedHashMap<>();
+        try (Connection conn = connections.getConnection(request)) {
+            try (Statement st = conn.createStatement()) {
+                // MySQL 8 caches these columns for a day by default
+                st.execute("SET SESSION information_schema_stats_expiry = 0");
+            } catch (SQLException e) {
+                // Older servers have no cache to bypass
+            }
+
+            try (PreparedStatement ps = conn.prepareStatement(TABLES_SQL)) {
+                ps.setString(1, request.getDbName());
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        String name = rs.getString("TABLE_NAME");
+                        tables.put(name, new TableStats(
+                                name,
+                                rs.getLong("TABLE_ROWS"),
+                                rs.getLong("DATA_LENGTH"),
+                                rs.getLong("INDEX_LENGTH"),
+                                rs.getString("AUTO_INCREMENT"),
+                                rs.getString("CREATE_TIME"),
+                                rs.getString("UPDATE_TIME"),
+                                rs.getBoolean("unsettled")));
+                    }
+                }
+            }
+        }
+        return tables;
+    }
+
+    private static String key(BackupRequest request) {
+        return request.getHost() + ":" + request.getPort() + "/" + request.getDbName();
+    }
+}
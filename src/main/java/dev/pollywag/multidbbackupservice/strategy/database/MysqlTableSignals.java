@@ -0,0 +1,68 @@
+package dev.pollywag.multidbbackupservice.strategy.database;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-table change signals taken from a fresh {@link MysqlSchemaCatalog} read, with
+ * CHECKSUM TABLE as the exact fallback for tables whose metadata cannot vouch for them.
+ */
+final class MysqlTableSignals {
+
+    private MysqlTableSignals() {
+    }
+
+    /**
+     * @param schema            the schema as just read from the server
+     * @param tables            tables to report, or null/empty for every base table
+     * @param checksumUnsettled run CHECKSUM TABLE (a full scan) on {@code conn} for tables
+     *                          without a usable UPDATE_TIME; otherwise they are reported
+     *                          with a null signal
+     * @return table name to signal, null where the table must be treated as changed
+     */
+    static Map<String, String> read(MysqlSchemaCatalog.Schema schema, Connection conn, List<String> tables,
+                                    boolean checksumUnsettled) throws SQLException {
+        boolean all = tables == null || tables.isEmpty();
+        Map<String, String> signals = new LinkedHashMap<>();
+        List<String> unsettled = new ArrayList<>();
+
+        for (MysqlSchemaCatalog.TableStats table : schema.tables().values()) {
+            if (!all && !tables.contains(table.name())) {
+                continue;
+            }
+            if (table.unsettled()) {
+                signals.put(table.name(), null);
+                unsettled.add(table.name());
+            } else {
+                signals.put(table.name(), "meta:" + table.createTime()
+                        + "|" + table.updateTime()
+                        + "|" + table.dataLength()
+                        + "|" + table.indexLength()
+                        + "|" + table.autoIncrement());
+            }
+        }
+
+        if (checksumUnsettled) {
+            for (String table : unsettled) {
+                String checksum = checksum(conn, table);
+                if (checksum != null) {
+                    signals.put(table, "checksum:" + checksum);
+                }
+            }
+        }
+        return signals;
+    }
+
+    private static String checksum(Connection conn, String table) throws SQLException {
+        try (Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("CHECKSUM TABLE " + MysqlParallelDumper.quote(table))) {
+            return rs.next() ? rs.getString("Checksum") : null;
+        }
+    }
+}
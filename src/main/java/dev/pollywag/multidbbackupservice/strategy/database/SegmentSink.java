@@ -0,0 +1,21 @@
+package dev.pollywag.multidbbackupservice.strategy.database;
+
+import dev.pollywag.multidbbackupservice.pipeline.StreamPipeline;
+
+/**
+ * Where a parallel dump writes its segments. Implementations compress and store each
+ * segment as it is produced; they must accept concurrent calls from several workers.
+ */
+@FunctionalInterface
+public interface SegmentSink {
+
+    record StoredSegment(String fileName, long sizeBytes, String sha256) {
+    }
+
+    /**
+     * Streams one segment into the backup artifact.
+     *
+     * @param segmentName uncompressed name, e.g. {@code 00003-orders.data.sql}
+     */
+    StoredSegment write(String segmentName, StreamPipeline.StreamProducer producer) throws Exception;
+}
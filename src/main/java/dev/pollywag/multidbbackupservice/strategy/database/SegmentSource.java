@@ -0,0 +1,18 @@
+package dev.pollywag.multidbbackupservice.strategy.database;
+
+import dev.pollywag.multidbbackupservice.model.manifest.ManifestSegment;
+
+import java.io.InputStream;
+
+/**
+ * Where a parallel restore reads its segments from. Must accept concurrent calls
+ * from several workers.
+ */
+@FunctionalInterface
+public interface SegmentSource {
+
+    /**
+     * Opens the decompressed SQL of one segment. The caller closes the stream.
+     */
+    InputStream open(ManifestSegment segment) throws Exception;
+}
@@ -1,12 +1,18 @@
 package dev.pollywag.multidbbackupservice.strategy.storage;
 
+import dev.pollywag.multidbbackupservice.exception.BackupException;
 import dev.pollywag.multidbbackupservice.model.enums.DatabaseType;
 import dev.pollywag.multidbbackupservice.model.request.BackupRequest;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.io.BufferedInputStream;
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
@@ -14,6 +20,8 @@ import java.nio.file.StandardCopyOption;
 @Component
 public class LocalStorageStrategy implements StorageStrategy {
 
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+
     @Value("${backup.local.default-path}")
     private String defaultBackupPath;
 
@@ -46,11 +54,73 @@ public class LocalStorageStrategy implements StorageStrategy {
         }
     }
 
+    @Override
+    public String store(InputStream in, String fileName, BackupRequest request) {
+        Path dest = resolveDestination(fileName, request);
+        // Write under a unique temporary name so a half-written backup never looks complete
+        // and concurrent writers of the same name (e.g. a shared chunk) do not collide
+        Path partial = null;
+
+        try {
+            Files.createDirectories(dest.getParent());
+            partial = Files.createTempFile(dest.getParent(), dest.getFileName() + ".", ".part");
+
+            try (OutputStream out = Files.newOutputStream(partial)) {
+                byte[] buffer = new byte[STREAM_BUFFER_SIZE];
+                int length;
+                while ((length = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, length);
+                }
+            }
+
+            Files.move(partial, dest, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return dest.toString();
+
+        } catch (IOException e) {
+            try {
+                if (partial != null) {
+                    Files.deleteIfExists(partial);
+                }
+            } catch (IOException ignored) {
+                // best effort cleanup
+            }
+            throw new BackupException("Local storage failed: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public String locate(String fileName, BackupRequest request) {
+        return resolveDestination(fileName, request).toString();
+    }
+
+    @Override
+    public boolean exists(String storagePath) {
+        return Files.isRegularFile(Paths.get(storagePath));
+    }
+
     @Override
     public File resolveToLocalFile(String storagePath) {
         return new File(storagePath);
     }
 
+    @Override
+    public InputStream openStream(String storagePath) {
+        try {
+            return new BufferedInputStream(Files.newInputStream(Paths.get(storagePath)), STREAM_BUFFER_SIZE);
+        } catch (NoSuchFileException e) {
+            throw new BackupException("Backup file not found: " + storagePath, e);
+        } catch (IOException e) {
+            throw new BackupException("Failed to open backup file: " + e.getMessage(), e);
+        }
+    }
+
+    private Path resolveDestination(String fileName, BackupRequest request) {
+        String baseDir = (request.getLocalPath() != null && !request.getLocalPath().isBlank())
+                ? request.getLocalPath()
+                : defaultBackupPath;
+        return Paths.get(baseDir, getFolderByDbType(request.getDbType())).resolve(fileName);
+    }
+
     private String getFolderByDbType(DatabaseType dbType) {
         switch (dbType) {
             case MYSQL:
@@ -0,0 +1,233 @@
+package dev.pollywag.multidbbackupservice.strategy.storage;
+
+import dev.pollywag.multidbbackupservice.exception.BackupException;
+import dev.pollywag.multidbbackupservice.pipeline.Checksums;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.ChecksumAlgorithm;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Uploads a stream of unknown length to S3 as a multipart upload with several parts in flight.
+ * Memory use is bounded by {@code (concurrency + 1)} parts: one part being read from the
+ * stream plus up to {@code concurrency} parts being uploaded.
+ *
+ * Parts start at the configured size and double every {@value #PARTS_PER_SIZE_STEP} parts, up to
+ * {@link #MAX_PART_SIZE}, so a dump of unknown length does not run into the part limit. Only
+ * dumps past {@code 1000 * partSize} pay for the larger buffers.
+ *
+ * Every PUT carries the SHA-256 of its bytes, so S3 rejects a part or object that was
+ * altered in transit instead of storing it.
+ */
+@Slf4j
+public class S3MultipartUploader {
+
+    // S3 limits: parts of at least 5 MiB (except the last), at most 10 000 parts
+    public static final int MIN_PART_SIZE = 5 * 1024 * 1024;
+    public static final int MAX_PARTS = 10_000;
+
+    // S3 accepts parts of up to 5 GiB, but each part is a single array held in memory. Doubling
+    // from the 16 MiB default still allows nearly 5 TiB, S3's object size limit, in MAX_PARTS.
+    static final int MAX_PART_SIZE = 1024 * 1024 * 1024;
+    static final int PARTS_PER_SIZE_STEP = 1_000;
+
+    private final S3Client s3Client;
+    private final ExecutorService executor;
+    private final int partSize;
+    private final int concurrency;
+    private final int maxAttempts;
+
+    public S3MultipartUploader(S3Client s3Client,
+                               ExecutorService executor,
+                               int partSize,
+                               int concurrency,
+                               int maxAttempts) {
+        if (partSize < MIN_PART_SIZE) {
+            throw new IllegalArgumentException("Part size must be at least " + MIN_PART_SIZE + " bytes");
+        }
+        this.s3Client = s3Client;
+        this.executor = executor;
+        this.partSize = partSize;
+        this.concurrency = Math.max(1, concurrency);
+        this.maxAttempts = Math.max(1, maxAttempts);
+    }
+
+    /**
+     * Uploads everything readable from {@code in} to {@code bucket/key}.
+     * Streams that fit in one part are sent with a single PUT.
+     *
+     * @return number of bytes uploaded
+     */
+    public long upload(String bucket, String key, InputStream in) throws IOException {
+        byte[] first = new byte[partSize];
+        int firstLength = in.readNBytes(first, 0, partSize);
+
+        if (firstLength < partSize) {
+            String checksum = sha256Base64(first, firstLength);
+            S3Retries.withRetries("PUT " + key, maxAttempts, () -> s3Client.putObject(
+                    PutObjectRequest.builder().bucket(bucket).key(key).checksumSHA256(checksum).build(),
+                    RequestBody.fromInputStream(new ByteArrayInputStream(first, 0, firstLength), firstLength)));
+            return firstLength;
+        }
+
+        String uploadId = s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .checksumAlgorithm(ChecksumAlgorithm.SHA256)
+                .build()).uploadId();
+
+        Semaphore inFlight = new Semaphore(concurrency);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Future<CompletedPart>> futures = new ArrayList<>();
+        long total = 0;
+
+        try {
+            byte[] buffer = first;
+            int length = firstLength;
+            int partNumber = 1;
+
+            while (length > 0) {
+                if (partNumber > MAX_PARTS) {
+                    throw new BackupException("Backup exceeds " + MAX_PARTS + " parts of up to "
+                            + partSize(partSize, MAX_PARTS) + " bytes. Increase aws.s3.multipart.part-size.");
+                }
+
+                acquire(inFlight);
+                if (failure.get() != null) {
+                    inFlight.release();
+                    break;
+                }
+
+                final byte[] partData = buffer;
+                final int partLength = length;
+                final int currentPart = partNumber;
+                futures.add(executor.submit(() -> {
+                    try {
+                        return uploadPart(bucket, key, uploadId, currentPart, partData, partLength);
+                    } catch (RuntimeException e) {
+                        failure.compareAndSet(null, e);
+                        throw e;
+                    } finally {
+                        inFlight.release();
+                    }
+                }));
+                total += length;
+                partNumber++;
+
+                buffer = new byte[partSize(partSize, partNumber)];
+                length = in.readNBytes(buffer, 0, buffer.length);
+            }
+
+            List<CompletedPart> parts = new ArrayList<>(futures.size());
+            for (Future<CompletedPart> future : futures) {
+                parts.add(await(future));
+            }
+            parts.sort(Comparator.comparing(CompletedPart::partNumber));
+
+            CompleteMultipartUploadRequest completeRequest = CompleteMultipartUploadRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+                    .build();
+            S3Retries.withRetries("complete " + key, maxAttempts,
+                    () -> s3Client.completeMultipartUpload(completeRequest));
+            return total;
+
+        } catch (IOException | RuntimeException e) {
+            futures.forEach(f -> f.cancel(true));
+            abortQuietly(bucket, key, uploadId);
+            throw e;
+        }
+    }
+
+    /**
+     * Size of part {@code partNumber} (1-based) when the upload starts with {@code baseSize} parts.
+     * A base size above {@link #MAX_PART_SIZE} is kept as configured.
+     */
+    static int partSize(int baseSize, int partNumber) {
+        int doublings = Math.min((partNumber - 1) / PARTS_PER_SIZE_STEP, 30);
+        long size = Math.min((long) baseSize << doublings, MAX_PART_SIZE);
+        return (int) Math.max(size, baseSize);
+    }
+
+    private CompletedPart uploadPart(String bucket, String key, String uploadId,
+                                     int partNumber, byte[] data, int length) {
+        String checksum = sha256Base64(data, length);
+        UploadPartRequest request = UploadPartRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .uploadId(uploadId)
+                .partNumber(partNumber)
+                .contentLength((long) length)
+                .checksumSHA256(checksum)
+                .build();
+
+        String eTag = S3Retries.withRetries("part " + partNumber + " of " + key, maxAttempts,
+                () -> s3Client.uploadPart(request,
+                        RequestBody.fromInputStream(new ByteArrayInputStream(data, 0, length), length))).eTag();
+
+        return CompletedPart.builder().partNumber(partNumber).eTag(eTag).checksumSHA256(checksum).build();
+    }
+
+    private static String sha256Base64(byte[] data, int length) {
+        return Base64.getEncoder().encodeToString(Checksums.sha256(data, 0, length));
+    }
+
+    private void abortQuietly(String bucket, String key, String uploadId) {
+        try {
+            s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .build());
+        } catch (SdkException e) {
+            // The parts stay billed until a bucket lifecycle rule removes them
+            log.error("Failed to abort multipart upload {} of {}: {}", uploadId, key, e.getMessage());
+        }
+    }
+
+    private static void acquire(Semaphore semaphore) throws IOException {
+        try {
+            semaphore.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for an upload slot", e);
+        }
+    }
+
+    private static <T> T await(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for part upload", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IOException("Part upload failed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package dev.pollywag.multidbbackupservice.strategy.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.util.function.Supplier;
+
+/**
+ * Retry loop shared by the S3 transfer helpers, applied per part or per range
+ * so one flaky request does not restart the whole transfer.
+ */
+@Slf4j
+final class S3Retries {
+
+    private static final long RETRY_BASE_DELAY_MILLIS = 200;
+
+    private S3Retries() {
+    }
+
+    /**
+     * Retries transient failures with exponential backoff. Client-side errors (4xx other than
+     * throttling/timeouts) are not retried since repeating the same request cannot succeed.
+     */
+    static <T> T withRetries(String what, int maxAttempts, Supplier<T> call) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return call.get();
+            } catch (SdkException e) {
+                if (attempt >= maxAttempts || !isRetryable(e)) {
+                    throw e;
+                }
+                log.warn("{} failed (attempt {}/{}), retrying: {}", what, attempt, maxAttempts, e.getMessage());
+                try {
+                    Thread.sleep(RETRY_BASE_DELAY_MILLIS << (attempt - 1));
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private static boolean isRetryable(SdkException e) {
+        if (e instanceof S3Exception s3) {
+            int status = s3.statusCode();
+            return status >= 500 || status == 408 || status == 429;
+        }
+        return e instanceof SdkClientException;
+    }
+}
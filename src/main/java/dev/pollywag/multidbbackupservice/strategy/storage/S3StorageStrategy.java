@@ -1,28 +1,38 @@
 package dev.pollywag.multidbbackupservice.strategy.storage;
 
+import dev.pollywag.multidbbackupservice.cache.ArtifactCache;
 import dev.pollywag.multidbbackupservice.exception.BackupException;
 import dev.pollywag.multidbbackupservice.model.enums.DatabaseType;
 import dev.pollywag.multidbbackupservice.model.request.BackupRequest;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import software.amazon.awssdk.core.sync.RequestBody;
-import software.amazon.awssdk.core.sync.ResponseTransformer;
+import software.amazon.awssdk.core.exception.SdkException;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
-import software.amazon.awssdk.services.s3.model.GetObjectRequest;
-import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
 import software.amazon.awssdk.services.s3.model.S3Exception;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Component
 public class S3StorageStrategy implements StorageStrategy {
 
     private static final String S3_PREFIX = "s3://";
+    private static final int FILE_BUFFER_SIZE = 64 * 1024;
 
     @Value("${aws.s3.region:us-east-1}")
     private String region;
@@ -33,65 +43,192 @@ public class S3StorageStrategy implements StorageStrategy {
     @Value("${aws.s3.default-prefix:backups}")
     private String defaultPrefix;
 
+    // Optional endpoint override for S3-compatible stores (MinIO, LocalStack, ...)
+    @Value("${aws.s3.endpoint:}")
+    private String endpoint;
+
+    @Value("${aws.s3.path-style-access:false}")
+    private boolean pathStyleAccess;
+
+    @Value("${aws.s3.multipart.part-size:16777216}")
+    private int multipartPartSize;
+
+    @Value("${aws.s3.multipart.concurrency:4}")
+    private int multipartConcurrency;
+
+    @Value("${aws.s3.multipart.max-attempts:3}")
+    private int multipartMaxAttempts;
+
+    @Value("${aws.s3.download.range-size:16777216}")
+    private int downloadRangeSize;
+
+    @Value("${aws.s3.download.concurrency:4}")
+    private int downloadConcurrency;
+
+    private final ArtifactCache cache;
+
     private S3Client s3Client;
+    private ExecutorService transferExecutor;
+    private S3MultipartUploader uploader;
+    private S3RangedDownloader downloader;
+
+    public S3StorageStrategy(ArtifactCache cache) {
+        this.cache = cache;
+    }
 
     @PostConstruct
     public void init() {
-        this.s3Client = S3Client.builder()
+        S3ClientBuilder builder = S3Client.builder()
                 .region(Region.of(region))
-                .build();
+                .forcePathStyle(pathStyleAccess);
+        if (endpoint != null && !endpoint.isBlank()) {
+            builder.endpointOverride(URI.create(endpoint));
+        }
+        this.s3Client = builder.build();
+
+        // Concurrency is bounded per transfer by the uploader; the pool only supplies threads
+        AtomicInteger threadCount = new AtomicInteger();
+        this.transferExecutor = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "s3-transfer-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.uploader = new S3MultipartUploader(
+                s3Client, transferExecutor, multipartPartSize, multipartConcurrency, multipartMaxAttempts);
+        this.downloader = new S3RangedDownloader(
+                s3Client, transferExecutor, downloadRangeSize, downloadConcurrency, multipartMaxAttempts);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        transferExecutor.shutdownNow();
+        s3Client.close();
     }
 
     @Override
     public String store(File file, BackupRequest request) {
-        String bucket = (request.getCloudBucket() != null && !request.getCloudBucket().isBlank())
-                ? request.getCloudBucket()
-                : defaultBucket;
-        if (bucket == null || bucket.isBlank()) {
-            throw new BackupException("S3 bucket not configured. Set aws.s3.default-bucket or provide cloudBucket in request.");
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file.toPath()), FILE_BUFFER_SIZE)) {
+            return store(in, file.getName(), request);
+        } catch (IOException e) {
+            throw new BackupException("S3 upload failed: " + e.getMessage(), e);
         }
+    }
 
-        String key = buildKey(request, file.getName());
+    /**
+     * Uploads a stream of unknown length as a parallel multipart upload
+     * (aws.s3.multipart.*). Streams that fit in one part are sent with a plain PUT.
+     */
+    @Override
+    public String store(InputStream in, String fileName, BackupRequest request) {
+        String bucket = resolveBucket(request);
+        String key = buildKey(request, fileName);
 
         try {
-            PutObjectRequest putRequest = PutObjectRequest.builder()
-                    .bucket(bucket)
-                    .key(key)
-                    .build();
-            s3Client.putObject(putRequest, RequestBody.fromFile(file));
+            uploader.upload(bucket, key, in);
             return S3_PREFIX + bucket + "/" + key;
-        } catch (S3Exception e) {
+        } catch (IOException | SdkException e) {
             throw new BackupException("S3 upload failed: " + e.getMessage(), e);
         }
     }
 
     @Override
-    public File resolveToLocalFile(String storagePath) {
-        if (storagePath == null || !storagePath.startsWith(S3_PREFIX)) {
-            throw new BackupException("Invalid S3 storage path: " + storagePath);
-        }
-        String withoutPrefix = storagePath.substring(S3_PREFIX.length());
-        int firstSlash = withoutPrefix.indexOf('/');
-        if (firstSlash <= 0) {
-            throw new BackupException("Invalid S3 storage path: " + storagePath);
+    public String locate(String fileName, BackupRequest request) {
+        return S3_PREFIX + resolveBucket(request) + "/" + buildKey(request, fileName);
+    }
+
+    @Override
+    public boolean exists(String storagePath) {
+        String bucket = parseBucket(storagePath);
+        String key = parseKey(storagePath);
+        try {
+            S3Retries.withRetries("HEAD " + key, multipartMaxAttempts, () -> s3Client.headObject(
+                    HeadObjectRequest.builder().bucket(bucket).key(key).build()));
+            return true;
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                return false;
+            }
+            throw new BackupException("S3 HEAD failed: " + e.getMessage(), e);
+        } catch (SdkException e) {
+            throw new BackupException("S3 HEAD failed: " + e.getMessage(), e);
         }
-        String bucket = withoutPrefix.substring(0, firstSlash);
-        String key = withoutPrefix.substring(firstSlash + 1);
+    }
 
+    @Override
+    public File resolveToLocalFile(String storagePath) {
+        String key = parseKey(storagePath);
         try {
             String suffix = key.contains("/") ? key.substring(key.lastIndexOf('/') + 1) : key;
             Path tempFile = Files.createTempFile("s3-backup-", "-" + suffix);
-            GetObjectRequest getRequest = GetObjectRequest.builder()
-                    .bucket(bucket)
-                    .key(key)
-                    .build();
-            s3Client.getObject(getRequest, ResponseTransformer.toFile(tempFile));
+            try (InputStream in = openStream(storagePath)) {
+                Files.copy(in, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            }
             return tempFile.toFile();
         } catch (IOException e) {
             throw new BackupException("Failed to download from S3: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Streams the object with concurrent ranged GETs (aws.s3.download.*), reassembled in order.
+     * Goes through the local artifact cache (backup.cache.*), so restoring the same object
+     * again, e.g. the full backup under each of its incrementals, reads it from disk.
+     */
+    @Override
+    public InputStream openStream(String storagePath) {
+        String bucket = parseBucket(storagePath);
+        String key = parseKey(storagePath);
+        try {
+            HeadObjectResponse head = downloader.head(bucket, key);
+            return cache.open(storagePath, head.eTag(), head.contentLength(),
+                    () -> downloader.open(bucket, key, head));
+        } catch (SdkException | IOException e) {
+            throw new BackupException("Failed to download from S3: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public InputStream openStoredStream(String storagePath) {
+        String bucket = parseBucket(storagePath);
+        String key = parseKey(storagePath);
+        try {
+            return downloader.open(bucket, key, downloader.head(bucket, key));
+        } catch (SdkException e) {
+            throw new BackupException("Failed to download from S3: " + e.getMessage(), e);
+        }
+    }
+
+    private String parseBucket(String storagePath) {
+        String withoutPrefix = stripPrefix(storagePath);
+        return withoutPrefix.substring(0, withoutPrefix.indexOf('/'));
+    }
+
+    private String parseKey(String storagePath) {
+        String withoutPrefix = stripPrefix(storagePath);
+        return withoutPrefix.substring(withoutPrefix.indexOf('/') + 1);
+    }
+
+    private String stripPrefix(String storagePath) {
+        if (storagePath == null || !storagePath.startsWith(S3_PREFIX)) {
+            throw new BackupException("Invalid S3 storage path: " + storagePath);
+        }
+        String withoutPrefix = storagePath.substring(S3_PREFIX.length());
+        if (withoutPrefix.indexOf('/') <= 0) {
+            throw new BackupException("Invalid S3 storage path: " + storagePath);
+        }
+        return withoutPrefix;
+    }
+
+    private String resolveBucket(BackupRequest request) {
+        String bucket = (request.getCloudBucket() != null && !request.getCloudBucket().isBlank())
+                ? request.getCloudBucket()
+                : defaultBucket;
+        if (bucket == null || bucket.isBlank()) {
+            throw new BackupException("S3 bucket not configured. Set aws.s3.default-bucket or provide cloudBucket in request.");
+        }
+        return bucket;
+    }
+
     private String buildKey(BackupRequest request, String fileName) {
         String prefix = (request.getCloudFolder() != null && !request.getCloudFolder().isBlank())
                 ? request.getCloudFolder()
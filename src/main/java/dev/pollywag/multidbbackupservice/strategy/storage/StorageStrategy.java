@@ -3,6 +3,7 @@ package dev.pollywag.multidbbackupservice.strategy.storage;
 import dev.pollywag.multidbbackupservice.model.request.BackupRequest;
 
 import java.io.File;
+import java.io.InputStream;
 
 public interface StorageStrategy {
     /**
@@ -10,10 +11,49 @@ public interface StorageStrategy {
      */
     String store(File file, BackupRequest request);
 
+    /**
+     * Store a backup read from a stream of unknown length under {@code fileName}
+     * and return its storage path. The stream is consumed to the end but not closed.
+     */
+    String store(InputStream in, String fileName, BackupRequest request);
+
+    /**
+     * The storage path {@code store(in, fileName, request)} would return, without writing anything.
+     */
+    String locate(String fileName, BackupRequest request);
+
+    /**
+     * Whether an artifact exists at {@code storagePath}.
+     */
+    boolean exists(String storagePath);
+
     /**
      * Resolve the stored path to a local File for restore.
      * For LOCAL: returns the file at the path.
      * For S3: downloads to a temp file and returns it (caller should delete when done).
      */
     File resolveToLocalFile(String storagePath);
+
+    /**
+     * Open the stored artifact for sequential reading without first copying it to local disk.
+     * The caller closes the stream.
+     */
+    InputStream openStream(String storagePath);
+
+    /**
+     * Like {@link #openStream}, but always reads what the backing store holds, bypassing any
+     * local cache, e.g. to check the stored artifact itself.
+     */
+    default InputStream openStoredStream(String storagePath) {
+        return openStream(storagePath);
+    }
+
+    /**
+     * Path of {@code fileName} stored next to {@code storagePath}, e.g. a segment listed
+     * in a manifest. Works for both local paths and s3://bucket/key locations.
+     */
+    default String resolveSibling(String storagePath, String fileName) {
+        int slash = Math.max(storagePath.lastIndexOf('/'), storagePath.lastIndexOf('\\'));
+        return storagePath.substring(0, slash + 1) + fileName;
+    }
 }
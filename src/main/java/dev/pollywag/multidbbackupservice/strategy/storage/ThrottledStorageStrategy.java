@@ -0,0 +1,63 @@
+package dev.pollywag.multidbbackupservice.strategy.storage;
+
+import dev.pollywag.multidbbackupservice.job.JobThrottle;
+import dev.pollywag.multidbbackupservice.model.request.BackupRequest;
+
+import java.io.File;
+import java.io.InputStream;
+
+/**
+ * Holds streamed uploads to a backup's upload rate limit; everything else goes
+ * straight to the wrapped storage.
+ */
+public class ThrottledStorageStrategy implements StorageStrategy {
+
+    private final StorageStrategy delegate;
+    private final JobThrottle throttle;
+
+    public ThrottledStorageStrategy(StorageStrategy delegate, JobThrottle throttle) {
+        this.delegate = delegate;
+        this.throttle = throttle;
+    }
+
+    @Override
+    public String store(File file, BackupRequest request) {
+        // Not used by the streaming backup paths
+        return delegate.store(file, request);
+    }
+
+    @Override
+    public String store(InputStream in, String fileName, BackupRequest request) {
+        return delegate.store(throttle.upload(in), fileName, request);
+    }
+
+    @Override
+    public String locate(String fileName, BackupRequest request) {
+        return delegate.locate(fileName, request);
+    }
+
+    @Override
+    public boolean exists(String storagePath) {
+        return delegate.exists(storagePath);
+    }
+
+    @Override
+    public File resolveToLocalFile(String storagePath) {
+        return delegate.resolveToLocalFile(storagePath);
+    }
+
+    @Override
+    public InputStream openStream(String storagePath) {
+        return delegate.openStream(storagePath);
+    }
+
+    @Override
+    public InputStream openStoredStream(String storagePath) {
+        return delegate.openStoredStream(storagePath);
+    }
+
+    @Override
+    public String resolveSibling(String storagePath, String fileName) {
+        return delegate.resolveSibling(storagePath, fileName);
+    }
+}
@@ -0,0 +1,151 @@
+package dev.pollywag.multidbbackupservice.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ArtifactCacheTest {
+
+    @TempDir
+    Path cacheDir;
+
+    @Test
+    void servesRepeatedOpensFromDiskUntilTheVersionChanges() throws Exception {
+        ArtifactCache cache = newCache(1 << 20);
+        byte[] data = randomBytes(100_000);
+        AtomicInteger downloads = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            assertArrayEquals(data, read(cache.open("s3://b/full.sql.gz", "\"v1\"", data.length,
+                    () -> download(data, downloads))));
+        }
+        assertEquals(1, downloads.get());
+
+        read(cache.open("s3://b/full.sql.gz", "\"v2\"", data.length, () -> download(data, downloads)));
+        assertEquals(2, downloads.get());
+        assertEquals(2, cache.stats().hits());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedAndDoesNotKeepPartialReads() throws Exception {
+        ArtifactCache cache = newCache(250_000);
+        byte[] data = randomBytes(100_000);
+        AtomicInteger downloads = new AtomicInteger();
+
+        read(cache.open("a", "1", data.length, () -> download(data, downloads)));
+        read(cache.open("b", "1", data.length, () -> download(data, downloads)));
+        read(cache.open("a", "1", data.length, () -> download(data, downloads)));  // a is now newest
+        read(cache.open("c", "1", data.length, () -> download(data, downloads)));  // evicts b
+        assertEquals(3, downloads.get());
+        assertEquals(1, cache.stats().evictions());
+
+        read(cache.open("a", "1", data.length, () -> download(data, downloads)));
+        assertEquals(3, downloads.get());
+        read(cache.open("b", "1", data.length, () -> download(data, downloads)));
+        assertEquals(4, downloads.get());
+
+        // Closed halfway: nothing is published
+        try (InputStream in = cache.open("d", "1", data.length, () -> download(data, downloads))) {
+            in.readNBytes(10);
+        }
+        read(cache.open("d", "1", data.length, () -> download(data, downloads)));
+        assertEquals(6, downloads.get());
+    }
+
+    @Test
+    void concurrentOpensShareOneDownload() throws Exception {
+        ArtifactCache cache = newCache(1 << 20);
+        byte[] data = randomBytes(200_000);
+        AtomicInteger downloads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<byte[]>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return read(cache.open("s3://b/full.sql.gz", "\"v1\"", data.length, () -> {
+                        downloads.incrementAndGet();
+                        // Slow enough that the other readers arrive while it is in flight
+                        try {
+                            Thread.sleep(200);
+                        } catch (InterruptedException e) {
+                            throw new InterruptedIOException();
+                        }
+                        return new ByteArrayInputStream(data);
+                    }));
+                }));
+            }
+            start.countDown();
+            for (Future<byte[]> result : results) {
+                assertArrayEquals(data, result.get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1, downloads.get());
+    }
+
+    @Test
+    void stopsWaitingForADownloadWhoseReaderStalls() throws Exception {
+        ArtifactCache cache = new ArtifactCache(true, cacheDir.toString(), 1 << 20, 100);
+        cache.init();
+        byte[] data = randomBytes(50_000);
+        AtomicInteger downloads = new AtomicInteger();
+
+        // Opened and never read or closed
+        InputStream leaked = cache.open("s3://b/full.sql.gz", "\"v1\"", data.length, () -> download(data, downloads));
+
+        long start = System.nanoTime();
+        assertArrayEquals(data, read(cache.open("s3://b/full.sql.gz", "\"v1\"", data.length,
+                () -> download(data, downloads))));
+        assertTrue(System.nanoTime() - start < 5_000_000_000L);
+        assertEquals(2, downloads.get());
+        assertEquals(1, cache.stats().collapsed());
+
+        // The stalled reader still fills the cache once it finishes
+        assertArrayEquals(data, read(leaked));
+        read(cache.open("s3://b/full.sql.gz", "\"v1\"", data.length, () -> download(data, downloads)));
+        assertEquals(2, downloads.get());
+    }
+
+    private ArtifactCache newCache(long maxBytes) {
+        ArtifactCache cache = new ArtifactCache(true, cacheDir.toString(), maxBytes, 10_000);
+        cache.init();
+        return cache;
+    }
+
+    private static InputStream download(byte[] data, AtomicInteger downloads) {
+        downloads.incrementAndGet();
+        return new ByteArrayInputStream(data);
+    }
+
+    private static byte[] read(InputStream in) throws Exception {
+        try (in) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] data = new byte[size];
+        new Random(3).nextBytes(data);
+        return data;
+    }
+}
@@ -0,0 +1,67 @@
+package dev.pollywag.multidbbackupservice.compression;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompressionCodecTest {
+
+    private static final byte[] DUMP = sampleDump();
+
+    @Test
+    void gzipRoundTripsAndStaysReadableByJdk() throws Exception {
+        byte[] compressed = compress(new GzipCodec(1, 131072, false), new CompressionOptions(9, false));
+
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertArrayEquals(DUMP, in.readAllBytes());
+        }
+        assertArrayEquals(DUMP, decompress(new GzipCodec(1, 131072, false), compressed));
+    }
+
+    @Test
+    void zstdRoundTripsWithLongWindow() throws Exception {
+        byte[] compressed = compress(new ZstdCodec(), new CompressionOptions(19, true));
+
+        assertTrue(compressed.length < DUMP.length / 10);
+        assertArrayEquals(DUMP, decompress(new ZstdCodec(), compressed));
+    }
+
+    @Test
+    void lz4RoundTripsWithFastAndHighCompressors() throws Exception {
+        assertArrayEquals(DUMP, decompress(new Lz4Codec(),
+                compress(new Lz4Codec(), CompressionOptions.DEFAULT)));
+        assertArrayEquals(DUMP, decompress(new Lz4Codec(),
+                compress(new Lz4Codec(), new CompressionOptions(9, false))));
+    }
+
+    private static byte[] compress(CompressionCodec codec, CompressionOptions options) throws Exception {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (OutputStream out = codec.compress(buffer, options)) {
+            out.write(DUMP);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static byte[] decompress(CompressionCodec codec, byte[] compressed) throws Exception {
+        try (InputStream in = codec.decompress(new ByteArrayInputStream(compressed))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static byte[] sampleDump() {
+        StringBuilder sql = new StringBuilder();
+        for (int i = 0; i < 20_000; i++) {
+            sql.append("INSERT INTO `orders` VALUES (").append(i).append(",'customer-")
+                    .append(i % 97).append("','2024-01-01 00:00:00');\n");
+        }
+        return sql.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
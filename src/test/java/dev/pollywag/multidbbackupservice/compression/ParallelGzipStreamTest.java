@@ -0,0 +1,131 @@
+package dev.pollywag.multidbbackupservice.compression;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParallelGzipStreamTest {
+
+    private static final int BLOCK_SIZE = 64 * 1024;
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void singleMemberOutputIsReadableByJdkAndCompressesLikeSerialGzip() throws Exception {
+        byte[] data = sampleDump(40_000);
+
+        byte[] parallel = compress(data, false);
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(parallel))) {
+            assertArrayEquals(data, in.readAllBytes());
+        }
+
+        // Dictionary priming keeps the ratio within a few percent of one serial deflate
+        ByteArrayOutputStream serial = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(serial)) {
+            out.write(data);
+        }
+        assertTrue(parallel.length < serial.size() * 1.05,
+                "parallel " + parallel.length + " vs serial " + serial.size());
+    }
+
+    @Test
+    void independentMembersRoundTripThroughBothReaders() throws Exception {
+        byte[] data = sampleDump(40_000);
+        byte[] compressed = compress(data, true);
+
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertArrayEquals(data, in.readAllBytes());
+        }
+        try (InputStream in = ParallelGzipInputStream.open(new ByteArrayInputStream(compressed), pool, 8)) {
+            assertInstanceOf(ParallelGzipInputStream.class, in);
+            assertArrayEquals(data, in.readAllBytes());
+        }
+    }
+
+    @Test
+    void handlesEmptyAndUnalignedInput() throws Exception {
+        for (boolean independent : new boolean[]{false, true}) {
+            for (byte[] data : new byte[][]{new byte[0], randomBytes(BLOCK_SIZE), randomBytes(3 * BLOCK_SIZE + 17)}) {
+                byte[] compressed = compress(data, independent);
+                try (InputStream in = ParallelGzipInputStream.open(new ByteArrayInputStream(compressed), pool, 4)) {
+                    assertArrayEquals(data, in.readAllBytes());
+                }
+            }
+        }
+    }
+
+    @Test
+    void plainGzipFallsBackToSequentialReader() throws Exception {
+        byte[] data = sampleDump(1_000);
+        ByteArrayOutputStream plain = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(plain)) {
+            out.write(data);
+        }
+
+        try (InputStream in = ParallelGzipInputStream.open(new ByteArrayInputStream(plain.toByteArray()), pool, 4)) {
+            assertInstanceOf(GZIPInputStream.class, in);
+            assertArrayEquals(data, in.readAllBytes());
+        }
+    }
+
+    @Test
+    void detectsCorruptMember() throws Exception {
+        byte[] compressed = compress(sampleDump(40_000), true);
+        compressed[compressed.length / 2] ^= 0x55;
+
+        assertThrows(IOException.class, () -> {
+            try (InputStream in = ParallelGzipInputStream.open(new ByteArrayInputStream(compressed), pool, 4)) {
+                in.readAllBytes();
+            }
+        });
+    }
+
+    private byte[] compress(byte[] data, boolean independent) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (OutputStream out = new ParallelGzipOutputStream(buffer, pool,
+                Deflater.DEFAULT_COMPRESSION, BLOCK_SIZE, 8, independent)) {
+            // Odd write sizes so blocks fill across several calls
+            for (int off = 0; off < data.length; off += 10_007) {
+                out.write(data, off, Math.min(10_007, data.length - off));
+            }
+        }
+        return buffer.toByteArray();
+    }
+
+    private static byte[] sampleDump(int rows) {
+        StringBuilder sql = new StringBuilder();
+        Random random = new Random(11);
+        for (int i = 0; i < rows; i++) {
+            sql.append("INSERT INTO `orders` VALUES (").append(i).append(",'customer-")
+                    .append(random.nextInt(500)).append("',").append(random.nextInt(100_000)).append(");\n");
+        }
+        return sql.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] data = new byte[size];
+        new Random(5).nextBytes(data);
+        return data;
+    }
+}
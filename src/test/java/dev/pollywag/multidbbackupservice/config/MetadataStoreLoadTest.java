@@ -0,0 +1,149 @@
+package dev.pollywag.multidbbackupservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Job bookkeeping against the metadata store as the service runs it: many jobs producing
+ * log lifecycle rows, one writer committing them in batches, and readers listing logs the
+ * whole time. Run with {@code mvn test -Dtest=MetadataStoreLoadTest -Dloadtest=true}.
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class MetadataStoreLoadTest {
+
+    private static final int JOBS = 32;
+    private static final int EVENTS_PER_JOB = 2_000;
+    private static final int READERS = 4;
+    private static final int BATCH_SIZE = 200;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void sustainsJobBookkeepingWithConcurrentReaders() throws Exception {
+        String url = "jdbc:sqlite:" + dir.resolve("load.db");
+        try (HikariDataSource writer = MetadataDataSourceConfig.writer(url, 5000);
+             HikariDataSource readers = MetadataDataSourceConfig.readers(url, 5000, READERS)) {
+            try (Connection conn = writer.getConnection(); Statement st = conn.createStatement()) {
+                st.execute("CREATE TABLE backup_log (id TEXT PRIMARY KEY, db_name TEXT, status TEXT, start_time INTEGER)");
+                st.execute("CREATE INDEX idx_log_start ON backup_log (start_time DESC, id DESC)");
+            }
+
+            BlockingQueue<String[]> queue = new ArrayBlockingQueue<>(10_000);
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+            AtomicBoolean producing = new AtomicBoolean(true);
+            AtomicLong reads = new AtomicLong();
+            CountDownLatch jobsDone = new CountDownLatch(JOBS);
+
+            long started = System.nanoTime();
+            List<Thread> threads = new ArrayList<>();
+            for (int j = 0; j < JOBS; j++) {
+                int job = j;
+                threads.add(start(() -> {
+                    try {
+                        for (int i = 0; i < EVENTS_PER_JOB; i += 2) {
+                            String id = UUID.randomUUID().toString();
+                            queue.put(new String[]{id, "db" + job, "STARTED"});
+                            queue.put(new String[]{id, "db" + job, "SUCCESS"});
+                        }
+                    } catch (InterruptedException e) {
+                        failure.compareAndSet(null, e);
+                    } finally {
+                        jobsDone.countDown();
+                    }
+                }));
+            }
+            for (int r = 0; r < READERS; r++) {
+                threads.add(start(() -> {
+                    while (producing.get() && failure.get() == null) {
+                        try (Connection conn = readers.getConnection();
+                             PreparedStatement ps = conn.prepareStatement(
+                                     "SELECT id, status FROM backup_log ORDER BY start_time DESC, id DESC LIMIT 50");
+                             ResultSet rs = ps.executeQuery()) {
+                            while (rs.next()) {
+                                rs.getString(1);
+                            }
+                            reads.incrementAndGet();
+                        } catch (SQLException e) {
+                            failure.compareAndSet(null, e);
+                        }
+                    }
+                }));
+            }
+
+            long written = 0;
+            List<String[]> batch = new ArrayList<>(BATCH_SIZE);
+            try (Connection conn = writer.getConnection();
+                 PreparedStatement upsert = conn.prepareStatement(
+                         "INSERT INTO backup_log (id, db_name, status, start_time) VALUES (?, ?, ?, ?) "
+                                 + "ON CONFLICT(id) DO UPDATE SET status = excluded.status")) {
+                conn.setAutoCommit(false);
+                while (jobsDone.getCount() > 0 || !queue.isEmpty()) {
+                    String[] first = queue.poll(50, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch, BATCH_SIZE - 1);
+                    for (String[] row : batch) {
+                        upsert.setString(1, row[0]);
+                        upsert.setString(2, row[1]);
+                        upsert.setString(3, row[2]);
+                        upsert.setLong(4, System.nanoTime());
+                        upsert.addBatch();
+                    }
+                    upsert.executeBatch();
+                    conn.commit();
+                    written += batch.size();
+                    batch.clear();
+                }
+            }
+            double seconds = (System.nanoTime() - started) / 1e9;
+            producing.set(false);
+            for (Thread t : threads) {
+                t.join();
+            }
+
+            System.out.printf("[load] %d bookkeeping writes in %.2fs (%.0f/s), %d concurrent page reads%n",
+                    written, seconds, written / seconds, reads.get());
+            assertNull(failure.get(), () -> "Load run failed: " + failure.get());
+            assertEquals((long) JOBS * EVENTS_PER_JOB, written);
+            try (Connection conn = readers.getConnection();
+                 Statement st = conn.createStatement();
+                 ResultSet rs = st.executeQuery("SELECT COUNT(*) FROM backup_log WHERE status = 'SUCCESS'")) {
+                rs.next();
+                assertEquals(JOBS * EVENTS_PER_JOB / 2, rs.getInt(1));
+            }
+            assertTrue(reads.get() > 0, "readers were starved by the writer");
+        }
+    }
+
+    private static Thread start(Runnable task) {
+        Thread t = new Thread(task);
+        t.start();
+        return t;
+    }
+}
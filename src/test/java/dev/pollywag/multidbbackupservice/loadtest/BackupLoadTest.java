@@ -0,0 +1,321 @@
+package dev.pollywag.multidbbackupservice.loadtest;
+
+import com.sun.management.UnixOperatingSystemMXBean;
+import dev.pollywag.multidbbackupservice.MultiDbBackupServiceApplication;
+import dev.pollywag.multidbbackupservice.metrics.PipelineStage;
+import dev.pollywag.multidbbackupservice.model.enums.BackupType;
+import dev.pollywag.multidbbackupservice.model.enums.CompressionType;
+import dev.pollywag.multidbbackupservice.model.enums.DatabaseType;
+import dev.pollywag.multidbbackupservice.model.enums.StorageType;
+import dev.pollywag.multidbbackupservice.model.request.BackupRequest;
+import dev.pollywag.multidbbackupservice.model.request.RestoreRequest;
+import dev.pollywag.multidbbackupservice.model.response.BackupResponse;
+import dev.pollywag.multidbbackupservice.service.BackupService;
+import dev.pollywag.multidbbackupservice.service.RestoreService;
+import dev.pollywag.multidbbackupservice.strategy.database.MysqlBackupStrategy;
+import dev.pollywag.multidbbackupservice.strategy.database.MysqlConnectionManager;
+import dev.pollywag.multidbbackupservice.strategy.database.MysqlSchemaCatalog;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Backup and restore cycles through the real service, with {@link FakeDumpTool} in place
+ * of mysqldump and mysql, so sizing runs and orchestration regressions need no MySQL
+ * server. Only the JDBC connection test is stubbed out. Run with
+ * <pre>
+ * mvn test -Dtest=BackupLoadTest -Dloadtest=true -Dloadtest.jobs=8 -Dloadtest.dump-bytes=2147483648
+ * </pre>
+ * Options (system properties): {@code loadtest.jobs} concurrent jobs (4), {@code loadtest.rounds}
+ * backup+restore cycles per job (3), {@code loadtest.dump-bytes} SQL per dump (256 MiB),
+ * {@code loadtest.dump-rate} and {@code loadtest.restore-rate} in bytes/s (0 = unlimited),
+ * {@code loadtest.compression} (ZSTD) and {@code loadtest.dir} to keep the work directory.
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class BackupLoadTest {
+
+    private static final long SAMPLE_MILLIS = 100;
+
+    private final int jobs = Integer.getInteger("loadtest.jobs", 4);
+    private final int rounds = Integer.getInteger("loadtest.rounds", 3);
+    private final long dumpBytes = Long.getLong("loadtest.dump-bytes", 256L * 1024 * 1024);
+    private final long dumpRate = Long.getLong("loadtest.dump-rate", 0L);
+    private final long restoreRate = Long.getLong("loadtest.restore-rate", 0L);
+    private final CompressionType compression =
+            CompressionType.valueOf(System.getProperty("loadtest.compression", "ZSTD"));
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void runsConcurrentBackupAndRestoreCycles() throws Exception {
+        Path dir = System.getProperty("loadtest.dir") != null ? Paths.get(System.getProperty("loadtest.dir")) : tempDir;
+        Path storage = Files.createDirectories(dir.resolve("storage"));
+        Path cache = Files.createDirectories(dir.resolve("cache"));
+
+        try (ConfigurableApplicationContext context = start(dir, storage, cache)) {
+            BackupService backups = context.getBean(BackupService.class);
+            RestoreService restores = context.getBean(RestoreService.class);
+            MeterRegistry registry = context.getBean(MeterRegistry.class);
+
+            Sampler sampler = new Sampler(List.of(storage, cache));
+            sampler.start();
+
+            List<Long> backupMillis = Collections.synchronizedList(new ArrayList<>());
+            List<Long> restoreMillis = Collections.synchronizedList(new ArrayList<>());
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+
+            long started = System.nanoTime();
+            List<Thread> threads = new ArrayList<>();
+            for (int j = 0; j < jobs; j++) {
+                int job = j;
+                threads.add(start(() -> {
+                    try {
+                        for (int round = 0; round < rounds && failure.get() == null; round++) {
+                            long t0 = System.nanoTime();
+                            BackupResponse backup = backups.backup(backupRequest(job, storage));
+                            long t1 = System.nanoTime();
+                            restores.restore(restoreRequest(backup.getMetadataLocation()));
+                            long t2 = System.nanoTime();
+                            backupMillis.add(TimeUnit.NANOSECONDS.toMillis(t1 - t0));
+                            restoreMillis.add(TimeUnit.NANOSECONDS.toMillis(t2 - t1));
+                            // Keep disk use to what is in flight
+                            Files.deleteIfExists(Paths.get(backup.getFileLocation()));
+                        }
+                    } catch (Throwable e) {
+                        failure.compareAndSet(null, e);
+                    }
+                }));
+            }
+            for (Thread t : threads) {
+                t.join();
+            }
+            double hours = (System.nanoTime() - started) / 3.6e12;
+            sampler.stop();
+
+            report(registry, sampler, backupMillis, restoreMillis, hours);
+            assertNull(failure.get(), () -> "Load run failed: " + failure.get());
+        }
+    }
+
+    // ─── Setup ────────────────────────────────────────────────────────────────
+
+    private ConfigurableApplicationContext start(Path dir, Path storage, Path cache) {
+        String tool = Paths.get(System.getProperty("java.home"), "bin", "java")
+                + " -Xmx64m -XX:TieredStopAtLevel=1 -cp " + classesDir() + " " + FakeDumpTool.class.getName();
+        return new SpringApplicationBuilder(MultiDbBackupServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .initializers(context -> ((GenericApplicationContext) context).registerBean(
+                        "loadTestMysqlStrategy", ConnectedMysqlStrategy.class,
+                        definition -> definition.setPrimary(true)))
+                .run("--spring.datasource.url=jdbc:sqlite:" + dir.resolve("metadata.db"),
+                        // Spring Data JDBC comes in with the test starters and finds no dialect for SQLite
+                        "--spring.autoconfigure.exclude="
+                                + "org.springframework.boot.data.jdbc.autoconfigure.DataJdbcRepositoriesAutoConfiguration",
+                        "--spring.devtools.restart.enabled=false",
+                        "--backup.local.default-path=" + storage,
+                        "--backup.cache.dir=" + cache,
+                        "--backup.mysql.binlog.record-position=false",
+                        "--backup.mysql.dump-command=" + tool + " dump --bytes=" + dumpBytes + " --rate=" + dumpRate,
+                        "--backup.mysql.client-command=" + tool + " restore --rate=" + restoreRate,
+                        "--management.metrics.distribution.percentiles.backup.stage.duration=0.5,0.99",
+                        "--management.metrics.distribution.expiry.backup.stage.duration=1d",
+                        "--management.metrics.distribution.buffer-length.backup.stage.duration=1");
+    }
+
+    /** The real strategy minus the JDBC queries around the dump, which need a live server. */
+    static class ConnectedMysqlStrategy extends MysqlBackupStrategy {
+        ConnectedMysqlStrategy(MysqlConnectionManager connections, MysqlSchemaCatalog schemaCatalog) {
+            super(connections, schemaCatalog);
+        }
+
+        @Override
+        public boolean testConnection(BackupRequest request) {
+            return true;
+        }
+
+        @Override
+        public Map<String, String> tableChangeSignals(BackupRequest request, boolean exact) {
+            // Unknown signals: the next CHANGED_TABLES run would dump every table
+            return Map.of();
+        }
+    }
+
+    private static String classesDir() {
+        try {
+            return Paths.get(FakeDumpTool.class.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+        } catch (Exception e) {
+            throw new IllegalStateException("Cannot locate test classes", e);
+        }
+    }
+
+    private BackupRequest backupRequest(int job, Path storage) {
+        BackupRequest request = new BackupRequest();
+        request.setDbType(DatabaseType.MYSQL);
+        request.setHost("127.0.0.1");
+        request.setPort(3306);
+        request.setUsername("load");
+        request.setPassword("load");
+        request.setDbName("load_" + job);
+        request.setBackupType(BackupType.FULL);
+        request.setCompression(compression);
+        request.setParallelism(1);
+        request.setStorageType(StorageType.LOCAL);
+        request.setLocalPath(storage.toString());
+        return request;
+    }
+
+    private static RestoreRequest restoreRequest(String backupId) {
+        RestoreRequest request = new RestoreRequest();
+        request.setBackupId(backupId);
+        request.setTargetHost("127.0.0.1");
+        request.setTargetPort(3306);
+        request.setTargetUsername("load");
+        request.setTargetPassword("load");
+        return request;
+    }
+
+    private static Thread start(Runnable task) {
+        Thread t = new Thread(task);
+        t.start();
+        return t;
+    }
+
+    // ─── Report ───────────────────────────────────────────────────────────────
+
+    private void report(MeterRegistry registry, Sampler sampler,
+                        List<Long> backupMillis, List<Long> restoreMillis, double hours) {
+        System.out.printf("[load] %d jobs x %d rounds, %d MiB dumps, %s%n",
+                jobs, rounds, dumpBytes >> 20, compression);
+        System.out.printf("[load] %.0f backups/hour, %.0f restores/hour%n",
+                backupMillis.size() / hours, restoreMillis.size() / hours);
+        System.out.printf("[load] backup  p50 %d ms, p99 %d ms%n", percentile(backupMillis, 0.5),
+                percentile(backupMillis, 0.99));
+        System.out.printf("[load] restore p50 %d ms, p99 %d ms%n", percentile(restoreMillis, 0.5),
+                percentile(restoreMillis, 0.99));
+
+        List<Timer> stages = new ArrayList<>(registry.find("backup.stage.duration").timers());
+        stages.sort(Comparator.comparing((Timer t) -> t.getId().getTag("operation"))
+                .thenComparing(t -> PipelineStage.valueOf(t.getId().getTag("stage").toUpperCase())));
+        for (Timer timer : stages) {
+            StringBuilder line = new StringBuilder("[load]   ")
+                    .append(timer.getId().getTag("operation")).append('/').append(timer.getId().getTag("stage"));
+            for (ValueAtPercentile p : timer.takeSnapshot().percentileValues()) {
+                line.append(String.format(" p%.0f %.0f ms", p.percentile() * 100, p.value(TimeUnit.MILLISECONDS)));
+            }
+            System.out.println(line);
+        }
+
+        System.out.printf("[load] peak heap %d MiB, disk high-water %d MiB (of which .part %d MiB), "
+                        + "open files peak %d%n",
+                sampler.peakHeap.get() >> 20, sampler.peakDisk.get() >> 20, sampler.peakPartial.get() >> 20,
+                sampler.peakFiles.get());
+    }
+
+    private static long percentile(List<Long> values, double p) {
+        if (values.isEmpty()) {
+            return 0;
+        }
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        return sorted.get((int) Math.min(sorted.size() - 1, Math.ceil(p * sorted.size()) - 1));
+    }
+
+    /**
+     * Polls heap use, bytes on disk under the work directories (and in half-written
+     * {@code .part} files) and open file descriptors, keeping the highest value of each.
+     */
+    private static final class Sampler {
+        private final List<Path> dirs;
+        private final AtomicBoolean running = new AtomicBoolean(true);
+        private final AtomicLong peakHeap = new AtomicLong();
+        private final AtomicLong peakDisk = new AtomicLong();
+        private final AtomicLong peakPartial = new AtomicLong();
+        private final AtomicLong peakFiles = new AtomicLong();
+        private Thread thread;
+
+        Sampler(List<Path> dirs) {
+            this.dirs = dirs;
+        }
+
+        void start() {
+            thread = new Thread(() -> {
+                while (running.get()) {
+                    sample();
+                    try {
+                        Thread.sleep(SAMPLE_MILLIS);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }, "load-sampler");
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        void stop() throws InterruptedException {
+            running.set(false);
+            thread.join();
+            sample();
+        }
+
+        private void sample() {
+            peakHeap.accumulateAndGet(ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed(), Math::max);
+            OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+            if (os instanceof UnixOperatingSystemMXBean unix) {
+                peakFiles.accumulateAndGet(unix.getOpenFileDescriptorCount(), Math::max);
+            }
+            long total = 0;
+            long partial = 0;
+            for (Path dir : dirs) {
+                try (Stream<Path> files = Files.walk(dir)) {
+                    for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                        long size = sizeOf(file);
+                        total += size;
+                        if (file.getFileName().toString().endsWith(".part")) {
+                            partial += size;
+                        }
+                    }
+                } catch (IOException | RuntimeException e) {
+                    // Files come and go while walking; the next sample catches up
+                }
+            }
+            peakDisk.accumulateAndGet(total, Math::max);
+            peakPartial.accumulateAndGet(partial, Math::max);
+        }
+
+        private static long sizeOf(Path file) {
+            try {
+                return Files.size(file);
+            } catch (IOException e) {
+                return 0;
+            }
+        }
+    }
+}
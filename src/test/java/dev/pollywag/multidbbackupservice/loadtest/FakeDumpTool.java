@@ -0,0 +1,152 @@
+package dev.pollywag.multidbbackupservice.loadtest;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.SplittableRandom;
+
+/**
+ * Stands in for the MySQL client programs in {@link BackupLoadTest}.
+ * <pre>
+ * FakeDumpTool dump --bytes=N [--rate=B]   writes N bytes of mysqldump-style SQL to stdout
+ * FakeDumpTool restore [--rate=B]          reads stdin to the end, like mysql applying it
+ * </pre>
+ * {@code --rate} caps bytes per second (0 = as fast as possible). Any other argument,
+ * such as the host and credentials the service appends, is ignored.
+ */
+public final class FakeDumpTool {
+
+    private static final int CHUNK = 64 * 1024;
+    private static final String[] NAMES = {"alice", "bob", "carol", "dave", "erin", "frank", "grace", "heidi"};
+    private static final String[] STATUS = {"PENDING", "PAID", "SHIPPED", "DELIVERED", "REFUNDED"};
+
+    private FakeDumpTool() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        long bytes = 0;
+        long rate = 0;
+        for (String arg : args) {
+            if (arg.startsWith("--bytes=")) {
+                bytes = Long.parseLong(arg.substring("--bytes=".length()));
+            } else if (arg.startsWith("--rate=")) {
+                rate = Long.parseLong(arg.substring("--rate=".length()));
+            }
+        }
+        Pacer pacer = new Pacer(rate);
+        if (args.length > 0 && args[0].equals("dump")) {
+            dump(bytes, pacer);
+        } else if (args.length > 0 && args[0].equals("restore")) {
+            restore(pacer);
+        } else {
+            System.err.println("usage: FakeDumpTool dump --bytes=N [--rate=B] | restore [--rate=B]");
+            System.exit(2);
+        }
+    }
+
+    private static void dump(long total, Pacer pacer) throws IOException, InterruptedException {
+        SplittableRandom random = new SplittableRandom(total);
+        OutputStream out = new BufferedOutputStream(System.out, CHUNK);
+        Sql sql = new Sql(CHUNK + 4096);
+        sql.put("-- MySQL dump 10.13  Distrib 8.0.36, for Linux (x86_64)\n")
+                .put("DROP TABLE IF EXISTS `orders`;\n")
+                .put("CREATE TABLE `orders` (`id` bigint NOT NULL, `customer` varchar(64), ")
+                .put("`status` varchar(16), `amount` decimal(12,2), `created_at` datetime, ")
+                .put("PRIMARY KEY (`id`)) ENGINE=InnoDB;\n");
+
+        long written = 0;
+        long id = 1;
+        while (written < total) {
+            // One extended INSERT per chunk, as mysqldump does up to net_buffer_length
+            sql.put("INSERT INTO `orders` VALUES ");
+            boolean first = true;
+            while (sql.length < CHUNK) {
+                if (!first) {
+                    sql.put(",");
+                }
+                first = false;
+                sql.put("(").put(id++)
+                        .put(",'").put(NAMES[random.nextInt(NAMES.length)]).put(random.nextInt(10_000))
+                        .put("','").put(STATUS[random.nextInt(STATUS.length)])
+                        .put("',").put(random.nextInt(100_000)).put(".").put(10 + random.nextInt(90))
+                        .put(",'2024-0").put(1 + random.nextInt(9)).put("-1").put(random.nextInt(10))
+                        .put(" 12:").put(10 + random.nextInt(50)).put(":00')");
+            }
+            sql.put(";\n");
+
+            int length = (int) Math.min(sql.length, total - written);
+            pacer.acquire(length);
+            out.write(sql.bytes, 0, length);
+            written += length;
+            sql.length = 0;
+        }
+        out.flush();
+    }
+
+    private static void restore(Pacer pacer) throws IOException, InterruptedException {
+        byte[] buffer = new byte[CHUNK];
+        InputStream in = System.in;
+        int n;
+        while ((n = in.read(buffer)) != -1) {
+            pacer.acquire(n);
+        }
+    }
+
+    /** ASCII-only SQL builder that skips String and charset encoding, so the tool is never the bottleneck. */
+    private static final class Sql {
+        final byte[] bytes;
+        int length;
+
+        Sql(int capacity) {
+            this.bytes = new byte[capacity];
+        }
+
+        Sql put(String text) {
+            for (int i = 0; i < text.length(); i++) {
+                bytes[length++] = (byte) text.charAt(i);
+            }
+            return this;
+        }
+
+        Sql put(long value) {
+            if (value == 0) {
+                bytes[length++] = '0';
+                return this;
+            }
+            int start = length;
+            for (long v = value; v > 0; v /= 10) {
+                bytes[length++] = (byte) ('0' + v % 10);
+            }
+            for (int i = start, j = length - 1; i < j; i++, j--) {
+                byte b = bytes[i];
+                bytes[i] = bytes[j];
+                bytes[j] = b;
+            }
+            return this;
+        }
+    }
+
+    /** Sleeps as needed to keep the running average at or below the rate. */
+    private static final class Pacer {
+        private final long bytesPerSecond;
+        private final long started = System.nanoTime();
+        private long sent;
+
+        Pacer(long bytesPerSecond) {
+            this.bytesPerSecond = bytesPerSecond;
+        }
+
+        void acquire(long bytes) throws InterruptedException {
+            if (bytesPerSecond <= 0) {
+                return;
+            }
+            sent += bytes;
+            long dueNanos = (long) (sent * 1e9 / bytesPerSecond);
+            long aheadMillis = (dueNanos - (System.nanoTime() - started)) / 1_000_000;
+            if (aheadMillis > 0) {
+                Thread.sleep(aheadMillis);
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package dev.pollywag.multidbbackupservice.metrics;
+
+import dev.pollywag.multidbbackupservice.cache.ArtifactCache;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BackupMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final BackupMetrics metrics = new BackupMetrics(registry,
+            new ArtifactCache(false, System.getProperty("java.io.tmpdir"), 0, 0));
+
+    @Test
+    void chargesNestedStageTimeToTheInnerStageOnly() throws Exception {
+        JobMetrics job = metrics.start(BackupMetrics.BACKUP).describe("MYSQL", "LOCAL", "FULL");
+        assertEquals(1, registry.get("backup.jobs.active").tag("operation", "backup").gauge().value());
+
+        OutputStream slowCompressor = new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                sleep(200);
+            }
+        };
+        job.run(PipelineStage.DUMP, () -> {
+            try (OutputStream out = job.stage(PipelineStage.COMPRESS, slowCompressor)) {
+                out.write(new byte[1000]);
+            }
+            return null;
+        });
+        job.finish(true);
+
+        assertEquals(0, registry.get("backup.jobs.active").tag("operation", "backup").gauge().value());
+        assertEquals(1000, registry.get("backup.stage.bytes").tags("operation", "backup", "stage", "compress")
+                .counter().count());
+        assertTrue(stageMillis("compress") >= 200);
+        assertTrue(stageMillis("dump") < 100, "dump was charged the compressor's time");
+    }
+
+    @Test
+    void countsFailureAgainstTheStageThatThrew() {
+        JobMetrics job = metrics.start(BackupMetrics.RESTORE).describe("POSTGRESQL", "S3", "FULL");
+        OutputStream broken = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("disk full");
+            }
+        };
+
+        assertThrows(IOException.class, () -> job.run(PipelineStage.APPLY, () -> {
+            job.stage(PipelineStage.DECOMPRESS, broken).write(1);
+            return null;
+        }));
+        job.finish(false);
+        job.finish(false);
+
+        assertEquals(1, registry.get("backup.failures").tags("operation", "restore", "stage", "decompress",
+                "db_type", "postgresql", "storage_type", "s3").counter().count());
+    }
+
+    private double stageMillis(String stage) {
+        Timer timer = registry.get("backup.stage.duration").tags("operation", "backup", "stage", stage).timer();
+        return timer.totalTime(TimeUnit.MILLISECONDS);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package dev.pollywag.multidbbackupservice.pipeline;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChecksumVerifyingInputStreamTest {
+
+    private final byte[] data = randomBytes(100_000);
+    private final String sha256 = Checksums.sha256Hex(data);
+
+    @Test
+    void passesIntactArtifactThrough() throws IOException {
+        try (InputStream in = verifying(data, data.length)) {
+            assertArrayEquals(data, in.readAllBytes());
+        }
+        try (InputStream in = new ChecksumVerifyingInputStream(new ByteArrayInputStream(new byte[0]),
+                Checksums.sha256Hex(new byte[0]), 0, "empty")) {
+            assertEquals(-1, in.read());
+        }
+    }
+
+    @Test
+    void withholdsFinalBlockOfCorruptArtifact() {
+        byte[] corrupt = data.clone();
+        corrupt[10] ^= 1;
+        byte[] buffer = new byte[8192];
+        long[] delivered = new long[1];
+
+        IOException e = assertThrows(IOException.class, () -> {
+            try (InputStream in = verifying(corrupt, corrupt.length)) {
+                int n;
+                while ((n = in.read(buffer)) != -1) {
+                    delivered[0] += n;
+                }
+            }
+        });
+        assertTrue(e.getMessage().contains("checksum"), e.getMessage());
+        assertTrue(delivered[0] < corrupt.length, "the last block must not reach the reader");
+    }
+
+    @Test
+    void rejectsTruncatedAndOverlongArtifacts() {
+        assertThrows(IOException.class,
+                () -> verifying(Arrays.copyOf(data, data.length - 1), data.length).readAllBytes());
+        byte[] longer = Arrays.copyOf(data, data.length + 1);
+        assertThrows(IOException.class, () -> verifying(longer, data.length).readAllBytes());
+    }
+
+    private InputStream verifying(byte[] stored, long expectedLength) {
+        return new ChecksumVerifyingInputStream(new ByteArrayInputStream(stored), sha256, expectedLength, "backup.sql.gz");
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] bytes = new byte[size];
+        new Random(3).nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,76 @@
+package dev.pollywag.multidbbackupservice.pipeline;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ContentDefinedChunkerTest {
+
+    private static final int MIN = 2 * 1024;
+    private static final int AVG = 8 * 1024;
+    private static final int MAX = 32 * 1024;
+
+    @Test
+    void chunksReassembleToInputWithinSizeBounds() throws Exception {
+        byte[] data = randomBytes(1_000_000, 1);
+        List<byte[]> chunks = chunk(data);
+
+        ByteArrayOutputStream joined = new ByteArrayOutputStream();
+        for (int i = 0; i < chunks.size(); i++) {
+            byte[] chunk = chunks.get(i);
+            assertTrue(chunk.length <= MAX);
+            assertTrue(chunk.length >= MIN || i == chunks.size() - 1);
+            joined.write(chunk);
+        }
+        assertArrayEquals(data, joined.toByteArray());
+    }
+
+    @Test
+    void insertNearStartLeavesLaterChunksUnchanged() throws Exception {
+        byte[] original = randomBytes(1_000_000, 2);
+        byte[] inserted = new byte[original.length + 100];
+        System.arraycopy(original, 0, inserted, 0, 5_000);
+        System.arraycopy(randomBytes(100, 3), 0, inserted, 5_000, 100);
+        System.arraycopy(original, 5_000, inserted, 5_100, original.length - 5_000);
+
+        Set<String> before = fingerprints(chunk(original));
+        List<byte[]> after = chunk(inserted);
+        long reused = after.stream().filter(c -> before.contains(Arrays.toString(c))).count();
+
+        // Only the chunks around the edit should differ
+        assertTrue(reused >= after.size() - 3, reused + " of " + after.size() + " chunks reused");
+    }
+
+    private static List<byte[]> chunk(byte[] data) throws IOException {
+        ContentDefinedChunker chunker = new ContentDefinedChunker(new ByteArrayInputStream(data), MIN, AVG, MAX);
+        List<byte[]> chunks = new ArrayList<>();
+        byte[] chunk;
+        while ((chunk = chunker.next()) != null) {
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    private static Set<String> fingerprints(List<byte[]> chunks) {
+        Set<String> set = new HashSet<>();
+        chunks.forEach(c -> set.add(Arrays.toString(c)));
+        return set;
+    }
+
+    private static byte[] randomBytes(int size, long seed) {
+        byte[] data = new byte[size];
+        new Random(seed).nextBytes(data);
+        return data;
+    }
+}
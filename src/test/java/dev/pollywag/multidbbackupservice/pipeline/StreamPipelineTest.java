@@ -0,0 +1,89 @@
+package dev.pollywag.multidbbackupservice.pipeline;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class StreamPipelineTest {
+
+    private static final Duration LIMIT = Duration.ofSeconds(10);
+
+    @Test
+    void deliversEverythingTheProducerWrites() throws Exception {
+        byte[] data = new byte[1_000_003];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i * 31);
+        }
+        byte[] received = StreamPipeline.run("test", 4096, 4,
+                out -> {
+                    out.write(data, 0, 10);
+                    out.write(data, 10, data.length - 10);
+                    out.close(); // closing early must not end the stream twice
+                },
+                InputStream::readAllBytes);
+        assertArrayEquals(data, received);
+    }
+
+    @Test
+    void consumerFailureStopsAnEndlessProducer() {
+        IllegalStateException storeFailure = new IllegalStateException("upload rejected");
+        AtomicReference<Throwable> producerSaw = new AtomicReference<>();
+
+        IllegalStateException thrown = assertTimeoutPreemptively(LIMIT, () -> assertThrows(IllegalStateException.class,
+                () -> StreamPipeline.run("test", 1024, 2,
+                        out -> {
+                            byte[] chunk = new byte[1024];
+                            try {
+                                while (true) {
+                                    out.write(chunk);
+                                }
+                            } catch (IOException e) {
+                                producerSaw.set(e);
+                                throw e;
+                            }
+                        },
+                        in -> {
+                            in.readNBytes(64 * 1024);
+                            throw storeFailure;
+                        })));
+
+        assertSame(storeFailure, thrown);
+        assertInstanceOf(IOException.class, producerSaw.get());
+    }
+
+    @Test
+    void producerFailureAbortsTheConsumerWithTheOriginalError() {
+        IOException dumpFailure = new IOException("mysqldump exited with 2");
+        AtomicReference<Throwable> consumerSaw = new AtomicReference<>();
+
+        IOException thrown = assertTimeoutPreemptively(LIMIT, () -> assertThrows(IOException.class,
+                () -> StreamPipeline.run("test", 1024, 2,
+                        out -> {
+                            out.write(new byte[10_000]);
+                            throw dumpFailure;
+                        },
+                        in -> {
+                            try {
+                                in.transferTo(OutputStream.nullOutputStream());
+                            } catch (IOException e) {
+                                consumerSaw.set(e);
+                                throw e;
+                            }
+                            return null;
+                        })));
+
+        // The store sees the failure instead of a clean end of stream, the caller gets the root cause
+        assertSame(dumpFailure, thrown);
+        assertSame(dumpFailure, consumerSaw.get().getCause());
+    }
+}
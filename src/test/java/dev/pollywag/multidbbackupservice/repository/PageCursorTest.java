@@ -0,0 +1,33 @@
+package dev.pollywag.multidbbackupservice.repository;
+
+import dev.pollywag.multidbbackupservice.model.response.CursorPage;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PageCursorTest {
+
+    @Test
+    void roundTripsAndRejectsForeignTokens() {
+        PageCursor cursor = new PageCursor(LocalDateTime.of(2024, 3, 1, 10, 0, 5, 123_000_000), "a|b-42");
+        assertEquals(cursor, PageCursor.decode(cursor.encode()));
+
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode("not a cursor"));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode("bm90LWEtZGF0ZXxpZA"));
+    }
+
+    @Test
+    void pageUsesTheExtraRowOnlyToSignalMore() {
+        CursorPage<String> page = CursorPage.of(List.of("c", "b", "a"), 2, row -> "after-" + row);
+        assertEquals(List.of("c", "b"), page.getItems());
+        assertEquals("after-b", page.getNextCursor());
+
+        CursorPage<String> last = CursorPage.of(List.of("a"), 2, row -> "after-" + row);
+        assertNull(last.getNextCursor());
+    }
+}
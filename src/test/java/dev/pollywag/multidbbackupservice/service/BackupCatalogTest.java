@@ -0,0 +1,78 @@
+package dev.pollywag.multidbbackupservice.service;
+
+import dev.pollywag.multidbbackupservice.model.entity.BackupMetadata;
+import dev.pollywag.multidbbackupservice.model.enums.BackupType;
+import dev.pollywag.multidbbackupservice.model.enums.DatabaseType;
+import dev.pollywag.multidbbackupservice.model.enums.IncrementalMode;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BackupCatalogTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    // load() is never called, so the repository is not needed
+    private final BackupCatalog catalog = new BackupCatalog(null);
+
+    @Test
+    void tracksLatestBasePerKindAndDatabase() {
+        catalog.put(backup("full-1", "shop", BackupType.FULL, null, null, "SUCCESS", 1));
+        catalog.put(backup("full-2", "shop", BackupType.FULL, null, null, "SUCCESS", 3));
+        catalog.put(backup("ct-1", "shop", BackupType.INCREMENTAL, IncrementalMode.CHANGED_TABLES, "full-2", "SUCCESS", 4));
+        catalog.put(backup("full-old", "shop", BackupType.FULL, null, null, "SUCCESS", 2));
+        catalog.put(backup("failed", "shop", BackupType.FULL, null, null, "FAILED", 5));
+        catalog.put(backup("other", "crm", BackupType.FULL, null, null, "SUCCESS", 9));
+
+        assertEquals("full-2", latest("shop", BackupCatalog.Base.FULL));
+        assertEquals("ct-1", latest("shop", BackupCatalog.Base.CHANGED_TABLES));
+        assertEquals("other", latest("crm", BackupCatalog.Base.FULL));
+        assertTrue(catalog.latestBase("shop", DatabaseType.MYSQL, BackupCatalog.Base.BINLOG).isEmpty());
+
+        // The latest base being re-saved as unusable falls back to the next one
+        catalog.put(backup("full-2", "shop", BackupType.FULL, null, null, "FAILED", 3));
+        assertEquals("full-old", latest("shop", BackupCatalog.Base.FULL));
+    }
+
+    @Test
+    void resolvesChildrenAndHistory() {
+        catalog.put(backup("full", "shop", BackupType.FULL, null, null, "SUCCESS", 1));
+        catalog.put(backup("inc-2", "shop", BackupType.INCREMENTAL, IncrementalMode.BINLOG, "full", "SUCCESS", 3));
+        catalog.put(backup("inc-1", "shop", BackupType.INCREMENTAL, IncrementalMode.BINLOG, "full", "SUCCESS", 2));
+
+        assertEquals(List.of("inc-1", "inc-2"), ids(catalog.children("full")));
+        assertEquals(List.of("full", "inc-1", "inc-2"), ids(catalog.history("shop", DatabaseType.MYSQL)));
+
+        // Re-parenting moves the edge
+        catalog.put(backup("inc-2", "shop", BackupType.INCREMENTAL, IncrementalMode.BINLOG, "inc-1", "SUCCESS", 3));
+        assertEquals(List.of("inc-1"), ids(catalog.children("full")));
+        assertEquals(List.of("inc-2"), ids(catalog.children("inc-1")));
+    }
+
+    private String latest(String dbName, BackupCatalog.Base base) {
+        return catalog.latestBase(dbName, DatabaseType.MYSQL, base).orElseThrow().getBackupId();
+    }
+
+    private static List<String> ids(List<BackupMetadata> backups) {
+        return backups.stream().map(BackupMetadata::getBackupId).toList();
+    }
+
+    private static BackupMetadata backup(String id, String dbName, BackupType type, IncrementalMode mode,
+                                         String parentId, String status, int hour) {
+        BackupMetadata m = new BackupMetadata();
+        m.setBackupId(id);
+        m.setDbName(dbName);
+        m.setDbType(DatabaseType.MYSQL);
+        m.setBackupType(type);
+        m.setIncrementalMode(mode);
+        m.setParentBackupId(parentId);
+        m.setStatus(status);
+        m.setStartTime(T0.plusHours(hour));
+        m.setEndTime(T0.plusHours(hour).plusMinutes(30));
+        return m;
+    }
+}
@@ -0,0 +1,172 @@
+package dev.pollywag.multidbbackupservice.service;
+
+import dev.pollywag.multidbbackupservice.exception.BackupException;
+import dev.pollywag.multidbbackupservice.job.BackupJob;
+import dev.pollywag.multidbbackupservice.job.BackupProgress;
+import dev.pollywag.multidbbackupservice.job.JobThrottle;
+import dev.pollywag.multidbbackupservice.model.enums.BackupType;
+import dev.pollywag.multidbbackupservice.model.enums.DatabaseType;
+import dev.pollywag.multidbbackupservice.model.enums.JobState;
+import dev.pollywag.multidbbackupservice.model.enums.StorageType;
+import dev.pollywag.multidbbackupservice.model.request.BackupRequest;
+import dev.pollywag.multidbbackupservice.model.response.BackupResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BackupJobServiceTest {
+
+    private final ThrottleService throttleService = new ThrottleService(0, 0, 0, 0, "08:00", "18:00", "MONDAY", 60_000);
+    private final StubBackupService backupService = new StubBackupService(throttleService);
+    private BackupJobService jobs;
+
+    @AfterEach
+    void shutdown() throws InterruptedException {
+        backupService.releaseAll();
+        jobs.shutdown();
+        throttleService.shutdown();
+    }
+
+    @Test
+    void busyHostDoesNotHoldUpJobsQueuedBehindIt() {
+        jobs = new BackupJobService(backupService, throttleService, 4, 1, 100);
+
+        BackupJob a1 = jobs.submit(request("db-a", "a1"));
+        BackupJob a2 = jobs.submit(request("db-a", "a2"));
+        BackupJob b1 = jobs.submit(request("db-b", "b1"));
+
+        awaitState(a1, JobState.RUNNING);
+        awaitState(b1, JobState.RUNNING);
+        // One job per host: a2 waits although global slots are free
+        assertEquals(JobState.QUEUED, a2.getState());
+
+        backupService.release("a1");
+        awaitState(a1, JobState.SUCCEEDED);
+        awaitState(a2, JobState.RUNNING);
+    }
+
+    @Test
+    void globalLimitCapsRunningJobsAcrossHosts() {
+        jobs = new BackupJobService(backupService, throttleService, 2, 2, 100);
+
+        BackupJob first = jobs.submit(request("db-a", "first"));
+        BackupJob second = jobs.submit(request("db-b", "second"));
+        BackupJob third = jobs.submit(request("db-c", "third"));
+
+        awaitState(first, JobState.RUNNING);
+        awaitState(second, JobState.RUNNING);
+        assertEquals(JobState.QUEUED, third.getState());
+
+        backupService.release("second");
+        awaitState(third, JobState.RUNNING);
+        assertEquals(JobState.RUNNING, first.getState());
+    }
+
+    @Test
+    void failedJobFreesItsSlotAndKeepsTheError() {
+        jobs = new BackupJobService(backupService, throttleService, 1, 1, 100);
+
+        BackupJob failing = jobs.submit(request("db-a", "fail"));
+        BackupJob next = jobs.submit(request("db-a", "next"));
+
+        backupService.release("fail");
+        awaitState(failing, JobState.FAILED);
+        assertEquals("dump failed for fail", failing.toResponse().getMessage());
+        awaitState(next, JobState.RUNNING);
+    }
+
+    @Test
+    void onlyTheMostRecentFinishedJobsAreRetained() {
+        jobs = new BackupJobService(backupService, throttleService, 1, 1, 2);
+
+        BackupJob[] submitted = new BackupJob[3];
+        for (int i = 0; i < submitted.length; i++) {
+            String name = "job" + i;
+            submitted[i] = jobs.submit(request("db-a", name));
+            backupService.release(name);
+            awaitState(submitted[i], JobState.SUCCEEDED);
+        }
+
+        // Retirement runs just after the job is marked finished
+        await(() -> jobs.getJob(submitted[0].getJobId()) == null, "oldest finished job was not forgotten");
+        assertNotNull(jobs.getJob(submitted[1].getJobId()));
+        assertNotNull(jobs.getJob(submitted[2].getJobId()));
+        assertEquals(2, jobs.getJobs(JobState.SUCCEEDED).size());
+    }
+
+    // ─── Helpers ──────────────────────────────────────────────────────────────
+
+    private static BackupRequest request(String host, String dbName) {
+        BackupRequest request = new BackupRequest();
+        request.setDbType(DatabaseType.MYSQL);
+        request.setBackupType(BackupType.FULL);
+        request.setStorageType(StorageType.LOCAL);
+        request.setHost(host);
+        request.setPort(3306);
+        request.setDbName(dbName);
+        return request;
+    }
+
+    private static void awaitState(BackupJob job, JobState state) {
+        await(() -> job.getState() == state, job.getRequest().getDbName() + " never reached " + state
+                + ", is " + job.getState());
+    }
+
+    private static void await(BooleanSupplier condition, String message) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, message);
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            }
+        }
+    }
+
+    /** Blocks each backup until the test releases it by database name; "fail" throws once released. */
+    private static class StubBackupService extends BackupService {
+
+        private final Map<String, CountDownLatch> gates = new ConcurrentHashMap<>();
+
+        StubBackupService(ThrottleService throttleService) {
+            super(null, null, null, null, null, null, null, null, null, null, throttleService);
+        }
+
+        void release(String dbName) {
+            gate(dbName).countDown();
+        }
+
+        void releaseAll() {
+            gates.values().forEach(CountDownLatch::countDown);
+        }
+
+        private CountDownLatch gate(String dbName) {
+            return gates.computeIfAbsent(dbName, k -> new CountDownLatch(1));
+        }
+
+        @Override
+        public BackupResponse backup(BackupRequest request, BackupProgress progress, JobThrottle throttle) {
+            try {
+                gate(request.getDbName()).await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new BackupException("interrupted");
+            }
+            if (request.getDbName().equals("fail")) {
+                throw new BackupException("dump failed for fail");
+            }
+            return new BackupResponse("SUCCESS", "/backups/" + request.getDbName(), "id", "done");
+        }
+    }
+}
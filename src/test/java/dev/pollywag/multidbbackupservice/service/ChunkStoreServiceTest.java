@@ -0,0 +1,77 @@
+package dev.pollywag.multidbbackupservice.service;
+
+import dev.pollywag.multidbbackupservice.compression.CompressionOptions;
+import dev.pollywag.multidbbackupservice.compression.ZstdCodec;
+import dev.pollywag.multidbbackupservice.job.BackupProgress;
+import dev.pollywag.multidbbackupservice.model.enums.DatabaseType;
+import dev.pollywag.multidbbackupservice.model.manifest.ChunkManifest;
+import dev.pollywag.multidbbackupservice.model.request.BackupRequest;
+import dev.pollywag.multidbbackupservice.strategy.storage.LocalStorageStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChunkStoreServiceTest {
+
+    @TempDir
+    Path storeDir;
+
+    private final ChunkStoreService chunkStore = new ChunkStoreService(4 * 1024, 16 * 1024, 64 * 1024, 4, 4);
+    private final LocalStorageStrategy storage = new LocalStorageStrategy();
+    private final ZstdCodec codec = new ZstdCodec();
+
+    @AfterEach
+    void tearDown() {
+        chunkStore.shutdown();
+    }
+
+    @Test
+    void secondBackupUploadsOnlyChangedChunks() throws Exception {
+        BackupRequest request = new BackupRequest();
+        request.setDbType(DatabaseType.MYSQL);
+        request.setDbName("shop");
+        request.setLocalPath(storeDir.toString());
+
+        byte[] monday = sampleDump(30_000, 1);
+        byte[] tuesday = monday.clone();
+        byte[] edit = "UPDATED ROW".getBytes(StandardCharsets.UTF_8);
+        System.arraycopy(edit, 0, tuesday, tuesday.length / 2, edit.length);
+
+        ChunkManifest first = write(monday, request);
+        ChunkManifest second = write(tuesday, request);
+
+        assertEquals(first.getChunks().size(), first.getNewChunks());
+        assertTrue(second.getNewChunks() <= 2, second.getNewChunks() + " new chunks");
+        assertTrue(second.getUploadedBytes() * 10 < first.getUploadedBytes());
+
+        String manifestPath = storage.locate("shop.chunks.json", request);
+        try (InputStream in = chunkStore.open(second, manifestPath, storage, codec)) {
+            assertArrayEquals(tuesday, in.readAllBytes());
+        }
+    }
+
+    private ChunkManifest write(byte[] dump, BackupRequest request) throws Exception {
+        return chunkStore.write(new ByteArrayInputStream(dump), storage, request, codec,
+                CompressionOptions.DEFAULT, BackupProgress.NONE);
+    }
+
+    private static byte[] sampleDump(int rows, long seed) {
+        Random random = new Random(seed);
+        StringBuilder sql = new StringBuilder();
+        for (int i = 0; i < rows; i++) {
+            sql.append("INSERT INTO `orders` VALUES (").append(i).append(",'")
+                    .append(Long.toHexString(random.nextLong())).append("');\n");
+        }
+        return sql.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,212 @@
+package dev.pollywag.multidbbackupservice.service;
+
+import dev.pollywag.multidbbackupservice.cache.ArtifactCache;
+import dev.pollywag.multidbbackupservice.compression.CompressionOptions;
+import dev.pollywag.multidbbackupservice.compression.ZstdCodec;
+import dev.pollywag.multidbbackupservice.exception.BackupException;
+import dev.pollywag.multidbbackupservice.factory.CompressionCodecFactory;
+import dev.pollywag.multidbbackupservice.factory.DatabaseStrategyFactory;
+import dev.pollywag.multidbbackupservice.factory.StorageStrategyFactory;
+import dev.pollywag.multidbbackupservice.metrics.BackupMetrics;
+import dev.pollywag.multidbbackupservice.model.entity.BackupMetadata;
+import dev.pollywag.multidbbackupservice.model.enums.ArtifactFormat;
+import dev.pollywag.multidbbackupservice.model.enums.BackupType;
+import dev.pollywag.multidbbackupservice.model.enums.CompressionType;
+import dev.pollywag.multidbbackupservice.model.enums.DatabaseType;
+import dev.pollywag.multidbbackupservice.model.enums.IncrementalMode;
+import dev.pollywag.multidbbackupservice.model.enums.SegmentKind;
+import dev.pollywag.multidbbackupservice.model.enums.StorageType;
+import dev.pollywag.multidbbackupservice.model.manifest.BackupManifest;
+import dev.pollywag.multidbbackupservice.model.manifest.ManifestSegment;
+import dev.pollywag.multidbbackupservice.model.request.RestoreRequest;
+import dev.pollywag.multidbbackupservice.pipeline.Checksums;
+import dev.pollywag.multidbbackupservice.repository.BackupLogRepository;
+import dev.pollywag.multidbbackupservice.strategy.database.MysqlBackupStrategy;
+import dev.pollywag.multidbbackupservice.strategy.database.SegmentSource;
+import dev.pollywag.multidbbackupservice.strategy.storage.LocalStorageStrategy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RestoreServiceTest {
+
+    @TempDir
+    Path storeDir;
+
+    private final ZstdCodec codec = new ZstdCodec();
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final BackupCatalog catalog = new BackupCatalog(null);
+    private final RecordingStrategy database = new RecordingStrategy();
+
+    @Test
+    void corruptIncrementalStopsTheRestoreBeforeItsBaseIsApplied() throws Exception {
+        singleFile("full", BackupType.FULL, null, "CREATE TABLE orders (id INT);\n", false);
+        singleFile("inc", BackupType.INCREMENTAL, "full", "INSERT INTO orders VALUES (1);\n", true);
+
+        BackupException e = assertThrows(BackupException.class, () -> restoreService(true).restore(request("inc")));
+
+        assertTrue(e.getMessage().contains("failed checksum verification"), e.getMessage());
+        assertEquals(List.of(), database.applied);
+    }
+
+    @Test
+    void corruptSegmentStopsTheRestoreBeforeAnySegmentIsApplied() throws Exception {
+        byte[] schema = compress("CREATE TABLE orders (id INT);\n");
+        byte[] data = compress("INSERT INTO orders VALUES (1);\n");
+        Files.write(storeDir.resolve("00000-orders.schema.sql.zst"), schema);
+        Files.write(storeDir.resolve("00000-orders.data.sql.zst"), data);
+
+        BackupManifest manifest = new BackupManifest();
+        manifest.setCompression(CompressionType.ZSTD);
+        manifest.setWorkers(1);
+        manifest.setSegments(List.of(
+                new ManifestSegment("orders", SegmentKind.SCHEMA, "00000-orders.schema.sql.zst",
+                        schema.length, 0, Checksums.sha256Hex(schema)),
+                new ManifestSegment("orders", SegmentKind.DATA, "00000-orders.data.sql.zst",
+                        data.length, 0, Checksums.sha256Hex(compress("something else")))));
+        byte[] json = jsonMapper.writeValueAsBytes(manifest);
+        Path manifestPath = storeDir.resolve("seg.manifest.json");
+        Files.write(manifestPath, json);
+
+        BackupMetadata metadata = metadata("seg", BackupType.FULL, ArtifactFormat.SEGMENTED);
+        metadata.setManifestPath(manifestPath.toString());
+        metadata.setChecksumSha256(Checksums.sha256Hex(json));
+        catalog.put(metadata);
+
+        assertThrows(BackupException.class, () -> restoreService(true).restore(request("seg")));
+        assertEquals(0, database.parallelRestores);
+    }
+
+    @Test
+    void withoutVerifyFirstTheBaseIsAppliedBeforeTheCorruptionShows() throws Exception {
+        singleFile("full", BackupType.FULL, null, "CREATE TABLE orders (id INT);\n", false);
+        singleFile("inc", BackupType.INCREMENTAL, "full", "INSERT INTO orders VALUES (1);\n", true);
+
+        assertThrows(BackupException.class, () -> restoreService(false).restore(request("inc")));
+
+        assertEquals("CREATE TABLE orders (id INT);\n", database.applied.get(0));
+    }
+
+    @Test
+    void binlogLinksAreReplayedWithoutAStopPoint() throws Exception {
+        singleFile("full", BackupType.FULL, null, "CREATE TABLE orders (id INT);\n", false);
+        singleFile("binlog", BackupType.INCREMENTAL, "full", "# at 4\n", false);
+        catalog.get("binlog").orElseThrow().setIncrementalMode(IncrementalMode.BINLOG);
+
+        restoreService(true).restore(request("binlog"));
+
+        assertEquals(List.of("CREATE TABLE orders (id INT);\n", "binlog:# at 4\n"), database.applied);
+    }
+
+    // ─── Helpers ──────────────────────────────────────────────────────────────
+
+    private RestoreService restoreService(boolean verifyFirst) {
+        WriteBehindWriter writer = new WriteBehindWriter(logRepository(), null, catalog, null, false, 1, 1);
+        BackupMetrics metrics = new BackupMetrics(new SimpleMeterRegistry(),
+                new ArtifactCache(false, storeDir.toString(), 0, 0));
+        return new RestoreService(catalog, new DatabaseStrategyFactory(database),
+                new StorageStrategyFactory(new LocalStorageStrategy(), null), new LogService(null, writer),
+                jsonMapper, new CompressionCodecFactory(List.of(codec)), null, writer, metrics, verifyFirst);
+    }
+
+    private void singleFile(String backupId, BackupType type, String parentId, String dump, boolean corrupt)
+            throws IOException {
+        byte[] stored = compress(dump);
+        Path file = storeDir.resolve(backupId + ".sql.zst");
+        Files.write(file, stored);
+        BackupMetadata metadata = metadata(backupId, type, ArtifactFormat.SINGLE_FILE);
+        metadata.setParentBackupId(parentId);
+        metadata.setFileName(file.getFileName().toString());
+        metadata.setStoragePath(file.toString());
+        metadata.setChecksumSha256(Checksums.sha256Hex(corrupt ? compress(dump + "--") : stored));
+        metadata.setFileSizeBytes(stored.length);
+        catalog.put(metadata);
+    }
+
+    private static BackupMetadata metadata(String backupId, BackupType type, ArtifactFormat format) {
+        BackupMetadata metadata = new BackupMetadata();
+        metadata.setBackupId(backupId);
+        metadata.setBackupType(type);
+        metadata.setDbName("shop");
+        metadata.setDbType(DatabaseType.MYSQL);
+        metadata.setStorageType(StorageType.LOCAL);
+        metadata.setArtifactFormat(format);
+        metadata.setCompression(CompressionType.ZSTD);
+        metadata.setStatus("SUCCESS");
+        return metadata;
+    }
+
+    private static RestoreRequest request(String backupId) {
+        RestoreRequest request = new RestoreRequest();
+        request.setBackupId(backupId);
+        request.setTargetHost("127.0.0.1");
+        request.setTargetPort(3306);
+        request.setTargetUsername("restore");
+        request.setTargetPassword("secret");
+        return request;
+    }
+
+    private byte[] compress(String data) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (OutputStream out = codec.compress(buffer, CompressionOptions.DEFAULT)) {
+            out.write(data.getBytes(StandardCharsets.UTF_8));
+        }
+        return buffer.toByteArray();
+    }
+
+    private static BackupLogRepository logRepository() {
+        return (BackupLogRepository) Proxy.newProxyInstance(
+                RestoreServiceTest.class.getClassLoader(), new Class<?>[]{BackupLogRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "save" -> args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    /** Records what reaches the database client instead of running one. */
+    private static class RecordingStrategy extends MysqlBackupStrategy {
+
+        final List<String> applied = new CopyOnWriteArrayList<>();
+        volatile int parallelRestores;
+
+        RecordingStrategy() {
+            super(null, null);
+        }
+
+        @Override
+        public void restoreBackup(InputStream dumpStream, RestoreRequest request) throws Exception {
+            applied.add(new String(dumpStream.readAllBytes(), StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void replayBinlog(InputStream binlog, RestoreRequest request, LocalDateTime stopTime,
+                                 String stopGtid) throws Exception {
+            assertEquals(null, stopTime);
+            assertEquals(null, stopGtid);
+            applied.add("binlog:" + new String(binlog.readAllBytes(), StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void restoreParallel(BackupManifest manifest, SegmentSource source, RestoreRequest request,
+                                    int workers) {
+            parallelRestores++;
+        }
+    }
+}
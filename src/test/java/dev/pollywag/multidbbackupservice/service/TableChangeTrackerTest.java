@@ -0,0 +1,100 @@
+package dev.pollywag.multidbbackupservice.service;
+
+import dev.pollywag.multidbbackupservice.model.entity.TableChangeSignal;
+import dev.pollywag.multidbbackupservice.model.enums.DatabaseType;
+import dev.pollywag.multidbbackupservice.model.request.BackupRequest;
+import dev.pollywag.multidbbackupservice.repository.TableChangeSignalRepository;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TableChangeTrackerTest {
+
+    private final Map<String, TableChangeSignal> rows = new HashMap<>();
+    private final TableChangeTracker tracker = new TableChangeTracker(repository());
+
+    @Test
+    void reportsUnknownNewAndChangedTablesButNotUnchangedOnes() {
+        BackupRequest shop = request("shop", 3306);
+        tracker.record(shop, "full-1", signals(
+                "unchanged", "ts:1",
+                "changed", "ts:1",
+                "unknown-now", "ts:1",
+                "unknown-before", null));
+
+        Map<String, String> current = signals(
+                "unchanged", "ts:1",
+                "changed", "ts:2",
+                "unknown-now", null,
+                "unknown-before", "ts:1",
+                "new", "ts:1");
+
+        assertEquals(List.of("changed", "unknown-now", "unknown-before", "new"), tracker.changedTables(shop, current));
+    }
+
+    @Test
+    void comparesAgainstTheSameDatabaseOnly() {
+        tracker.record(request("shop", 3306), "full-1", signals("orders", "ts:1"));
+
+        assertTrue(tracker.changedTables(request("shop", 3306), signals("orders", "ts:1")).isEmpty());
+        assertEquals(List.of("orders"), tracker.changedTables(request("shop", 3307), signals("orders", "ts:1")));
+        assertEquals(List.of("orders"), tracker.changedTables(request("crm", 3306), signals("orders", "ts:1")));
+    }
+
+    @Test
+    void recordingReplacesTheBaseline() {
+        BackupRequest shop = request("shop", 3306);
+        tracker.record(shop, "full-1", signals("orders", "ts:1"));
+        tracker.record(shop, "ct-1", signals("orders", "ts:2"));
+
+        assertTrue(tracker.changedTables(shop, signals("orders", "ts:2")).isEmpty());
+        assertEquals(List.of("orders"), tracker.changedTables(shop, signals("orders", "ts:1")));
+    }
+
+    // ─── Helpers ──────────────────────────────────────────────────────────────
+
+    private static BackupRequest request(String dbName, int port) {
+        BackupRequest request = new BackupRequest();
+        request.setDbType(DatabaseType.MYSQL);
+        request.setHost("db");
+        request.setPort(port);
+        request.setDbName(dbName);
+        return request;
+    }
+
+    /** Table/signal pairs in order; a null signal is unknown. */
+    private static Map<String, String> signals(String... pairs) {
+        Map<String, String> signals = new LinkedHashMap<>();
+        for (int i = 0; i < pairs.length; i += 2) {
+            signals.put(pairs[i], pairs[i + 1]);
+        }
+        return signals;
+    }
+
+    /** In-memory stand-in for the two repository methods the tracker uses, keyed by id like the table. */
+    @SuppressWarnings("unchecked")
+    private TableChangeSignalRepository repository() {
+        return (TableChangeSignalRepository) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[]{TableChangeSignalRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "saveAll" -> {
+                        for (TableChangeSignal row : (Iterable<TableChangeSignal>) args[0]) {
+                            rows.put(row.getId(), row);
+                        }
+                        yield args[0];
+                    }
+                    case "findByDbTypeAndHostAndPortAndDbName" -> rows.values().stream()
+                            .filter(row -> row.getDbType() == args[0] && row.getHost().equals(args[1])
+                                    && row.getPort() == (int) args[2] && row.getDbName().equals(args[3]))
+                            .toList();
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
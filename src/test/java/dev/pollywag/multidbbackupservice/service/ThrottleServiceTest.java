@@ -0,0 +1,78 @@
+package dev.pollywag.multidbbackupservice.service;
+
+import dev.pollywag.multidbbackupservice.job.JobThrottle;
+import dev.pollywag.multidbbackupservice.model.request.BackupRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ThrottleServiceTest {
+
+    // 2026-10-12 is a Monday
+    private static final LocalDateTime MONDAY_NOON = LocalDateTime.of(2026, 10, 12, 12, 0);
+    private static final LocalDateTime MONDAY_NIGHT = LocalDateTime.of(2026, 10, 12, 23, 0);
+    private static final LocalDateTime SATURDAY_NOON = LocalDateTime.of(2026, 10, 17, 12, 0);
+
+    private ThrottleService service;
+
+    @AfterEach
+    void shutdown() {
+        service.shutdown();
+    }
+
+    @Test
+    void businessHoursCoverConfiguredDaysOnly() {
+        service = service("08:00", "18:00", "MONDAY,TUESDAY,WEDNESDAY,THURSDAY,FRIDAY");
+
+        assertTrue(service.isBusinessHours(MONDAY_NOON));
+        assertTrue(service.isBusinessHours(MONDAY_NOON.withHour(8)));
+        assertFalse(service.isBusinessHours(MONDAY_NOON.withHour(18)));
+        assertFalse(service.isBusinessHours(MONDAY_NIGHT));
+        assertFalse(service.isBusinessHours(SATURDAY_NOON));
+    }
+
+    @Test
+    void overnightWindowBelongsToTheDayItStarts() {
+        service = service("22:00", "06:00", "FRIDAY");
+
+        assertTrue(service.isBusinessHours(LocalDateTime.of(2026, 10, 16, 23, 0)));  // Friday night
+        assertTrue(service.isBusinessHours(LocalDateTime.of(2026, 10, 17, 5, 0)));   // Saturday morning
+        assertFalse(service.isBusinessHours(LocalDateTime.of(2026, 10, 16, 5, 0)));  // Friday morning
+        assertFalse(service.isBusinessHours(LocalDateTime.of(2026, 10, 17, 23, 0))); // Saturday night
+    }
+
+    @Test
+    void scheduleSetsSharedLimitsAndJobLimitsOnlyNarrowThem() {
+        service = service("08:00", "18:00", "MONDAY");
+        BackupRequest request = new BackupRequest();
+        request.setMaxDumpBytesPerSec(5_000_000L);
+        JobThrottle throttle = service.open(request);
+
+        service.refresh(MONDAY_NIGHT);
+        assertEquals(0, service.getDumpBytesPerSec());
+        assertEquals(5_000_000, throttle.getDumpBytesPerSec());
+        assertEquals(0, throttle.getUploadBytesPerSec());
+
+        service.refresh(MONDAY_NOON);
+        assertEquals(1_000_000, throttle.getDumpBytesPerSec());
+        assertEquals(2_000_000, throttle.getUploadBytesPerSec());
+
+        throttle.setLimits(null, 500_000L);
+        assertEquals(1_000_000, throttle.getDumpBytesPerSec());
+        assertEquals(500_000, throttle.getUploadBytesPerSec());
+
+        throttle.setLimits(0L, 0L);
+        service.refresh(MONDAY_NIGHT);
+        assertEquals(0, throttle.getDumpBytesPerSec());
+        assertEquals(0, throttle.getUploadBytesPerSec());
+    }
+
+    private static ThrottleService service(String start, String end, String days) {
+        return new ThrottleService(0, 0, 1_000_000, 2_000_000, start, end, days, 60_000);
+    }
+}
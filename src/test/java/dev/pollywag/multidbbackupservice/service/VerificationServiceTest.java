@@ -0,0 +1,269 @@
+package dev.pollywag.multidbbackupservice.service;
+
+import dev.pollywag.multidbbackupservice.compression.CompressionOptions;
+import dev.pollywag.multidbbackupservice.compression.ZstdCodec;
+import dev.pollywag.multidbbackupservice.factory.CompressionCodecFactory;
+import dev.pollywag.multidbbackupservice.factory.StorageStrategyFactory;
+import dev.pollywag.multidbbackupservice.job.BackupProgress;
+import dev.pollywag.multidbbackupservice.model.entity.BackupMetadata;
+import dev.pollywag.multidbbackupservice.model.entity.VerificationRecord;
+import dev.pollywag.multidbbackupservice.model.enums.ArtifactFormat;
+import dev.pollywag.multidbbackupservice.model.enums.CompressionType;
+import dev.pollywag.multidbbackupservice.model.enums.DatabaseType;
+import dev.pollywag.multidbbackupservice.model.enums.SegmentKind;
+import dev.pollywag.multidbbackupservice.model.enums.StorageType;
+import dev.pollywag.multidbbackupservice.model.manifest.BackupManifest;
+import dev.pollywag.multidbbackupservice.model.manifest.ChunkManifest;
+import dev.pollywag.multidbbackupservice.model.manifest.ManifestSegment;
+import dev.pollywag.multidbbackupservice.model.request.BackupRequest;
+import dev.pollywag.multidbbackupservice.pipeline.Checksums;
+import dev.pollywag.multidbbackupservice.repository.VerificationRecordRepository;
+import dev.pollywag.multidbbackupservice.strategy.storage.LocalStorageStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static dev.pollywag.multidbbackupservice.model.enums.VerificationStatus.CORRUPT;
+import static dev.pollywag.multidbbackupservice.model.enums.VerificationStatus.UNREADABLE;
+import static dev.pollywag.multidbbackupservice.model.enums.VerificationStatus.VERIFIED;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VerificationServiceTest {
+
+    @TempDir
+    Path storeDir;
+
+    private final ZstdCodec codec = new ZstdCodec();
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final BackupCatalog catalog = new BackupCatalog(null);
+    private final ChunkStoreService chunkStore = new ChunkStoreService(4 * 1024, 16 * 1024, 64 * 1024, 2, 2);
+    // Set to make every stored stream fail after its first bytes, as a dropped connection would
+    private final AtomicBoolean failReads = new AtomicBoolean();
+    private final LocalStorageStrategy storage = new LocalStorageStrategy() {
+        @Override
+        public InputStream openStoredStream(String storagePath) {
+            InputStream in = super.openStoredStream(storagePath);
+            return failReads.get() ? new FailingAfterFirstRead(in) : in;
+        }
+    };
+    private final VerificationService verification = new VerificationService(
+            catalog, new StorageStrategyFactory(storage, null), new CompressionCodecFactory(List.of(codec)),
+            chunkStore, recordRepository(), jsonMapper, 1, 0);
+
+    @AfterEach
+    void tearDown() {
+        verification.shutdown();
+        chunkStore.shutdown();
+    }
+
+    // ─── Single files ─────────────────────────────────────────────────────────
+
+    @Test
+    void intactFileIsVerified() throws Exception {
+        byte[] dump = sampleDump(1);
+        byte[] stored = compress(dump);
+        singleFile("b1", stored, Checksums.sha256Hex(stored), stored.length);
+
+        VerificationRecord record = verification.verify("b1");
+
+        assertEquals(VERIFIED, record.getStatus());
+        assertTrue(record.isChecksumChecked());
+        assertEquals(stored.length, record.getStoredBytes());
+        assertEquals(dump.length, record.getDecompressedBytes());
+    }
+
+    @Test
+    void checksumMismatchIsCorrupt() throws Exception {
+        byte[] stored = compress(sampleDump(1));
+        singleFile("b1", stored, Checksums.sha256Hex(compress(sampleDump(2))), stored.length);
+
+        assertEquals(CORRUPT, verification.verify("b1").getStatus());
+    }
+
+    @Test
+    void sizeMismatchIsCorruptWithoutAChecksum() throws Exception {
+        byte[] stored = compress(sampleDump(1));
+        singleFile("b1", stored, null, stored.length + 1);
+
+        VerificationRecord record = verification.verify("b1");
+
+        assertEquals(CORRUPT, record.getStatus());
+        assertTrue(record.getMessage().contains("recorded at backup time"), record.getMessage());
+    }
+
+    @Test
+    void brokenCodecStreamIsCorruptEvenWhenItsChecksumMatches() throws Exception {
+        // Truncated before the checksum was taken: the bytes are what was stored, but do not decode
+        byte[] full = compress(sampleDump(1));
+        byte[] stored = Arrays.copyOf(full, full.length / 2);
+        singleFile("b1", stored, Checksums.sha256Hex(stored), stored.length);
+
+        assertEquals(CORRUPT, verification.verify("b1").getStatus());
+    }
+
+    @Test
+    void missingFileIsUnreadable() throws Exception {
+        byte[] stored = compress(sampleDump(1));
+        singleFile("b1", stored, Checksums.sha256Hex(stored), stored.length);
+        Files.delete(storeDir.resolve("b1.sql.zst"));
+
+        assertEquals(UNREADABLE, verification.verify("b1").getStatus());
+    }
+
+    @Test
+    void readFailingAfterSomeBytesIsUnreadable() throws Exception {
+        byte[] stored = compress(sampleDump(1));
+        singleFile("b1", stored, Checksums.sha256Hex(stored), stored.length);
+        failReads.set(true);
+
+        VerificationRecord record = verification.verify("b1");
+
+        assertEquals(UNREADABLE, record.getStatus());
+        assertTrue(record.getStoredBytes() > 0);
+    }
+
+    // ─── Manifests ────────────────────────────────────────────────────────────
+
+    @Test
+    void missingSegmentAfterAGoodOneIsUnreadable() throws Exception {
+        byte[] first = compress(sampleDump(1));
+        byte[] second = compress(sampleDump(2));
+        Files.write(storeDir.resolve("00000-orders.schema.sql.zst"), first);
+
+        BackupManifest manifest = new BackupManifest();
+        manifest.setCompression(CompressionType.ZSTD);
+        manifest.setSegments(List.of(
+                new ManifestSegment("orders", SegmentKind.SCHEMA, "00000-orders.schema.sql.zst",
+                        first.length, 0, Checksums.sha256Hex(first)),
+                new ManifestSegment("orders", SegmentKind.DATA, "00000-orders.data.sql.zst",
+                        second.length, 0, Checksums.sha256Hex(second))));
+        byte[] json = jsonMapper.writeValueAsBytes(manifest);
+        Path manifestPath = storeDir.resolve("b1.manifest.json");
+        Files.write(manifestPath, json);
+
+        BackupMetadata metadata = metadata("b1", ArtifactFormat.SEGMENTED);
+        metadata.setManifestPath(manifestPath.toString());
+        metadata.setChecksumSha256(Checksums.sha256Hex(json));
+        catalog.put(metadata);
+
+        VerificationRecord record = verification.verify("b1");
+
+        assertEquals(UNREADABLE, record.getStatus());
+        assertEquals(first.length + json.length, record.getStoredBytes());
+    }
+
+    @Test
+    void chunkedBackupIsVerifiedUntilAChunkIsRewritten() throws Exception {
+        BackupRequest request = new BackupRequest();
+        request.setDbType(DatabaseType.MYSQL);
+        request.setDbName("shop");
+        request.setLocalPath(storeDir.toString());
+        byte[] dump = sampleDump(1);
+
+        ChunkManifest manifest = chunkStore.write(new ByteArrayInputStream(dump), storage, request, codec,
+                CompressionOptions.DEFAULT, BackupProgress.NONE);
+        byte[] json = jsonMapper.writeValueAsBytes(manifest);
+        String manifestPath = storage.store(new ByteArrayInputStream(json), "b1.chunks.json", request);
+
+        BackupMetadata metadata = metadata("b1", ArtifactFormat.CHUNKED);
+        metadata.setManifestPath(manifestPath);
+        metadata.setChecksumSha256(Checksums.sha256Hex(json));
+        catalog.put(metadata);
+
+        VerificationRecord record = verification.verify("b1");
+        assertEquals(VERIFIED, record.getStatus());
+        assertEquals(dump.length, record.getDecompressedBytes());
+
+        // Valid zstd, wrong content for its hash
+        Path chunk = Path.of(storage.resolveSibling(manifestPath, manifest.getChunks().get(0).getPath()));
+        Files.write(chunk, compress("not the original chunk".getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(CORRUPT, verification.verify("b1").getStatus());
+    }
+
+    // ─── Helpers ──────────────────────────────────────────────────────────────
+
+    private void singleFile(String backupId, byte[] stored, String sha256, long recordedSize) throws IOException {
+        Path file = storeDir.resolve(backupId + ".sql.zst");
+        Files.write(file, stored);
+        BackupMetadata metadata = metadata(backupId, ArtifactFormat.SINGLE_FILE);
+        metadata.setFileName(file.getFileName().toString());
+        metadata.setStoragePath(file.toString());
+        metadata.setChecksumSha256(sha256);
+        metadata.setFileSizeBytes(recordedSize);
+        catalog.put(metadata);
+    }
+
+    private static BackupMetadata metadata(String backupId, ArtifactFormat format) {
+        BackupMetadata metadata = new BackupMetadata();
+        metadata.setBackupId(backupId);
+        metadata.setDbName("shop");
+        metadata.setDbType(DatabaseType.MYSQL);
+        metadata.setStorageType(StorageType.LOCAL);
+        metadata.setArtifactFormat(format);
+        metadata.setCompression(CompressionType.ZSTD);
+        metadata.setStatus("SUCCESS");
+        return metadata;
+    }
+
+    private byte[] compress(byte[] data) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (OutputStream out = codec.compress(buffer, CompressionOptions.DEFAULT)) {
+            out.write(data);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static byte[] sampleDump(long seed) {
+        Random random = new Random(seed);
+        StringBuilder sql = new StringBuilder();
+        for (int i = 0; i < 5_000; i++) {
+            sql.append("INSERT INTO `orders` VALUES (").append(i).append(",'")
+                    .append(Long.toHexString(random.nextLong())).append("');\n");
+        }
+        return sql.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static VerificationRecordRepository recordRepository() {
+        return (VerificationRecordRepository) Proxy.newProxyInstance(
+                VerificationServiceTest.class.getClassLoader(), new Class<?>[]{VerificationRecordRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "save" -> args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static final class FailingAfterFirstRead extends FilterInputStream {
+        private boolean readOnce;
+
+        FailingAfterFirstRead(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (readOnce) {
+                throw new IOException("Connection reset");
+            }
+            readOnce = true;
+            return super.read(b, off, Math.min(len, 16));
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package dev.pollywag.multidbbackupservice.service;
+
+import dev.pollywag.multidbbackupservice.exception.BackupException;
+import dev.pollywag.multidbbackupservice.model.entity.BackupLog;
+import dev.pollywag.multidbbackupservice.model.entity.BackupMetadata;
+import dev.pollywag.multidbbackupservice.repository.BackupLogRepository;
+import dev.pollywag.multidbbackupservice.repository.BackupMetadataRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WriteBehindWriterTest {
+
+    private final Map<String, BackupLog> storedLogs = new ConcurrentHashMap<>();
+    private final Map<String, BackupMetadata> storedMetadata = new ConcurrentHashMap<>();
+    private final List<List<BackupLog>> logBatches = new CopyOnWriteArrayList<>();
+    private volatile boolean failing;
+    private volatile CountDownLatch commitGate = new CountDownLatch(0);
+    private final CountDownLatch commitStarted = new CountDownLatch(1);
+
+    private final WriteBehindWriter writer = new WriteBehindWriter(
+            logRepository(), metadataRepository(), new BackupCatalog(null), new NoopTransactionManager(),
+            true, 200, 10_000);
+
+    @AfterEach
+    void stop() throws InterruptedException {
+        commitGate.countDown();
+        writer.shutdown();
+    }
+
+    @Test
+    void coalescesSnapshotsQueuedBehindACommit() throws Exception {
+        commitGate = new CountDownLatch(1);
+        writer.start();
+
+        BackupLog job = log("job-1", "STARTED");
+        writer.saveLog(job);
+        assertTrue(commitStarted.await(5, TimeUnit.SECONDS));
+
+        // Piles up while the first commit is held
+        job.setStatus("RUNNING");
+        writer.saveLog(job);
+        job.setStatus("SUCCESS");
+        writer.saveLog(job);
+        writer.saveLog(log("job-2", "STARTED"));
+
+        commitGate.countDown();
+        writer.flush();
+
+        assertEquals(2, logBatches.size());
+        assertEquals(List.of("job-1:SUCCESS", "job-2:STARTED"),
+                logBatches.get(1).stream().map(l -> l.getId() + ":" + l.getStatus()).toList());
+        assertEquals("SUCCESS", storedLogs.get("job-1").getStatus());
+    }
+
+    @Test
+    void servesUncommittedLogsFromTheOverlay() throws Exception {
+        commitGate = new CountDownLatch(1);
+        writer.start();
+
+        BackupLog job = log("job-1", "STARTED");
+        writer.saveLog(job);
+        assertTrue(commitStarted.await(5, TimeUnit.SECONDS));
+        job.setStatus("SUCCESS");
+        writer.saveLog(job);
+
+        // A snapshot, not the caller's object
+        job.setStatus("MUTATED");
+        assertEquals("SUCCESS", writer.findLog("job-1").orElseThrow().getStatus());
+        assertTrue(storedLogs.isEmpty());
+
+        commitGate.countDown();
+        writer.flush();
+        assertEquals("SUCCESS", storedLogs.get("job-1").getStatus());
+        assertEquals("SUCCESS", writer.findLog("job-1").orElseThrow().getStatus());
+    }
+
+    @Test
+    void failedCommitFailsTheFlushAndIsRetried() {
+        writer.start();
+        failing = true;
+
+        writer.saveLog(log("job-1", "SUCCESS"));
+        BackupMetadata metadata = new BackupMetadata();
+        metadata.setBackupId("job-1");
+        writer.saveMetadata(metadata);
+
+        assertThrows(BackupException.class, writer::flush);
+        assertTrue(storedLogs.isEmpty());
+        assertEquals("SUCCESS", writer.findLog("job-1").orElseThrow().getStatus());
+
+        // The next batch carries the failed rows
+        failing = false;
+        writer.flush();
+        assertEquals("SUCCESS", storedLogs.get("job-1").getStatus());
+        assertTrue(storedMetadata.containsKey("job-1"));
+    }
+
+    @Test
+    void shutdownWritesEverythingSavedAroundIt() throws Exception {
+        writer.start();
+
+        List<Thread> producers = new ArrayList<>();
+        CountDownLatch halfway = new CountDownLatch(4);
+        for (int p = 0; p < 4; p++) {
+            int producer = p;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 500; i++) {
+                    if (i == 250) {
+                        halfway.countDown();
+                    }
+                    writer.saveLog(log("job-" + producer + "-" + i, "SUCCESS"));
+                }
+            });
+            thread.start();
+            producers.add(thread);
+        }
+
+        assertTrue(halfway.await(5, TimeUnit.SECONDS));
+        writer.shutdown();
+        for (Thread thread : producers) {
+            thread.join();
+        }
+
+        // Queued before the shutdown or saved directly after it, nothing is lost
+        assertEquals(2000, storedLogs.size());
+        writer.flush();
+    }
+
+    // ─── Helpers ──────────────────────────────────────────────────────────────
+
+    private static BackupLog log(String id, String status) {
+        BackupLog log = new BackupLog();
+        log.setId(id);
+        log.setStatus(status);
+        return log;
+    }
+
+    private void commit() {
+        commitStarted.countDown();
+        try {
+            commitGate.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (failing) {
+            throw new IllegalStateException("SQLITE_BUSY");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private BackupLogRepository logRepository() {
+        return (BackupLogRepository) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[]{BackupLogRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "saveAll" -> {
+                        commit();
+                        List<BackupLog> batch = new ArrayList<>();
+                        ((Iterable<BackupLog>) args[0]).forEach(batch::add);
+                        logBatches.add(batch);
+                        batch.forEach(l -> storedLogs.put(l.getId(), l));
+                        yield batch;
+                    }
+                    case "save" -> {
+                        BackupLog l = (BackupLog) args[0];
+                        storedLogs.put(l.getId(), l);
+                        yield l;
+                    }
+                    case "findById" -> Optional.ofNullable(storedLogs.get((String) args[0]));
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    @SuppressWarnings("unchecked")
+    private BackupMetadataRepository metadataRepository() {
+        return (BackupMetadataRepository) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[]{BackupMetadataRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "saveAll" -> {
+                        List<BackupMetadata> batch = new ArrayList<>();
+                        ((Iterable<BackupMetadata>) args[0]).forEach(batch::add);
+                        batch.forEach(m -> storedMetadata.put(m.getBackupId(), m));
+                        yield batch;
+                    }
+                    case "save" -> {
+                        BackupMetadata m = (BackupMetadata) args[0];
+                        storedMetadata.put(m.getBackupId(), m);
+                        yield m;
+                    }
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    /** Runs the callback as is: the fake repositories have nothing to roll back. */
+    private static final class NoopTransactionManager implements PlatformTransactionManager {
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package dev.pollywag.multidbbackupservice.strategy.database;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class BinlogCoordinatesScannerTest {
+
+    @Test
+    void readsCoordinatesAndWrappedGtidSetWithoutAlteringTheDump() throws Exception {
+        String dump = """
+                -- MySQL dump 10.13
+                SET @@SESSION.SQL_LOG_BIN= 0;
+                SET @@GLOBAL.GTID_PURGED=/*!80000 '+'*/ '3e11fa47-71ca-11e1-9e33-c80aa9429562:1-5,
+                9a8b7c6d-0000-11e1-9e33-c80aa9429562:1-12';
+                -- CHANGE REPLICATION SOURCE TO SOURCE_LOG_FILE='binlog.000042', SOURCE_LOG_POS=157;
+                CREATE TABLE `orders` (`id` int);
+                """;
+        byte[] bytes = dump.getBytes(StandardCharsets.UTF_8);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinlogCoordinatesScanner scanner = new BinlogCoordinatesScanner(out);
+        // Split writes so lines straddle calls
+        for (int off = 0; off < bytes.length; off += 7) {
+            scanner.write(bytes, off, Math.min(7, bytes.length - off));
+        }
+
+        assertArrayEquals(bytes, out.toByteArray());
+        BinlogPosition position = scanner.getPosition();
+        assertEquals("binlog.000042", position.file());
+        assertEquals(157, position.position());
+        assertEquals("3e11fa47-71ca-11e1-9e33-c80aa9429562:1-5,9a8b7c6d-0000-11e1-9e33-c80aa9429562:1-12",
+                position.gtidSet());
+    }
+
+    @Test
+    void returnsNullWithoutHeader() throws Exception {
+        BinlogCoordinatesScanner scanner = new BinlogCoordinatesScanner(new ByteArrayOutputStream());
+        scanner.write("CREATE TABLE `orders` (`id` int);\n".getBytes(StandardCharsets.UTF_8));
+        assertNull(scanner.getPosition());
+    }
+}
@@ -0,0 +1,109 @@
+package dev.pollywag.multidbbackupservice.strategy.database;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BinlogCutoffInputStreamTest {
+
+    private static final String LOG = """
+            /*!50530 SET @@SESSION.PSEUDO_SLAVE_MODE=1*/;
+            DELIMITER /*!*/;
+            # at 4
+            #700101  0:00:00 server id 1  end_log_pos 0 CRC32 0x00000000 	Rotate to binlog.000042  pos: 157
+            # at 157
+            #240301 10:00:00 server id 1  end_log_pos 236 CRC32 0x1a2b3c4d 	GTID	last_committed=0	sequence_number=1
+            SET @@SESSION.GTID_NEXT= '3e11fa47-71ca-11e1-9e33-c80aa9429562:101'/*!*/;
+            # at 236
+            #240301 10:00:00 server id 1  end_log_pos 311 CRC32 0x1a2b3c4d 	Query	thread_id=8	exec_time=0	error_code=0
+            SET TIMESTAMP=1709287200/*!*/;
+            INSERT INTO orders VALUES (1)
+            /*!*/;
+            COMMIT/*!*/;
+            # at 400
+            #240301 10:05:00 server id 1  end_log_pos 479 CRC32 0x1a2b3c4d 	GTID	last_committed=1	sequence_number=2
+            SET @@SESSION.GTID_NEXT= '3e11fa47-71ca-11e1-9e33-c80aa9429562:102'/*!*/;
+            # at 479
+            #240301 10:05:00 server id 1  end_log_pos 560 CRC32 0x1a2b3c4d 	Query	thread_id=8	exec_time=0	error_code=0
+            SET TIMESTAMP=1709287500/*!*/;
+            INSERT INTO orders VALUES (2)
+            /*!*/;
+            COMMIT/*!*/;
+            SET @@SESSION.GTID_NEXT= 'AUTOMATIC' /* added by mysqlbinlog */ /*!*/;
+            DELIMITER ;
+            # End of log file
+            """;
+
+    @Test
+    void stopsBeforeFirstEventAfterTargetTime() throws Exception {
+        BinlogCutoffInputStream in = open(LocalDateTime.of(2024, 3, 1, 10, 2), null);
+        String replayed = readAll(in);
+
+        assertTrue(in.isCutOff());
+        assertTrue(replayed.contains("INSERT INTO orders VALUES (1)"));
+        assertFalse(replayed.contains("VALUES (2)"));
+        assertFalse(replayed.contains("# at 400"), "position line of the dropped event is held back");
+        assertTrue(replayed.endsWith("ROLLBACK /*!*/;\nSET @@SESSION.GTID_NEXT= 'AUTOMATIC' /*!*/;\nDELIMITER ;\n# End of log file\n"));
+    }
+
+    @Test
+    void stopsAfterTargetGtid() throws Exception {
+        BinlogCutoffInputStream in = open(null, "3E11FA47-71CA-11E1-9E33-C80AA9429562:101");
+        String replayed = readAll(in);
+
+        assertTrue(in.isCutOff());
+        assertTrue(replayed.contains("VALUES (1)"));
+        assertFalse(replayed.contains("VALUES (2)"));
+    }
+
+    @Test
+    void passesWholeLogThroughWhenTargetIsLater() throws Exception {
+        BinlogCutoffInputStream in = open(LocalDateTime.of(2024, 3, 1, 11, 0), null);
+        assertEquals(LOG.replaceAll("SET @@SESSION.GTID_NEXT= '3e11fa47[^\n]*\n", ""), readAll(in));
+        assertFalse(in.isCutOff());
+    }
+
+    @Test
+    void dropsTransactionGtidsSoTheTargetDoesNotSkipThem() throws Exception {
+        String replayed = readAll(open(LocalDateTime.of(2024, 3, 1, 11, 0), null));
+        assertFalse(replayed.contains("3e11fa47"));
+        assertTrue(replayed.contains("SET @@SESSION.GTID_NEXT= 'AUTOMATIC' /* added by mysqlbinlog */ /*!*/;\n"));
+
+        BinlogCutoffInputStream in = open(null, "3e11fa47-71ca-11e1-9e33-c80aa9429562:101");
+        replayed = readAll(in);
+        assertTrue(in.isCutOff(), "stop GTID is still found after its line is dropped");
+        assertFalse(replayed.contains("3e11fa47"));
+    }
+
+    @Test
+    void gtidSetMembership() {
+        String set = "3e11fa47-71ca-11e1-9e33-c80aa9429562:1-5:7,\n9a8b7c6d-0000-11e1-9e33-c80aa9429562:tag:1-12";
+        assertTrue(GtidSet.contains(set, "3e11fa47-71ca-11e1-9e33-c80aa9429562:7"));
+        assertFalse(GtidSet.contains(set, "3e11fa47-71ca-11e1-9e33-c80aa9429562:6"));
+        assertTrue(GtidSet.contains(set, "9a8b7c6d-0000-11e1-9e33-c80aa9429562:tag:12"));
+        assertFalse(GtidSet.contains(set, "9a8b7c6d-0000-11e1-9e33-c80aa9429562:12"));
+    }
+
+    private static BinlogCutoffInputStream open(LocalDateTime stopTime, String stopGtid) {
+        return new BinlogCutoffInputStream(
+                new ByteArrayInputStream(LOG.getBytes(StandardCharsets.UTF_8)), stopTime, stopGtid);
+    }
+
+    private static String readAll(InputStream in) throws Exception {
+        // Small reads so lines are handed out across calls
+        StringBuilder text = new StringBuilder();
+        byte[] buffer = new byte[13];
+        int n;
+        while ((n = in.read(buffer)) != -1) {
+            text.append(new String(buffer, 0, n, StandardCharsets.UTF_8));
+        }
+        return text.toString();
+    }
+}
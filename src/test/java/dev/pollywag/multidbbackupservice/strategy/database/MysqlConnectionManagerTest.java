@@ -0,0 +1,54 @@
+package dev.pollywag.multidbbackupservice.strategy.database;
+
+import dev.pollywag.multidbbackupservice.model.enums.DatabaseType;
+import dev.pollywag.multidbbackupservice.model.request.BackupRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MysqlConnectionManagerTest {
+
+    // Nothing listens on port 1, so every borrow fails fast without a server
+    private final MysqlConnectionManager connections = new MysqlConnectionManager(1, 10_000, 250, 1000);
+
+    @AfterEach
+    void tearDown() {
+        connections.shutdown();
+    }
+
+    @Test
+    void changedPasswordGetsItsOwnPoolInsteadOfClosingTheOldOne() {
+        assertThrows(SQLException.class, () -> connections.getConnection(request("old-secret")));
+        assertThrows(SQLException.class, () -> connections.getConnection(request("new-secret")));
+        assertThrows(SQLException.class, () -> connections.getConnection(request("old-secret")));
+
+        assertEquals(2, connections.getPoolCount());
+    }
+
+    @Test
+    void unusedPoolsAreClosedByTheEvictor() throws Exception {
+        assertThrows(SQLException.class, () -> connections.getConnection(request("old-secret")));
+        assertThrows(SQLException.class, () -> connections.getConnection(request("new-secret")));
+
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (connections.getPoolCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+        assertEquals(0, connections.getPoolCount());
+    }
+
+    private static BackupRequest request(String password) {
+        BackupRequest request = new BackupRequest();
+        request.setDbType(DatabaseType.MYSQL);
+        request.setHost("127.0.0.1");
+        request.setPort(1);
+        request.setUsername("backup");
+        request.setPassword(password);
+        request.setDbName("shop");
+        return request;
+    }
+}
@@ -0,0 +1,100 @@
+package dev.pollywag.multidbbackupservice.strategy.database;
+
+import dev.pollywag.multidbbackupservice.exception.BackupException;
+import dev.pollywag.multidbbackupservice.model.request.BackupRequest;
+import dev.pollywag.multidbbackupservice.pipeline.StreamPipeline;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the dump path against ordinary shell commands standing in for mysqldump.
+ */
+@EnabledOnOs({OS.LINUX, OS.MAC})
+class MysqlDumpProcessTest {
+
+    private static final Duration LIMIT = Duration.ofSeconds(10);
+
+    @Test
+    void failingStoreKillsTheDump() {
+        // `yes` never ends on its own: only killing it lets the backup return
+        MysqlBackupStrategy strategy = strategy("sh -c yes");
+        IllegalStateException storeFailure = new IllegalStateException("upload rejected");
+
+        IllegalStateException thrown = assertTimeoutPreemptively(LIMIT, () -> assertThrows(IllegalStateException.class,
+                () -> StreamPipeline.run("dump", 64 * 1024, 4,
+                        out -> strategy.streamBackup(request(), out),
+                        in -> {
+                            in.readNBytes(1024 * 1024);
+                            throw storeFailure;
+                        })));
+        assertInstanceOf(IllegalStateException.class, thrown);
+    }
+
+    @Test
+    void failingDumpAbortsTheStore() {
+        MysqlBackupStrategy strategy = strategy("sh -c false");
+        AtomicBoolean storeCompleted = new AtomicBoolean();
+
+        BackupException thrown = assertTimeoutPreemptively(LIMIT, () -> assertThrows(BackupException.class,
+                () -> StreamPipeline.run("dump", 64 * 1024, 4,
+                        out -> strategy.streamBackup(request(), out),
+                        in -> {
+                            in.transferTo(OutputStream.nullOutputStream());
+                            storeCompleted.set(true);
+                            return null;
+                        })));
+        assertFalse(storeCompleted.get(), "store must not finish an artifact for a failed dump");
+        assertTrue(thrown.getMessage().contains("exit code 1"), thrown.getMessage());
+    }
+
+    @Test
+    void sinkFailureIsNotReportedAsAnInterrupt() {
+        MysqlBackupStrategy strategy = strategy("sh -c yes");
+        OutputStream failing = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("disk full");
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                throw new IOException("disk full");
+            }
+        };
+
+        assertTimeoutPreemptively(LIMIT, () -> assertThrows(BackupException.class,
+                () -> strategy.streamBackup(request(), failing)));
+        assertFalse(Thread.interrupted(), "an I/O failure must not leave the thread interrupted");
+    }
+
+    private static MysqlBackupStrategy strategy(String dumpCommand) {
+        MysqlBackupStrategy strategy = new MysqlBackupStrategy(null, null);
+        // sh -c takes mysqldump's arguments as positional parameters and ignores them
+        ReflectionTestUtils.setField(strategy, "dumpCommand", dumpCommand);
+        ReflectionTestUtils.setField(strategy, "recordBinlogPosition", false);
+        return strategy;
+    }
+
+    private static BackupRequest request() {
+        BackupRequest request = new BackupRequest();
+        request.setHost("localhost");
+        request.setPort(3306);
+        request.setUsername("backup");
+        request.setPassword("secret");
+        request.setDbName("shop");
+        return request;
+    }
+}
@@ -0,0 +1,172 @@
+package dev.pollywag.multidbbackupservice.strategy.database;
+
+import dev.pollywag.multidbbackupservice.model.enums.SegmentKind;
+import dev.pollywag.multidbbackupservice.model.manifest.ManifestSegment;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MysqlParallelDumperTest {
+
+    private static final String PREFIX = "INSERT INTO `t` (`a`,`b`,`c`) VALUES ";
+
+    // ─── Statement rendering ──────────────────────────────────────────────────
+
+    @Test
+    void rendersValuesByColumnType() throws Exception {
+        ResultSet rs = rows(new int[]{Types.INTEGER, Types.VARCHAR, Types.BLOB},
+                new Object[]{"1", "it's", new byte[]{(byte) 0xCA, (byte) 0xFE}},
+                new Object[]{null, null, null},
+                new Object[]{"-2.5", "", new byte[0]});
+
+        StringWriter out = new StringWriter();
+        long rows = MysqlParallelDumper.writeInserts(out, PREFIX, rs, 1 << 20);
+
+        assertEquals(3, rows);
+        assertEquals(PREFIX + "(1,'it\\'s',0xcafe),(NULL,NULL,NULL),(-2.5,'','');\n", out.toString());
+    }
+
+    @Test
+    void escapesStringsOntoOneLine() {
+        StringBuilder sb = new StringBuilder();
+        MysqlParallelDumper.appendQuoted(sb, "a\\b'c\0d\ne\rf\u001Ag");
+        assertEquals("'a\\\\b\\'c\\0d\\ne\\rf\\Zg'", sb.toString());
+    }
+
+    @Test
+    void quotesIdentifiers() {
+        assertEquals("`orders`", MysqlParallelDumper.quote("orders"));
+        assertEquals("`we``ird`", MysqlParallelDumper.quote("we`ird"));
+        assertEquals("LOCK TABLES `a` READ, `b``c` READ", MysqlParallelDumper.lockTablesSql(List.of("a", "b`c")));
+    }
+
+    @Test
+    void splitsInsertsAtStatementLimit() throws Exception {
+        List<Object[]> data = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            data.add(new Object[]{String.valueOf(i), "row-" + i, new byte[]{(byte) i}});
+        }
+        ResultSet rs = rows(new int[]{Types.BIGINT, Types.VARCHAR, Types.VARBINARY}, data.toArray(Object[][]::new));
+
+        StringWriter out = new StringWriter();
+        int limit = 200;
+        long rows = MysqlParallelDumper.writeInserts(out, PREFIX, rs, limit);
+
+        assertEquals(100, rows);
+        String[] statements = out.toString().split("\n");
+        assertTrue(statements.length > 1);
+        int rendered = 0;
+        for (String statement : statements) {
+            assertTrue(statement.startsWith(PREFIX) && statement.endsWith(");"), statement);
+            // A statement is cut right after the row that reaches the limit
+            String values = statement.substring(PREFIX.length(), statement.length() - 1);
+            int lastRow = values.lastIndexOf(",(");
+            assertTrue(lastRow < 0 || PREFIX.length() + lastRow < limit, statement);
+            rendered += values.split("\\),\\(").length;
+        }
+        assertEquals(100, rendered);
+        assertTrue(out.toString().contains("(99,'row-99',0x63);\n"));
+    }
+
+    @Test
+    void writesNothingForEmptyTable() throws Exception {
+        StringWriter out = new StringWriter();
+        long rows = MysqlParallelDumper.writeInserts(out, PREFIX, rows(new int[]{Types.INTEGER}), 1 << 20);
+
+        assertEquals(0, rows);
+        assertEquals("", out.toString());
+    }
+
+    @Test
+    void wrapsPostDataInTriggerDelimiter() throws Exception {
+        StringWriter out = new StringWriter();
+        MysqlParallelDumper.writePostData(out, List.of(
+                "CREATE VIEW `v` AS SELECT 1;;\n",
+                "CREATE TRIGGER `trg` BEFORE INSERT ON `t` FOR EACH ROW BEGIN SET NEW.a = 1; END;;\n"));
+
+        assertEquals("""
+                -- Views and triggers
+                DELIMITER ;;
+                CREATE VIEW `v` AS SELECT 1;;
+                CREATE TRIGGER `trg` BEFORE INSERT ON `t` FOR EACH ROW BEGIN SET NEW.a = 1; END;;
+                DELIMITER ;
+                """, out.toString());
+    }
+
+    // ─── Segment layout ───────────────────────────────────────────────────────
+
+    @Test
+    void namesSegmentsByOrdinalAndSafeTableName() {
+        assertEquals("00003-orders.schema.sql", MysqlParallelDumper.segmentName(3, "orders", "schema"));
+        assertEquals("00012-my_table_.data.sql", MysqlParallelDumper.segmentName(12, "my table/", "data"));
+        assertEquals("00001-v1.2-x.data.sql", MysqlParallelDumper.segmentName(1, "v1.2-x", "data"));
+    }
+
+    @Test
+    void ordersManifestSchemaBeforeDataAndPostDataLast() {
+        // Workers finish in any order
+        List<ManifestSegment> finished = List.of(
+                segment("big", SegmentKind.DATA, MysqlParallelDumper.segmentName(0, "big", "data")),
+                segment(null, SegmentKind.POST_DATA, MysqlParallelDumper.POST_DATA_SEGMENT),
+                segment("small", SegmentKind.SCHEMA, MysqlParallelDumper.segmentName(10, "small", "schema")),
+                segment("small", SegmentKind.DATA, MysqlParallelDumper.segmentName(10, "small", "data")),
+                segment("big", SegmentKind.SCHEMA, MysqlParallelDumper.segmentName(0, "big", "schema")),
+                segment("mid", SegmentKind.DATA, MysqlParallelDumper.segmentName(2, "mid", "data")),
+                segment("mid", SegmentKind.SCHEMA, MysqlParallelDumper.segmentName(2, "mid", "schema")));
+
+        List<ManifestSegment> sorted = MysqlParallelDumper.sortSegments(new ArrayList<>(finished));
+
+        assertEquals(List.of(
+                "00000-big.schema.sql", "00000-big.data.sql",
+                "00002-mid.schema.sql", "00002-mid.data.sql",
+                "00010-small.schema.sql", "00010-small.data.sql",
+                "99999-post-data.sql"),
+                sorted.stream().map(ManifestSegment::getFileName).toList());
+    }
+
+    // ─── Helpers ──────────────────────────────────────────────────────────────
+
+    private static ManifestSegment segment(String table, SegmentKind kind, String fileName) {
+        return new ManifestSegment(table, kind, fileName, 0, 0, null);
+    }
+
+    /** A forward-only result set over in-memory rows; binary columns hold byte[], the rest strings. */
+    private static ResultSet rows(int[] types, Object[]... data) {
+        ResultSetMetaData md = (ResultSetMetaData) Proxy.newProxyInstance(
+                MysqlParallelDumperTest.class.getClassLoader(), new Class<?>[]{ResultSetMetaData.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getColumnCount" -> types.length;
+                    case "getColumnType" -> types[(int) args[0] - 1];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+
+        List<Object[]> remaining = new ArrayList<>(Arrays.asList(data));
+        Object[][] current = new Object[1][];
+        return (ResultSet) Proxy.newProxyInstance(
+                MysqlParallelDumperTest.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getMetaData" -> md;
+                    case "next" -> {
+                        current[0] = remaining.isEmpty() ? null : remaining.remove(0);
+                        yield current[0] != null;
+                    }
+                    case "getString" -> {
+                        Object value = current[0][(int) args[0] - 1];
+                        yield value instanceof byte[] bytes ? new String(bytes, StandardCharsets.UTF_8) : value;
+                    }
+                    case "getBytes" -> current[0][(int) args[0] - 1];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,79 @@
+package dev.pollywag.multidbbackupservice.strategy.database;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MysqlParallelRestorerTest {
+
+    @Test
+    void movesSecondaryKeysOutOfCreateTable() {
+        String schema = """
+                SET FOREIGN_KEY_CHECKS=0;
+                DROP TABLE IF EXISTS `orders`;
+                CREATE TABLE `orders` (
+                  `id` int NOT NULL AUTO_INCREMENT,
+                  `customer` varchar(64) NOT NULL,
+                  `note` text,
+                  PRIMARY KEY (`id`),
+                  UNIQUE KEY `uk_customer_note` (`customer`,`note`(10)),
+                  KEY `idx_customer` (`customer`),
+                  FULLTEXT KEY `ft_note` (`note`)
+                ) ENGINE=InnoDB AUTO_INCREMENT=42 DEFAULT CHARSET=utf8mb4;
+                """;
+
+        MysqlParallelRestorer.DeferredIndexes split = MysqlParallelRestorer.deferIndexes(schema);
+
+        assertEquals(List.of("KEY `idx_customer` (`customer`)", "FULLTEXT KEY `ft_note` (`note`)"),
+                split.indexDefinitions());
+        assertEquals("""
+                SET FOREIGN_KEY_CHECKS=0;
+                DROP TABLE IF EXISTS `orders`;
+                CREATE TABLE `orders` (
+                  `id` int NOT NULL AUTO_INCREMENT,
+                  `customer` varchar(64) NOT NULL,
+                  `note` text,
+                  PRIMARY KEY (`id`),
+                  UNIQUE KEY `uk_customer_note` (`customer`,`note`(10))
+                ) ENGINE=InnoDB AUTO_INCREMENT=42 DEFAULT CHARSET=utf8mb4;
+                """, split.createSql());
+    }
+
+    @Test
+    void keepsKeyThatCarriesAutoIncrementColumn() {
+        String schema = """
+                CREATE TABLE `events` (
+                  `seq` bigint NOT NULL AUTO_INCREMENT,
+                  `kind` int NOT NULL,
+                  KEY `idx_seq` (`seq`),
+                  KEY `idx_kind` (`kind`)
+                ) ENGINE=InnoDB;
+                """;
+
+        MysqlParallelRestorer.DeferredIndexes split = MysqlParallelRestorer.deferIndexes(schema);
+
+        assertEquals(List.of("KEY `idx_kind` (`kind`)"), split.indexDefinitions());
+        assertTrue(split.createSql().contains("KEY `idx_seq` (`seq`)\n) ENGINE=InnoDB;"));
+    }
+
+    @Test
+    void leavesTablesWithForeignKeysUntouched() {
+        String schema = """
+                CREATE TABLE `lines` (
+                  `id` int NOT NULL,
+                  `order_id` int NOT NULL,
+                  PRIMARY KEY (`id`),
+                  KEY `fk_order` (`order_id`),
+                  CONSTRAINT `fk_order` FOREIGN KEY (`order_id`) REFERENCES `orders` (`id`)
+                ) ENGINE=InnoDB;
+                """;
+
+        MysqlParallelRestorer.DeferredIndexes split = MysqlParallelRestorer.deferIndexes(schema);
+
+        assertTrue(split.indexDefinitions().isEmpty());
+        assertEquals(schema, split.createSql());
+    }
+}
@@ -0,0 +1,73 @@
+package dev.pollywag.multidbbackupservice.strategy.database;
+
+import dev.pollywag.multidbbackupservice.model.request.BackupRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MysqlSchemaCatalogTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void servesCachedSchemaWithinTtlAndRefreshReloads() throws Exception {
+        MysqlSchemaCatalog catalog = catalog(60_000);
+        BackupRequest shop = request("shop");
+
+        MysqlSchemaCatalog.Schema first = catalog.get(shop);
+        assertSame(first, catalog.get(shop));
+        assertEquals(1, loads.get());
+        assertTrue(first.tables().containsKey("shop_orders"));
+
+        MysqlSchemaCatalog.Schema refreshed = catalog.refresh(shop);
+        assertNotSame(first, refreshed);
+        assertSame(refreshed, catalog.get(shop));
+        assertEquals(2, loads.get());
+
+        catalog.get(request("billing"));
+        assertEquals(3, loads.get());
+
+        catalog.invalidate(shop);
+        catalog.get(shop);
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void reloadsOnceTtlHasPassed() throws Exception {
+        MysqlSchemaCatalog catalog = catalog(0);
+        BackupRequest shop = request("shop");
+
+        catalog.get(shop);
+        catalog.get(shop);
+        assertEquals(2, loads.get());
+    }
+
+    private MysqlSchemaCatalog catalog(long ttlMs) {
+        return new MysqlSchemaCatalog(null, ttlMs) {
+            @Override
+            Map<String, TableStats> load(BackupRequest request) {
+                loads.incrementAndGet();
+                Map<String, TableStats> tables = new LinkedHashMap<>();
+                String name = request.getDbName() + "_orders";
+                tables.put(name, new TableStats(name, 1000, 65536, 16384, "1001", "2026-01-01 00:00:00",
+                        "2026-01-02 00:00:00", false));
+                return tables;
+            }
+        };
+    }
+
+    private static BackupRequest request(String dbName) {
+        BackupRequest request = new BackupRequest();
+        request.setHost("db1");
+        request.setPort(3306);
+        request.setDbName(dbName);
+        return request;
+    }
+}
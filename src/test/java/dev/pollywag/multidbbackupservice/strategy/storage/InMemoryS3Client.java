@@ -0,0 +1,165 @@
+package dev.pollywag.multidbbackupservice.strategy.storage;
+
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * Offline stand-in for S3 covering the calls the storage strategy makes:
+ * single PUT, multipart upload, HEAD and (ranged) GET.
+ */
+class InMemoryS3Client implements S3Client {
+
+    final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+    final Map<String, Map<Integer, byte[]>> uploads = new ConcurrentHashMap<>();
+    final AtomicInteger abortedUploads = new AtomicInteger();
+    final AtomicInteger partAttempts = new AtomicInteger();
+    final AtomicInteger maxConcurrentParts = new AtomicInteger();
+    private final AtomicInteger concurrentParts = new AtomicInteger();
+
+    /** Decides per part number whether the next attempt should fail; consulted on every attempt. */
+    volatile Predicate<Integer> failPart = part -> false;
+    volatile RuntimeException partFailure;
+
+    @Override
+    public PutObjectResponse putObject(PutObjectRequest request, RequestBody body) {
+        objects.put(path(request.bucket(), request.key()), read(body));
+        return PutObjectResponse.builder().eTag(UUID.randomUUID().toString()).build();
+    }
+
+    @Override
+    public CreateMultipartUploadResponse createMultipartUpload(CreateMultipartUploadRequest request) {
+        String uploadId = UUID.randomUUID().toString();
+        uploads.put(uploadId, new ConcurrentHashMap<>());
+        return CreateMultipartUploadResponse.builder().uploadId(uploadId).build();
+    }
+
+    @Override
+    public UploadPartResponse uploadPart(UploadPartRequest request, RequestBody body) {
+        partAttempts.incrementAndGet();
+        int current = concurrentParts.incrementAndGet();
+        maxConcurrentParts.accumulateAndGet(current, Math::max);
+        try {
+            byte[] data = read(body);
+            // Give other part uploads a chance to overlap
+            Thread.sleep(20);
+            if (failPart.test(request.partNumber())) {
+                throw partFailure;
+            }
+            uploads.get(request.uploadId()).put(request.partNumber(), data);
+            return UploadPartResponse.builder().eTag("etag-" + request.partNumber()).build();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } finally {
+            concurrentParts.decrementAndGet();
+        }
+    }
+
+    @Override
+    public CompleteMultipartUploadResponse completeMultipartUpload(CompleteMultipartUploadRequest request) {
+        Map<Integer, byte[]> parts = uploads.remove(request.uploadId());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (CompletedPart part : request.multipartUpload().parts()) {
+            out.writeBytes(parts.get(part.partNumber()));
+        }
+        objects.put(path(request.bucket(), request.key()), out.toByteArray());
+        return CompleteMultipartUploadResponse.builder().build();
+    }
+
+    @Override
+    public AbortMultipartUploadResponse abortMultipartUpload(AbortMultipartUploadRequest request) {
+        uploads.remove(request.uploadId());
+        abortedUploads.incrementAndGet();
+        return AbortMultipartUploadResponse.builder().build();
+    }
+
+    @Override
+    public HeadObjectResponse headObject(HeadObjectRequest request) {
+        byte[] data = require(request.bucket(), request.key());
+        return HeadObjectResponse.builder()
+                .contentLength((long) data.length)
+                .eTag("\"" + Arrays.hashCode(data) + "\"")
+                .build();
+    }
+
+    @Override
+    public ResponseInputStream<GetObjectResponse> getObject(GetObjectRequest request) {
+        byte[] data = require(request.bucket(), request.key());
+        int from = 0;
+        int to = data.length - 1;
+        if (request.range() != null) {
+            // bytes=<from>-<to>
+            String[] bounds = request.range().substring("bytes=".length()).split("-");
+            from = Integer.parseInt(bounds[0]);
+            to = Math.min(Integer.parseInt(bounds[1]), data.length - 1);
+        }
+        byte[] slice = Arrays.copyOfRange(data, from, to + 1);
+        GetObjectResponse response = GetObjectResponse.builder()
+                .contentLength((long) slice.length)
+                .build();
+        return new ResponseInputStream<>(response, AbortableInputStream.create(new ByteArrayInputStream(slice)));
+    }
+
+    @Override
+    public String serviceName() {
+        return "s3";
+    }
+
+    @Override
+    public void close() {
+    }
+
+    byte[] object(String bucket, String key) {
+        return objects.get(path(bucket, key));
+    }
+
+    private byte[] require(String bucket, String key) {
+        byte[] data = objects.get(path(bucket, key));
+        if (data == null) {
+            throw NoSuchKeyException.builder().message("No such key: " + key).statusCode(404).build();
+        }
+        return data;
+    }
+
+    private static String path(String bucket, String key) {
+        return bucket + "/" + key;
+    }
+
+    private static byte[] read(RequestBody body) {
+        try (InputStream in = body.contentStreamProvider().newStream()) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
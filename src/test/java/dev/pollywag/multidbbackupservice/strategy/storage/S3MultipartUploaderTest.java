@@ -0,0 +1,113 @@
+package dev.pollywag.multidbbackupservice.strategy.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.io.ByteArrayInputStream;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class S3MultipartUploaderTest {
+
+    private static final int PART_SIZE = S3MultipartUploader.MIN_PART_SIZE;
+
+    private final InMemoryS3Client s3 = new InMemoryS3Client();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void uploadsStreamOfUnknownLengthInParallelParts() throws Exception {
+        byte[] data = randomBytes(PART_SIZE * 4 + 12345);
+        S3MultipartUploader uploader = new S3MultipartUploader(s3, executor, PART_SIZE, 3, 3);
+
+        long uploaded = uploader.upload("bucket", "db/dump.sql.gz", new ByteArrayInputStream(data));
+
+        assertEquals(data.length, uploaded);
+        assertArrayEquals(data, s3.object("bucket", "db/dump.sql.gz"));
+        assertEquals(5, s3.partAttempts.get());
+        assertTrue(s3.maxConcurrentParts.get() > 1, "parts should upload concurrently");
+        assertTrue(s3.maxConcurrentParts.get() <= 3, "concurrency limit exceeded");
+    }
+
+    @Test
+    void smallStreamUsesSinglePut() throws Exception {
+        byte[] data = randomBytes(1024);
+        S3MultipartUploader uploader = new S3MultipartUploader(s3, executor, PART_SIZE, 3, 3);
+
+        uploader.upload("bucket", "small.sql", new ByteArrayInputStream(data));
+
+        assertArrayEquals(data, s3.object("bucket", "small.sql"));
+        assertEquals(0, s3.partAttempts.get());
+    }
+
+    @Test
+    void retriesFailedPartIndividually() throws Exception {
+        byte[] data = randomBytes(PART_SIZE * 3);
+        Set<Integer> failedOnce = ConcurrentHashMap.newKeySet();
+        s3.partFailure = S3Exception.builder().message("Service Unavailable").statusCode(503).build();
+        s3.failPart = part -> part == 2 && failedOnce.add(part);
+        S3MultipartUploader uploader = new S3MultipartUploader(s3, executor, PART_SIZE, 2, 3);
+
+        uploader.upload("bucket", "retry.sql", new ByteArrayInputStream(data));
+
+        assertArrayEquals(data, s3.object("bucket", "retry.sql"));
+        assertEquals(4, s3.partAttempts.get());
+    }
+
+    @Test
+    void abortsUploadWhenPartKeepsFailing() {
+        byte[] data = randomBytes(PART_SIZE * 3);
+        s3.partFailure = S3Exception.builder().message("Access Denied").statusCode(403).build();
+        s3.failPart = part -> part == 2;
+        S3MultipartUploader uploader = new S3MultipartUploader(s3, executor, PART_SIZE, 2, 3);
+
+        assertThrows(S3Exception.class,
+                () -> uploader.upload("bucket", "denied.sql", new ByteArrayInputStream(data)));
+
+        assertEquals(1, s3.abortedUploads.get());
+        assertTrue(s3.uploads.isEmpty());
+        assertEquals(null, s3.object("bucket", "denied.sql"));
+    }
+
+    @Test
+    void partSizeDoublesEveryThousandPartsUpToTheCap() {
+        int base = 16 * 1024 * 1024;
+
+        assertEquals(base, S3MultipartUploader.partSize(base, 1));
+        assertEquals(base, S3MultipartUploader.partSize(base, 1000));
+        assertEquals(2 * base, S3MultipartUploader.partSize(base, 1001));
+        assertEquals(32 * base, S3MultipartUploader.partSize(base, 5001));
+        assertEquals(S3MultipartUploader.MAX_PART_SIZE, S3MultipartUploader.partSize(base, 7001));
+        assertEquals(S3MultipartUploader.MAX_PART_SIZE,
+                S3MultipartUploader.partSize(base, S3MultipartUploader.MAX_PARTS));
+    }
+
+    @Test
+    void partLimitIsNotReachedBeforeTerabyteDumps() {
+        long capacity = 0;
+        for (int part = 1; part <= S3MultipartUploader.MAX_PARTS; part++) {
+            capacity += S3MultipartUploader.partSize(S3MultipartUploader.MIN_PART_SIZE, part);
+        }
+        // Fixed 5 MiB parts would stop at about 49 GiB
+        assertTrue(capacity > 3L * 1024 * 1024 * 1024 * 1024, "capacity " + capacity);
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] data = new byte[size];
+        new Random(42).nextBytes(data);
+        return data;
+    }
+}
@@ -0,0 +1,50 @@
+package dev.pollywag.multidbbackupservice.strategy.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class S3RangedDownloaderTest {
+
+    private final InMemoryS3Client s3 = new InMemoryS3Client();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void reassemblesConcurrentRangesInOrder() throws Exception {
+        byte[] data = randomBytes(1_000_003);
+        s3.objects.put("bucket/dump.sql.gz", data);
+        S3RangedDownloader downloader = new S3RangedDownloader(s3, executor, 64 * 1024, 4, 3);
+
+        try (InputStream in = downloader.open("bucket", "dump.sql.gz")) {
+            assertArrayEquals(data, in.readAllBytes());
+        }
+    }
+
+    @Test
+    void smallObjectIsReadWithSingleGet() throws Exception {
+        byte[] data = randomBytes(100);
+        s3.objects.put("bucket/small.sql", data);
+        S3RangedDownloader downloader = new S3RangedDownloader(s3, executor, 64 * 1024, 4, 3);
+
+        try (InputStream in = downloader.open("bucket", "small.sql")) {
+            assertArrayEquals(data, in.readAllBytes());
+        }
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] data = new byte[size];
+        new Random(7).nextBytes(data);
+        return data;
+    }
+}